@@ -18,4 +18,6 @@
 
 # If you keep the line number information, uncomment this to
 # hide the original source file name.
-#-renamesourcefileattribute SourceFile
\ No newline at end of file
+#-renamesourcefileattribute SourceFile
+# JSON models need no keep rules: every model Gson touches has a hand-written adapter
+# (data/json/JsonAdapters) that names fields with string literals, and reflection is blocked.
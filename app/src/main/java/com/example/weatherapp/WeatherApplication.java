@@ -0,0 +1,27 @@
+package com.example.weatherapp;
+
+import android.app.Application;
+import android.util.Log;
+
+import com.example.weatherapp.data.api.HttpClients;
+import com.example.weatherapp.data.api.RetrofitClient;
+import com.example.weatherapp.data.concurrent.IoDispatcher;
+import com.example.weatherapp.utils.CacheJanitorScheduler;
+
+/**
+ * Application entry point
+ * Initializes process-wide singletons before any activity, worker or widget runs
+ */
+public class WeatherApplication extends Application {
+    private static final String TAG = "WeatherApplication";
+    
+    @Override
+    public void onCreate() {
+        super.onCreate();
+        RetrofitClient.init(this);
+        RetrofitClient.warmUp(IoDispatcher.getInstance().cpu());
+        HttpClients.getInstance().getCircuitBreakers().addListener((endpoint, from, to) ->
+                Log.w(TAG, "Circuit " + endpoint + ": " + from + " -> " + to));
+        CacheJanitorScheduler.scheduleCacheJanitor(this);
+    }
+}
@@ -0,0 +1,270 @@
+package com.example.weatherapp.data.api;
+
+import com.google.gson.stream.JsonReader;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StringReader;
+
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.ByteString;
+import okio.Options;
+
+/**
+ * Minimal pull reader over UTF-8 JSON bytes, for the /forecast converter
+ * Field names are matched against pre-encoded okio Options instead of being decoded into a
+ * String each (about half of what Gson's JsonReader allocates on /forecast), and plain
+ * decimals are parsed straight from the buffered bytes. Only reads what the converter needs;
+ * separators are checked loosely.
+ */
+final class ByteJsonReader {
+
+    private static final ByteString NUMBER_END = ByteString.encodeUtf8(",}] \t\r\n");
+    private static final ByteString STRING_END = ByteString.encodeUtf8("\"\\");
+    private static final ByteString STRUCTURE = ByteString.encodeUtf8("\"{}[]");
+
+    // A mantissa under 2^53 divided by an exact power of ten is one correctly rounded division
+    private static final int MAX_FAST_DIGITS = 15;
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15
+    };
+
+    private final BufferedSource source;
+    private final Buffer buffer;
+
+    ByteJsonReader(BufferedSource source) {
+        this.source = source;
+        this.buffer = source.getBuffer();
+    }
+
+    /**
+     * Encode field names for selectName()
+     */
+    static Options names(String... names) {
+        ByteString[] quoted = new ByteString[names.length];
+        for (int i = 0; i < names.length; i++) {
+            quoted[i] = ByteString.encodeUtf8("\"" + names[i] + "\"");
+        }
+        return Options.of(quoted);
+    }
+
+    void beginObject() throws IOException {
+        expect('{');
+    }
+
+    void endObject() throws IOException {
+        expect('}');
+    }
+
+    void beginArray() throws IOException {
+        expect('[');
+    }
+
+    void endArray() throws IOException {
+        expect(']');
+    }
+
+    /**
+     * True if the current object or array has another member; consumes the comma before it
+     */
+    boolean hasNext() throws IOException {
+        byte next = peek();
+        if (next == ',') {
+            buffer.skip(1);
+            return true;
+        }
+        return next != '}' && next != ']';
+    }
+
+    boolean peekObject() throws IOException {
+        return peek() == '{';
+    }
+
+    /**
+     * Read a field name and its colon
+     * @return The name's index in options, or -1 for any other name (skip its value)
+     */
+    int selectName(Options options) throws IOException {
+        if (peek() != '"') {
+            throw syntaxError("field name");
+        }
+        int index = source.select(options);
+        if (index == -1) {
+            buffer.skip(1);
+            skipString();
+        }
+        expect(':');
+        return index;
+    }
+
+    /**
+     * Consume a null value if there is one
+     * @return true if the value was null and has been consumed
+     */
+    boolean skipIfNull() throws IOException {
+        if (peek() != 'n') {
+            return false;
+        }
+        buffer.skip(tokenLength());
+        return true;
+    }
+
+    /**
+     * Next number; null reads as 0
+     */
+    double nextDouble() throws IOException {
+        if (skipIfNull()) {
+            return 0;
+        }
+        long length = tokenLength();
+        boolean negative = buffer.getByte(0) == '-';
+        long mantissa = 0;
+        int digits = 0;
+        int scale = -1;
+        for (long i = negative ? 1 : 0; i < length; i++) {
+            byte b = buffer.getByte(i);
+            if (b == '.' && scale < 0) {
+                scale = 0;
+            } else if (b >= '0' && b <= '9' && digits < MAX_FAST_DIGITS) {
+                mantissa = mantissa * 10 + (b - '0');
+                digits++;
+                if (scale >= 0) {
+                    scale++;
+                }
+            } else {
+                return Double.parseDouble(buffer.readUtf8(length));
+            }
+        }
+        if (digits == 0) {
+            throw syntaxError("number");
+        }
+        buffer.skip(length);
+        double value = scale > 0 ? mantissa / POWERS_OF_TEN[scale] : mantissa;
+        return negative ? -value : value;
+    }
+
+    /**
+     * Next integer; null reads as 0, a fractional value is truncated
+     */
+    long nextLong() throws IOException {
+        if (skipIfNull()) {
+            return 0;
+        }
+        long length = tokenLength();
+        boolean negative = buffer.getByte(0) == '-';
+        long value = 0;
+        for (long i = negative ? 1 : 0; i < length; i++) {
+            byte b = buffer.getByte(i);
+            if (b < '0' || b > '9' || i >= 18) {
+                return (long) Double.parseDouble(buffer.readUtf8(length));
+            }
+            value = value * 10 + (b - '0');
+        }
+        buffer.skip(length);
+        return negative ? -value : value;
+    }
+
+    /**
+     * Next string; null stays null
+     */
+    String nextString() throws IOException {
+        if (skipIfNull()) {
+            return null;
+        }
+        expect('"');
+        long end = indexOf(STRING_END);
+        if (buffer.getByte(end) == '"') {
+            String value = buffer.readUtf8(end);
+            buffer.skip(1);
+            return value;
+        }
+        // Escapes are rare in this payload; let Gson decode them
+        StringBuilder raw = new StringBuilder("\"");
+        while (true) {
+            raw.append(buffer.readUtf8(indexOf(STRING_END)));
+            if (buffer.readByte() == '"') {
+                break;
+            }
+            raw.append('\\').append((char) buffer.readByte());
+        }
+        return new JsonReader(new StringReader(raw.append('"').toString())).nextString();
+    }
+
+    void skipValue() throws IOException {
+        byte next = peek();
+        if (next == '"') {
+            buffer.skip(1);
+            skipString();
+        } else if (next == '{' || next == '[') {
+            int depth = 0;
+            do {
+                buffer.skip(indexOf(STRUCTURE));
+                byte b = buffer.readByte();
+                if (b == '"') {
+                    skipString();
+                } else if (b == '{' || b == '[') {
+                    depth++;
+                } else {
+                    depth--;
+                }
+            } while (depth > 0);
+        } else {
+            buffer.skip(tokenLength());
+        }
+    }
+
+    /**
+     * Skip the rest of a string whose opening quote has been consumed
+     */
+    private void skipString() throws IOException {
+        while (true) {
+            buffer.skip(indexOf(STRING_END));
+            if (buffer.readByte() == '"') {
+                return;
+            }
+            buffer.skip(1);
+        }
+    }
+
+    private long tokenLength() throws IOException {
+        long length = source.indexOfElement(NUMBER_END);
+        if (length == -1) {
+            length = buffer.size();
+        }
+        if (length == 0) {
+            throw syntaxError("value");
+        }
+        return length;
+    }
+
+    private long indexOf(ByteString bytes) throws IOException {
+        long index = source.indexOfElement(bytes);
+        if (index == -1) {
+            throw new EOFException("Unterminated JSON value");
+        }
+        return index;
+    }
+
+    private byte peek() throws IOException {
+        while (true) {
+            source.require(1);
+            byte b = buffer.getByte(0);
+            if (b != ' ' && b != '\n' && b != '\r' && b != '\t') {
+                return b;
+            }
+            buffer.skip(1);
+        }
+    }
+
+    private void expect(char c) throws IOException {
+        if (peek() != c) {
+            throw syntaxError("'" + c + "'");
+        }
+        buffer.skip(1);
+    }
+
+    private IOException syntaxError(String expected) throws IOException {
+        return new IOException("Expected " + expected + " but was '" + (char) peek() + "'");
+    }
+}
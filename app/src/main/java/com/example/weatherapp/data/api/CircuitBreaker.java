@@ -0,0 +1,119 @@
+package com.example.weatherapp.data.api;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker for one endpoint of one host
+ * CLOSED lets every call through and counts consecutive failures; at the threshold it OPENs and
+ * refuses calls for openMillis. After that it goes HALF_OPEN and lets a single probe through:
+ * success closes it, failure opens it again. Owned by CircuitBreakers, which reports transitions.
+ */
+public final class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    /**
+     * Told about every state change, outside the breaker's lock
+     */
+    interface Transitions {
+        void onTransition(CircuitBreaker breaker, State from, State to);
+    }
+
+    private final String key;
+    private final int failureThreshold;
+    private final long openMillis;
+    private final LongSupplier clock;
+    private final Transitions transitions;
+
+    // Guarded by this
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean probeInFlight;
+
+    CircuitBreaker(String key, int failureThreshold, long openMillis, LongSupplier clock, Transitions transitions) {
+        this.key = key;
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+        this.clock = clock;
+        this.transitions = transitions;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Time until an open breaker lets a probe through, 0 if it isn't open
+     */
+    public synchronized long getRetryAfterMillis() {
+        return state == State.OPEN ? Math.max(0, openedAt + openMillis - clock.getAsLong()) : 0;
+    }
+
+    /**
+     * Ask to make a call; every true must be followed by onSuccess, onFailure or onNeutral
+     */
+    public boolean tryAcquire() {
+        State from;
+        synchronized (this) {
+            if (state == State.CLOSED) {
+                return true;
+            }
+            if (state == State.HALF_OPEN) {
+                if (probeInFlight) {
+                    return false;
+                }
+                probeInFlight = true;
+                return true;
+            }
+            if (clock.getAsLong() - openedAt < openMillis) {
+                return false;
+            }
+            from = state;
+            state = State.HALF_OPEN;
+            probeInFlight = true;
+        }
+        transitions.onTransition(this, from, State.HALF_OPEN);
+        return true;
+    }
+
+    public void onSuccess() {
+        State from;
+        synchronized (this) {
+            consecutiveFailures = 0;
+            probeInFlight = false;
+            if (state == State.CLOSED) {
+                return;
+            }
+            from = state;
+            state = State.CLOSED;
+        }
+        transitions.onTransition(this, from, State.CLOSED);
+    }
+
+    public void onFailure() {
+        State from;
+        synchronized (this) {
+            probeInFlight = false;
+            consecutiveFailures++;
+            if (state == State.OPEN || (state == State.CLOSED && consecutiveFailures < failureThreshold)) {
+                return;
+            }
+            from = state;
+            state = State.OPEN;
+            openedAt = clock.getAsLong();
+        }
+        transitions.onTransition(this, from, State.OPEN);
+    }
+
+    /**
+     * The call told us nothing about the endpoint (served from cache, cancelled); frees the probe
+     */
+    public synchronized void onNeutral() {
+        probeInFlight = false;
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.weatherapp.data.api;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.LongSupplier;
+
+import okhttp3.HttpUrl;
+
+/**
+ * One circuit breaker per host and endpoint, shared by every client in HttpClients
+ * so an interactive and a background call to the same endpoint see the same state.
+ * State changes go to the registered listeners; snapshot() is for tests and a debug screen.
+ */
+public final class CircuitBreakers {
+
+    public static final int DEFAULT_FAILURE_THRESHOLD = 5;
+    public static final long DEFAULT_OPEN_MILLIS = 30_000;
+
+    /**
+     * Observer of breaker state changes; called on the thread of the call that caused it
+     */
+    public interface Listener {
+        void onStateChanged(String key, CircuitBreaker.State from, CircuitBreaker.State to);
+    }
+
+    private final int failureThreshold;
+    private final long openMillis;
+    private final LongSupplier clock;
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final CircuitBreaker.Transitions transitions = (breaker, from, to) -> {
+        for (Listener listener : listeners) {
+            listener.onStateChanged(breaker.getKey(), from, to);
+        }
+    };
+
+    // Key -> breaker, guarded by this
+    private final Map<String, CircuitBreaker> breakers = new TreeMap<>();
+
+    public CircuitBreakers() {
+        this(DEFAULT_FAILURE_THRESHOLD, DEFAULT_OPEN_MILLIS, System::currentTimeMillis);
+    }
+
+    public CircuitBreakers(int failureThreshold, long openMillis, LongSupplier clock) {
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * Breakers are keyed by host and path, never the query (it carries API keys)
+     */
+    public static String keyOf(HttpUrl url) {
+        return url.host() + url.encodedPath();
+    }
+
+    public synchronized CircuitBreaker get(String key) {
+        CircuitBreaker breaker = breakers.get(key);
+        if (breaker == null) {
+            breaker = new CircuitBreaker(key, failureThreshold, openMillis, clock, transitions);
+            breakers.put(key, breaker);
+        }
+        return breaker;
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Current state of every endpoint called so far, by key
+     */
+    public synchronized Map<String, CircuitBreaker.State> snapshot() {
+        Map<String, CircuitBreaker.State> copy = new TreeMap<>();
+        for (Map.Entry<String, CircuitBreaker> entry : breakers.entrySet()) {
+            copy.put(entry.getKey(), entry.getValue().getState());
+        }
+        return Collections.unmodifiableMap(copy);
+    }
+}
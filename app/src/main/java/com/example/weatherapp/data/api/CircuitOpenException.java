@@ -0,0 +1,27 @@
+package com.example.weatherapp.data.api;
+
+import java.io.IOException;
+
+/**
+ * A call refused without touching the network because its endpoint's circuit is open
+ * It's an IOException, so callers take their usual offline path (Retrofit's onFailure).
+ */
+public class CircuitOpenException extends IOException {
+
+    private final String key;
+    private final long retryAfterMillis;
+
+    public CircuitOpenException(String key, long retryAfterMillis) {
+        super("Circuit open for " + key + ", retry in " + retryAfterMillis + " ms");
+        this.key = key;
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+}
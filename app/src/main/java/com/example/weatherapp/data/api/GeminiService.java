@@ -0,0 +1,22 @@
+package com.example.weatherapp.data.api;
+
+import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
+import retrofit2.Call;
+import retrofit2.http.Body;
+import retrofit2.http.POST;
+import retrofit2.http.Path;
+import retrofit2.http.Query;
+
+/**
+ * Google Gemini API
+ * Request and response stay raw JSON: callers build prompts and read candidates with org.json
+ */
+public interface GeminiService {
+    @POST("v1/models/{model}:generateContent")
+    Call<ResponseBody> generateContent(
+            @Path("model") String model,
+            @Query("key") String apiKey,
+            @Body RequestBody request
+    );
+}
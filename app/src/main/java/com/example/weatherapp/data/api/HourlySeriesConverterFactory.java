@@ -0,0 +1,175 @@
+package com.example.weatherapp.data.api;
+
+import com.example.weatherapp.domain.model.HourlySeries;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+import okhttp3.ResponseBody;
+import okio.BufferedSource;
+import okio.Options;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+
+/**
+ * Retrofit converter that streams the /forecast payload straight into a columnar HourlySeries
+ * Skips the HourlyForecastResponse object tree entirely: each 3-hour slot is read field by field
+ * from the body's bytes (ByteJsonReader, no String per field name) into locals and appended to
+ * primitive columns. Only handles HourlySeries; every other type falls through to the next
+ * factory (Gson).
+ */
+public final class HourlySeriesConverterFactory extends Converter.Factory {
+
+    private static final double DEFAULT_PRESSURE = 1013.0; // hPa, used when "main" or its pressure is missing
+
+    private static final Options TOP_LEVEL = ByteJsonReader.names("list", "city");
+    private static final Options ITEM = ByteJsonReader.names("dt", "main", "weather", "wind", "pop");
+    private static final Options ITEM_MAIN = ByteJsonReader.names(
+            "temp", "feels_like", "temp_min", "temp_max", "pressure", "humidity");
+    private static final Options ITEM_WEATHER = ByteJsonReader.names("main", "description", "icon");
+    private static final Options ITEM_WIND = ByteJsonReader.names("speed", "deg");
+    private static final Options CITY = ByteJsonReader.names("name", "country", "timezone", "sunrise", "sunset");
+
+    public static HourlySeriesConverterFactory create() {
+        return new HourlySeriesConverterFactory();
+    }
+
+    private HourlySeriesConverterFactory() {
+    }
+
+    @Override
+    public Converter<ResponseBody, ?> responseBodyConverter(Type type, Annotation[] annotations, Retrofit retrofit) {
+        if (type != HourlySeries.class) {
+            return null;
+        }
+        return (Converter<ResponseBody, HourlySeries>) body -> {
+            try {
+                return parse(body.source());
+            } finally {
+                body.close();
+            }
+        };
+    }
+
+    /**
+     * Parse a /forecast response body
+     */
+    public static HourlySeries parse(BufferedSource source) throws IOException {
+        ByteJsonReader reader = new ByteJsonReader(source);
+        HourlySeries.Builder builder = new HourlySeries.Builder();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.selectName(TOP_LEVEL)) {
+                case 0: // list
+                    if (reader.skipIfNull()) break;
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        readItem(reader, builder);
+                    }
+                    reader.endArray();
+                    break;
+                case 1: // city
+                    readCity(reader, builder);
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return builder.build();
+    }
+
+    private static void readItem(ByteJsonReader reader, HourlySeries.Builder builder) throws IOException {
+        long dt = 0;
+        double temp = 0, feelsLike = 0, tempMin = 0, tempMax = 0, humidity = 0;
+        double pressure = DEFAULT_PRESSURE;
+        double windSpeed = 0, windDegree = 0, pop = 0;
+        String icon = null, description = null, main = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.selectName(ITEM)) {
+                case 0: // dt
+                    dt = reader.nextLong();
+                    break;
+                case 1: // main
+                    if (reader.skipIfNull()) break;
+                    reader.beginObject();
+                    while (reader.hasNext()) {
+                        switch (reader.selectName(ITEM_MAIN)) {
+                            case 0: temp = reader.nextDouble(); break;
+                            case 1: feelsLike = reader.nextDouble(); break;
+                            case 2: tempMin = reader.nextDouble(); break;
+                            case 3: tempMax = reader.nextDouble(); break;
+                            case 4: pressure = reader.nextDouble(); break;
+                            case 5: humidity = reader.nextDouble(); break;
+                            default: reader.skipValue();
+                        }
+                    }
+                    reader.endObject();
+                    break;
+                case 2: // weather
+                    if (reader.skipIfNull()) break;
+                    reader.beginArray();
+                    boolean first = true;
+                    while (reader.hasNext()) {
+                        if (!first || !reader.peekObject()) {
+                            reader.skipValue();
+                            continue;
+                        }
+                        first = false;
+                        reader.beginObject();
+                        while (reader.hasNext()) {
+                            switch (reader.selectName(ITEM_WEATHER)) {
+                                case 0: main = reader.nextString(); break;
+                                case 1: description = reader.nextString(); break;
+                                case 2: icon = reader.nextString(); break;
+                                default: reader.skipValue();
+                            }
+                        }
+                        reader.endObject();
+                    }
+                    reader.endArray();
+                    break;
+                case 3: // wind
+                    if (reader.skipIfNull()) break;
+                    reader.beginObject();
+                    while (reader.hasNext()) {
+                        switch (reader.selectName(ITEM_WIND)) {
+                            case 0: windSpeed = reader.nextDouble(); break;
+                            case 1: windDegree = reader.nextDouble(); break;
+                            default: reader.skipValue();
+                        }
+                    }
+                    reader.endObject();
+                    break;
+                case 4: // pop
+                    pop = reader.nextDouble();
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        builder.add(dt, temp, feelsLike, tempMin, tempMax, humidity, pressure,
+                windSpeed, windDegree, pop, icon, description, main);
+    }
+
+    private static void readCity(ByteJsonReader reader, HourlySeries.Builder builder) throws IOException {
+        if (reader.skipIfNull()) return;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.selectName(CITY)) {
+                case 0: builder.setCityName(reader.nextString()); break;
+                case 1: builder.setCountryCode(reader.nextString()); break;
+                case 2: builder.setTimezoneOffsetSeconds((int) reader.nextLong()); break;
+                case 3: builder.setSunrise(reader.nextLong()); break;
+                case 4: builder.setSunset(reader.nextLong()); break;
+                default: reader.skipValue();
+            }
+        }
+        reader.endObject();
+    }
+}
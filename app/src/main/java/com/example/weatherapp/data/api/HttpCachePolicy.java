@@ -0,0 +1,145 @@
+package com.example.weatherapp.data.api;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.CacheControl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * HTTP cache policy for OpenWeatherMap endpoints
+ * - Network interceptor: stamps each successful response with a per-endpoint max-age,
+ *   since the API itself sends no caching headers
+ * - Application interceptor: stale-if-error, serves the cached copy (up to MAX_STALE old)
+ *   when the network fails or the server returns 5xx
+ * Responses served from cache in place of the network carry SERVED_STALE_HEADER, so callers
+ * can show them as stale and never re-cache them as new.
+ */
+public class HttpCachePolicy {
+    
+    public static final long CACHE_SIZE_BYTES = 10L * 1024 * 1024; // 10 MB
+    public static final String CACHE_DIR_NAME = "http_cache";
+    
+    // Freshness per endpoint, in seconds
+    static final int MAX_AGE_WEATHER = 10 * 60;
+    static final int MAX_AGE_FORECAST = 30 * 60;
+    static final int MAX_AGE_AIR_POLLUTION = 60 * 60;
+    static final int MAX_AGE_UV_INDEX = 60 * 60;
+    static final int MAX_AGE_ONECALL = 10 * 60;
+    
+    // How old a cached response may be when served because the network failed
+    static final int MAX_STALE_DAYS = 1;
+    
+    // Set on cached responses served in place of the network; the value says why
+    public static final String SERVED_STALE_HEADER = "X-Served-Stale";
+    static final String REASON_STALE_IF_ERROR = "stale-if-error";
+    
+    private static final CacheControl STALE_IF_ERROR = new CacheControl.Builder()
+            .onlyIfCached()
+            .maxStale(MAX_STALE_DAYS, TimeUnit.DAYS)
+            .build();
+    
+    private final AtomicInteger staleIfErrorCount = new AtomicInteger();
+    
+    /**
+     * Freshness for a request path, or 0 if the endpoint should not be cached
+     */
+    public static int maxAgeSeconds(List<String> pathSegments) {
+        if (pathSegments.isEmpty()) {
+            return 0;
+        }
+        switch (pathSegments.get(pathSegments.size() - 1)) {
+            case "weather": return MAX_AGE_WEATHER;
+            case "forecast": return MAX_AGE_FORECAST;
+            case "air_pollution": return MAX_AGE_AIR_POLLUTION;
+            case "uvi": return MAX_AGE_UV_INDEX;
+            case "onecall": return MAX_AGE_ONECALL;
+            default: return 0;
+        }
+    }
+    
+    /**
+     * True if the response came from the cache because the network couldn't be used
+     * Its data is as old as receivedResponseAtMillis(), not as old as the call.
+     */
+    public static boolean isServedStale(Response response) {
+        return response.header(SERVED_STALE_HEADER) != null;
+    }
+    
+    static Response markServedStale(Response cached, String reason) {
+        return cached.newBuilder().header(SERVED_STALE_HEADER, reason).build();
+    }
+    
+    /**
+     * Rewrites Cache-Control on responses coming from the network
+     */
+    public Interceptor networkInterceptor() {
+        return chain -> {
+            Request request = chain.request();
+            Response response = chain.proceed(request);
+            int maxAge = maxAgeSeconds(request.url().pathSegments());
+            if (maxAge <= 0 || !response.isSuccessful() || !"GET".equals(request.method())) {
+                return response;
+            }
+            return response.newBuilder()
+                    .removeHeader("Pragma")
+                    .header("Cache-Control", "public, max-age=" + maxAge)
+                    .build();
+        };
+    }
+    
+    /**
+     * Falls back to the disk cache when the network call fails
+     */
+    public Interceptor staleIfErrorInterceptor() {
+        return chain -> {
+            Request request = chain.request();
+            if (!"GET".equals(request.method())) {
+                return chain.proceed(request);
+            }
+            
+            Response response;
+            try {
+                response = chain.proceed(request);
+            } catch (IOException e) {
+                Response stale = proceedFromCache(chain, request);
+                if (stale != null) {
+                    return stale;
+                }
+                throw e;
+            }
+            
+            if (response.code() < 500) {
+                return response;
+            }
+            Response stale = proceedFromCache(chain, request);
+            if (stale == null) {
+                return response;
+            }
+            response.close();
+            return stale;
+        };
+    }
+    
+    private Response proceedFromCache(Interceptor.Chain chain, Request request) throws IOException {
+        Response cached = chain.proceed(request.newBuilder().cacheControl(STALE_IF_ERROR).build());
+        if (cached.code() == 504) {
+            // 504 Unsatisfiable Request: nothing usable in the cache
+            cached.close();
+            return null;
+        }
+        staleIfErrorCount.incrementAndGet();
+        return markServedStale(cached, REASON_STALE_IF_ERROR);
+    }
+    
+    /**
+     * Number of responses served from cache because the network failed
+     */
+    public int getStaleIfErrorCount() {
+        return staleIfErrorCount.get();
+    }
+}
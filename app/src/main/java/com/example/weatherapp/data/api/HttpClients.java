@@ -0,0 +1,141 @@
+package com.example.weatherapp.data.api;
+
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Cache;
+import okhttp3.OkHttpClient;
+
+/**
+ * App-wide OkHttp clients
+ * Every client is derived from one base with newBuilder(), so they all share its connection
+ * pool, dispatcher (threads and per-host limits) and DNS resolver; only timeouts, caches and
+ * interceptors differ per purpose. Every call is timed by the shared HttpMetrics and guarded by
+ * the shared CircuitBreakers, with the retry budget of its call class (see RetryPolicy).
+ * Retrofit services go through the shared RequestScheduler as well, so screens get ahead of
+ * workers on the same host.
+ */
+public final class HttpClients {
+
+    private static volatile HttpClients instance;
+
+    private final HttpMetrics metrics = new HttpMetrics();
+    private final CircuitBreakers breakers;
+    private final RequestScheduler scheduler = new RequestScheduler();
+    private final OkHttpClient base;
+    private volatile OkHttpClient llm;
+    private volatile OkHttpClient voice;
+
+    HttpClients() {
+        this(new CircuitBreakers());
+    }
+
+    HttpClients(CircuitBreakers breakers) {
+        this.breakers = breakers;
+        base = new OkHttpClient.Builder()
+                .connectTimeout(30, TimeUnit.SECONDS)
+                .readTimeout(30, TimeUnit.SECONDS)
+                .writeTimeout(30, TimeUnit.SECONDS)
+                .retryOnConnectionFailure(true)
+                .eventListenerFactory(metrics)
+                .build();
+    }
+
+    public static HttpClients getInstance() {
+        if (instance == null) {
+            synchronized (HttpClients.class) {
+                if (instance == null) {
+                    instance = new HttpClients();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Shared base for callers with their own needs; derive with newBuilder(), don't build a new client
+     */
+    public OkHttpClient base() {
+        return base;
+    }
+
+    /**
+     * OpenWeatherMap for screens: base timeouts plus the disk cache and its policy
+     * @param cache Disk cache, or null to run without one
+     */
+    public OkHttpClient weatherApi(Cache cache, HttpCachePolicy cachePolicy) {
+        return weatherApi(cache, cachePolicy, RetryPolicy.INTERACTIVE);
+    }
+
+    /**
+     * OpenWeatherMap with the given call class; pass the same Cache to every variant
+     */
+    public OkHttpClient weatherApi(Cache cache, HttpCachePolicy cachePolicy, RetryPolicy retryPolicy) {
+        return base.newBuilder()
+                .cache(cache)
+                .addInterceptor(cachePolicy.staleIfErrorInterceptor())
+                .addInterceptor(new ResilienceInterceptor(breakers, retryPolicy)) // Inside stale-if-error
+                .addNetworkInterceptor(cachePolicy.networkInterceptor())
+                .build();
+    }
+
+    /**
+     * LLM calls (Gemini, OpenAI): an answer can take tens of seconds
+     */
+    public OkHttpClient llm() {
+        if (llm == null) {
+            synchronized (this) {
+                if (llm == null) {
+                    llm = base.newBuilder()
+                            .connectTimeout(20, TimeUnit.SECONDS)
+                            .readTimeout(45, TimeUnit.SECONDS)      // ≥ 45s cho LLM
+                            .writeTimeout(30, TimeUnit.SECONDS)
+                            .callTimeout(60, TimeUnit.SECONDS)      // Timeout tổng
+                            .addInterceptor(new ResilienceInterceptor(breakers, RetryPolicy.LLM))
+                            .build();
+                }
+            }
+        }
+        return llm;
+    }
+
+    /**
+     * Voice assistant: tighter limits, the user is waiting for a spoken answer
+     */
+    public OkHttpClient voice() {
+        if (voice == null) {
+            synchronized (this) {
+                if (voice == null) {
+                    voice = base.newBuilder()
+                            .connectTimeout(15, TimeUnit.SECONDS)
+                            .readTimeout(30, TimeUnit.SECONDS)
+                            .writeTimeout(15, TimeUnit.SECONDS)
+                            .callTimeout(45, TimeUnit.SECONDS)
+                            .addInterceptor(new ResilienceInterceptor(breakers, RetryPolicy.LLM))
+                            .build();
+                }
+            }
+        }
+        return voice;
+    }
+
+    /**
+     * Per-host DNS, connect, TLS, time-to-first-byte and body timings of every client above
+     */
+    public HttpMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Priority queue shared by every scheduled caller; see RequestScheduler.callFactory()
+     */
+    public RequestScheduler getScheduler() {
+        return scheduler;
+    }
+
+    /**
+     * Per-endpoint breaker states of every client above; add a listener to follow transitions
+     */
+    public CircuitBreakers getCircuitBreakers() {
+        return breakers;
+    }
+}
@@ -0,0 +1,234 @@
+package com.example.weatherapp.data.api;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+import okhttp3.Response;
+
+/**
+ * Per-host timings of the calls made through HttpClients
+ * One listener per call measures DNS, connect, TLS, time to first byte (request sent to
+ * response headers) and body read; when the call ends they are added to its host's totals.
+ * A phase that didn't happen (pooled connection, cached response) adds no sample.
+ * Read with snapshot() from tests or a debug screen.
+ */
+public final class HttpMetrics implements EventListener.Factory {
+
+    public enum Phase { DNS, CONNECT, TLS, TTFB, BODY }
+
+    private static final int PHASES = Phase.values().length;
+
+    // Host -> running totals, guarded by this
+    private final Map<String, Totals> hosts = new TreeMap<>();
+
+    @Override
+    public EventListener create(Call call) {
+        return new CallTimer(call.request().url().host());
+    }
+
+    /**
+     * Copy of the totals so far, by host
+     */
+    public synchronized Map<String, HostTimings> snapshot() {
+        Map<String, HostTimings> copy = new TreeMap<>();
+        for (Map.Entry<String, Totals> entry : hosts.entrySet()) {
+            copy.put(entry.getKey(), entry.getValue().toTimings(entry.getKey()));
+        }
+        return Collections.unmodifiableMap(copy);
+    }
+
+    public synchronized void reset() {
+        hosts.clear();
+    }
+
+    private synchronized void record(String host, long[] nanos, boolean failed) {
+        Totals totals = hosts.get(host);
+        if (totals == null) {
+            totals = new Totals();
+            hosts.put(host, totals);
+        }
+        totals.calls++;
+        if (failed) {
+            totals.failures++;
+        }
+        for (int phase = 0; phase < PHASES; phase++) {
+            if (nanos[phase] >= 0) {
+                totals.samples[phase]++;
+                totals.totalNanos[phase] += nanos[phase];
+                totals.maxNanos[phase] = Math.max(totals.maxNanos[phase], nanos[phase]);
+            }
+        }
+    }
+
+    private static final class Totals {
+        int calls;
+        int failures;
+        final int[] samples = new int[PHASES];
+        final long[] totalNanos = new long[PHASES];
+        final long[] maxNanos = new long[PHASES];
+
+        HostTimings toTimings(String host) {
+            return new HostTimings(host, calls, failures, samples.clone(), totalNanos.clone(), maxNanos.clone());
+        }
+    }
+
+    /**
+     * Timings of one host, as of the snapshot
+     */
+    public static final class HostTimings {
+        private final String host;
+        private final int calls;
+        private final int failures;
+        private final int[] samples;
+        private final long[] totalNanos;
+        private final long[] maxNanos;
+
+        HostTimings(String host, int calls, int failures, int[] samples, long[] totalNanos, long[] maxNanos) {
+            this.host = host;
+            this.calls = calls;
+            this.failures = failures;
+            this.samples = samples;
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+        }
+
+        public String getHost() { return host; }
+        public int getCallCount() { return calls; }
+        public int getFailureCount() { return failures; }
+
+        /**
+         * Calls in which the phase happened (a pooled connection skips DNS, connect and TLS)
+         */
+        public int getSampleCount(Phase phase) { return samples[phase.ordinal()]; }
+
+        public double getAverageMillis(Phase phase) {
+            int count = samples[phase.ordinal()];
+            return count == 0 ? 0 : totalNanos[phase.ordinal()] / 1e6 / count;
+        }
+
+        public double getMaxMillis(Phase phase) {
+            return maxNanos[phase.ordinal()] / 1e6;
+        }
+
+        /**
+         * One line for a debug screen, e.g. "api.openweathermap.org: 12 calls, 0 failed, dns 4.1 ms ..."
+         */
+        @Override
+        public String toString() {
+            StringBuilder line = new StringBuilder(host).append(": ").append(calls).append(" calls, ")
+                    .append(failures).append(" failed");
+            for (Phase phase : Phase.values()) {
+                if (samples[phase.ordinal()] > 0) {
+                    line.append(String.format(Locale.US, ", %s %.1f ms (max %.1f, n=%d)",
+                            phase.name().toLowerCase(Locale.ROOT), getAverageMillis(phase),
+                            getMaxMillis(phase), samples[phase.ordinal()]));
+                }
+            }
+            return line.toString();
+        }
+    }
+
+    /**
+     * Timestamps of one call; OkHttp calls a listener from one thread at a time
+     */
+    private final class CallTimer extends EventListener {
+        private final String host;
+        private final long[] nanos = {-1, -1, -1, -1, -1};
+        private long dnsStart;
+        private long connectStart;
+        private long tlsStart;
+        private long requestStart;
+        private long bodyStart;
+
+        CallTimer(String host) {
+            this.host = host;
+        }
+
+        @Override
+        public void dnsStart(Call call, String domainName) {
+            dnsStart = System.nanoTime();
+        }
+
+        @Override
+        public void dnsEnd(Call call, String domainName, List<InetAddress> addresses) {
+            add(Phase.DNS, dnsStart);
+        }
+
+        @Override
+        public void connectStart(Call call, InetSocketAddress address, Proxy proxy) {
+            connectStart = System.nanoTime();
+        }
+
+        @Override
+        public void secureConnectStart(Call call) {
+            tlsStart = System.nanoTime();
+        }
+
+        @Override
+        public void secureConnectEnd(Call call, Handshake handshake) {
+            add(Phase.TLS, tlsStart);
+        }
+
+        @Override
+        public void connectEnd(Call call, InetSocketAddress address, Proxy proxy, Protocol protocol) {
+            add(Phase.CONNECT, connectStart);
+        }
+
+        @Override
+        public void connectFailed(Call call, InetSocketAddress address, Proxy proxy, Protocol protocol,
+                                  IOException ioe) {
+            add(Phase.CONNECT, connectStart);
+        }
+
+        @Override
+        public void requestHeadersStart(Call call) {
+            requestStart = System.nanoTime();
+        }
+
+        @Override
+        public void responseHeadersStart(Call call) {
+            add(Phase.TTFB, requestStart);
+        }
+
+        @Override
+        public void responseHeadersEnd(Call call, Response response) {
+            // Body timing starts here: the first body read may block until bytes arrive
+            bodyStart = System.nanoTime();
+        }
+
+        @Override
+        public void responseBodyEnd(Call call, long byteCount) {
+            add(Phase.BODY, bodyStart);
+        }
+
+        @Override
+        public void callEnd(Call call) {
+            record(host, nanos, false);
+        }
+
+        @Override
+        public void callFailed(Call call, IOException ioe) {
+            record(host, nanos, true);
+        }
+
+        /**
+         * Retries and redirects can repeat a phase within a call; they add up
+         */
+        private void add(Phase phase, long start) {
+            long elapsed = System.nanoTime() - start;
+            int index = phase.ordinal();
+            nanos[index] = nanos[index] < 0 ? elapsed : nanos[index] + elapsed;
+        }
+    }
+}
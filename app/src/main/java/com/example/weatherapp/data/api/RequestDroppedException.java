@@ -0,0 +1,14 @@
+package com.example.weatherapp.data.api;
+
+import java.io.IOException;
+
+/**
+ * A droppable request that was not sent because its host had no free slot for it
+ */
+public class RequestDroppedException extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    public RequestDroppedException(String host, RequestPriority priority) {
+        super("Dropped " + priority + " request to " + host + ": no free slot");
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.weatherapp.data.api;
+
+/**
+ * Scheduling class of a request, see RequestScheduler
+ */
+public enum RequestPriority {
+    /** A screen is waiting on it: served first, may use every slot of the host */
+    INTERACTIVE,
+    /** Shown soon but not waited on (favorites): a couple of slots at most */
+    PREFETCH,
+    /** Workers and widgets: one slot, only when nothing more urgent is waiting */
+    BACKGROUND
+}
@@ -0,0 +1,400 @@
+package com.example.weatherapp.data.api;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Request;
+import okhttp3.Response;
+import okio.Timeout;
+
+/**
+ * Priority queue in front of OkHttp for calls to the same host
+ * OkHttp's dispatcher starts queued calls first come, first served, so a burst from workers can
+ * hold every per-host slot while a screen waits. Calls made through callFactory() wait here for
+ * a slot of their host instead: INTERACTIVE may use all of them and is always started first,
+ * PREFETCH and BACKGROUND are capped so some slots stay free for a screen. A droppable call that
+ * can't start at once fails with RequestDroppedException instead of queueing.
+ * Async calls wait without holding a thread; only execute() blocks its caller.
+ */
+public final class RequestScheduler {
+
+    public static final int DEFAULT_HOST_SLOTS = 5; // OkHttp's default maxRequestsPerHost
+    public static final int DEFAULT_PREFETCH_SLOTS = 2;
+    public static final int DEFAULT_BACKGROUND_SLOTS = 1;
+
+    private static final RequestPriority[] PRIORITIES = RequestPriority.values();
+    private static final long CANCEL_POLL_MS = 100;
+
+    private final int hostSlots;
+    private final int[] prioritySlots = new int[PRIORITIES.length];
+
+    // Guarded by this
+    private final Map<String, Host> hosts = new HashMap<>();
+    private final Totals[] totals = new Totals[PRIORITIES.length];
+
+    public RequestScheduler() {
+        this(DEFAULT_HOST_SLOTS, DEFAULT_PREFETCH_SLOTS, DEFAULT_BACKGROUND_SLOTS);
+    }
+
+    /**
+     * @param hostSlots Calls running at once per host, all priorities together
+     * @param prefetchSlots Of those, at most this many PREFETCH calls
+     * @param backgroundSlots Of those, at most this many BACKGROUND calls
+     */
+    public RequestScheduler(int hostSlots, int prefetchSlots, int backgroundSlots) {
+        this.hostSlots = hostSlots;
+        prioritySlots[RequestPriority.INTERACTIVE.ordinal()] = hostSlots;
+        prioritySlots[RequestPriority.PREFETCH.ordinal()] = Math.min(prefetchSlots, hostSlots);
+        prioritySlots[RequestPriority.BACKGROUND.ordinal()] = Math.min(backgroundSlots, hostSlots);
+        for (int i = 0; i < totals.length; i++) {
+            totals[i] = new Totals();
+        }
+    }
+
+    /**
+     * Calls from this factory are scheduled here with the given priority, then run by the
+     * delegate's calls (for Retrofit.Builder.callFactory)
+     * @param droppable Fail with RequestDroppedException rather than wait for a slot
+     */
+    public Call.Factory callFactory(Call.Factory delegate, RequestPriority priority, boolean droppable) {
+        return request -> new ScheduledCall(delegate.newCall(request), priority, droppable);
+    }
+
+    /**
+     * Queue-wait statistics so far, by priority
+     */
+    public synchronized Map<RequestPriority, QueueStats> snapshot() {
+        Map<RequestPriority, QueueStats> copy = new EnumMap<>(RequestPriority.class);
+        for (RequestPriority priority : PRIORITIES) {
+            Totals t = totals[priority.ordinal()];
+            copy.put(priority, new QueueStats(priority, t.started, t.queued, t.dropped,
+                    t.totalWaitNanos, t.maxWaitNanos));
+        }
+        return Collections.unmodifiableMap(copy);
+    }
+
+    public synchronized void resetStats() {
+        for (int i = 0; i < totals.length; i++) {
+            totals[i] = new Totals();
+        }
+    }
+
+    // ============ Slots ============
+
+    /**
+     * Take a slot now, or queue for one; the ticket's start runs once it has the slot
+     * @return false if the ticket was droppable and would have had to wait, so it was not queued
+     */
+    private boolean submit(Ticket ticket) {
+        synchronized (this) {
+            Host host = host(ticket.host);
+            if (!host.hasWaitingAtOrAbove(ticket.priority) && host.canRun(ticket.priority)) {
+                grant(host, ticket);
+            } else if (ticket.droppable) {
+                totals[ticket.priority.ordinal()].dropped++;
+                return false;
+            } else {
+                totals[ticket.priority.ordinal()].queued++;
+                host.waiting.get(ticket.priority.ordinal()).add(ticket);
+                return true;
+            }
+        }
+        ticket.start.run();
+        return true;
+    }
+
+    /**
+     * Take a ticket out of its queue
+     * @return true if it was still waiting, false if it already has (or had) a slot
+     */
+    private synchronized boolean withdraw(Ticket ticket) {
+        Host host = hosts.get(ticket.host);
+        return host != null && host.waiting.get(ticket.priority.ordinal()).remove(ticket);
+    }
+
+    private void release(Ticket ticket) {
+        List<Ticket> started = new ArrayList<>();
+        synchronized (this) {
+            Host host = hosts.get(ticket.host);
+            host.running--;
+            host.runningByPriority[ticket.priority.ordinal()]--;
+            // Highest priority first; a capped priority doesn't block the ones below it
+            for (RequestPriority priority : PRIORITIES) {
+                ArrayDeque<Ticket> queue = host.waiting.get(priority.ordinal());
+                while (!queue.isEmpty() && host.canRun(priority)) {
+                    Ticket next = queue.poll();
+                    grant(host, next);
+                    started.add(next);
+                }
+            }
+            if (host.running == 0 && !host.hasWaitingAtOrAbove(RequestPriority.BACKGROUND)) {
+                hosts.remove(ticket.host);
+            }
+        }
+        for (Ticket next : started) {
+            next.start.run();
+        }
+    }
+
+    // Caller holds the lock
+    private void grant(Host host, Ticket ticket) {
+        host.running++;
+        host.runningByPriority[ticket.priority.ordinal()]++;
+        ticket.granted = true;
+        long waited = System.nanoTime() - ticket.createdAt;
+        Totals t = totals[ticket.priority.ordinal()];
+        t.started++;
+        t.totalWaitNanos += waited;
+        t.maxWaitNanos = Math.max(t.maxWaitNanos, waited);
+    }
+
+    // Caller holds the lock
+    private Host host(String name) {
+        Host host = hosts.get(name);
+        if (host == null) {
+            host = new Host();
+            hosts.put(name, host);
+        }
+        return host;
+    }
+
+    private final class Host {
+        final List<ArrayDeque<Ticket>> waiting = new ArrayList<>(PRIORITIES.length); // By priority ordinal
+        final int[] runningByPriority = new int[PRIORITIES.length];
+        int running;
+
+        Host() {
+            for (int i = 0; i < PRIORITIES.length; i++) {
+                waiting.add(new ArrayDeque<>());
+            }
+        }
+
+        boolean canRun(RequestPriority priority) {
+            return running < hostSlots
+                    && runningByPriority[priority.ordinal()] < prioritySlots[priority.ordinal()];
+        }
+
+        boolean hasWaitingAtOrAbove(RequestPriority priority) {
+            for (int i = 0; i <= priority.ordinal(); i++) {
+                if (!waiting.get(i).isEmpty()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static final class Totals {
+        int started;
+        int queued;
+        int dropped;
+        long totalWaitNanos;
+        long maxWaitNanos;
+    }
+
+    /**
+     * One call's place in its host's queue
+     */
+    private static final class Ticket {
+        final String host;
+        final RequestPriority priority;
+        final boolean droppable;
+        final long createdAt = System.nanoTime();
+        Runnable start;            // Runs outside the lock once the slot is granted
+        Runnable onCanceled;       // Async only: reports a cancel while still queued
+        boolean granted;           // Guarded by the scheduler
+
+        Ticket(String host, RequestPriority priority, boolean droppable) {
+            this.host = host;
+            this.priority = priority;
+            this.droppable = droppable;
+        }
+    }
+
+    /**
+     * Queue-wait statistics of one priority, as of the snapshot
+     */
+    public static final class QueueStats {
+        private final RequestPriority priority;
+        private final int started;
+        private final int queued;
+        private final int dropped;
+        private final long totalWaitNanos;
+        private final long maxWaitNanos;
+
+        QueueStats(RequestPriority priority, int started, int queued, int dropped,
+                   long totalWaitNanos, long maxWaitNanos) {
+            this.priority = priority;
+            this.started = started;
+            this.queued = queued;
+            this.dropped = dropped;
+            this.totalWaitNanos = totalWaitNanos;
+            this.maxWaitNanos = maxWaitNanos;
+        }
+
+        /** Calls that got a slot, at once or after waiting */
+        public int getStartedCount() { return started; }
+
+        /** Calls that had to wait for a slot */
+        public int getQueuedCount() { return queued; }
+
+        public int getDroppedCount() { return dropped; }
+
+        public double getAverageWaitMillis() {
+            return started == 0 ? 0 : totalWaitNanos / 1e6 / started;
+        }
+
+        public double getMaxWaitMillis() {
+            return maxWaitNanos / 1e6;
+        }
+
+        /**
+         * One line for a debug screen, e.g. "background: 12 started, 9 queued, 2 dropped, wait 310.2 ms (max 980.0)"
+         */
+        @Override
+        public String toString() {
+            return String.format(Locale.US, "%s: %d started, %d queued, %d dropped, wait %.1f ms (max %.1f)",
+                    priority.name().toLowerCase(Locale.ROOT), started, queued, dropped,
+                    getAverageWaitMillis(), getMaxWaitMillis());
+        }
+    }
+
+    // ============ Calls ============
+
+    /**
+     * Call that waits for a slot before handing itself to the delegate call
+     */
+    private final class ScheduledCall implements Call {
+        private final Call delegate;
+        private final RequestPriority priority;
+        private final boolean droppable;
+        private Ticket ticket; // Guarded by this
+
+        ScheduledCall(Call delegate, RequestPriority priority, boolean droppable) {
+            this.delegate = delegate;
+            this.priority = priority;
+            this.droppable = droppable;
+        }
+
+        @Override
+        public Request request() {
+            return delegate.request();
+        }
+
+        @Override
+        public Response execute() throws IOException {
+            Ticket mine = newTicket();
+            mine.start = () -> {
+                synchronized (RequestScheduler.this) {
+                    RequestScheduler.this.notifyAll();
+                }
+            };
+            if (!submit(mine)) {
+                throw new RequestDroppedException(mine.host, priority);
+            }
+            awaitSlot(mine);
+            try {
+                return delegate.execute();
+            } finally {
+                release(mine);
+            }
+        }
+
+        private void awaitSlot(Ticket mine) throws IOException {
+            synchronized (RequestScheduler.this) {
+                try {
+                    while (!mine.granted) {
+                        if (delegate.isCanceled()) {
+                            withdraw(mine);
+                            throw new IOException("Canceled");
+                        }
+                        RequestScheduler.this.wait(CANCEL_POLL_MS); // Wakes up to notice cancel()
+                    }
+                } catch (InterruptedException e) {
+                    withdraw(mine);
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while waiting for a slot");
+                }
+            }
+        }
+
+        @Override
+        public void enqueue(Callback callback) {
+            Ticket mine = newTicket();
+            mine.onCanceled = () -> callback.onFailure(this, new IOException("Canceled"));
+            mine.start = () -> delegate.enqueue(new Callback() {
+                @Override
+                public void onFailure(Call call, IOException e) {
+                    try {
+                        callback.onFailure(ScheduledCall.this, e);
+                    } finally {
+                        release(mine);
+                    }
+                }
+
+                @Override
+                public void onResponse(Call call, Response response) throws IOException {
+                    // Retrofit reads and converts the body in here, so the slot covers it too
+                    try {
+                        callback.onResponse(ScheduledCall.this, response);
+                    } finally {
+                        release(mine);
+                    }
+                }
+            });
+            if (!submit(mine)) {
+                callback.onFailure(this, new RequestDroppedException(mine.host, priority));
+            }
+        }
+
+        @Override
+        public void cancel() {
+            delegate.cancel();
+            Ticket mine;
+            synchronized (this) {
+                mine = ticket;
+            }
+            if (mine != null && mine.onCanceled != null && withdraw(mine)) {
+                mine.onCanceled.run();
+            }
+        }
+
+        @Override
+        public synchronized boolean isExecuted() {
+            return ticket != null;
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return delegate.isCanceled();
+        }
+
+        @Override
+        public Timeout timeout() {
+            return delegate.timeout();
+        }
+
+        @Override
+        public Call clone() {
+            return new ScheduledCall(delegate.clone(), priority, droppable);
+        }
+
+        private synchronized Ticket newTicket() {
+            if (ticket != null) {
+                throw new IllegalStateException("Already Executed");
+            }
+            ticket = new Ticket(delegate.request().url().host(), priority, droppable);
+            return ticket;
+        }
+    }
+}
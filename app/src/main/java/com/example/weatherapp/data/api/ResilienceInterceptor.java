@@ -0,0 +1,127 @@
+package com.example.weatherapp.data.api;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.CacheControl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Application interceptor: circuit breaker, time budget and retries around each call
+ * - Open circuit: answers from the disk cache (up to MAX_STALE old, marked as served stale)
+ *   without touching the network, or fails at once with CircuitOpenException when there is nothing cached
+ * - Retries connection failures, timeouts, 429 and 5xx within the policy's attempts and budget,
+ *   waiting with decorrelated jitter in between; the last error response is returned as is
+ * Cache-only requests (stale-if-error) pass straight through. The endpoints behind these clients
+ * are reads (GET) or side-effect-free generation (POST), so all of them are retried.
+ */
+public final class ResilienceInterceptor implements Interceptor {
+
+    private static final CacheControl CACHE_WHILE_OPEN = new CacheControl.Builder()
+            .onlyIfCached()
+            .maxStale(HttpCachePolicy.MAX_STALE_DAYS, TimeUnit.DAYS)
+            .build();
+    static final String REASON_CIRCUIT_OPEN = "circuit-open";
+
+    private final CircuitBreakers breakers;
+    private final RetryPolicy policy;
+    private final Random random;
+
+    public ResilienceInterceptor(CircuitBreakers breakers, RetryPolicy policy) {
+        this(breakers, policy, new Random());
+    }
+
+    ResilienceInterceptor(CircuitBreakers breakers, RetryPolicy policy, Random random) {
+        this.breakers = breakers;
+        this.policy = policy;
+        this.random = random;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        if (request.cacheControl().onlyIfCached()) {
+            return chain.proceed(request);
+        }
+
+        CircuitBreaker breaker = breakers.get(CircuitBreakers.keyOf(request.url()));
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(policy.getBudgetMillis());
+        long delayMillis = 0;
+        for (int attempt = 1; ; attempt++) {
+            if (!breaker.tryAcquire()) {
+                return fromCacheWhileOpen(chain, request, breaker);
+            }
+
+            int remaining = (int) Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+            Response response;
+            try {
+                response = chain
+                        .withConnectTimeout(Math.min(chain.connectTimeoutMillis(), remaining), TimeUnit.MILLISECONDS)
+                        .withReadTimeout(Math.min(chain.readTimeoutMillis(), remaining), TimeUnit.MILLISECONDS)
+                        .proceed(request);
+            } catch (IOException e) {
+                if (chain.call().isCanceled()) {
+                    breaker.onNeutral();
+                    throw e;
+                }
+                breaker.onFailure();
+                delayMillis = policy.nextDelayMillis(delayMillis, random);
+                if (!canRetry(chain, attempt, deadline, delayMillis)) {
+                    throw e;
+                }
+                pause(delayMillis);
+                continue;
+            }
+
+            if (!isRetryable(response.code())) {
+                if (response.networkResponse() != null) {
+                    breaker.onSuccess();
+                } else {
+                    breaker.onNeutral(); // Fresh from the disk cache: says nothing about the server
+                }
+                return response;
+            }
+            breaker.onFailure();
+            delayMillis = policy.nextDelayMillis(delayMillis, random);
+            if (!canRetry(chain, attempt, deadline, delayMillis)) {
+                return response;
+            }
+            response.close();
+            pause(delayMillis);
+        }
+    }
+
+    private static boolean isRetryable(int code) {
+        return code == 429 || code >= 500;
+    }
+
+    private boolean canRetry(Chain chain, int attempt, long deadline, long delayMillis) {
+        return attempt < policy.getMaxAttempts()
+                && !chain.call().isCanceled()
+                && System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayMillis) < deadline;
+    }
+
+    private static void pause(long millis) throws InterruptedIOException {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while backing off");
+        }
+    }
+
+    private static Response fromCacheWhileOpen(Chain chain, Request request, CircuitBreaker breaker)
+            throws IOException {
+        Response cached = chain.proceed(request.newBuilder().cacheControl(CACHE_WHILE_OPEN).build());
+        if (cached.code() != 504) {
+            return HttpCachePolicy.markServedStale(cached, REASON_CIRCUIT_OPEN);
+        }
+        // 504 Unsatisfiable Request: nothing usable in the cache (or no cache at all)
+        cached.close();
+        throw new CircuitOpenException(breaker.getKey(), breaker.getRetryAfterMillis());
+    }
+}
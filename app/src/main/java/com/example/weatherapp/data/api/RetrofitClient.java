@@ -1,30 +1,91 @@
 package com.example.weatherapp.data.api;
 
-import java.util.concurrent.TimeUnit;
+import android.content.Context;
+import android.util.Log;
 
+import com.example.weatherapp.data.json.JsonAdapters;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+import okhttp3.Cache;
+import okhttp3.Call;
 import okhttp3.OkHttpClient;
 import retrofit2.Retrofit;
 import retrofit2.converter.gson.GsonConverterFactory;
 
+/**
+ * Typed registry of Retrofit services
+ * Each service interface is created once and shared; the Retrofits validate eagerly, so creating
+ * a service also parses all of its methods. warmUp() does that for every service at app start,
+ * off the main thread. All hosts run on HttpClients' shared OkHttp base and parse with
+ * JsonAdapters' reflection-free Gson. OpenWeatherMap calls are queued by priority in
+ * HttpClients' RequestScheduler; getWeatherApi() is the interactive one.
+ */
 public class RetrofitClient {
+    private static final String TAG = "RetrofitClient";
     private static final String BASE_URL = "https://api.openweathermap.org/data/2.5/";
+    private static final String OPENAI_BASE_URL = "https://api.openai.com/";
+    private static final String GEMINI_BASE_URL = "https://generativelanguage.googleapis.com/";
     private static RetrofitClient instance;
+    private static Context appContext;
     private final Retrofit retrofit;
+    private final OkHttpClient backgroundClient;
+    // Priority and droppable -> OpenWeatherMap service scheduled that way
+    private final Map<String, WeatherApiService> scheduledWeatherApis = new ConcurrentHashMap<>();
+    private final Cache cache;
+    private final HttpCachePolicy cachePolicy = new HttpCachePolicy();
+    
+    // Service interface -> the Retrofit serving it, fixed at construction
+    private final Map<Class<?>, Retrofit> hosts = new HashMap<>();
+    private final Map<Class<?>, Object> services = new ConcurrentHashMap<>();
 
     private RetrofitClient() {
-        // Cấu hình OkHttpClient với timeout để tránh network timeout
-        OkHttpClient okHttpClient = new OkHttpClient.Builder()
-                .connectTimeout(30, TimeUnit.SECONDS) // Timeout khi kết nối - 30 giây
-                .readTimeout(30, TimeUnit.SECONDS)    // Timeout khi đọc dữ liệu - 30 giây
-                .writeTimeout(30, TimeUnit.SECONDS)   // Timeout khi ghi dữ liệu - 30 giây
-                .retryOnConnectionFailure(true)       // Tự động retry khi lỗi kết nối
-                .build();
+        // Disk HTTP cache, only available once init() has provided a Context
+        cache = appContext != null
+                ? new Cache(new File(appContext.getCacheDir(), HttpCachePolicy.CACHE_DIR_NAME),
+                        HttpCachePolicy.CACHE_SIZE_BYTES)
+                : null;
+        if (cache == null) {
+            Log.w(TAG, "RetrofitClient created before init(), HTTP cache disabled");
+        }
 
+        // Shared base client (timeout 30 giây, tự động retry) plus the disk cache
+        OkHttpClient okHttpClient = HttpClients.getInstance().weatherApi(cache, cachePolicy);
+        // Same API, cache and breakers, with the background call class's longer retry budget
+        backgroundClient = HttpClients.getInstance().weatherApi(cache, cachePolicy, RetryPolicy.BACKGROUND);
+
+        GsonConverterFactory gson = GsonConverterFactory.create(JsonAdapters.gson());
         retrofit = new Retrofit.Builder()
                 .baseUrl(BASE_URL)
-                .client(okHttpClient)  // Thêm OkHttpClient với timeout config
-                .addConverterFactory(GsonConverterFactory.create())
+                .callFactory(scheduled(okHttpClient, RequestPriority.INTERACTIVE, false)) // OkHttpClient với timeout config
+                .addConverterFactory(HourlySeriesConverterFactory.create()) // Must precede Gson
+                .addConverterFactory(gson)
+                .validateEagerly(true)
+                .build();
+        Retrofit llm = new Retrofit.Builder()
+                .baseUrl(OPENAI_BASE_URL)
+                .client(HttpClients.getInstance().llm())
+                .addConverterFactory(gson)
+                .validateEagerly(true)
                 .build();
+        
+        hosts.put(WeatherApiService.class, retrofit);
+        hosts.put(OpenAIService.class, llm);
+        hosts.put(GeminiService.class, llm.newBuilder().baseUrl(GEMINI_BASE_URL).build());
+    }
+
+    /**
+     * Provide the application context used for the disk cache
+     * Call once from WeatherApplication before any request is made
+     */
+    public static synchronized void init(Context context) {
+        if (appContext == null) {
+            appContext = context.getApplicationContext();
+        }
     }
 
     public static synchronized RetrofitClient getInstance() {
@@ -34,8 +95,94 @@ public class RetrofitClient {
         return instance;
     }
 
+    /**
+     * Create every registered service in the background, so the first request on the main
+     * thread doesn't pay for the cache directory, proxies and annotation parsing
+     */
+    public static void warmUp(Executor executor) {
+        executor.execute(() -> {
+            long start = System.nanoTime();
+            RetrofitClient client = getInstance();
+            for (Class<?> type : client.hosts.keySet()) {
+                client.getService(type);
+            }
+            Log.d(TAG, "Services ready in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        });
+    }
+
+    /**
+     * The shared instance of a service interface, created on first use
+     * @throws IllegalArgumentException If the interface isn't registered here
+     */
+    public <T> T getService(Class<T> type) {
+        Object service = services.get(type);
+        if (service == null) {
+            Retrofit host = hosts.get(type);
+            if (host == null) {
+                throw new IllegalArgumentException("Not a registered service: " + type.getName());
+            }
+            service = services.computeIfAbsent(type, host::create);
+        }
+        return type.cast(service);
+    }
+
     public WeatherApiService getWeatherApi() {
-        return retrofit.create(WeatherApiService.class);
+        return getService(WeatherApiService.class);
     }
-}
 
+    /**
+     * OpenWeatherMap scheduled with the given priority; BACKGROUND also gets the background retry budget
+     * @param droppable Fail with RequestDroppedException rather than wait behind other calls,
+     *                  for refreshes that can simply be skipped
+     */
+    public WeatherApiService getWeatherApi(RequestPriority priority, boolean droppable) {
+        if (priority == RequestPriority.INTERACTIVE && !droppable) {
+            return getWeatherApi();
+        }
+        return scheduledWeatherApis.computeIfAbsent(priority + (droppable ? "/droppable" : ""), key -> {
+            OkHttpClient client = priority == RequestPriority.BACKGROUND
+                    ? backgroundClient
+                    : HttpClients.getInstance().weatherApi(cache, cachePolicy);
+            return retrofit.newBuilder()
+                    .callFactory(scheduled(client, priority, droppable))
+                    .build()
+                    .create(WeatherApiService.class);
+        });
+    }
+
+    private static Call.Factory scheduled(OkHttpClient client, RequestPriority priority, boolean droppable) {
+        return HttpClients.getInstance().getScheduler().callFactory(client, priority, droppable);
+    }
+
+    public OpenAIService getOpenAIService() {
+        return getService(OpenAIService.class);
+    }
+
+    public GeminiService getGeminiService() {
+        return getService(GeminiService.class);
+    }
+
+    // ============ Cache statistics ============
+
+    /**
+     * Responses served from the disk cache without a network round trip
+     * (includes responses served by stale-if-error)
+     */
+    public int getCacheHitCount() {
+        return cache != null ? cache.hitCount() : 0;
+    }
+
+    /**
+     * Requests that had to go to the network (including conditional revalidations)
+     */
+    public int getCacheMissCount() {
+        return cache != null ? cache.networkCount() : 0;
+    }
+
+    /**
+     * Responses served from cache because the network failed
+     */
+    public int getStaleIfErrorCount() {
+        return cachePolicy.getStaleIfErrorCount();
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.weatherapp.data.api;
+
+import java.util.Random;
+
+/**
+ * Attempts, total time budget and backoff of one call class
+ * The budget covers every attempt and the waits between them; each attempt's connect and read
+ * timeouts are cut to what is left of it. Waits use decorrelated jitter: a random delay between
+ * the base and three times the previous one, capped, so clients retrying together spread out.
+ */
+public final class RetryPolicy {
+
+    /** A screen is waiting: fail fast and fall back to cached data */
+    public static final RetryPolicy INTERACTIVE = new RetryPolicy(3, 10_000, 200, 2_000);
+
+    /** Workers and widgets: nobody is waiting, so try longer and back off further */
+    public static final RetryPolicy BACKGROUND = new RetryPolicy(4, 40_000, 1_000, 10_000);
+
+    /** Interactive LLM calls: a single answer can take tens of seconds */
+    public static final RetryPolicy LLM = new RetryPolicy(2, 60_000, 500, 2_000);
+
+    private final int maxAttempts;
+    private final long budgetMillis;
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+
+    public RetryPolicy(int maxAttempts, long budgetMillis, long baseDelayMillis, long maxDelayMillis) {
+        this.maxAttempts = maxAttempts;
+        this.budgetMillis = budgetMillis;
+        this.baseDelayMillis = baseDelayMillis;
+        this.maxDelayMillis = maxDelayMillis;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public long getBudgetMillis() {
+        return budgetMillis;
+    }
+
+    /**
+     * Wait before the next attempt
+     * @param previousDelayMillis The last wait, or 0 before the first retry
+     */
+    public long nextDelayMillis(long previousDelayMillis, Random random) {
+        long upper = Math.max(baseDelayMillis, previousDelayMillis * 3);
+        long delay = baseDelayMillis + (long) (random.nextDouble() * (upper - baseDelayMillis));
+        return Math.min(maxDelayMillis, delay);
+    }
+}
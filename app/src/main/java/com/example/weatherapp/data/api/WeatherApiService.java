@@ -1,10 +1,12 @@
 package com.example.weatherapp.data.api;
 
 import com.example.weatherapp.data.responses.AirQualityResponse;
+import com.example.weatherapp.data.responses.GroupWeatherResponse;
 import com.example.weatherapp.data.responses.HourlyForecastResponse;
 import com.example.weatherapp.data.responses.UVIndexResponse;
 import com.example.weatherapp.data.responses.WeatherAlertsResponse;
 import com.example.weatherapp.data.responses.WeatherResponse;
+import com.example.weatherapp.domain.model.HourlySeries;
 
 import retrofit2.Call;
 import retrofit2.http.GET;
@@ -26,6 +28,17 @@ public interface WeatherApiService {
             @Query("units") String units
     );
 
+    /**
+     * Current weather for up to 20 cities in one call
+     * @param cityIds Comma-separated OpenWeatherMap city ids
+     */
+    @GET("group")
+    Call<GroupWeatherResponse> getWeatherByCityIds(
+            @Query("id") String cityIds,
+            @Query("appid") String apiKey,
+            @Query("units") String units
+    );
+
     @GET("forecast")
     Call<HourlyForecastResponse> getHourlyForecast(
             @Query("q") String cityName,
@@ -41,6 +54,18 @@ public interface WeatherApiService {
             @Query("units") String units
     );
 
+    /**
+     * Same endpoint as getHourlyForecastByCoordinates, streamed into columnar form
+     * by HourlySeriesConverterFactory instead of the Gson object tree
+     */
+    @GET("forecast")
+    Call<HourlySeries> getHourlySeriesByCoordinates(
+            @Query("lat") double latitude,
+            @Query("lon") double longitude,
+            @Query("appid") String apiKey,
+            @Query("units") String units
+    );
+
     @GET("uvi")
     Call<UVIndexResponse> getUVIndex(
             @Query("lat") double lat,
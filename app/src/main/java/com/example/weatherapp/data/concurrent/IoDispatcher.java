@@ -0,0 +1,181 @@
+package com.example.weatherapp.data.concurrent;
+
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * App-wide background dispatcher shared by repositories, workers and services
+ * - reads: small pool for blocking local reads (Room queries, files)
+ * - writes: one thread, so Room writes and file rewrites run one at a time in submission order
+ * - cpu: pool sized to the cores for mapping and decoding
+ * - network: blocking remote calls (LLM answers can take a minute), kept off the disk lanes
+ * Reads no longer wait behind writes or slow servers, and creating a repository no longer creates a thread.
+ * Each lane reports its queue depth and how long tasks waited before running.
+ */
+public final class IoDispatcher {
+
+    private static final int READ_THREADS = 4;
+    private static final int NETWORK_THREADS = 4;
+    private static final int CPU_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors() - 1);
+
+    private static volatile IoDispatcher instance;
+
+    private final Lane reads;
+    private final Lane writes;
+    private final Lane cpu;
+    private final Lane network;
+
+    /**
+     * Get the shared dispatcher
+     */
+    public static IoDispatcher getInstance() {
+        if (instance == null) {
+            synchronized (IoDispatcher.class) {
+                if (instance == null) {
+                    instance = new IoDispatcher(READ_THREADS, CPU_THREADS);
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Separate dispatcher (tests); shut it down when done
+     */
+    public IoDispatcher(int readThreads, int cpuThreads) {
+        this.reads = new Lane("io-read", readThreads);
+        this.writes = new Lane("io-write", 1);
+        this.cpu = new Lane("cpu", cpuThreads);
+        this.network = new Lane("network", NETWORK_THREADS);
+    }
+
+    public Lane reads() {
+        return reads;
+    }
+
+    public Lane writes() {
+        return writes;
+    }
+
+    public Lane cpu() {
+        return cpu;
+    }
+
+    public Lane network() {
+        return network;
+    }
+
+    public void shutdown() {
+        reads.pool.shutdown();
+        writes.pool.shutdown();
+        cpu.pool.shutdown();
+        network.pool.shutdown();
+    }
+
+    /**
+     * Fixed-size pool with named threads that records queueing metrics
+     */
+    public static final class Lane implements Executor {
+        private final String name;
+        private final ThreadPoolExecutor pool;
+        private final AtomicInteger queued = new AtomicInteger();
+        private final AtomicInteger maxQueued = new AtomicInteger();
+        private final AtomicLong completed = new AtomicLong();
+        private final AtomicLong totalWaitNanos = new AtomicLong();
+        private final AtomicLong maxWaitNanos = new AtomicLong();
+
+        Lane(String name, int threads) {
+            this.name = name;
+            this.pool = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(), new NamedThreadFactory(name));
+            // Idle lanes give their threads back
+            this.pool.allowCoreThreadTimeOut(true);
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            long enqueuedAt = System.nanoTime();
+            int depth = queued.incrementAndGet();
+            maxQueued.accumulateAndGet(depth, Math::max);
+            pool.execute(() -> {
+                long wait = System.nanoTime() - enqueuedAt;
+                queued.decrementAndGet();
+                totalWaitNanos.addAndGet(wait);
+                maxWaitNanos.accumulateAndGet(wait, Math::max);
+                try {
+                    task.run();
+                } finally {
+                    completed.incrementAndGet();
+                }
+            });
+        }
+
+        /**
+         * Run a task on this lane and get its result through a Future (for callers that must block, e.g. workers)
+         */
+        public <T> Future<T> submit(Callable<T> task) {
+            FutureTask<T> future = new FutureTask<>(task);
+            execute(future);
+            return future;
+        }
+
+        public Stats stats() {
+            long done = completed.get();
+            return new Stats(name, queued.get(), maxQueued.get(), done,
+                    done == 0 ? 0 : totalWaitNanos.get() / done / 1000, maxWaitNanos.get() / 1000);
+        }
+    }
+
+    /**
+     * Point-in-time metrics of one lane
+     */
+    public static final class Stats {
+        public final String lane;
+        public final int queueDepth;      // Submitted, not started yet
+        public final int maxQueueDepth;
+        public final long completed;
+        public final long averageWaitMicros;
+        public final long maxWaitMicros;
+
+        Stats(String lane, int queueDepth, int maxQueueDepth, long completed,
+              long averageWaitMicros, long maxWaitMicros) {
+            this.lane = lane;
+            this.queueDepth = queueDepth;
+            this.maxQueueDepth = maxQueueDepth;
+            this.completed = completed;
+            this.averageWaitMicros = averageWaitMicros;
+            this.maxWaitMicros = maxWaitMicros;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.US, "%s: queued %d (max %d), done %d, wait avg %d us, max %d us",
+                    lane, queueDepth, maxQueueDepth, completed, averageWaitMicros, maxWaitMicros);
+        }
+    }
+
+    private static final class NamedThreadFactory implements ThreadFactory {
+        private final String prefix;
+        private final AtomicInteger count = new AtomicInteger();
+
+        NamedThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, prefix + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
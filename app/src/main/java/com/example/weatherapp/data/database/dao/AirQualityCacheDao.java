@@ -6,6 +6,9 @@ import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
 
 import com.example.weatherapp.data.database.entities.AirQualityCacheEntity;
+import com.example.weatherapp.data.local.database.GeoCell;
+
+import java.util.List;
 
 /**
  * DAO for AirQualityCacheEntity
@@ -28,13 +31,29 @@ public interface AirQualityCacheDao {
      * @param maxAge Maximum age in milliseconds (e.g., 10 minutes = 600000)
      * @return Cached air quality data or null
      */
+    default AirQualityCacheEntity getAirQualityByCoordinates(double lat, double lon, 
+                                                              long currentTime, long maxAge) {
+        return getAirQualityInCells(GeoCell.neighborhood(lat, lon, GeoCell.COARSE_DEGREES),
+                lat, lon, currentTime, maxAge);
+    }
+    
+    /**
+     * Get air quality data within tolerance among the given grid cells
+     */
     @Query("SELECT * FROM air_quality_cache " +
-           "WHERE ABS(latitude - :lat) < 0.1 AND ABS(longitude - :lon) < 0.1 " +
+           "WHERE cell_id IN (:cells) " +
+           "AND ABS(latitude - :lat) < 0.1 AND ABS(longitude - :lon) < 0.1 " +
            "AND ((:currentTime - cached_at) < :maxAge) " +
            "ORDER BY cached_at DESC " +
            "LIMIT 1")
-    AirQualityCacheEntity getAirQualityByCoordinates(double lat, double lon, 
-                                                      long currentTime, long maxAge);
+    AirQualityCacheEntity getAirQualityInCells(List<Long> cells, double lat, double lon,
+                                                long currentTime, long maxAge);
+    
+    /**
+     * Mark a row as just served, so the cache janitor evicts it last
+     */
+    @Query("UPDATE air_quality_cache SET last_accessed = :now WHERE id = :id")
+    void touchAirQuality(int id, long now);
     
     /**
      * Delete old air quality cache (older than maxAge)
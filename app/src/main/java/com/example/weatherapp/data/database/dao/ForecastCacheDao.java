@@ -6,60 +6,77 @@ import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
 
 import com.example.weatherapp.data.database.entities.ForecastCacheEntity;
+import com.example.weatherapp.data.local.database.GeoCell;
 
 import java.util.List;
 
 /**
  * DAO for ForecastCacheEntity
- * Handles database operations for cached forecast data
+ * Handles database operations for cached forecast data (one packed row per location and fetch)
+ * Age filters compare cached_at against a precomputed cutoff so SQLite can range-scan
+ * the composite indexes declared on the entity.
  */
 @Dao
 public interface ForecastCacheDao {
     
     /**
-     * Insert forecast data (replace if exists)
+     * Insert a packed forecast series (replace if exists)
      */
     @Insert(onConflict = OnConflictStrategy.REPLACE)
     void insertForecast(ForecastCacheEntity forecast);
     
     /**
-     * Insert multiple forecast entries
-     */
-    @Insert(onConflict = OnConflictStrategy.REPLACE)
-    void insertForecasts(List<ForecastCacheEntity> forecasts);
-    
-    /**
-     * Get hourly forecasts for a city
+     * Get the newest forecast series for a city
      * @param cityName City name
      * @param forecastType "hourly" or "daily"
-     * @param maxAge Maximum age in milliseconds (e.g., 10 minutes)
-     * @return List of cached forecasts
+     * @param units "metric" or "imperial"
+     * @param cutoff Oldest accepted cached_at (current time minus max age)
+     * @return Cached forecast row or null
      */
     @Query("SELECT * FROM forecast_cache " +
            "WHERE city_name = :cityName " +
            "AND forecast_type = :forecastType " +
-           "AND ((:currentTime - cached_at) < :maxAge) " +
-           "ORDER BY timestamp ASC")
-    List<ForecastCacheEntity> getForecastsByCity(String cityName, String forecastType, 
-                                                  long currentTime, long maxAge);
+           "AND cached_at > :cutoff " +
+           "AND units = :units " +
+           "ORDER BY cached_at DESC " +
+           "LIMIT 1")
+    ForecastCacheEntity getForecastByCity(String cityName, String forecastType, String units, long cutoff);
+    
+    /**
+     * Get the newest forecast series by coordinates
+     * Narrows to the surrounding grid cells through the cell_id index first
+     */
+    default ForecastCacheEntity getForecastByCoordinates(double lat, double lon, String forecastType,
+                                                         String units, long cutoff) {
+        return getForecastInCells(GeoCell.neighborhood(lat, lon, GeoCell.COARSE_DEGREES),
+                lat, lon, forecastType, units, cutoff);
+    }
     
     /**
-     * Get forecasts by coordinates
+     * Get the newest forecast series within tolerance among the given grid cells
      */
     @Query("SELECT * FROM forecast_cache " +
-           "WHERE ABS(latitude - :lat) < 0.1 AND ABS(longitude - :lon) < 0.1 " +
+           "WHERE cell_id IN (:cells) " +
+           "AND ABS(latitude - :lat) < 0.1 AND ABS(longitude - :lon) < 0.1 " +
            "AND forecast_type = :forecastType " +
-           "AND ((:currentTime - cached_at) < :maxAge) " +
-           "ORDER BY timestamp ASC")
-    List<ForecastCacheEntity> getForecastsByCoordinates(double lat, double lon, 
-                                                         String forecastType,
-                                                         long currentTime, long maxAge);
+           "AND cached_at > :cutoff " +
+           "AND units = :units " +
+           "ORDER BY cached_at DESC " +
+           "LIMIT 1")
+    ForecastCacheEntity getForecastInCells(List<Long> cells, double lat, double lon,
+                                           String forecastType, String units, long cutoff);
+    
+    /**
+     * Mark a row as just served, so the cache janitor evicts it last
+     */
+    @Query("UPDATE forecast_cache SET last_accessed = :now WHERE id = :id")
+    void touchForecast(int id, long now);
     
     /**
-     * Delete old forecast cache (older than maxAge)
+     * Delete forecast cache cached before the cutoff
      */
-    @Query("DELETE FROM forecast_cache WHERE (:currentTime - cached_at) > :maxAge")
-    void deleteOldForecasts(long currentTime, long maxAge);
+    @Query("DELETE FROM forecast_cache WHERE cached_at < :cutoff")
+    void deleteOldForecasts(long cutoff);
     
     /**
      * Delete forecasts for a specific city
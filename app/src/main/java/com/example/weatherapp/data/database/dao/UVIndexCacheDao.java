@@ -6,6 +6,9 @@ import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
 
 import com.example.weatherapp.data.database.entities.UVIndexCacheEntity;
+import com.example.weatherapp.data.local.database.GeoCell;
+
+import java.util.List;
 
 /**
  * DAO for UVIndexCacheEntity
@@ -28,13 +31,29 @@ public interface UVIndexCacheDao {
      * @param maxAge Maximum age in milliseconds (e.g., 10 minutes = 600000)
      * @return Cached UV index data or null
      */
+    default UVIndexCacheEntity getUVIndexByCoordinates(double lat, double lon, 
+                                                        long currentTime, long maxAge) {
+        return getUVIndexInCells(GeoCell.neighborhood(lat, lon, GeoCell.COARSE_DEGREES),
+                lat, lon, currentTime, maxAge);
+    }
+    
+    /**
+     * Get UV index data within tolerance among the given grid cells
+     */
     @Query("SELECT * FROM uv_index_cache " +
-           "WHERE ABS(latitude - :lat) < 0.1 AND ABS(longitude - :lon) < 0.1 " +
+           "WHERE cell_id IN (:cells) " +
+           "AND ABS(latitude - :lat) < 0.1 AND ABS(longitude - :lon) < 0.1 " +
            "AND ((:currentTime - cached_at) < :maxAge) " +
            "ORDER BY cached_at DESC " +
            "LIMIT 1")
-    UVIndexCacheEntity getUVIndexByCoordinates(double lat, double lon, 
-                                                long currentTime, long maxAge);
+    UVIndexCacheEntity getUVIndexInCells(List<Long> cells, double lat, double lon,
+                                          long currentTime, long maxAge);
+    
+    /**
+     * Mark a row as just served, so the cache janitor evicts it last
+     */
+    @Query("UPDATE uv_index_cache SET last_accessed = :now WHERE id = :id")
+    void touchUVIndex(int id, long now);
     
     /**
      * Delete old UV index cache (older than maxAge)
@@ -3,13 +3,16 @@ package com.example.weatherapp.data.database.entities;
 import androidx.room.ColumnInfo;
 import androidx.room.Entity;
 import androidx.room.Ignore;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 
+import com.example.weatherapp.data.local.database.GeoCell;
+
 /**
  * Room entity for caching air quality data
  * Stores AQI, CO, NO2, O3, PM2.5, PM10 levels
  */
-@Entity(tableName = "air_quality_cache")
+@Entity(tableName = "air_quality_cache", indices = {@Index("cell_id")})
 public class AirQualityCacheEntity {
     
     @PrimaryKey(autoGenerate = true)
@@ -21,6 +24,9 @@ public class AirQualityCacheEntity {
     @ColumnInfo(name = "longitude")
     private double longitude;
     
+    @ColumnInfo(name = "cell_id")
+    private long cellId; // GeoCell id on the 0.1° grid, indexed for coordinate lookups
+    
     @ColumnInfo(name = "aqi")
     private int aqi; // Air Quality Index (1-5)
     
@@ -51,6 +57,9 @@ public class AirQualityCacheEntity {
     @ColumnInfo(name = "cached_at")
     private long cachedAt; // When this data was cached
     
+    @ColumnInfo(name = "last_accessed")
+    private long lastAccessed; // When this row was last served, for LRU eviction
+    
     // Constructors
     public AirQualityCacheEntity() {
     }
@@ -62,6 +71,7 @@ public class AirQualityCacheEntity {
                                 long cachedAt) {
         this.latitude = latitude;
         this.longitude = longitude;
+        this.cellId = GeoCell.cellOf(latitude, longitude, GeoCell.COARSE_DEGREES);
         this.aqi = aqi;
         this.co = co;
         this.no = no;
@@ -72,6 +82,7 @@ public class AirQualityCacheEntity {
         this.pm10 = pm10;
         this.nh3 = nh3;
         this.cachedAt = cachedAt;
+        this.lastAccessed = cachedAt;
     }
     
     // Getters and Setters
@@ -89,6 +100,7 @@ public class AirQualityCacheEntity {
     
     public void setLatitude(double latitude) {
         this.latitude = latitude;
+        this.cellId = GeoCell.cellOf(latitude, longitude, GeoCell.COARSE_DEGREES);
     }
     
     public double getLongitude() {
@@ -97,6 +109,15 @@ public class AirQualityCacheEntity {
     
     public void setLongitude(double longitude) {
         this.longitude = longitude;
+        this.cellId = GeoCell.cellOf(latitude, longitude, GeoCell.COARSE_DEGREES);
+    }
+    
+    public long getCellId() {
+        return cellId;
+    }
+    
+    public void setCellId(long cellId) {
+        this.cellId = cellId;
     }
     
     public int getAqi() {
@@ -178,4 +199,12 @@ public class AirQualityCacheEntity {
     public void setCachedAt(long cachedAt) {
         this.cachedAt = cachedAt;
     }
+    
+    public long getLastAccessed() {
+        return lastAccessed;
+    }
+    
+    public void setLastAccessed(long lastAccessed) {
+        this.lastAccessed = lastAccessed;
+    }
 }
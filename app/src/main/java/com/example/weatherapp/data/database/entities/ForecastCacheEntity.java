@@ -3,13 +3,22 @@ package com.example.weatherapp.data.database.entities;
 import androidx.room.ColumnInfo;
 import androidx.room.Entity;
 import androidx.room.Ignore;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 
+import com.example.weatherapp.data.local.database.GeoCell;
+
 /**
  * Room entity for caching forecast data
- * Stores hourly and daily forecast information
+ * One row per location and fetch; the time series itself is packed into the series BLOB
+ * (see PackedSeriesCodec) and only decoded when the row is actually used.
+ * Composite indexes end in cached_at so the TTL filter is part of the index range scan
  */
-@Entity(tableName = "forecast_cache")
+@Entity(tableName = "forecast_cache", indices = {
+        @Index(value = {"city_name", "forecast_type", "cached_at"}),
+        @Index(value = {"cell_id", "forecast_type", "cached_at"}),
+        @Index("cached_at")
+})
 public class ForecastCacheEntity {
     
     @PrimaryKey(autoGenerate = true)
@@ -24,67 +33,45 @@ public class ForecastCacheEntity {
     @ColumnInfo(name = "longitude")
     private double longitude;
     
+    @ColumnInfo(name = "cell_id")
+    private long cellId; // GeoCell id on the 0.1° grid, indexed for coordinate lookups
+    
     @ColumnInfo(name = "forecast_type")
     private String forecastType; // "hourly" or "daily"
     
-    @ColumnInfo(name = "timestamp")
-    private long timestamp;
-    
-    @ColumnInfo(name = "temperature")
-    private double temperature;
-    
-    @ColumnInfo(name = "temp_min")
-    private Double tempMin; // For daily forecasts
-    
-    @ColumnInfo(name = "temp_max")
-    private Double tempMax; // For daily forecasts
-    
-    @ColumnInfo(name = "weather_main")
-    private String weatherMain;
+    @ColumnInfo(name = "units")
+    private String units; // "metric" or "imperial", as requested from the API
     
-    @ColumnInfo(name = "weather_description")
-    private String weatherDescription;
+    @ColumnInfo(name = "slot_count")
+    private int slotCount; // Number of time slots in the series
     
-    @ColumnInfo(name = "weather_icon")
-    private String weatherIcon;
-    
-    @ColumnInfo(name = "humidity")
-    private int humidity;
-    
-    @ColumnInfo(name = "wind_speed")
-    private double windSpeed;
-    
-    @ColumnInfo(name = "rain_probability")
-    private int rainProbability; // 0-100
+    @ColumnInfo(name = "series", typeAffinity = ColumnInfo.BLOB)
+    private byte[] series; // Packed columns, see PackedSeriesCodec
     
     @ColumnInfo(name = "cached_at")
     private long cachedAt; // When this data was cached
     
+    @ColumnInfo(name = "last_accessed")
+    private long lastAccessed; // When this row was last served, for LRU eviction
+    
     // Constructors
     public ForecastCacheEntity() {
     }
     
     @Ignore
     public ForecastCacheEntity(String cityName, double latitude, double longitude,
-                              String forecastType, long timestamp, double temperature,
-                              Double tempMin, Double tempMax, String weatherMain,
-                              String weatherDescription, String weatherIcon, int humidity,
-                              double windSpeed, int rainProbability, long cachedAt) {
+                              String forecastType, String units, int slotCount,
+                              byte[] series, long cachedAt) {
         this.cityName = cityName;
         this.latitude = latitude;
         this.longitude = longitude;
+        this.cellId = GeoCell.cellOf(latitude, longitude, GeoCell.COARSE_DEGREES);
         this.forecastType = forecastType;
-        this.timestamp = timestamp;
-        this.temperature = temperature;
-        this.tempMin = tempMin;
-        this.tempMax = tempMax;
-        this.weatherMain = weatherMain;
-        this.weatherDescription = weatherDescription;
-        this.weatherIcon = weatherIcon;
-        this.humidity = humidity;
-        this.windSpeed = windSpeed;
-        this.rainProbability = rainProbability;
+        this.units = units;
+        this.slotCount = slotCount;
+        this.series = series;
         this.cachedAt = cachedAt;
+        this.lastAccessed = cachedAt;
     }
     
     // Getters and Setters
@@ -110,6 +97,7 @@ public class ForecastCacheEntity {
     
     public void setLatitude(double latitude) {
         this.latitude = latitude;
+        this.cellId = GeoCell.cellOf(latitude, longitude, GeoCell.COARSE_DEGREES);
     }
     
     public double getLongitude() {
@@ -118,94 +106,47 @@ public class ForecastCacheEntity {
     
     public void setLongitude(double longitude) {
         this.longitude = longitude;
+        this.cellId = GeoCell.cellOf(latitude, longitude, GeoCell.COARSE_DEGREES);
     }
     
-    public String getForecastType() {
-        return forecastType;
-    }
-    
-    public void setForecastType(String forecastType) {
-        this.forecastType = forecastType;
-    }
-    
-    public long getTimestamp() {
-        return timestamp;
-    }
-    
-    public void setTimestamp(long timestamp) {
-        this.timestamp = timestamp;
-    }
-    
-    public double getTemperature() {
-        return temperature;
-    }
-    
-    public void setTemperature(double temperature) {
-        this.temperature = temperature;
-    }
-    
-    public Double getTempMin() {
-        return tempMin;
-    }
-    
-    public void setTempMin(Double tempMin) {
-        this.tempMin = tempMin;
-    }
-    
-    public Double getTempMax() {
-        return tempMax;
-    }
-    
-    public void setTempMax(Double tempMax) {
-        this.tempMax = tempMax;
+    public long getCellId() {
+        return cellId;
     }
     
-    public String getWeatherMain() {
-        return weatherMain;
+    public void setCellId(long cellId) {
+        this.cellId = cellId;
     }
     
-    public void setWeatherMain(String weatherMain) {
-        this.weatherMain = weatherMain;
-    }
-    
-    public String getWeatherDescription() {
-        return weatherDescription;
-    }
-    
-    public void setWeatherDescription(String weatherDescription) {
-        this.weatherDescription = weatherDescription;
-    }
-    
-    public String getWeatherIcon() {
-        return weatherIcon;
+    public String getForecastType() {
+        return forecastType;
     }
     
-    public void setWeatherIcon(String weatherIcon) {
-        this.weatherIcon = weatherIcon;
+    public void setForecastType(String forecastType) {
+        this.forecastType = forecastType;
     }
     
-    public int getHumidity() {
-        return humidity;
+    public String getUnits() {
+        return units;
     }
     
-    public void setHumidity(int humidity) {
-        this.humidity = humidity;
+    public void setUnits(String units) {
+        this.units = units;
     }
     
-    public double getWindSpeed() {
-        return windSpeed;
+    public int getSlotCount() {
+        return slotCount;
     }
     
-    public void setWindSpeed(double windSpeed) {
-        this.windSpeed = windSpeed;
+    public void setSlotCount(int slotCount) {
+        this.slotCount = slotCount;
     }
     
-    public int getRainProbability() {
-        return rainProbability;
+    public byte[] getSeries() {
+        return series;
     }
     
-    public void setRainProbability(int rainProbability) {
-        this.rainProbability = rainProbability;
+    public void setSeries(byte[] series) {
+        this.series = series;
     }
     
     public long getCachedAt() {
@@ -215,4 +156,12 @@ public class ForecastCacheEntity {
     public void setCachedAt(long cachedAt) {
         this.cachedAt = cachedAt;
     }
+    
+    public long getLastAccessed() {
+        return lastAccessed;
+    }
+    
+    public void setLastAccessed(long lastAccessed) {
+        this.lastAccessed = lastAccessed;
+    }
 }
@@ -3,13 +3,16 @@ package com.example.weatherapp.data.database.entities;
 import androidx.room.ColumnInfo;
 import androidx.room.Entity;
 import androidx.room.Ignore;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 
+import com.example.weatherapp.data.local.database.GeoCell;
+
 /**
  * Room entity for caching UV index data
  * Stores UV index value and related information
  */
-@Entity(tableName = "uv_index_cache")
+@Entity(tableName = "uv_index_cache", indices = {@Index("cell_id")})
 public class UVIndexCacheEntity {
     
     @PrimaryKey(autoGenerate = true)
@@ -21,6 +24,9 @@ public class UVIndexCacheEntity {
     @ColumnInfo(name = "longitude")
     private double longitude;
     
+    @ColumnInfo(name = "cell_id")
+    private long cellId; // GeoCell id on the 0.1° grid, indexed for coordinate lookups
+    
     @ColumnInfo(name = "uv_index")
     private double uvIndex; // UV Index value (0-11+)
     
@@ -33,6 +39,9 @@ public class UVIndexCacheEntity {
     @ColumnInfo(name = "cached_at")
     private long cachedAt; // When this data was cached
     
+    @ColumnInfo(name = "last_accessed")
+    private long lastAccessed; // When this row was last served, for LRU eviction
+    
     // Constructors
     public UVIndexCacheEntity() {
     }
@@ -42,10 +51,12 @@ public class UVIndexCacheEntity {
                              String uvLevel, long timestamp, long cachedAt) {
         this.latitude = latitude;
         this.longitude = longitude;
+        this.cellId = GeoCell.cellOf(latitude, longitude, GeoCell.COARSE_DEGREES);
         this.uvIndex = uvIndex;
         this.uvLevel = uvLevel;
         this.timestamp = timestamp;
         this.cachedAt = cachedAt;
+        this.lastAccessed = cachedAt;
     }
     
     // Getters and Setters
@@ -63,6 +74,7 @@ public class UVIndexCacheEntity {
     
     public void setLatitude(double latitude) {
         this.latitude = latitude;
+        this.cellId = GeoCell.cellOf(latitude, longitude, GeoCell.COARSE_DEGREES);
     }
     
     public double getLongitude() {
@@ -71,6 +83,15 @@ public class UVIndexCacheEntity {
     
     public void setLongitude(double longitude) {
         this.longitude = longitude;
+        this.cellId = GeoCell.cellOf(latitude, longitude, GeoCell.COARSE_DEGREES);
+    }
+    
+    public long getCellId() {
+        return cellId;
+    }
+    
+    public void setCellId(long cellId) {
+        this.cellId = cellId;
     }
     
     public double getUvIndex() {
@@ -104,4 +125,12 @@ public class UVIndexCacheEntity {
     public void setCachedAt(long cachedAt) {
         this.cachedAt = cachedAt;
     }
+    
+    public long getLastAccessed() {
+        return lastAccessed;
+    }
+    
+    public void setLastAccessed(long lastAccessed) {
+        this.lastAccessed = lastAccessed;
+    }
 }
@@ -0,0 +1,52 @@
+package com.example.weatherapp.data.json;
+
+import com.example.weatherapp.data.models.FavoriteCity;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * FavoriteCity as stored by FavoriteCitiesManager, keyed by field name like reflective Gson did
+ */
+final class FavoriteCityAdapter extends TypeAdapter<FavoriteCity> {
+
+    @Override
+    public void write(JsonWriter out, FavoriteCity city) throws IOException {
+        out.beginObject();
+        out.name("cityName").value(city.getCityName());
+        out.name("country").value(city.getCountry());
+        out.name("latitude").value(city.getLatitude());
+        out.name("longitude").value(city.getLongitude());
+        out.name("currentTemp").value(city.getCurrentTemp());
+        out.name("weatherCondition").value(city.getWeatherCondition());
+        out.name("weatherDescription").value(city.getWeatherDescription());
+        out.name("lastUpdated").value(city.getLastUpdated());
+        out.name("cityId").value(city.getCityId());
+        out.endObject();
+    }
+
+    @Override
+    public FavoriteCity read(JsonReader reader) throws IOException {
+        FavoriteCity city = new FavoriteCity(null, null, 0, 0);
+        city.setLastUpdated(0);
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "cityName": city.setCityName(JsonFields.nextString(reader)); break;
+                case "country": city.setCountry(JsonFields.nextString(reader)); break;
+                case "latitude": city.setLatitude(JsonFields.nextDouble(reader)); break;
+                case "longitude": city.setLongitude(JsonFields.nextDouble(reader)); break;
+                case "currentTemp": city.setCurrentTemp(JsonFields.nextDouble(reader)); break;
+                case "weatherCondition": city.setWeatherCondition(JsonFields.nextString(reader)); break;
+                case "weatherDescription": city.setWeatherDescription(JsonFields.nextString(reader)); break;
+                case "lastUpdated": city.setLastUpdated(JsonFields.nextLong(reader)); break;
+                case "cityId": city.setCityId(JsonFields.nextLong(reader)); break;
+                default: reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return city;
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.weatherapp.data.json;
+
+import com.example.weatherapp.data.models.FavoriteCity;
+import com.example.weatherapp.data.models.WeatherAlert;
+import com.example.weatherapp.data.responses.AirQualityResponse;
+import com.example.weatherapp.data.responses.GroupWeatherResponse;
+import com.example.weatherapp.data.responses.HourlyForecastResponse;
+import com.example.weatherapp.data.responses.OpenAIRequest;
+import com.example.weatherapp.data.responses.OpenAIResponse;
+import com.example.weatherapp.data.responses.UVIndexResponse;
+import com.example.weatherapp.data.responses.WeatherAlertsResponse;
+import com.example.weatherapp.data.responses.WeatherResponse;
+import com.example.weatherapp.domain.model.WeatherAlarm;
+import com.example.weatherapp.domain.model.WeatherData;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.ReflectionAccessFilter;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+
+import java.lang.reflect.Type;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The app's one Gson instance, with a hand-written adapter for every model it reads or writes
+ * API models carry their adapter as a nested class (it sets their private fields); app models are
+ * adapted here through their public API. Reflection is blocked outright, so a model without an
+ * adapter fails on first use instead of silently falling back to a reflective one - and, with
+ * field names only as string literals, R8 can shrink and rename the models without keep rules.
+ */
+public final class JsonAdapters implements TypeAdapterFactory {
+
+    private static final Gson GSON = newGson();
+
+    private final Map<Class<?>, TypeAdapter<?>> adapters = new HashMap<>();
+
+    private JsonAdapters() {
+        add(WeatherResponse.class, WeatherResponse.typeAdapter());
+        add(GroupWeatherResponse.class, GroupWeatherResponse.typeAdapter());
+        add(HourlyForecastResponse.class, HourlyForecastResponse.typeAdapter());
+        add(AirQualityResponse.class, AirQualityResponse.typeAdapter());
+        add(UVIndexResponse.class, UVIndexResponse.typeAdapter());
+        add(WeatherAlertsResponse.class, WeatherAlertsResponse.typeAdapter());
+        add(WeatherAlert.class, WeatherAlert.typeAdapter());
+        add(OpenAIRequest.class, OpenAIRequest.typeAdapter());
+        add(OpenAIResponse.class, OpenAIResponse.typeAdapter());
+        add(WeatherData.class, new WeatherDataAdapter());
+        add(FavoriteCity.class, new FavoriteCityAdapter());
+        add(WeatherAlarm.class, new WeatherAlarmAdapter());
+    }
+
+    /**
+     * Shared instance for Retrofit and local persistence; thread-safe
+     */
+    public static Gson gson() {
+        return GSON;
+    }
+
+    /**
+     * A fresh instance with no adapters cached yet; the app uses gson(), tests measure first parses
+     */
+    static Gson newGson() {
+        return new GsonBuilder()
+                .registerTypeAdapterFactory(new JsonAdapters())
+                .addReflectionAccessFilter(type -> ReflectionAccessFilter.FilterResult.BLOCK_ALL)
+                .create();
+    }
+
+    /**
+     * List&lt;T&gt; without an anonymous TypeToken subclass, whose generic signature R8 may strip
+     */
+    public static Type listOf(Class<?> elementType) {
+        return TypeToken.getParameterized(List.class, elementType).getType();
+    }
+
+    private <T> void add(Class<T> type, TypeAdapter<T> adapter) {
+        adapters.put(type, adapter.nullSafe());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        return (TypeAdapter<T>) adapters.get(type.getRawType());
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.weatherapp.data.json;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Null-tolerant readers shared by the hand-written adapters
+ * A JSON null reads as the field's default (0, false or null), as it did with reflective Gson.
+ */
+public final class JsonFields {
+
+    /**
+     * Reads one element of a JSON array
+     */
+    public interface ItemReader<T> {
+        T read(JsonReader reader) throws IOException;
+    }
+
+    private JsonFields() {
+    }
+
+    /**
+     * Consume a null value if there is one
+     * @return true if the value was null and has been consumed
+     */
+    public static boolean skipIfNull(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return true;
+        }
+        return false;
+    }
+
+    public static double nextDouble(JsonReader reader) throws IOException {
+        return skipIfNull(reader) ? 0 : reader.nextDouble();
+    }
+
+    public static long nextLong(JsonReader reader) throws IOException {
+        return skipIfNull(reader) ? 0 : reader.nextLong();
+    }
+
+    public static int nextInt(JsonReader reader) throws IOException {
+        return skipIfNull(reader) ? 0 : reader.nextInt();
+    }
+
+    public static boolean nextBoolean(JsonReader reader) throws IOException {
+        return !skipIfNull(reader) && reader.nextBoolean();
+    }
+
+    public static String nextString(JsonReader reader) throws IOException {
+        return skipIfNull(reader) ? null : reader.nextString();
+    }
+
+    public static Double nextBoxedDouble(JsonReader reader) throws IOException {
+        return skipIfNull(reader) ? null : reader.nextDouble();
+    }
+
+    public static Integer nextBoxedInt(JsonReader reader) throws IOException {
+        return skipIfNull(reader) ? null : reader.nextInt();
+    }
+
+    /**
+     * Read an array with the given element reader; null stays null
+     */
+    public static <T> List<T> nextList(JsonReader reader, ItemReader<T> itemReader) throws IOException {
+        if (skipIfNull(reader)) {
+            return null;
+        }
+        List<T> list = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            list.add(skipIfNull(reader) ? null : itemReader.read(reader));
+        }
+        reader.endArray();
+        return list;
+    }
+
+    /**
+     * Enum constant by name, looked up in the given values() so R8 may rename the enum;
+     * null or a name this build doesn't know reads as null
+     */
+    public static <E extends Enum<E>> E nextEnum(JsonReader reader, E[] constants) throws IOException {
+        String name = nextString(reader);
+        if (name == null) {
+            return null;
+        }
+        for (E constant : constants) {
+            if (constant.name().equals(name)) {
+                return constant;
+            }
+        }
+        return null;
+    }
+}
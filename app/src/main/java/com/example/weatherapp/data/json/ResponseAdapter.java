@@ -0,0 +1,15 @@
+package com.example.weatherapp.data.json;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Adapter of a model that only comes in from an API and is never written back out
+ */
+public abstract class ResponseAdapter<T> extends TypeAdapter<T> {
+
+    @Override
+    public final void write(JsonWriter out, T value) {
+        throw new UnsupportedOperationException("Response models are read-only: " + value.getClass().getSimpleName());
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.weatherapp.data.json;
+
+import com.example.weatherapp.domain.model.AlarmCondition;
+import com.example.weatherapp.domain.model.AlarmType;
+import com.example.weatherapp.domain.model.WeatherAlarm;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * WeatherAlarm and its AlarmCondition as stored by WeatherAlarmService
+ * Same keys as reflective Gson wrote (field names, enums by constant name), so saved alarms still load.
+ */
+final class WeatherAlarmAdapter extends TypeAdapter<WeatherAlarm> {
+
+    @Override
+    public void write(JsonWriter out, WeatherAlarm alarm) throws IOException {
+        out.beginObject();
+        out.name("id").value(alarm.getId());
+        out.name("title").value(alarm.getTitle());
+        out.name("hourOfDay").value(alarm.getHourOfDay());
+        out.name("minute").value(alarm.getMinute());
+        out.name("type").value(alarm.getType() != null ? alarm.getType().name() : null);
+        if (alarm.getCondition() != null) {
+            out.name("condition");
+            writeCondition(out, alarm.getCondition());
+        }
+        out.name("enabled").value(alarm.isEnabled());
+        out.name("createdAt").value(alarm.getCreatedAt());
+        out.name("cityName").value(alarm.getCityName());
+        boolean[] days = alarm.getDaysOfWeek();
+        if (days != null) {
+            out.name("daysOfWeek").beginArray();
+            for (boolean day : days) {
+                out.value(day);
+            }
+            out.endArray();
+        }
+        out.endObject();
+    }
+
+    @Override
+    public WeatherAlarm read(JsonReader reader) throws IOException {
+        WeatherAlarm alarm = new WeatherAlarm();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "id": alarm.setId(JsonFields.nextString(reader)); break;
+                case "title": alarm.setTitle(JsonFields.nextString(reader)); break;
+                case "hourOfDay": alarm.setHourOfDay(JsonFields.nextInt(reader)); break;
+                case "minute": alarm.setMinute(JsonFields.nextInt(reader)); break;
+                case "type": alarm.setType(JsonFields.nextEnum(reader, AlarmType.values())); break;
+                case "condition": alarm.setCondition(readCondition(reader)); break;
+                case "enabled": alarm.setEnabled(JsonFields.nextBoolean(reader)); break;
+                case "createdAt": alarm.setCreatedAt(JsonFields.nextLong(reader)); break;
+                case "cityName": alarm.setCityName(JsonFields.nextString(reader)); break;
+                case "daysOfWeek": alarm.setDaysOfWeek(readDays(reader)); break;
+                default: reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return alarm;
+    }
+
+    private static void writeCondition(JsonWriter out, AlarmCondition condition) throws IOException {
+        out.beginObject();
+        out.name("weatherCondition").value(condition.getWeatherCondition() != null
+                ? condition.getWeatherCondition().name() : null);
+        out.name("earlyMinutes").value(condition.getEarlyMinutes());
+        out.name("temperatureThreshold").value(condition.getTemperatureThreshold());
+        out.name("comparisonOperator").value(condition.getComparisonOperator() != null
+                ? condition.getComparisonOperator().name() : null);
+        out.name("uvThreshold").value(condition.getUvThreshold());
+        out.name("aqiThreshold").value(condition.getAqiThreshold());
+        out.name("hoursBeforeEvent").value(condition.getHoursBeforeEvent());
+        out.endObject();
+    }
+
+    private static AlarmCondition readCondition(JsonReader reader) throws IOException {
+        if (JsonFields.skipIfNull(reader)) return null;
+        AlarmCondition condition = new AlarmCondition();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "weatherCondition":
+                    condition.setWeatherCondition(JsonFields.nextEnum(reader,
+                            AlarmCondition.WeatherConditionType.values()));
+                    break;
+                case "earlyMinutes": condition.setEarlyMinutes(JsonFields.nextInt(reader)); break;
+                case "temperatureThreshold": condition.setTemperatureThreshold(JsonFields.nextDouble(reader)); break;
+                case "comparisonOperator":
+                    condition.setComparisonOperator(JsonFields.nextEnum(reader,
+                            AlarmCondition.ComparisonOperator.values()));
+                    break;
+                case "uvThreshold": condition.setUvThreshold(JsonFields.nextInt(reader)); break;
+                case "aqiThreshold": condition.setAqiThreshold(JsonFields.nextInt(reader)); break;
+                case "hoursBeforeEvent": condition.setHoursBeforeEvent(JsonFields.nextInt(reader)); break;
+                default: reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return condition;
+    }
+
+    private static boolean[] readDays(JsonReader reader) throws IOException {
+        if (JsonFields.skipIfNull(reader)) return null;
+        boolean[] days = new boolean[7];
+        int count = 0;
+        reader.beginArray();
+        while (reader.hasNext()) {
+            boolean day = JsonFields.nextBoolean(reader);
+            if (count == days.length) {
+                days = Arrays.copyOf(days, count * 2);
+            }
+            days[count++] = day;
+        }
+        reader.endArray();
+        return count == days.length ? days : Arrays.copyOf(days, count);
+    }
+}
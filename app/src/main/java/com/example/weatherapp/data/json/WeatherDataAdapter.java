@@ -0,0 +1,80 @@
+package com.example.weatherapp.data.json;
+
+import com.example.weatherapp.domain.model.WeatherData;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * WeatherData as passed between screens and kept in SharedPreferences
+ * Keys are the model's field names, the format reflective Gson wrote, so stored values still read.
+ */
+final class WeatherDataAdapter extends TypeAdapter<WeatherData> {
+
+    @Override
+    public void write(JsonWriter out, WeatherData data) throws IOException {
+        out.beginObject();
+        out.name("cityName").value(data.getCityName());
+        out.name("countryCode").value(data.getCountryCode());
+        out.name("temperature").value(data.getTemperature());
+        out.name("feelsLike").value(data.getFeelsLike());
+        out.name("minTemperature").value(data.getMinTemperature());
+        out.name("maxTemperature").value(data.getMaxTemperature());
+        out.name("humidity").value(data.getHumidity());
+        out.name("pressure").value(data.getPressure());
+        out.name("windSpeed").value(data.getWindSpeed());
+        out.name("windDegree").value(data.getWindDegree());
+        out.name("weatherMain").value(data.getWeatherMain());
+        out.name("weatherDescription").value(data.getWeatherDescription());
+        out.name("weatherIcon").value(data.getWeatherIcon());
+        out.name("cloudiness").value(data.getCloudiness());
+        out.name("visibility").value(data.getVisibility());
+        out.name("sunrise").value(data.getSunrise());
+        out.name("sunset").value(data.getSunset());
+        out.name("timestamp").value(data.getTimestamp());
+        out.name("latitude").value(data.getLatitude());
+        out.name("longitude").value(data.getLongitude());
+        out.name("rainVolume").value(data.getRainVolume());
+        out.name("temperatureUnit").value(data.getTemperatureUnit());
+        out.name("cityId").value(data.getCityId());
+        out.endObject();
+    }
+
+    @Override
+    public WeatherData read(JsonReader reader) throws IOException {
+        WeatherData.Builder builder = new WeatherData.Builder();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "cityName": builder.setCityName(JsonFields.nextString(reader)); break;
+                case "countryCode": builder.setCountryCode(JsonFields.nextString(reader)); break;
+                case "temperature": builder.setTemperature(JsonFields.nextDouble(reader)); break;
+                case "feelsLike": builder.setFeelsLike(JsonFields.nextDouble(reader)); break;
+                case "minTemperature": builder.setMinTemperature(JsonFields.nextDouble(reader)); break;
+                case "maxTemperature": builder.setMaxTemperature(JsonFields.nextDouble(reader)); break;
+                case "humidity": builder.setHumidity(JsonFields.nextInt(reader)); break;
+                case "pressure": builder.setPressure(JsonFields.nextDouble(reader)); break;
+                case "windSpeed": builder.setWindSpeed(JsonFields.nextDouble(reader)); break;
+                case "windDegree": builder.setWindDegree(JsonFields.nextInt(reader)); break;
+                case "weatherMain": builder.setWeatherMain(JsonFields.nextString(reader)); break;
+                case "weatherDescription": builder.setWeatherDescription(JsonFields.nextString(reader)); break;
+                case "weatherIcon": builder.setWeatherIcon(JsonFields.nextString(reader)); break;
+                case "cloudiness": builder.setCloudiness(JsonFields.nextInt(reader)); break;
+                case "visibility": builder.setVisibility(JsonFields.nextDouble(reader)); break;
+                case "sunrise": builder.setSunrise(JsonFields.nextLong(reader)); break;
+                case "sunset": builder.setSunset(JsonFields.nextLong(reader)); break;
+                case "timestamp": builder.setTimestamp(JsonFields.nextLong(reader)); break;
+                case "latitude": builder.setLatitude(JsonFields.nextDouble(reader)); break;
+                case "longitude": builder.setLongitude(JsonFields.nextDouble(reader)); break;
+                case "rainVolume": builder.setRainVolume(JsonFields.nextBoxedDouble(reader)); break;
+                case "temperatureUnit": builder.setTemperatureUnit(JsonFields.nextString(reader)); break;
+                case "cityId": builder.setCityId(JsonFields.nextLong(reader)); break;
+                default: reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return builder.build();
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.weatherapp.data.local.dao;
+
+import androidx.room.Dao;
+import androidx.room.Query;
+
+import java.util.List;
+
+/**
+ * Data Access Object for cache housekeeping across all cache tables
+ * Used only by CacheJanitor; every method returns the number of rows removed
+ */
+@Dao
+public interface CacheMaintenanceDao {
+    
+    // ============ Age limits ============
+    
+    @Query("DELETE FROM weather_cache WHERE cachedAt < :cutoff")
+    int purgeWeather(long cutoff);
+    
+    @Query("DELETE FROM forecast_cache WHERE cached_at < :cutoff")
+    int purgeForecasts(long cutoff);
+    
+    @Query("DELETE FROM uv_index_cache WHERE cached_at < :cutoff")
+    int purgeUVIndex(long cutoff);
+    
+    @Query("DELETE FROM air_quality_cache WHERE cached_at < :cutoff")
+    int purgeAirQuality(long cutoff);
+    
+    // ============ Row budgets (keep the most recently accessed) ============
+    
+    @Query("DELETE FROM weather_cache WHERE cityName IN " +
+           "(SELECT cityName FROM weather_cache ORDER BY lastAccessed DESC LIMIT -1 OFFSET :maxRows)")
+    int trimWeather(int maxRows);
+    
+    @Query("DELETE FROM forecast_cache WHERE id IN " +
+           "(SELECT id FROM forecast_cache ORDER BY last_accessed DESC LIMIT -1 OFFSET :maxRows)")
+    int trimForecasts(int maxRows);
+    
+    @Query("DELETE FROM uv_index_cache WHERE id IN " +
+           "(SELECT id FROM uv_index_cache ORDER BY last_accessed DESC LIMIT -1 OFFSET :maxRows)")
+    int trimUVIndex(int maxRows);
+    
+    @Query("DELETE FROM air_quality_cache WHERE id IN " +
+           "(SELECT id FROM air_quality_cache ORDER BY last_accessed DESC LIMIT -1 OFFSET :maxRows)")
+    int trimAirQuality(int maxRows);
+    
+    // ============ Byte budget (forecast rows vary in size) ============
+    
+    /**
+     * Size of each forecast row's packed series, most recently accessed first
+     */
+    @Query("SELECT id, LENGTH(series) AS bytes FROM forecast_cache ORDER BY last_accessed DESC")
+    List<RowSize> getForecastSizesByAccess();
+    
+    @Query("DELETE FROM forecast_cache WHERE id IN (:ids)")
+    int deleteForecasts(List<Integer> ids);
+    
+    /**
+     * Row id with its payload size in bytes
+     */
+    class RowSize {
+        public int id;
+        public long bytes;
+    }
+}
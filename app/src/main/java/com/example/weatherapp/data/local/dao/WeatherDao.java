@@ -5,8 +5,11 @@ import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
 
+import com.example.weatherapp.data.local.database.GeoCell;
 import com.example.weatherapp.data.local.entity.WeatherCacheEntity;
 
+import java.util.List;
+
 /**
  * Data Access Object for weather cache operations
  */
@@ -19,6 +22,12 @@ public interface WeatherDao {
     @Insert(onConflict = OnConflictStrategy.REPLACE)
     void insertWeather(WeatherCacheEntity weather);
     
+    /**
+     * Insert or replace several rows in one transaction
+     */
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void insertAllWeather(List<WeatherCacheEntity> weather);
+    
     /**
      * Get cached weather by city name
      */
@@ -27,11 +36,25 @@ public interface WeatherDao {
     
     /**
      * Get cached weather by coordinates (with tolerance)
+     * Narrows to the surrounding grid cells through the cellId index first
      */
-    @Query("SELECT * FROM weather_cache WHERE " +
-           "ABS(latitude - :lat) < 0.01 AND ABS(longitude - :lon) < 0.01 " +
+    default WeatherCacheEntity getWeatherByCoordinates(double lat, double lon) {
+        return getWeatherInCells(GeoCell.neighborhood(lat, lon, GeoCell.FINE_DEGREES), lat, lon);
+    }
+    
+    /**
+     * Get cached weather within tolerance among the given grid cells
+     */
+    @Query("SELECT * FROM weather_cache WHERE cellId IN (:cells) " +
+           "AND ABS(latitude - :lat) < 0.01 AND ABS(longitude - :lon) < 0.01 " +
            "LIMIT 1")
-    WeatherCacheEntity getWeatherByCoordinates(double lat, double lon);
+    WeatherCacheEntity getWeatherInCells(List<Long> cells, double lat, double lon);
+    
+    /**
+     * Mark a row as just served, so the cache janitor evicts it last
+     */
+    @Query("UPDATE weather_cache SET lastAccessed = :now WHERE cityName = :cityName")
+    void touchWeather(String cityName, long now);
     
     /**
      * Delete weather cache older than specified timestamp
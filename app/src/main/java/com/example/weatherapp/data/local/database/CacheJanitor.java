@@ -0,0 +1,177 @@
+package com.example.weatherapp.data.local.database;
+
+import android.database.Cursor;
+
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+import com.example.weatherapp.data.local.dao.CacheMaintenanceDao;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Keeps weather_database within an age, row and byte budget
+ * 1. Drops rows older than each table's max age (past any use, even as offline fallback)
+ * 2. Trims each table to its row budget, evicting the least recently accessed rows
+ * 3. Trims forecast_cache to its byte budget the same way (the only table with variable-size rows)
+ * All deletes run in one transaction, then freed pages are returned to the file system
+ * with an incremental vacuum.
+ */
+public class CacheJanitor {
+    
+    public static final long WEATHER_MAX_AGE_MS = 7 * 24 * 60 * 60 * 1000L;
+    public static final long FORECAST_MAX_AGE_MS = 5 * 24 * 60 * 60 * 1000L; // Whole forecast is in the past
+    public static final long UV_INDEX_MAX_AGE_MS = 2 * 24 * 60 * 60 * 1000L;
+    public static final long AIR_QUALITY_MAX_AGE_MS = 2 * 24 * 60 * 60 * 1000L;
+    
+    public static final int WEATHER_MAX_ROWS = 200;
+    public static final int FORECAST_MAX_ROWS = 100;
+    public static final int UV_INDEX_MAX_ROWS = 100;
+    public static final int AIR_QUALITY_MAX_ROWS = 100;
+    public static final long FORECAST_MAX_BYTES = 256 * 1024;
+    
+    /**
+     * Database-level operations the janitor needs besides the DAO
+     */
+    interface Storage {
+        void runInTransaction(Runnable work);
+        
+        /** Current database file size in bytes */
+        long sizeBytes();
+        
+        /** Return free pages to the file system */
+        void incrementalVacuum();
+    }
+    
+    /**
+     * What one run removed and reclaimed
+     */
+    public static final class Report {
+        public int weatherRows;
+        public int forecastRows;
+        public int uvIndexRows;
+        public int airQualityRows;
+        public long bytesBefore;
+        public long bytesAfter;
+        
+        public int totalRows() {
+            return weatherRows + forecastRows + uvIndexRows + airQualityRows;
+        }
+        
+        public long bytesReclaimed() {
+            return Math.max(0, bytesBefore - bytesAfter);
+        }
+        
+        @Override
+        public String toString() {
+            return String.format(Locale.US,
+                    "Removed %d rows (weather %d, forecast %d, uv %d, air %d), reclaimed %d of %d bytes",
+                    totalRows(), weatherRows, forecastRows, uvIndexRows, airQualityRows,
+                    bytesReclaimed(), bytesBefore);
+        }
+    }
+    
+    private final CacheMaintenanceDao dao;
+    private final Storage storage;
+    private final long forecastMaxBytes;
+    
+    public CacheJanitor(WeatherDatabase database) {
+        this(database.cacheMaintenanceDao(), new RoomStorage(database), FORECAST_MAX_BYTES);
+    }
+    
+    CacheJanitor(CacheMaintenanceDao dao, Storage storage, long forecastMaxBytes) {
+        this.dao = dao;
+        this.storage = storage;
+        this.forecastMaxBytes = forecastMaxBytes;
+    }
+    
+    /**
+     * Enforce every budget; call off the main thread
+     */
+    public Report run(long now) {
+        Report report = new Report();
+        report.bytesBefore = storage.sizeBytes();
+        
+        storage.runInTransaction(() -> {
+            report.weatherRows = dao.purgeWeather(now - WEATHER_MAX_AGE_MS)
+                    + dao.trimWeather(WEATHER_MAX_ROWS);
+            report.forecastRows = dao.purgeForecasts(now - FORECAST_MAX_AGE_MS)
+                    + dao.trimForecasts(FORECAST_MAX_ROWS)
+                    + trimForecastBytes();
+            report.uvIndexRows = dao.purgeUVIndex(now - UV_INDEX_MAX_AGE_MS)
+                    + dao.trimUVIndex(UV_INDEX_MAX_ROWS);
+            report.airQualityRows = dao.purgeAirQuality(now - AIR_QUALITY_MAX_AGE_MS)
+                    + dao.trimAirQuality(AIR_QUALITY_MAX_ROWS);
+        });
+        
+        // VACUUM can't run inside a transaction
+        if (report.totalRows() > 0) {
+            storage.incrementalVacuum();
+        }
+        report.bytesAfter = storage.sizeBytes();
+        return report;
+    }
+    
+    /**
+     * Keep the most recently accessed forecast rows that fit in the byte budget
+     */
+    private int trimForecastBytes() {
+        long total = 0;
+        List<Integer> evicted = new ArrayList<>();
+        for (CacheMaintenanceDao.RowSize row : dao.getForecastSizesByAccess()) {
+            total += row.bytes;
+            if (total > forecastMaxBytes) {
+                evicted.add(row.id);
+            }
+        }
+        return evicted.isEmpty() ? 0 : dao.deleteForecasts(evicted);
+    }
+    
+    /**
+     * Storage backed by the Room database
+     */
+    private static final class RoomStorage implements Storage {
+        private static final int AUTO_VACUUM_INCREMENTAL = 2;
+        
+        private final WeatherDatabase database;
+        
+        RoomStorage(WeatherDatabase database) {
+            this.database = database;
+        }
+        
+        @Override
+        public void runInTransaction(Runnable work) {
+            database.runInTransaction(work);
+        }
+        
+        @Override
+        public long sizeBytes() {
+            SupportSQLiteDatabase db = database.getOpenHelper().getWritableDatabase();
+            return pragma(db, "page_count") * pragma(db, "page_size");
+        }
+        
+        @Override
+        public void incrementalVacuum() {
+            SupportSQLiteDatabase db = database.getOpenHelper().getWritableDatabase();
+            if (pragma(db, "auto_vacuum") != AUTO_VACUUM_INCREMENTAL) {
+                // Databases created before the janitor: switching modes needs one full VACUUM
+                db.execSQL("PRAGMA auto_vacuum = INCREMENTAL");
+                db.execSQL("VACUUM");
+            } else {
+                pragma(db, "incremental_vacuum");
+            }
+        }
+        
+        private static long pragma(SupportSQLiteDatabase db, String name) {
+            try (Cursor cursor = db.query("PRAGMA " + name)) {
+                long value = 0;
+                // Step through every row so pragmas with side effects run to completion
+                while (cursor.moveToNext()) {
+                    value = cursor.getLong(0);
+                }
+                return value;
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.weatherapp.data.local.database;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Quantized lat/lon grid used as an indexed lookup key for the cache tables
+ * Each row stores the id of the grid cell it falls in. A "within tolerance" lookup
+ * becomes an indexed IN over the 3x3 cells around the query point (the grid size is
+ * the tolerance, so no match can lie further out), followed by the exact ABS check.
+ */
+public final class GeoCell {
+
+    /** Grid size for weather_cache, matches its 0.01° tolerance */
+    public static final double FINE_DEGREES = 0.01;
+
+    /** Grid size for forecast/air quality/UV caches, matches their 0.1° tolerance */
+    public static final double COARSE_DEGREES = 0.1;
+
+    private GeoCell() {}
+
+    /**
+     * Cell id of a coordinate on a grid of the given size
+     */
+    public static long cellOf(double lat, double lon, double cellDegrees) {
+        return pack(row(lat, cellDegrees), column(lon, cellDegrees), cellDegrees);
+    }
+
+    /**
+     * The cell containing the point and its 8 neighbours
+     * Longitude wraps at the antimeridian; rows past the poles are dropped.
+     */
+    public static List<Long> neighborhood(double lat, double lon, double cellDegrees) {
+        long row = row(lat, cellDegrees);
+        long column = column(lon, cellDegrees);
+        long rows = rowCount(cellDegrees);
+        long columns = columnCount(cellDegrees);
+        List<Long> cells = new ArrayList<>(9);
+        for (long r = row - 1; r <= row + 1; r++) {
+            if (r < 0 || r >= rows) {
+                continue;
+            }
+            for (long c = column - 1; c <= column + 1; c++) {
+                long wrapped = Math.floorMod(c, columns);
+                Long cell = r * columns + wrapped;
+                if (!cells.contains(cell)) {
+                    cells.add(cell);
+                }
+            }
+        }
+        return cells;
+    }
+
+    private static long row(double lat, double cellDegrees) {
+        long row = (long) Math.floor((lat + 90.0) / cellDegrees);
+        return Math.max(0, Math.min(rowCount(cellDegrees) - 1, row));
+    }
+
+    private static long column(double lon, double cellDegrees) {
+        long column = (long) Math.floor((lon + 180.0) / cellDegrees);
+        return Math.floorMod(column, columnCount(cellDegrees));
+    }
+
+    private static long rowCount(double cellDegrees) {
+        return Math.round(180.0 / cellDegrees);
+    }
+
+    private static long columnCount(double cellDegrees) {
+        return Math.round(360.0 / cellDegrees);
+    }
+
+    private static long pack(long row, long column, double cellDegrees) {
+        return row * columnCount(cellDegrees) + column;
+    }
+}
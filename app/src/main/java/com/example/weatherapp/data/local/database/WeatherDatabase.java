@@ -5,6 +5,8 @@ import android.content.Context;
 import androidx.room.Database;
 import androidx.room.Room;
 import androidx.room.RoomDatabase;
+import androidx.room.migration.Migration;
+import androidx.sqlite.db.SupportSQLiteDatabase;
 
 import com.example.weatherapp.data.database.dao.AirQualityCacheDao;
 import com.example.weatherapp.data.database.dao.ForecastCacheDao;
@@ -12,6 +14,7 @@ import com.example.weatherapp.data.database.dao.UVIndexCacheDao;
 import com.example.weatherapp.data.database.entities.AirQualityCacheEntity;
 import com.example.weatherapp.data.database.entities.ForecastCacheEntity;
 import com.example.weatherapp.data.database.entities.UVIndexCacheEntity;
+import com.example.weatherapp.data.local.dao.CacheMaintenanceDao;
 import com.example.weatherapp.data.local.dao.WeatherDao;
 import com.example.weatherapp.data.local.entity.WeatherCacheEntity;
 
@@ -20,6 +23,15 @@ import com.example.weatherapp.data.local.entity.WeatherCacheEntity;
  * Enables offline access to weather information
  * 
  * Version 2: Added ForecastCacheEntity, AirQualityCacheEntity, UVIndexCacheEntity
+ * Version 3: Indexed GeoCell id column on all cache tables for coordinate lookups
+ * Version 4: Forecast cache stores full hourly rows (feels like, pressure, wind degree, units, timezone)
+ * Version 5: Composite (key, forecast_type, cached_at) indexes on forecast_cache for TTL range scans
+ * Version 6: forecast_cache holds one packed series BLOB per location and fetch instead of one row per slot
+ * Version 7: last accessed time on every cache table, for LRU eviction by CacheJanitor
+ * Version 8: OpenWeatherMap city id on weather_cache, so cached favorites keep their batch id
+ * Version 9: display name on weather_cache, for GPS rows keyed by their gazetteer city's name
+ * 
+ * Upgrades from version 2 (the released schema) keep the cached rows; version 1 is rebuilt.
  */
 @Database(
     entities = {
@@ -28,7 +40,7 @@ import com.example.weatherapp.data.local.entity.WeatherCacheEntity;
         AirQualityCacheEntity.class,
         UVIndexCacheEntity.class
     },
-    version = 2,
+    version = 9,
     exportSchema = false
 )
 public abstract class WeatherDatabase extends RoomDatabase {
@@ -36,6 +48,121 @@ public abstract class WeatherDatabase extends RoomDatabase {
     private static WeatherDatabase INSTANCE;
     private static final String DATABASE_NAME = "weather_database";
     
+    /**
+     * Add the indexed GeoCell id to every cache table, computed from each row's coordinates
+     */
+    static final Migration MIGRATION_2_3 = new Migration(2, 3) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            database.execSQL("ALTER TABLE `weather_cache` ADD COLUMN `cellId` INTEGER NOT NULL DEFAULT 0");
+            database.execSQL("UPDATE `weather_cache` SET `cellId` = " + cellIdSql(GeoCell.FINE_DEGREES));
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_weather_cache_cellId` ON `weather_cache` (`cellId`)");
+            for (String table : new String[] {"forecast_cache", "uv_index_cache", "air_quality_cache"}) {
+                database.execSQL("ALTER TABLE `" + table + "` ADD COLUMN `cell_id` INTEGER NOT NULL DEFAULT 0");
+                database.execSQL("UPDATE `" + table + "` SET `cell_id` = " + cellIdSql(GeoCell.COARSE_DEGREES));
+                database.execSQL("CREATE INDEX IF NOT EXISTS `index_" + table + "_cell_id` ON `" + table + "` (`cell_id`)");
+            }
+        }
+    };
+    
+    /**
+     * GeoCell.cellOf() as SQL over the row's latitude and longitude columns
+     * Both offsets are non-negative for valid coordinates, so CAST's truncation is the floor.
+     */
+    static String cellIdSql(double cellDegrees) {
+        long rows = Math.round(180.0 / cellDegrees);
+        long columns = Math.round(360.0 / cellDegrees);
+        String row = "MIN(MAX(CAST((`latitude` + 90.0) / " + cellDegrees + " AS INTEGER), 0), " + (rows - 1) + ")";
+        String column = "(CAST((`longitude` + 180.0) / " + cellDegrees + " AS INTEGER) % " + columns + ")";
+        return row + " * " + columns + " + " + column;
+    }
+    
+    /**
+     * Add the hourly detail columns to forecast_cache
+     * Existing rows have no units and are skipped by the repository until they expire
+     */
+    static final Migration MIGRATION_3_4 = new Migration(3, 4) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            database.execSQL("ALTER TABLE `forecast_cache` ADD COLUMN `feels_like` REAL NOT NULL DEFAULT 0");
+            database.execSQL("ALTER TABLE `forecast_cache` ADD COLUMN `pressure` REAL NOT NULL DEFAULT 0");
+            database.execSQL("ALTER TABLE `forecast_cache` ADD COLUMN `wind_degree` INTEGER NOT NULL DEFAULT 0");
+            database.execSQL("ALTER TABLE `forecast_cache` ADD COLUMN `units` TEXT");
+            database.execSQL("ALTER TABLE `forecast_cache` ADD COLUMN `timezone_offset` INTEGER NOT NULL DEFAULT 0");
+        }
+    };
+    
+    /**
+     * Replace the single cell_id index on forecast_cache with the composite TTL indexes
+     */
+    static final Migration MIGRATION_4_5 = new Migration(4, 5) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            database.execSQL("DROP INDEX IF EXISTS `index_forecast_cache_cell_id`");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_forecast_cache_city_name_forecast_type_cached_at` "
+                    + "ON `forecast_cache` (`city_name`, `forecast_type`, `cached_at`)");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_forecast_cache_cell_id_forecast_type_cached_at` "
+                    + "ON `forecast_cache` (`cell_id`, `forecast_type`, `cached_at`)");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_forecast_cache_cached_at` "
+                    + "ON `forecast_cache` (`cached_at`)");
+        }
+    };
+    
+    /**
+     * Rebuild forecast_cache in the packed format
+     * Per-slot rows can't be turned into a series in SQL; they expire within hours anyway,
+     * so only the forecast table starts empty while weather, UV and air quality caches are kept
+     */
+    static final Migration MIGRATION_5_6 = new Migration(5, 6) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            database.execSQL("DROP TABLE IF EXISTS `forecast_cache`");
+            database.execSQL("CREATE TABLE IF NOT EXISTS `forecast_cache` ("
+                    + "`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, `city_name` TEXT, "
+                    + "`latitude` REAL NOT NULL, `longitude` REAL NOT NULL, `cell_id` INTEGER NOT NULL, "
+                    + "`forecast_type` TEXT, `units` TEXT, `slot_count` INTEGER NOT NULL, "
+                    + "`series` BLOB, `cached_at` INTEGER NOT NULL)");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_forecast_cache_city_name_forecast_type_cached_at` "
+                    + "ON `forecast_cache` (`city_name`, `forecast_type`, `cached_at`)");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_forecast_cache_cell_id_forecast_type_cached_at` "
+                    + "ON `forecast_cache` (`cell_id`, `forecast_type`, `cached_at`)");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_forecast_cache_cached_at` "
+                    + "ON `forecast_cache` (`cached_at`)");
+        }
+    };
+    
+    /**
+     * Add the last accessed column to every cache table, starting from the time each row was cached
+     */
+    static final Migration MIGRATION_6_7 = new Migration(6, 7) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            database.execSQL("ALTER TABLE `weather_cache` ADD COLUMN `lastAccessed` INTEGER NOT NULL DEFAULT 0");
+            database.execSQL("UPDATE `weather_cache` SET `lastAccessed` = `cachedAt`");
+            for (String table : new String[] {"forecast_cache", "uv_index_cache", "air_quality_cache"}) {
+                database.execSQL("ALTER TABLE `" + table + "` ADD COLUMN `last_accessed` INTEGER NOT NULL DEFAULT 0");
+                database.execSQL("UPDATE `" + table + "` SET `last_accessed` = `cached_at`");
+            }
+        }
+    };
+    
+    /**
+     * Add the OpenWeatherMap city id to weather_cache; rows cached before it stay 0 (unknown)
+     */
+    static final Migration MIGRATION_7_8 = new Migration(7, 8) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            database.execSQL("ALTER TABLE `weather_cache` ADD COLUMN `cityId` INTEGER NOT NULL DEFAULT 0");
+        }
+    };
+    
+    static final Migration MIGRATION_8_9 = new Migration(8, 9) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            database.execSQL("ALTER TABLE `weather_cache` ADD COLUMN `displayName` TEXT");
+        }
+    };
+    
     /**
      * Get Weather DAO
      */
@@ -56,6 +183,11 @@ public abstract class WeatherDatabase extends RoomDatabase {
      */
     public abstract UVIndexCacheDao uvIndexCacheDao();
     
+    /**
+     * Get cache maintenance DAO (used by CacheJanitor)
+     */
+    public abstract CacheMaintenanceDao cacheMaintenanceDao();
+    
     /**
      * Get singleton instance of database
      */
@@ -66,7 +198,10 @@ public abstract class WeatherDatabase extends RoomDatabase {
                 WeatherDatabase.class,
                 DATABASE_NAME
             )
-            .fallbackToDestructiveMigration()
+            .addMigrations(MIGRATION_2_3, MIGRATION_3_4, MIGRATION_4_5, MIGRATION_5_6, MIGRATION_6_7,
+                    MIGRATION_7_8, MIGRATION_8_9)
+            .fallbackToDestructiveMigrationFrom(1)
+            .fallbackToDestructiveMigrationOnDowngrade()
             .build();
         }
         return INSTANCE;
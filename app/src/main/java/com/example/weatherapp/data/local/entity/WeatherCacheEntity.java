@@ -2,19 +2,24 @@ package com.example.weatherapp.data.local.entity;
 
 import androidx.annotation.NonNull;
 import androidx.room.Entity;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 
+import com.example.weatherapp.data.local.database.GeoCell;
+
 /**
  * Room Entity for caching weather data
  * Allows offline access to last fetched weather
  */
-@Entity(tableName = "weather_cache")
+@Entity(tableName = "weather_cache", indices = {@Index("cellId")})
 public class WeatherCacheEntity {
     
     @PrimaryKey(autoGenerate = false)
     @NonNull
     private String cityName;
     
+    private long cityId; // OpenWeatherMap city id, 0 if unknown
+    private String displayName; // Name to show when the row is keyed by another (gazetteer) name, else null
     private String countryCode;
     private double temperature;
     private double feelsLike;
@@ -34,18 +39,27 @@ public class WeatherCacheEntity {
     private long timestamp;
     private double latitude;
     private double longitude;
+    private long cellId; // GeoCell id on the 0.01° grid, indexed for coordinate lookups
     private String temperatureUnit;
     private long cachedAt; // When was this cached
+    private long lastAccessed; // When this row was last served, for LRU eviction
     
     // Constructor
     public WeatherCacheEntity() {
         this.cachedAt = System.currentTimeMillis();
+        this.lastAccessed = cachedAt;
     }
     
     // Getters and Setters
     public String getCityName() { return cityName; }
     public void setCityName(String cityName) { this.cityName = cityName; }
     
+    public long getCityId() { return cityId; }
+    public void setCityId(long cityId) { this.cityId = cityId; }
+    
+    public String getDisplayName() { return displayName; }
+    public void setDisplayName(String displayName) { this.displayName = displayName; }
+    
     public String getCountryCode() { return countryCode; }
     public void setCountryCode(String countryCode) { this.countryCode = countryCode; }
     
@@ -98,10 +112,19 @@ public class WeatherCacheEntity {
     public void setTimestamp(long timestamp) { this.timestamp = timestamp; }
     
     public double getLatitude() { return latitude; }
-    public void setLatitude(double latitude) { this.latitude = latitude; }
+    public void setLatitude(double latitude) {
+        this.latitude = latitude;
+        this.cellId = GeoCell.cellOf(latitude, longitude, GeoCell.FINE_DEGREES);
+    }
     
     public double getLongitude() { return longitude; }
-    public void setLongitude(double longitude) { this.longitude = longitude; }
+    public void setLongitude(double longitude) {
+        this.longitude = longitude;
+        this.cellId = GeoCell.cellOf(latitude, longitude, GeoCell.FINE_DEGREES);
+    }
+    
+    public long getCellId() { return cellId; }
+    public void setCellId(long cellId) { this.cellId = cellId; }
     
     public String getTemperatureUnit() { return temperatureUnit; }
     public void setTemperatureUnit(String temperatureUnit) { this.temperatureUnit = temperatureUnit; }
@@ -109,6 +132,9 @@ public class WeatherCacheEntity {
     public long getCachedAt() { return cachedAt; }
     public void setCachedAt(long cachedAt) { this.cachedAt = cachedAt; }
     
+    public long getLastAccessed() { return lastAccessed; }
+    public void setLastAccessed(long lastAccessed) { this.lastAccessed = lastAccessed; }
+    
     /**
      * Check if cache is still valid (within 10 minutes)
      */
@@ -0,0 +1,130 @@
+package com.example.weatherapp.data.local.gazetteer;
+
+/**
+ * Nearest-neighbour index over the gazetteer's coordinates
+ *
+ * Each city is a point on the unit sphere (x, y, z), so straight-line distance orders
+ * cities the same way as great-circle distance and nothing breaks at the antimeridian
+ * or near the poles. The tree is implicit: an array of city indexes where the median of
+ * every range splits it on one axis (x, y, z by depth). No node objects; a lookup visits
+ * a few dozen points even for tens of thousands of cities.
+ */
+final class CityKdTree {
+
+    private static final double EARTH_RADIUS_KM = 6371.0;
+
+    private final float[] xs;
+    private final float[] ys;
+    private final float[] zs;
+    private final int[] order;
+
+    CityKdTree(float[] latitudes, float[] longitudes) {
+        int count = latitudes.length;
+        xs = new float[count];
+        ys = new float[count];
+        zs = new float[count];
+        order = new int[count];
+        for (int i = 0; i < count; i++) {
+            double lat = Math.toRadians(latitudes[i]);
+            double lon = Math.toRadians(longitudes[i]);
+            xs[i] = (float) (Math.cos(lat) * Math.cos(lon));
+            ys[i] = (float) (Math.cos(lat) * Math.sin(lon));
+            zs[i] = (float) Math.sin(lat);
+            order[i] = i;
+        }
+        build(0, count, 0);
+    }
+
+    /**
+     * Index of the city nearest to the point, or -1 if none is within maxKm
+     */
+    int nearest(double latitude, double longitude, double maxKm) {
+        double lat = Math.toRadians(latitude);
+        double lon = Math.toRadians(longitude);
+        double[] query = {Math.cos(lat) * Math.cos(lon), Math.cos(lat) * Math.sin(lon), Math.sin(lat)};
+        // Chord length of the search radius
+        double chord = 2 * Math.sin(Math.min(maxKm / EARTH_RADIUS_KM, Math.PI) / 2);
+        Best best = new Best(chord * chord);
+        search(0, order.length, 0, query, best);
+        return best.city;
+    }
+
+    private void build(int from, int to, int axis) {
+        if (to - from <= 1) {
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        select(from, to - 1, mid, axis);
+        build(from, mid, (axis + 1) % 3);
+        build(mid + 1, to, (axis + 1) % 3);
+    }
+
+    /**
+     * Quickselect: put the k-th smallest (on the axis) at k, smaller ones before it
+     */
+    private void select(int left, int right, int k, int axis) {
+        while (left < right) {
+            float pivot = coordinate(order[(left + right) >>> 1], axis);
+            int i = left;
+            int j = right;
+            while (i <= j) {
+                while (coordinate(order[i], axis) < pivot) i++;
+                while (coordinate(order[j], axis) > pivot) j--;
+                if (i <= j) {
+                    int swap = order[i];
+                    order[i] = order[j];
+                    order[j] = swap;
+                    i++;
+                    j--;
+                }
+            }
+            if (k <= j) {
+                right = j;
+            } else if (k >= i) {
+                left = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void search(int from, int to, int axis, double[] query, Best best) {
+        if (from >= to) {
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        int city = order[mid];
+        double dx = xs[city] - query[0];
+        double dy = ys[city] - query[1];
+        double dz = zs[city] - query[2];
+        double distance = dx * dx + dy * dy + dz * dz;
+        if (distance < best.distance) {
+            best.distance = distance;
+            best.city = city;
+        }
+
+        double delta = query[axis] - coordinate(city, axis);
+        int next = (axis + 1) % 3;
+        // Near side first; the far side only if the splitting plane is closer than the best so far
+        if (delta < 0) {
+            search(from, mid, next, query, best);
+            if (delta * delta < best.distance) search(mid + 1, to, next, query, best);
+        } else {
+            search(mid + 1, to, next, query, best);
+            if (delta * delta < best.distance) search(from, mid, next, query, best);
+        }
+    }
+
+    private float coordinate(int city, int axis) {
+        return axis == 0 ? xs[city] : axis == 1 ? ys[city] : zs[city];
+    }
+
+    private static final class Best {
+        double distance;
+        int city = -1;
+
+        Best(double distance) {
+            this.distance = distance;
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package com.example.weatherapp.data.local.gazetteer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Offline city list with a prefix index for search-as-you-type
+ *
+ * Loaded from a gzipped TSV (res/raw/gazetteer.tsv.gz), one city per line:
+ * name, ASCII name, country code, latitude, longitude, population.
+ * Cities are kept column-wise in primitive arrays. The index is a sorted array of
+ * folded names (lowercase, no diacritics), each pointing at its city; a prefix query is
+ * two binary searches for the range of keys starting with it, then a top-k by population
+ * over that range. No tree nodes, no per-keystroke allocation beyond the results.
+ * Reverse lookups (coordinates to the nearest city) use a k-d tree built on first use.
+ */
+public final class Gazetteer {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    // Cities, column-wise
+    private final String[] names;
+    private final String[] asciiNames;
+    private final String[] countries;
+    private final float[] latitudes;
+    private final float[] longitudes;
+    private final int[] populations;
+
+    // Prefix index: folded names in sorted order, and the city each one belongs to
+    private final String[] keys;
+    private final int[] keyCities;
+
+    // Nearest-city index, built by the first reverse lookup
+    private volatile CityKdTree tree;
+
+    private Gazetteer(String[] names, String[] asciiNames, String[] countries, float[] latitudes,
+                      float[] longitudes, int[] populations, String[] keys, int[] keyCities) {
+        this.names = names;
+        this.asciiNames = asciiNames;
+        this.countries = countries;
+        this.latitudes = latitudes;
+        this.longitudes = longitudes;
+        this.populations = populations;
+        this.keys = keys;
+        this.keyCities = keyCities;
+    }
+
+    /**
+     * Read a gzipped gazetteer
+     * @throws IOException If the stream can't be read or a line is malformed
+     */
+    public static Gazetteer load(InputStream gzipped) throws IOException {
+        List<String[]> rows = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(gzipped), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty() || line.charAt(0) == '#') {
+                    continue;
+                }
+                String[] columns = line.split("\t", -1);
+                if (columns.length < 6) {
+                    throw new IOException("Malformed gazetteer line: " + line);
+                }
+                rows.add(columns);
+            }
+        }
+
+        int count = rows.size();
+        String[] names = new String[count];
+        String[] asciiNames = new String[count];
+        String[] countries = new String[count];
+        float[] latitudes = new float[count];
+        float[] longitudes = new float[count];
+        int[] populations = new int[count];
+        // A city gets a second key when its ASCII name folds differently ("München" is also found as "munich")
+        List<Key> index = new ArrayList<>(count + count / 8);
+        try {
+            for (int i = 0; i < count; i++) {
+                String[] row = rows.get(i);
+                names[i] = row[0];
+                asciiNames[i] = row[1].isEmpty() ? row[0] : row[1];
+                countries[i] = row[2];
+                latitudes[i] = Float.parseFloat(row[3]);
+                longitudes[i] = Float.parseFloat(row[4]);
+                populations[i] = row[5].isEmpty() ? 0 : Integer.parseInt(row[5]);
+                String key = fold(row[0]);
+                index.add(new Key(key, i));
+                String asciiKey = fold(row[1]);
+                if (!asciiKey.isEmpty() && !asciiKey.equals(key)) {
+                    index.add(new Key(asciiKey, i));
+                }
+            }
+        } catch (NumberFormatException e) {
+            throw new IOException("Malformed gazetteer number", e);
+        }
+
+        Collections.sort(index);
+        String[] keys = new String[index.size()];
+        int[] keyCities = new int[index.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = index.get(i).key;
+            keyCities[i] = index.get(i).city;
+        }
+        return new Gazetteer(names, asciiNames, countries, latitudes, longitudes, populations, keys, keyCities);
+    }
+
+    /**
+     * Lowercase without diacritics, the form names are indexed and queried in
+     * "Huế" → "hue", "Đà Nẵng" → "da nang", "  São Paulo " → "sao paulo"
+     */
+    public static String fold(String text) {
+        if (text == null) {
+            return "";
+        }
+        String lower = text.trim().toLowerCase(Locale.ROOT).replace('đ', 'd');
+        return MARKS.matcher(Normalizer.normalize(lower, Normalizer.Form.NFD)).replaceAll("");
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * Cities whose name or ASCII name starts with the query
+     * An exact name comes first, then the largest cities; each city at most once
+     * @param limit Maximum number of results
+     */
+    public List<City> search(String query, int limit) {
+        String prefix = fold(query);
+        if (prefix.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        int from = lowerBound(prefix);
+        int to = lowerBound(prefix + Character.MAX_VALUE);
+        if (from >= to) {
+            return Collections.emptyList();
+        }
+
+        // Top-k over the range: small sorted buffer of city indexes, best first
+        int[] best = new int[limit];
+        long[] scores = new long[limit];
+        int found = 0;
+        for (int k = from; k < to; k++) {
+            int city = keyCities[k];
+            if (contains(best, found, city)) {
+                continue; // Matched by both of its names
+            }
+            // Exact names outrank every prefix match
+            long score = populations[city] + (keys[k].length() == prefix.length() ? 1L << 32 : 0);
+            if (found == limit && score <= scores[found - 1]) {
+                continue;
+            }
+            int slot = found < limit ? found++ : limit - 1;
+            while (slot > 0 && scores[slot - 1] < score) {
+                best[slot] = best[slot - 1];
+                scores[slot] = scores[slot - 1];
+                slot--;
+            }
+            best[slot] = city;
+            scores[slot] = score;
+        }
+
+        List<City> results = new ArrayList<>(found);
+        for (int i = 0; i < found; i++) {
+            results.add(city(best[i]));
+        }
+        return results;
+    }
+
+    /**
+     * Largest city whose name or ASCII name is exactly the query (ignoring case and accents)
+     * @return The city, or null if there is none
+     */
+    public City findExact(String query) {
+        String key = fold(query);
+        int best = -1;
+        for (int k = lowerBound(key); k < keys.length && keys[k].equals(key); k++) {
+            int city = keyCities[k];
+            if (best < 0 || populations[city] > populations[best]) {
+                best = city;
+            }
+        }
+        return best < 0 ? null : city(best);
+    }
+
+    /**
+     * City nearest to a point, for naming a GPS fix without the network
+     * @param maxKm Search radius; farther cities don't count
+     * @return The city, or null if none is within the radius
+     */
+    public City nearest(double latitude, double longitude, double maxKm) {
+        CityKdTree index = tree;
+        if (index == null) {
+            synchronized (this) {
+                if (tree == null) {
+                    tree = new CityKdTree(latitudes, longitudes);
+                }
+                index = tree;
+            }
+        }
+        int city = index.nearest(latitude, longitude, maxKm);
+        return city < 0 ? null : city(city);
+    }
+
+    /**
+     * First index whose key is not below the given one (keys may repeat, e.g. two "Valencia")
+     */
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static boolean contains(int[] cities, int count, int city) {
+        for (int i = 0; i < count; i++) {
+            if (cities[i] == city) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private City city(int index) {
+        return new City(index, names[index], asciiNames[index], countries[index],
+                latitudes[index], longitudes[index], populations[index]);
+    }
+
+    private static final class Key implements Comparable<Key> {
+        final String key;
+        final int city;
+
+        Key(String key, int city) {
+            this.key = key;
+            this.city = city;
+        }
+
+        @Override
+        public int compareTo(Key other) {
+            return key.compareTo(other.key);
+        }
+    }
+
+    /**
+     * One gazetteer entry
+     */
+    public static final class City {
+        private final int id;
+        private final String name;
+        private final String asciiName;
+        private final String countryCode;
+        private final double latitude;
+        private final double longitude;
+        private final int population;
+
+        public City(int id, String name, String asciiName, String countryCode,
+                    double latitude, double longitude, int population) {
+            this.id = id;
+            this.name = name;
+            this.asciiName = asciiName;
+            this.countryCode = countryCode;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.population = population;
+        }
+
+        /**
+         * Position in the bundled gazetteer; stable for a given build of the app
+         */
+        public int getId() { return id; }
+        public String getName() { return name; }
+
+        /**
+         * Name as the weather API and the city cache spell it ("Hanoi" for "Hà Nội")
+         */
+        public String getAsciiName() { return asciiName; }
+        public String getCountryCode() { return countryCode; }
+        public double getLatitude() { return latitude; }
+        public double getLongitude() { return longitude; }
+        public int getPopulation() { return population; }
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.weatherapp.data.local.gazetteer;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.example.weatherapp.R;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Gazetteer loaded on first use and then kept for the process
+ * Loading parses the bundled file (tens of milliseconds), so get() belongs on a
+ * background thread; getIfLoaded() never blocks and is safe anywhere.
+ */
+public final class LazyGazetteer {
+
+    private static final String TAG = "LazyGazetteer";
+
+    private static volatile LazyGazetteer shared;
+
+    /**
+     * Where the gzipped gazetteer is read from
+     */
+    public interface Source {
+        InputStream open() throws IOException;
+    }
+
+    private final Source source;
+    private volatile Gazetteer gazetteer;
+    private boolean failed;
+
+    public LazyGazetteer(Source source) {
+        this.source = source;
+    }
+
+    /**
+     * Process-wide instance over res/raw/gazetteer.tsv.gz
+     */
+    public static LazyGazetteer getShared(Context context) {
+        if (shared == null) {
+            synchronized (LazyGazetteer.class) {
+                if (shared == null) {
+                    Context app = context.getApplicationContext();
+                    shared = new LazyGazetteer(() -> app.getResources().openRawResource(R.raw.gazetteer));
+                }
+            }
+        }
+        return shared;
+    }
+
+    /**
+     * The gazetteer, loading it if needed
+     * @return null if the file can't be read (logged once, not retried)
+     */
+    public Gazetteer get() {
+        Gazetteer loaded = gazetteer;
+        if (loaded != null) {
+            return loaded;
+        }
+        synchronized (this) {
+            if (gazetteer == null && !failed) {
+                try (InputStream in = source.open()) {
+                    gazetteer = Gazetteer.load(in);
+                    Log.d(TAG, "Gazetteer loaded: " + gazetteer.size() + " cities");
+                } catch (IOException e) {
+                    failed = true;
+                    Log.e(TAG, "Cannot load gazetteer", e);
+                }
+            }
+            return gazetteer;
+        }
+    }
+
+    /**
+     * The gazetteer if already loaded, otherwise null
+     */
+    public Gazetteer getIfLoaded() {
+        return gazetteer;
+    }
+}
@@ -1,6 +1,11 @@
 package com.example.weatherapp.data.local.mapper;
 
+import com.example.weatherapp.data.database.entities.AirQualityCacheEntity;
+import com.example.weatherapp.data.database.entities.ForecastCacheEntity;
+import com.example.weatherapp.data.database.entities.UVIndexCacheEntity;
 import com.example.weatherapp.data.local.entity.WeatherCacheEntity;
+import com.example.weatherapp.domain.model.AirQualityData;
+import com.example.weatherapp.domain.model.HourlySeries;
 import com.example.weatherapp.domain.model.WeatherData;
 
 /**
@@ -8,16 +13,32 @@ import com.example.weatherapp.domain.model.WeatherData;
  */
 public class CacheMapper {
     
+    public static final String FORECAST_TYPE_HOURLY = "hourly";
+    
     /**
      * Convert WeatherData domain model to cache entity
      */
     public static WeatherCacheEntity toEntity(WeatherData data) {
+        return toEntity(data, null);
+    }
+    
+    /**
+     * Convert WeatherData domain model to a cache entity stored under another name
+     * @param cacheName Name the row is looked up by; null for the data's own name
+     */
+    public static WeatherCacheEntity toEntity(WeatherData data, String cacheName) {
         if (data == null) {
             return null;
         }
         
         WeatherCacheEntity entity = new WeatherCacheEntity();
-        entity.setCityName(data.getCityName());
+        if (cacheName != null && !cacheName.equals(data.getCityName())) {
+            entity.setCityName(cacheName);
+            entity.setDisplayName(data.getCityName());
+        } else {
+            entity.setCityName(data.getCityName());
+        }
+        entity.setCityId(data.getCityId());
         entity.setCountryCode(data.getCountryCode());
         entity.setTemperature(data.getTemperature());
         entity.setFeelsLike(data.getFeelsLike());
@@ -51,7 +72,7 @@ public class CacheMapper {
         }
         
         return new WeatherData.Builder()
-                .setCityName(entity.getCityName())
+                .setCityName(entity.getDisplayName() != null ? entity.getDisplayName() : entity.getCityName())
                 .setCountryCode(entity.getCountryCode())
                 .setTemperature(entity.getTemperature())
                 .setFeelsLike(entity.getFeelsLike())
@@ -72,6 +93,69 @@ public class CacheMapper {
                 .setLatitude(entity.getLatitude())
                 .setLongitude(entity.getLongitude())
                 .setTemperatureUnit(entity.getTemperatureUnit())
+                .setCityId(entity.getCityId())
                 .build();
     }
+    
+    /**
+     * Pack an hourly series into a single forecast cache row
+     */
+    public static ForecastCacheEntity toForecastEntity(HourlySeries series, double latitude,
+                                                       double longitude, String units, long cachedAt) {
+        return new ForecastCacheEntity(series.getCityName(), latitude, longitude, FORECAST_TYPE_HOURLY,
+                units, series.size(), PackedSeriesCodec.encode(series), cachedAt);
+    }
+    
+    /**
+     * Unpack the hourly series stored in a forecast cache row
+     * @return The series, or null if there is no row or its data can't be read (older format)
+     */
+    public static HourlySeries toHourlySeries(ForecastCacheEntity entity) {
+        if (entity == null || entity.getSeries() == null) {
+            return null;
+        }
+        try {
+            return PackedSeriesCodec.decode(entity.getSeries());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+    
+    /**
+     * Convert a UV index reading to a cache entity
+     */
+    public static UVIndexCacheEntity toUVIndexEntity(double uvIndex, double latitude, double longitude,
+                                                     long timestamp, long cachedAt) {
+        return new UVIndexCacheEntity(latitude, longitude, uvIndex, getUVLevel(uvIndex), timestamp, cachedAt);
+    }
+    
+    /**
+     * Convert AirQualityData domain model to cache entity
+     */
+    public static AirQualityCacheEntity toAirQualityEntity(AirQualityData data, double latitude,
+                                                           double longitude, long cachedAt) {
+        return new AirQualityCacheEntity(latitude, longitude, data.getAqi(),
+                data.getCo(), data.getNo(), data.getNo2(), data.getO3(),
+                data.getSo2(), data.getPm2_5(), data.getPm10(), data.getNh3(),
+                cachedAt);
+    }
+    
+    /**
+     * Convert air quality cache entity to AirQualityData domain model
+     */
+    public static AirQualityData toAirQualityData(AirQualityCacheEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+        return new AirQualityData(entity.getAqi(), entity.getCo(), entity.getNo(), entity.getNo2(),
+                entity.getO3(), entity.getSo2(), entity.getPm2_5(), entity.getPm10(), entity.getNh3());
+    }
+    
+    private static String getUVLevel(double uvIndex) {
+        if (uvIndex < 3) return "Low";
+        if (uvIndex < 6) return "Moderate";
+        if (uvIndex < 8) return "High";
+        if (uvIndex < 11) return "Very High";
+        return "Extreme";
+    }
 }
@@ -0,0 +1,215 @@
+package com.example.weatherapp.data.local.mapper;
+
+import com.example.weatherapp.domain.model.HourlySeries;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Binary format for storing an HourlySeries in a single forecast_cache BLOB
+ *
+ * Layout (big endian):
+ *   header   magic "WF", format version, slot count, timezone offset, sunrise, sunset,
+ *            city name, country code
+ *   strings  string table count, then each entry as length + UTF-8 bytes
+ *   columns  first timestamp, then each timestamp as seconds after it (int),
+ *            fixed point columns, string-code columns (1 or 2 bytes per code)
+ *
+ * Values are stored at the precision the API returns them: temperatures and wind speed
+ * in hundredths (short), pressure in tenths of hPa (short), wind degree (short),
+ * humidity and precipitation percent (unsigned byte).
+ * Readers must reject versions they do not know; bump FORMAT_VERSION on any layout change.
+ */
+public final class PackedSeriesCodec {
+    
+    public static final int FORMAT_VERSION = 1;
+    
+    private static final short MAGIC = 0x5746; // "WF"
+    private static final int SHORT_COLUMNS = 7;
+    private static final int BYTE_COLUMNS = 2;
+    private static final int CODE_COLUMNS = 3;
+    
+    private PackedSeriesCodec() {}
+    
+    /**
+     * Pack a series into a byte array
+     */
+    public static byte[] encode(HourlySeries series) {
+        int size = series.size();
+        byte[] city = utf8(series.getCityName());
+        byte[] country = utf8(series.getCountryCode());
+        byte[][] strings = new byte[series.getStringCount()][];
+        int stringBytes = 0;
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = utf8(series.getString(i));
+            stringBytes += 2 + strings[i].length;
+        }
+        
+        int codeWidth = strings.length <= 0xFF ? 1 : 2;
+        int length = 2 + 1 + 4 + 4 + 8 + 8 + 2 + city.length + 2 + country.length
+                + 2 + stringBytes + 1
+                + 8 + 4 * size + SHORT_COLUMNS * 2 * size + BYTE_COLUMNS * size + CODE_COLUMNS * codeWidth * size;
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        
+        buffer.putShort(MAGIC);
+        buffer.put((byte) FORMAT_VERSION);
+        buffer.putInt(size);
+        buffer.putInt(series.getTimezoneOffsetSeconds());
+        buffer.putLong(series.getSunrise());
+        buffer.putLong(series.getSunset());
+        putString(buffer, city);
+        putString(buffer, country);
+        
+        buffer.putShort((short) strings.length);
+        for (byte[] string : strings) {
+            putString(buffer, string);
+        }
+        buffer.put((byte) codeWidth);
+        
+        long firstTimestamp = size > 0 ? series.getTimestamp(0) : 0;
+        buffer.putLong(firstTimestamp);
+        for (int i = 0; i < size; i++) {
+            buffer.putInt((int) (series.getTimestamp(i) - firstTimestamp));
+        }
+        putShorts(buffer, size, 100, series::getTemperature);
+        putShorts(buffer, size, 100, series::getFeelsLike);
+        putShorts(buffer, size, 100, series::getTempMin);
+        putShorts(buffer, size, 100, series::getTempMax);
+        putShorts(buffer, size, 10, series::getPressure);
+        putShorts(buffer, size, 100, series::getWindSpeed);
+        putShorts(buffer, size, 1, series::getWindDegree);
+        putBytes(buffer, size, 1, series::getHumidity);
+        putBytes(buffer, size, 100, series::getPop);
+        putCodes(buffer, size, codeWidth, series::getIconCode);
+        putCodes(buffer, size, codeWidth, series::getDescriptionCode);
+        putCodes(buffer, size, codeWidth, series::getMainCode);
+        return buffer.array();
+    }
+    
+    /**
+     * Unpack a series written by encode
+     * @throws IllegalArgumentException If the data is not a packed series or has an unknown version
+     */
+    public static HourlySeries decode(byte[] packed) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(packed);
+            int size = readHeader(buffer);
+            int timezoneOffset = buffer.getInt();
+            long sunrise = buffer.getLong();
+            long sunset = buffer.getLong();
+            String city = getString(buffer);
+            String country = getString(buffer);
+            
+            String[] strings = new String[buffer.getShort()];
+            for (int i = 0; i < strings.length; i++) {
+                strings[i] = getString(buffer);
+            }
+            int codeWidth = buffer.get();
+            
+            long firstTimestamp = buffer.getLong();
+            long[] timestamps = new long[size];
+            for (int i = 0; i < size; i++) {
+                timestamps[i] = firstTimestamp + buffer.getInt();
+            }
+            short[][] shorts = new short[SHORT_COLUMNS][size];
+            for (short[] column : shorts) {
+                buffer.asShortBuffer().get(column);
+                buffer.position(buffer.position() + 2 * size);
+            }
+            byte[][] bytes = new byte[BYTE_COLUMNS][size];
+            for (byte[] column : bytes) {
+                buffer.get(column);
+            }
+            int[][] codes = new int[CODE_COLUMNS][size];
+            for (int[] column : codes) {
+                for (int i = 0; i < size; i++) {
+                    column[i] = codeWidth == 1 ? buffer.get() & 0xFF : buffer.getShort() & 0xFFFF;
+                }
+            }
+            
+            HourlySeries.Builder builder = new HourlySeries.Builder(size)
+                    .setCityName(city)
+                    .setCountryCode(country)
+                    .setTimezoneOffsetSeconds(timezoneOffset)
+                    .setSunrise(sunrise)
+                    .setSunset(sunset);
+            for (int i = 0; i < size; i++) {
+                builder.add(timestamps[i],
+                        shorts[0][i] / 100.0, shorts[1][i] / 100.0, shorts[2][i] / 100.0, shorts[3][i] / 100.0,
+                        bytes[0][i] & 0xFF, shorts[4][i] / 10.0, shorts[5][i] / 100.0, shorts[6][i],
+                        (bytes[1][i] & 0xFF) / 100.0,
+                        strings[codes[0][i]], strings[codes[1][i]], strings[codes[2][i]]);
+            }
+            return builder.build();
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Truncated packed series", e);
+        }
+    }
+    
+    /**
+     * Number of slots in a packed series, read from the header only
+     */
+    public static int slotCount(byte[] packed) {
+        try {
+            return readHeader(ByteBuffer.wrap(packed));
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated packed series", e);
+        }
+    }
+    
+    private static int readHeader(ByteBuffer buffer) {
+        if (buffer.getShort() != MAGIC) {
+            throw new IllegalArgumentException("Not a packed series");
+        }
+        int version = buffer.get();
+        if (version != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported packed series version: " + version);
+        }
+        return buffer.getInt();
+    }
+    
+    private interface FloatColumn {
+        float get(int index);
+    }
+    
+    private static void putShorts(ByteBuffer buffer, int size, int scale, FloatColumn column) {
+        for (int i = 0; i < size; i++) {
+            long value = Math.round((double) column.get(i) * scale);
+            buffer.putShort((short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, value)));
+        }
+    }
+    
+    private static void putBytes(ByteBuffer buffer, int size, int scale, FloatColumn column) {
+        for (int i = 0; i < size; i++) {
+            long value = Math.round((double) column.get(i) * scale);
+            buffer.put((byte) Math.max(0, Math.min(0xFF, value)));
+        }
+    }
+    
+    private static void putCodes(ByteBuffer buffer, int size, int width, IntUnaryOperator column) {
+        for (int i = 0; i < size; i++) {
+            if (width == 1) {
+                buffer.put((byte) column.applyAsInt(i));
+            } else {
+                buffer.putShort((short) column.applyAsInt(i));
+            }
+        }
+    }
+    
+    private static byte[] utf8(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : new byte[0];
+    }
+    
+    private static void putString(ByteBuffer buffer, byte[] utf8) {
+        buffer.putShort((short) utf8.length);
+        buffer.put(utf8);
+    }
+    
+    private static String getString(ByteBuffer buffer) {
+        byte[] utf8 = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,286 @@
+package com.example.weatherapp.data.local.snapshot;
+
+import android.content.Context;
+
+import com.example.weatherapp.domain.model.HourlySeries;
+import com.example.weatherapp.domain.model.WeatherData;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Last rendered weather plus the next hours of forecast, in one small fixed-size file
+ * Read through a memory-mapped FileChannel at launch, before Room or the network,
+ * so MainActivity can paint real numbers while the regular load runs
+ *
+ * Layout (big endian, every field at a fixed offset, SIZE bytes in total):
+ *   header   magic "WSNP", format version, hourly slot count, saved time
+ *   weather  numeric fields of WeatherData, then its strings as fixed-width UTF-8
+ *            (1 length byte + padding, cut at a character boundary)
+ *   hourly   first timestamp and timezone offset, then HOURLY_SLOTS fixed-size slots
+ * A missing, truncated or unknown-version file reads as null.
+ */
+public final class ColdStartSnapshot {
+    
+    public static final String FILE_NAME = "cold_start.snapshot";
+    public static final int FORMAT_VERSION = 1;
+    public static final int HOURLY_SLOTS = 24;
+    
+    private static final int MAGIC = 0x57534E50; // "WSNP"
+    private static final long SLOT_SECONDS = 3 * 60 * 60; // OpenWeatherMap forecast step
+    
+    // Fixed string widths, length byte included
+    private static final int CITY_WIDTH = 64;
+    private static final int COUNTRY_WIDTH = 8;
+    private static final int MAIN_WIDTH = 32;
+    private static final int DESCRIPTION_WIDTH = 64;
+    private static final int ICON_WIDTH = 8;
+    private static final int UNIT_WIDTH = 16;
+    private static final int SLOT_DESCRIPTION_WIDTH = 32;
+    private static final int SLOT_MAIN_WIDTH = 16;
+    
+    private static final int HEADER_SIZE = 4 + 2 + 2 + 8;
+    private static final int WEATHER_SIZE = 8 * 4 + 3 * 4 + 3 * 8 + 2 * 8
+            + CITY_WIDTH + COUNTRY_WIDTH + MAIN_WIDTH + DESCRIPTION_WIDTH + ICON_WIDTH + UNIT_WIDTH;
+    private static final int SLOT_SIZE = 4 + 6 * 4 + 2 + 1 + 1
+            + ICON_WIDTH + SLOT_DESCRIPTION_WIDTH + SLOT_MAIN_WIDTH;
+    static final int SIZE = HEADER_SIZE + WEATHER_SIZE + 8 + 4 + HOURLY_SLOTS * SLOT_SIZE;
+    
+    /**
+     * Contents of a snapshot file
+     */
+    public static final class Contents {
+        private final WeatherData weather;
+        private final HourlySeries hourlySeries;
+        private final long savedAt;
+        
+        Contents(WeatherData weather, HourlySeries hourlySeries, long savedAt) {
+            this.weather = weather;
+            this.hourlySeries = hourlySeries;
+            this.savedAt = savedAt;
+        }
+        
+        public WeatherData getWeather() { return weather; }
+        
+        /** Up to HOURLY_SLOTS forecast slots; empty when no forecast had been loaded */
+        public HourlySeries getHourlySeries() { return hourlySeries; }
+        
+        public long getSavedAt() { return savedAt; }
+    }
+    
+    private final File file;
+    
+    public ColdStartSnapshot(Context context) {
+        this(new File(context.getFilesDir(), FILE_NAME));
+    }
+    
+    public ColdStartSnapshot(File file) {
+        this.file = file;
+    }
+    
+    /**
+     * Map the file and decode it
+     * @return Snapshot contents, or null if there is no usable snapshot
+     */
+    public Contents read() {
+        if (file.length() != SIZE) {
+            return null;
+        }
+        try (RandomAccessFile in = new RandomAccessFile(file, "r");
+             FileChannel channel = in.getChannel()) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, SIZE);
+            return decode(buffer);
+        } catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+    
+    /**
+     * Replace the snapshot with the given weather and the forecast slots from now on
+     * Written to a temporary file and renamed, so a reader never sees half a snapshot
+     * @param series Forecast for the same place, or null to store the weather alone
+     */
+    public void write(WeatherData weather, HourlySeries series, long now) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(SIZE);
+        encode(buffer, weather, series, now);
+        
+        File temp = new File(file.getPath() + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(temp)) {
+            out.write(buffer.array());
+            out.getFD().sync();
+        }
+        if (!temp.renameTo(file)) {
+            temp.delete();
+            throw new IOException("Cannot replace " + file);
+        }
+    }
+    
+    public void delete() {
+        file.delete();
+    }
+    
+    // ============ Encoding ============
+    
+    static void encode(ByteBuffer buffer, WeatherData weather, HourlySeries series, long now) {
+        int first = series != null ? firstUpcomingSlot(series, now / 1000) : 0;
+        int count = series != null ? Math.min(HOURLY_SLOTS, series.size() - first) : 0;
+        
+        buffer.putInt(MAGIC);
+        buffer.putShort((short) FORMAT_VERSION);
+        buffer.putShort((short) count);
+        buffer.putLong(now);
+        
+        buffer.putFloat((float) weather.getTemperature());
+        buffer.putFloat((float) weather.getFeelsLike());
+        buffer.putFloat((float) weather.getMinTemperature());
+        buffer.putFloat((float) weather.getMaxTemperature());
+        buffer.putFloat((float) weather.getPressure());
+        buffer.putFloat((float) weather.getWindSpeed());
+        buffer.putFloat((float) weather.getVisibility());
+        buffer.putFloat(weather.getRainVolume() != null ? weather.getRainVolume().floatValue() : Float.NaN);
+        buffer.putInt(weather.getHumidity());
+        buffer.putInt(weather.getWindDegree());
+        buffer.putInt(weather.getCloudiness());
+        buffer.putLong(weather.getSunrise());
+        buffer.putLong(weather.getSunset());
+        buffer.putLong(weather.getTimestamp());
+        buffer.putDouble(weather.getLatitude());
+        buffer.putDouble(weather.getLongitude());
+        putString(buffer, weather.getCityName(), CITY_WIDTH);
+        putString(buffer, weather.getCountryCode(), COUNTRY_WIDTH);
+        putString(buffer, weather.getWeatherMain(), MAIN_WIDTH);
+        putString(buffer, weather.getWeatherDescription(), DESCRIPTION_WIDTH);
+        putString(buffer, weather.getWeatherIcon(), ICON_WIDTH);
+        putString(buffer, weather.getTemperatureUnit(), UNIT_WIDTH);
+        
+        long firstTimestamp = count > 0 ? series.getTimestamp(first) : 0;
+        buffer.putLong(firstTimestamp);
+        buffer.putInt(series != null ? series.getTimezoneOffsetSeconds() : 0);
+        for (int i = first; i < first + count; i++) {
+            buffer.putInt((int) (series.getTimestamp(i) - firstTimestamp));
+            buffer.putFloat(series.getTemperature(i));
+            buffer.putFloat(series.getFeelsLike(i));
+            buffer.putFloat(series.getTempMin(i));
+            buffer.putFloat(series.getTempMax(i));
+            buffer.putFloat(series.getPressure(i));
+            buffer.putFloat(series.getWindSpeed(i));
+            buffer.putShort((short) series.getWindDegree(i));
+            buffer.put((byte) Math.round(series.getHumidity(i)));
+            buffer.put((byte) Math.round(series.getPop(i) * 100));
+            putString(buffer, series.getIcon(i), ICON_WIDTH);
+            putString(buffer, series.getDescription(i), SLOT_DESCRIPTION_WIDTH);
+            putString(buffer, series.getMain(i), SLOT_MAIN_WIDTH);
+        }
+        // Unused slots stay zero so the file is always SIZE bytes
+    }
+    
+    /**
+     * Index of the slot covering now; earlier slots are already over
+     */
+    private static int firstUpcomingSlot(HourlySeries series, long nowSeconds) {
+        int index = 0;
+        while (index < series.size() - 1 && series.getTimestamp(index) + SLOT_SECONDS <= nowSeconds) {
+            index++;
+        }
+        return index;
+    }
+    
+    static Contents decode(ByteBuffer buffer) {
+        if (buffer.getInt() != MAGIC) {
+            throw new IllegalArgumentException("Not a snapshot");
+        }
+        int version = buffer.getShort();
+        if (version != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported snapshot version: " + version);
+        }
+        int count = buffer.getShort();
+        if (count < 0 || count > HOURLY_SLOTS) {
+            throw new IllegalArgumentException("Bad slot count: " + count);
+        }
+        long savedAt = buffer.getLong();
+        
+        WeatherData.Builder weather = new WeatherData.Builder()
+                .setTemperature(buffer.getFloat())
+                .setFeelsLike(buffer.getFloat())
+                .setMinTemperature(buffer.getFloat())
+                .setMaxTemperature(buffer.getFloat())
+                .setPressure(buffer.getFloat())
+                .setWindSpeed(buffer.getFloat())
+                .setVisibility(buffer.getFloat());
+        float rain = buffer.getFloat();
+        weather.setRainVolume(Float.isNaN(rain) ? null : (double) rain)
+                .setHumidity(buffer.getInt())
+                .setWindDegree(buffer.getInt())
+                .setCloudiness(buffer.getInt())
+                .setSunrise(buffer.getLong())
+                .setSunset(buffer.getLong())
+                .setTimestamp(buffer.getLong())
+                .setLatitude(buffer.getDouble())
+                .setLongitude(buffer.getDouble())
+                .setCityName(getString(buffer, CITY_WIDTH))
+                .setCountryCode(getString(buffer, COUNTRY_WIDTH))
+                .setWeatherMain(getString(buffer, MAIN_WIDTH))
+                .setWeatherDescription(getString(buffer, DESCRIPTION_WIDTH))
+                .setWeatherIcon(getString(buffer, ICON_WIDTH))
+                .setTemperatureUnit(getString(buffer, UNIT_WIDTH));
+        WeatherData weatherData = weather.build();
+        
+        long firstTimestamp = buffer.getLong();
+        HourlySeries.Builder series = new HourlySeries.Builder(Math.max(count, 1))
+                .setCityName(weatherData.getCityName())
+                .setCountryCode(weatherData.getCountryCode())
+                .setTimezoneOffsetSeconds(buffer.getInt())
+                .setSunrise(weatherData.getSunrise())
+                .setSunset(weatherData.getSunset());
+        for (int i = 0; i < count; i++) {
+            long timestamp = firstTimestamp + buffer.getInt();
+            float temperature = buffer.getFloat();
+            float feelsLike = buffer.getFloat();
+            float tempMin = buffer.getFloat();
+            float tempMax = buffer.getFloat();
+            float pressure = buffer.getFloat();
+            float windSpeed = buffer.getFloat();
+            short windDegree = buffer.getShort();
+            int humidity = buffer.get() & 0xFF;
+            int pop = buffer.get() & 0xFF;
+            series.add(timestamp, temperature, feelsLike, tempMin, tempMax, humidity, pressure,
+                    windSpeed, windDegree, pop / 100.0,
+                    getString(buffer, ICON_WIDTH),
+                    getString(buffer, SLOT_DESCRIPTION_WIDTH),
+                    getString(buffer, SLOT_MAIN_WIDTH));
+        }
+        return new Contents(weatherData, series.build(), savedAt);
+    }
+    
+    private static void putString(ByteBuffer buffer, String value, int width) {
+        byte[] utf8 = value != null ? value.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        int length = Math.min(utf8.length, width - 1);
+        // Don't cut a multi-byte character in half
+        while (length < utf8.length && length > 0 && (utf8[length] & 0xC0) == 0x80) {
+            length--;
+        }
+        int start = buffer.position();
+        buffer.put((byte) length);
+        buffer.put(utf8, 0, length);
+        buffer.position(start + width);
+    }
+    
+    private static String getString(ByteBuffer buffer, int width) {
+        int start = buffer.position();
+        int length = buffer.get() & 0xFF;
+        if (length >= width) {
+            throw new IllegalArgumentException("Bad string length: " + length);
+        }
+        byte[] utf8 = new byte[length];
+        buffer.get(utf8);
+        buffer.position(start + width);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+}
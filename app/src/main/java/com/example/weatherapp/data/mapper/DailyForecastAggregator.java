@@ -0,0 +1,135 @@
+package com.example.weatherapp.data.mapper;
+
+import com.example.weatherapp.domain.model.ForecastData;
+import com.example.weatherapp.domain.model.HourlySeries;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Groups a 3-hourly series into daily forecasts
+ * Days are bucketed by epoch day in the city's own timezone (series timezone offset),
+ * not the device's, and accumulated in primitive arrays: no Calendar, no string keys,
+ * no boxed values. Output is ordered by day.
+ */
+public final class DailyForecastAggregator {
+
+    private static final long SECONDS_PER_DAY = 86400L;
+
+    private DailyForecastAggregator() {}
+
+    /**
+     * Epoch day of a Unix timestamp shifted by a UTC offset
+     */
+    static long epochDay(long timestamp, int offsetSeconds) {
+        return Math.floorDiv(timestamp + offsetSeconds, SECONDS_PER_DAY);
+    }
+
+    /**
+     * Aggregate the series into one DailyForecast per local day, earliest first
+     * Per day: min/max temperature, mean precipitation probability, and the most frequent
+     * icon (ties go to the one seen first) with the description of its first slot.
+     * The day timestamp is the first slot of that day, as before.
+     */
+    public static List<ForecastData.DailyForecast> aggregate(HourlySeries series) {
+        int size = series != null ? series.size() : 0;
+        if (size == 0) {
+            return new ArrayList<>();
+        }
+        int offset = series.getTimezoneOffsetSeconds();
+        int stringCount = series.getStringCount();
+
+        // Distinct days in first-seen order; a 5-day payload has at most 6
+        long[] dayKeys = new long[8];
+        int dayCount = 0;
+        int[] slotDay = new int[size];
+        for (int i = 0; i < size; i++) {
+            long key = epochDay(series.getTimestamp(i), offset);
+            int day = dayCount - 1;
+            // Slots are almost always sorted, so the previous day is the usual match
+            while (day >= 0 && dayKeys[day] != key) {
+                day--;
+            }
+            if (day < 0) {
+                if (dayCount == dayKeys.length) {
+                    dayKeys = Arrays.copyOf(dayKeys, dayCount * 2);
+                }
+                day = dayCount;
+                dayKeys[dayCount++] = key;
+            }
+            slotDay[i] = day;
+        }
+
+        long[] firstTimestamp = new long[dayCount];
+        int[] firstSlot = new int[dayCount];
+        double[] tempMin = new double[dayCount];
+        double[] tempMax = new double[dayCount];
+        double[] popSum = new double[dayCount];
+        int[] slotCount = new int[dayCount];
+        int[] iconCount = new int[dayCount * stringCount];
+        int[] iconFirstSlot = new int[dayCount * stringCount];
+        Arrays.fill(firstSlot, -1);
+        Arrays.fill(tempMin, Double.POSITIVE_INFINITY);
+        Arrays.fill(tempMax, Double.NEGATIVE_INFINITY);
+
+        for (int i = 0; i < size; i++) {
+            int day = slotDay[i];
+            if (firstSlot[day] < 0) {
+                firstSlot[day] = i;
+                firstTimestamp[day] = series.getTimestamp(i);
+            }
+            double temp = series.getTemperature(i);
+            if (temp < tempMin[day]) tempMin[day] = temp;
+            if (temp > tempMax[day]) tempMax[day] = temp;
+            popSum[day] += series.getPop(i);
+            slotCount[day]++;
+
+            int icon = series.getIconCode(i);
+            if (icon != 0) {
+                int cell = day * stringCount + icon;
+                if (iconCount[cell]++ == 0) {
+                    iconFirstSlot[cell] = i;
+                }
+            }
+        }
+
+        // Emit days in chronological order (insertion sort over a handful of days)
+        int[] order = new int[dayCount];
+        for (int d = 0; d < dayCount; d++) {
+            int j = d;
+            while (j > 0 && dayKeys[order[j - 1]] > dayKeys[d]) {
+                order[j] = order[j - 1];
+                j--;
+            }
+            order[j] = d;
+        }
+
+        List<ForecastData.DailyForecast> result = new ArrayList<>(dayCount);
+        for (int k = 0; k < dayCount; k++) {
+            int day = order[k];
+            int bestSlot = -1;
+            int bestCount = 0;
+            for (int code = 1; code < stringCount; code++) {
+                int count = iconCount[day * stringCount + code];
+                int first = iconFirstSlot[day * stringCount + code];
+                if (count > bestCount || (count == bestCount && count > 0 && first < bestSlot)) {
+                    bestCount = count;
+                    bestSlot = first;
+                }
+            }
+            String icon = bestSlot >= 0 ? series.getIcon(bestSlot) : "";
+            String description = bestSlot >= 0 ? series.getDescription(bestSlot) : "";
+
+            result.add(new ForecastData.DailyForecast(
+                    firstTimestamp[day],
+                    tempMin[day],
+                    tempMax[day],
+                    icon,
+                    description,
+                    (int) (popSum[day] / slotCount[day] * 100)
+            ));
+        }
+        return result;
+    }
+}
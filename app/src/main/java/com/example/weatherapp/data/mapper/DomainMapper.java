@@ -5,12 +5,11 @@ import com.example.weatherapp.data.responses.HourlyForecastResponse;
 import com.example.weatherapp.data.responses.WeatherResponse;
 import com.example.weatherapp.domain.model.AirQualityData;
 import com.example.weatherapp.domain.model.ForecastData;
+import com.example.weatherapp.domain.model.HourlySeries;
 import com.example.weatherapp.domain.model.WeatherData;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Mapper class to convert API responses to domain models
@@ -44,7 +43,8 @@ public class DomainMapper {
                 .setTimestamp(response.getDt())
                 .setLatitude(response.getCoord() != null ? response.getCoord().getLat() : 0)
                 .setLongitude(response.getCoord() != null ? response.getCoord().getLon() : 0)
-                .setTemperatureUnit(temperatureUnit);
+                .setTemperatureUnit(temperatureUnit)
+                .setCityId(response.getId());
         
         // Weather condition
         if (response.getWeather() != null && !response.getWeather().isEmpty()) {
@@ -64,59 +64,90 @@ public class DomainMapper {
     
     /**
      * Map HourlyForecastResponse (API) to ForecastData (Domain)
+     * Legacy path for responses already parsed into the POJO tree
      */
     public static ForecastData toForecastData(HourlyForecastResponse response) {
         if (response == null || response.getList() == null) {
             return null;
         }
-        
-        List<ForecastData.HourlyForecast> hourlyForecasts = new ArrayList<>();
-        Map<String, DailyForecastAggregate> dailyAggregateMap = new HashMap<>();
-        
+        return toForecastData(toHourlySeries(response));
+    }
+    
+    /**
+     * Copy a parsed HourlyForecastResponse into columnar form
+     */
+    public static HourlySeries toHourlySeries(HourlyForecastResponse response) {
+        HourlySeries.Builder builder = new HourlySeries.Builder(response.getList().size());
         for (HourlyForecastResponse.HourlyItem item : response.getList()) {
-            // Create hourly forecast
-            ForecastData.HourlyForecast hourly = new ForecastData.HourlyForecast(
+            HourlyForecastResponse.HourlyItem.Main main = item.getMain();
+            HourlyForecastResponse.HourlyItem.Weather weather =
+                    item.getWeather() != null && !item.getWeather().isEmpty() ? item.getWeather().get(0) : null;
+            builder.add(
                     item.getDt(),
-                    item.getMain() != null ? item.getMain().getTemp() : 0,
-                    item.getWeather() != null && !item.getWeather().isEmpty() ? 
-                            item.getWeather().get(0).getIcon() : "",
-                    item.getWeather() != null && !item.getWeather().isEmpty() ? 
-                            item.getWeather().get(0).getDescription() : "",
-                    item.getMain() != null ? item.getMain().getHumidity() : 0,
+                    main != null ? main.getTemp() : 0,
+                    main != null ? main.getFeelsLike() : 0,
+                    main != null ? main.getTempMin() : 0,
+                    main != null ? main.getTempMax() : 0,
+                    main != null ? main.getHumidity() : 0,
+                    main != null && main.getPressure() > 0 ? main.getPressure() : 1013.0,
                     item.getWind() != null ? item.getWind().getSpeed() : 0,
-                    (int) (item.getPop() * 100),
-                    item.getMain() != null ? item.getMain().getPressure() : 1013.0
+                    item.getWind() != null ? item.getWind().getDeg() : 0,
+                    item.getPop(),
+                    weather != null ? weather.getIcon() : null,
+                    weather != null ? weather.getDescription() : null,
+                    weather != null ? weather.getMain() : null
             );
-            hourlyForecasts.add(hourly);
-            
-            // Aggregate daily data
-            String dateKey = getDayKey(item.getDt());
-            DailyForecastAggregate aggregate = dailyAggregateMap.get(dateKey);
-            if (aggregate == null) {
-                aggregate = new DailyForecastAggregate(item.getDt());
-                dailyAggregateMap.put(dateKey, aggregate);
-            }
-            
-            // Update min/max temperatures
-            double temp = item.getMain() != null ? item.getMain().getTemp() : 0;
-            aggregate.updateTemperature(temp);
-            
-            // Use the most common weather icon for the day
-            if (item.getWeather() != null && !item.getWeather().isEmpty()) {
-                aggregate.addWeatherIcon(item.getWeather().get(0).getIcon());
-                aggregate.addWeatherDescription(item.getWeather().get(0).getDescription());
-            }
-            
-            // Average rain probability
-            aggregate.addRainProbability(item.getPop());
         }
-        
-        // Convert aggregates to daily forecasts
-        List<ForecastData.DailyForecast> dailyForecasts = new ArrayList<>();
-        for (DailyForecastAggregate aggregate : dailyAggregateMap.values()) {
-            dailyForecasts.add(aggregate.toDailyForecast());
+        HourlyForecastResponse.City city = response.getCity();
+        if (city != null) {
+            builder.setCityName(city.getName())
+                   .setCountryCode(city.getCountry())
+                   .setTimezoneOffsetSeconds(city.getTimezone())
+                   .setSunrise(city.getSunrise())
+                   .setSunset(city.getSunset());
+        }
+        return builder.build();
+    }
+    
+    /**
+     * Rebuild the API model from a columnar series
+     * Only for legacy chart screens and dialogs that still take HourlyForecastResponse
+     */
+    public static HourlyForecastResponse toHourlyForecastResponse(HourlySeries series) {
+        if (series == null) {
+            return null;
+        }
+        List<HourlyForecastResponse.HourlyItem> items = new ArrayList<>(series.size());
+        for (int i = 0; i < series.size(); i++) {
+            HourlyForecastResponse.HourlyItem.Main main = new HourlyForecastResponse.HourlyItem.Main(
+                    series.getTemperature(i), series.getFeelsLike(i),
+                    series.getTempMin(i), series.getTempMax(i),
+                    Math.round(series.getPressure(i)), Math.round(series.getHumidity(i)));
+            List<HourlyForecastResponse.HourlyItem.Weather> weather = new ArrayList<>(1);
+            weather.add(new HourlyForecastResponse.HourlyItem.Weather(
+                    series.getMain(i), series.getDescription(i), series.getIcon(i)));
+            HourlyForecastResponse.HourlyItem.Wind wind = new HourlyForecastResponse.HourlyItem.Wind(
+                    series.getWindSpeed(i), Math.round(series.getWindDegree(i)));
+            items.add(new HourlyForecastResponse.HourlyItem(
+                    series.getTimestamp(i), main, weather, wind, series.getPop(i)));
+        }
+        HourlyForecastResponse.City city = new HourlyForecastResponse.City(
+                series.getCityName(), series.getCountryCode(), series.getTimezoneOffsetSeconds(),
+                series.getSunrise(), series.getSunset());
+        return new HourlyForecastResponse(items, city);
+    }
+    
+    /**
+     * Map a columnar hourly series (streamed straight from the API) to ForecastData (Domain)
+     */
+    public static ForecastData toForecastData(HourlySeries series) {
+        if (series == null) {
+            return null;
         }
         
+        // Group by local day in the city's timezone, earliest first
+        List<ForecastData.DailyForecast> dailyForecasts = DailyForecastAggregator.aggregate(series);
+        
         // Extend to 10 days if we have less than 10 days
         // OpenWeatherMap free API only provides 5 days, so we extrapolate the rest
         if (dailyForecasts.size() < 10 && !dailyForecasts.isEmpty()) {
@@ -151,8 +182,7 @@ public class DomainMapper {
             }
         }
         
-        String cityName = response.getCity() != null ? response.getCity().getName() : "";
-        return new ForecastData(hourlyForecasts, dailyForecasts, cityName);
+        return new ForecastData(series, dailyForecasts, series.getCityName());
     }
     
     /**
@@ -182,72 +212,4 @@ public class DomainMapper {
                 components.getNh3()
         );
     }
-    
-    /**
-     * Helper: Get day key from timestamp
-     */
-    private static String getDayKey(long timestamp) {
-        java.util.Calendar calendar = java.util.Calendar.getInstance();
-        calendar.setTimeInMillis(timestamp * 1000);
-        return calendar.get(java.util.Calendar.YEAR) + "-" + 
-               calendar.get(java.util.Calendar.MONTH) + "-" + 
-               calendar.get(java.util.Calendar.DAY_OF_MONTH);
-    }
-    
-    /**
-     * Helper class to aggregate daily forecast data
-     */
-    private static class DailyForecastAggregate {
-        private final long timestamp;
-        private double tempMin = Double.MAX_VALUE;
-        private double tempMax = Double.MIN_VALUE;
-        private final List<String> weatherIcons = new ArrayList<>();
-        private final List<String> weatherDescriptions = new ArrayList<>();
-        private final List<Double> rainProbabilities = new ArrayList<>();
-        
-        DailyForecastAggregate(long timestamp) {
-            this.timestamp = timestamp;
-        }
-        
-        void updateTemperature(double temp) {
-            if (temp < tempMin) tempMin = temp;
-            if (temp > tempMax) tempMax = temp;
-        }
-        
-        void addWeatherIcon(String icon) {
-            weatherIcons.add(icon);
-        }
-        
-        void addWeatherDescription(String description) {
-            weatherDescriptions.add(description);
-        }
-        
-        void addRainProbability(double pop) {
-            rainProbabilities.add(pop);
-        }
-        
-        ForecastData.DailyForecast toDailyForecast() {
-            // Get most common icon
-            String icon = weatherIcons.isEmpty() ? "" : weatherIcons.get(0);
-            String description = weatherDescriptions.isEmpty() ? "" : weatherDescriptions.get(0);
-            
-            // Average rain probability
-            double avgPop = 0;
-            if (!rainProbabilities.isEmpty()) {
-                for (double pop : rainProbabilities) {
-                    avgPop += pop;
-                }
-                avgPop /= rainProbabilities.size();
-            }
-            
-            return new ForecastData.DailyForecast(
-                    timestamp,
-                    tempMin == Double.MAX_VALUE ? 0 : tempMin,
-                    tempMax == Double.MIN_VALUE ? 0 : tempMax,
-                    icon,
-                    description,
-                    (int) (avgPop * 100)
-            );
-        }
-    }
 }
@@ -9,6 +9,7 @@ public class FavoriteCity {
     private String weatherCondition;
     private String weatherDescription;
     private long lastUpdated;
+    private long cityId; // OpenWeatherMap city id, learned from the first weather response (0 until then)
 
     public FavoriteCity(String cityName, String country, double latitude, double longitude) {
         this.cityName = cityName;
@@ -83,6 +84,14 @@ public class FavoriteCity {
         this.lastUpdated = lastUpdated;
     }
 
+    public long getCityId() {
+        return cityId;
+    }
+
+    public void setCityId(long cityId) {
+        this.cityId = cityId;
+    }
+
     public String getDisplayName() {
         return cityName + ", " + country;
     }
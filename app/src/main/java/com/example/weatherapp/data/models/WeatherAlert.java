@@ -1,5 +1,13 @@
 package com.example.weatherapp.data.models;
 
+import com.example.weatherapp.data.json.JsonFields;
+import com.example.weatherapp.data.json.ResponseAdapter;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+
+import java.io.IOException;
+import java.util.List;
+
 public class WeatherAlert {
     private String senderName;
     private String event;
@@ -59,6 +67,41 @@ public class WeatherAlert {
                 return 0xFF43A047; // Green
         }
     }
-}
 
+    /**
+     * Reflection-free reader, registered through JsonAdapters
+     * Takes the API's sender_name as well as the field's own name, which reflective Gson expected.
+     */
+    public static TypeAdapter<WeatherAlert> typeAdapter() {
+        return Adapter.INSTANCE;
+    }
+
+    private static final class Adapter extends ResponseAdapter<WeatherAlert> {
+        static final Adapter INSTANCE = new Adapter();
 
+        @Override
+        public WeatherAlert read(JsonReader reader) throws IOException {
+            WeatherAlert alert = new WeatherAlert();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "sender_name":
+                    case "senderName":
+                        alert.senderName = JsonFields.nextString(reader);
+                        break;
+                    case "event": alert.event = JsonFields.nextString(reader); break;
+                    case "start": alert.start = JsonFields.nextLong(reader); break;
+                    case "end": alert.end = JsonFields.nextLong(reader); break;
+                    case "description": alert.description = JsonFields.nextString(reader); break;
+                    case "tags":
+                        List<String> tags = JsonFields.nextList(reader, JsonReader::nextString);
+                        alert.tags = tags != null ? tags.toArray(new String[0]) : null;
+                        break;
+                    default: reader.skipValue();
+                }
+            }
+            reader.endObject();
+            return alert;
+        }
+    }
+}
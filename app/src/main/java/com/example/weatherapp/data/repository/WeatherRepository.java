@@ -5,6 +5,7 @@ import android.util.Log;
 
 import com.example.weatherapp.data.api.WeatherApiService;
 import com.example.weatherapp.data.api.RetrofitClient;
+import com.example.weatherapp.data.concurrent.IoDispatcher;
 import com.example.weatherapp.data.database.dao.AirQualityCacheDao;
 import com.example.weatherapp.data.database.dao.ForecastCacheDao;
 import com.example.weatherapp.data.database.dao.UVIndexCacheDao;
@@ -12,18 +13,18 @@ import com.example.weatherapp.data.database.entities.AirQualityCacheEntity;
 import com.example.weatherapp.data.database.entities.ForecastCacheEntity;
 import com.example.weatherapp.data.database.entities.UVIndexCacheEntity;
 import com.example.weatherapp.data.local.database.WeatherDatabase;
+import com.example.weatherapp.data.local.mapper.CacheMapper;
 import com.example.weatherapp.data.local.prefs.PreferenceManager;
+import com.example.weatherapp.data.mapper.DomainMapper;
 import com.example.weatherapp.data.responses.AirQualityResponse;
 import com.example.weatherapp.data.responses.HourlyForecastResponse;
 import com.example.weatherapp.data.responses.UVIndexResponse;
 import com.example.weatherapp.data.responses.WeatherAlertsResponse;
 import com.example.weatherapp.data.responses.WeatherResponse;
+import com.example.weatherapp.domain.model.HourlySeries;
 import com.example.weatherapp.utils.Constants;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
 
 import retrofit2.Call;
 import retrofit2.Callback;
@@ -50,6 +51,10 @@ public class WeatherRepository {
     private final Executor executor;
 
     public WeatherRepository(Context context) {
+        this(context, IoDispatcher.getInstance());
+    }
+
+    public WeatherRepository(Context context, IoDispatcher dispatcher) {
         this.apiService = RetrofitClient.getInstance().getWeatherApi();
         this.preferenceManager = new PreferenceManager(context);
         
@@ -59,8 +64,8 @@ public class WeatherRepository {
         this.airQualityCacheDao = database.airQualityCacheDao();
         this.uvIndexCacheDao = database.uvIndexCacheDao();
         
-        // Executor for database operations
-        this.executor = Executors.newSingleThreadExecutor();
+        // Cache writes go through the app-wide serialized writer
+        this.executor = dispatcher.writes();
     }
 
     // ============ Callback Interfaces ============
@@ -185,11 +190,11 @@ public class WeatherRepository {
                     // Save to cache asynchronously
                     executor.execute(() -> {
                         try {
-                            List<ForecastCacheEntity> entities = convertResponseToForecastEntities(
-                                forecastResponse, cityName, "hourly"
+                            ForecastCacheEntity entity = convertResponseToForecastEntity(
+                                forecastResponse, 0.0, 0.0, units
                             );
-                            forecastCacheDao.insertForecasts(entities);
-                            Log.d(TAG, "✅ Cached " + entities.size() + " hourly forecasts for: " + cityName);
+                            forecastCacheDao.insertForecast(entity);
+                            Log.d(TAG, "✅ Cached " + entity.getSlotCount() + " hourly forecasts for: " + cityName);
                         } catch (Exception e) {
                             Log.e(TAG, "Failed to cache forecasts", e);
                         }
@@ -226,16 +231,14 @@ public class WeatherRepository {
             public void onResponse(Call<HourlyForecastResponse> call, Response<HourlyForecastResponse> response) {
                 if (response.isSuccessful() && response.body() != null) {
                     HourlyForecastResponse forecastResponse = response.body();
-                    String cityName = forecastResponse.getCity() != null ? 
-                                     forecastResponse.getCity().getName() : "Unknown";
                     
                     // Save to cache asynchronously
                     executor.execute(() -> {
                         try {
-                            List<ForecastCacheEntity> entities = convertResponseToForecastEntities(
-                                forecastResponse, cityName, "hourly"
+                            ForecastCacheEntity entity = convertResponseToForecastEntity(
+                                forecastResponse, latitude, longitude, units
                             );
-                            forecastCacheDao.insertForecasts(entities);
+                            forecastCacheDao.insertForecast(entity);
                             Log.d(TAG, "✅ Cached hourly forecasts for coordinates: " + latitude + ", " + longitude);
                         } catch (Exception e) {
                             Log.e(TAG, "Failed to cache forecasts", e);
@@ -390,55 +393,13 @@ public class WeatherRepository {
     // ============ Cache Converter Methods ============
     
     /**
-     * Convert HourlyForecastResponse to ForecastCacheEntity list
+     * Convert HourlyForecastResponse to a packed ForecastCacheEntity (one row for the whole series)
+     * Note: HourlyForecastResponse.City does not contain coordinates, so city lookups pass 0.0
      */
-    private List<ForecastCacheEntity> convertResponseToForecastEntities(
-            HourlyForecastResponse response, String cityName, String forecastType) {
-        List<ForecastCacheEntity> entities = new ArrayList<>();
-        long cachedAt = System.currentTimeMillis();
-        
-        // Note: HourlyForecastResponse.City does not contain coordinates
-        // Coordinates will be 0.0 by default (can be improved in future with lat/lon from API call)
-        double latitude = 0.0;
-        double longitude = 0.0;
-        
-        for (HourlyForecastResponse.HourlyItem item : response.getList()) {
-            ForecastCacheEntity entity = new ForecastCacheEntity();
-            entity.setCityName(cityName);
-            entity.setLatitude(latitude);
-            entity.setLongitude(longitude);
-            entity.setForecastType(forecastType);
-            entity.setTimestamp(item.getDt());
-            entity.setCachedAt(cachedAt);
-            
-            // Main data
-            if (item.getMain() != null) {
-                entity.setTemperature(item.getMain().getTemp());
-                entity.setTempMin(item.getMain().getTempMin());
-                entity.setTempMax(item.getMain().getTempMax());
-                entity.setHumidity(item.getMain().getHumidity());
-            }
-            
-            // Weather
-            if (item.getWeather() != null && !item.getWeather().isEmpty()) {
-                HourlyForecastResponse.HourlyItem.Weather weather = item.getWeather().get(0);
-                entity.setWeatherMain(weather.getMain());
-                entity.setWeatherDescription(weather.getDescription());
-                entity.setWeatherIcon(weather.getIcon());
-            }
-            
-            // Wind
-            if (item.getWind() != null) {
-                entity.setWindSpeed(item.getWind().getSpeed());
-            }
-            
-            // Rain probability
-            entity.setRainProbability((int) (item.getPop() * 100)); // Convert 0-1 to 0-100
-            
-            entities.add(entity);
-        }
-        
-        return entities;
+    private ForecastCacheEntity convertResponseToForecastEntity(
+            HourlyForecastResponse response, double latitude, double longitude, String units) {
+        HourlySeries series = DomainMapper.toHourlySeries(response);
+        return CacheMapper.toForecastEntity(series, latitude, longitude, units, System.currentTimeMillis());
     }
     
     /**
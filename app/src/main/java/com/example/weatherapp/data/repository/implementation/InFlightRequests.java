@@ -0,0 +1,81 @@
+package com.example.weatherapp.data.repository.implementation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Registry of pending network requests keyed by a normalized query
+ * Concurrent callers asking for the same key attach to the request already in flight
+ * instead of starting their own, and all of them receive the same result
+ *
+ * @param <C> Callback type notified when the request completes
+ */
+public class InFlightRequests<C> {
+    private final Map<String, List<C>> pending = new HashMap<>();
+    private final Map<String, Runnable> cancellers = new HashMap<>();
+
+    /**
+     * Register a caller for the given key
+     * @return true if this caller is the first one and must start the request,
+     *         false if it was attached to a request already in flight
+     */
+    public synchronized boolean join(String key, C callback) {
+        List<C> waiters = pending.get(key);
+        if (waiters != null) {
+            waiters.add(callback);
+            return false;
+        }
+        waiters = new ArrayList<>();
+        waiters.add(callback);
+        pending.put(key, waiters);
+        return true;
+    }
+
+    /**
+     * Mark the request for the given key as finished
+     * @return All callers waiting on it, in arrival order
+     */
+    public synchronized List<C> complete(String key) {
+        cancellers.remove(key);
+        List<C> waiters = pending.remove(key);
+        return waiters != null ? waiters : Collections.emptyList();
+    }
+
+    /**
+     * Record how to cancel the request started for the key
+     * @return false if every caller already left, so the request should not start
+     */
+    public synchronized boolean setCanceller(String key, Runnable canceller) {
+        if (!pending.containsKey(key)) {
+            return false;
+        }
+        cancellers.put(key, canceller);
+        return true;
+    }
+
+    /**
+     * Detach a caller that no longer wants the result
+     * The request itself is dropped only when its last caller leaves
+     * @return The request's canceller to run if this was the last caller, otherwise null
+     */
+    public synchronized Runnable leave(String key, C callback) {
+        List<C> waiters = pending.get(key);
+        if (waiters == null || !waiters.remove(callback) || !waiters.isEmpty()) {
+            return null;
+        }
+        pending.remove(key);
+        Runnable canceller = cancellers.remove(key);
+        return canceller != null ? canceller : () -> { };
+    }
+
+    public synchronized boolean isInFlight(String key) {
+        return pending.containsKey(key);
+    }
+
+    public synchronized int size() {
+        return pending.size();
+    }
+}
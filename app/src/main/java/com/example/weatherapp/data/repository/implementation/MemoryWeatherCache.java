@@ -0,0 +1,188 @@
+package com.example.weatherapp.data.repository.implementation;
+
+import com.example.weatherapp.data.local.database.GeoCell;
+import com.example.weatherapp.domain.model.WeatherData;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded in-memory tier in front of the Room weather cache
+ * Holds the immutable WeatherData last fetched or loaded for a city or a coordinate cell,
+ * so hot paths (activity resume, chart screens) skip SQLite and CacheMapper entirely.
+ * Each value is one LRU entry under its city name; the other names and the coordinate cell it
+ * is found by are aliases of that entry. Least recently used entries are evicted past the size
+ * limit, together with their aliases, and entries older than the TTL are dropped when touched.
+ */
+public class MemoryWeatherCache {
+    public static final int DEFAULT_MAX_ENTRIES = 32;
+    public static final long DEFAULT_TTL_MS = 10 * 60 * 1000; // Same as WeatherCacheEntity.isValid
+
+    private static final MemoryWeatherCache shared = new MemoryWeatherCache();
+
+    /**
+     * Cached value with the time it was originally fetched
+     */
+    public static final class Entry {
+        public final WeatherData data;
+        public final long cachedAt;
+        private final String key;
+        private final List<String> aliases = new ArrayList<>();
+
+        Entry(WeatherData data, long cachedAt, String key) {
+            this.data = data;
+            this.cachedAt = cachedAt;
+            this.key = key;
+        }
+    }
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+    // One LRU entry per cached value, under its city name (or its cell when it has none)
+    private final LinkedHashMap<String, Entry> entries;
+    // Requested names and coordinate cells, each pointing at the key of an entry above
+    private final Map<String, String> aliases = new HashMap<>();
+
+    public MemoryWeatherCache() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_TTL_MS, System::currentTimeMillis);
+    }
+
+    /**
+     * @param maxEntries Cached values kept, however many names and cells each is found by
+     */
+    public MemoryWeatherCache(int maxEntries, long ttlMillis, LongSupplier clock) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() <= MemoryWeatherCache.this.maxEntries) {
+                    return false;
+                }
+                removeAliases(eldest.getValue());
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Process-wide instance shared by every repository built from a Context
+     */
+    public static MemoryWeatherCache getShared() {
+        return shared;
+    }
+
+    /**
+     * Store a value under its city name, any extra names it was requested by, and its coordinate cell
+     */
+    public synchronized void put(WeatherData data, long cachedAt, String... requestedNames) {
+        if (data == null) {
+            return;
+        }
+        String cell = cellKey(GeoCell.cellOf(data.getLatitude(), data.getLongitude(), GeoCell.FINE_DEGREES));
+        String key = data.getCityName() != null ? cityKey(data.getCityName()) : cell;
+        Entry replaced = entries.remove(key);
+        if (replaced != null) {
+            removeAliases(replaced);
+        }
+        aliases.remove(key); // Now a name of its own, no longer pointing elsewhere
+        Entry entry = new Entry(data, cachedAt, key);
+        entries.put(key, entry);
+        for (String name : requestedNames) {
+            if (name != null) {
+                addAlias(entry, cityKey(name));
+            }
+        }
+        addAlias(entry, cell);
+    }
+
+    /**
+     * Fresh entry for a city in the requested unit, or null
+     */
+    public synchronized Entry getByCity(String cityName, String temperatureUnit) {
+        return fresh(cityKey(cityName), temperatureUnit);
+    }
+
+    /**
+     * Fresh entry within the coordinate cache tolerance (0.01°) in the requested unit, or null
+     */
+    public synchronized Entry getByCoordinates(double latitude, double longitude, String temperatureUnit) {
+        for (Long cell : GeoCell.neighborhood(latitude, longitude, GeoCell.FINE_DEGREES)) {
+            Entry entry = fresh(cellKey(cell), temperatureUnit);
+            if (entry != null
+                    && Math.abs(entry.data.getLatitude() - latitude) < GeoCell.FINE_DEGREES
+                    && Math.abs(entry.data.getLongitude() - longitude) < GeoCell.FINE_DEGREES) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        aliases.clear();
+    }
+
+    /**
+     * Number of cached values (not of the names they are found by)
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private Entry fresh(String key, String temperatureUnit) {
+        String entryKey = entries.containsKey(key) ? key : aliases.get(key);
+        Entry entry = entryKey != null ? entries.get(entryKey) : null;
+        if (entry == null) {
+            return null;
+        }
+        if (clock.getAsLong() - entry.cachedAt >= ttlMillis) {
+            // Drop it under every name, not just the one that was looked up
+            entries.remove(entry.key);
+            removeAliases(entry);
+            return null;
+        }
+        if (temperatureUnit != null && !temperatureUnit.equals(entry.data.getTemperatureUnit())) {
+            return null;
+        }
+        return entry;
+    }
+
+    private void addAlias(Entry entry, String alias) {
+        if (alias.equals(entry.key)) {
+            return;
+        }
+        Entry older = entries.remove(alias); // An older value stored under that name is superseded
+        if (older != null) {
+            removeAliases(older);
+        }
+        aliases.put(alias, entry.key);
+        entry.aliases.add(alias);
+    }
+
+    /**
+     * Remove the aliases of an entry that leaves the cache, unless a newer entry took them over
+     */
+    private void removeAliases(Entry entry) {
+        for (String alias : entry.aliases) {
+            if (entry.key.equals(aliases.get(alias))) {
+                aliases.remove(alias);
+            }
+        }
+    }
+
+    private static String cityKey(String cityName) {
+        return "city:" + cityName.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String cellKey(long cell) {
+        return "cell:" + cell;
+    }
+}
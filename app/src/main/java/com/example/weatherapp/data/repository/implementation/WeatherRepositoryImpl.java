@@ -3,24 +3,48 @@ package com.example.weatherapp.data.repository.implementation;
 import android.content.Context;
 import android.util.Log;
 
+import com.example.weatherapp.data.api.HttpCachePolicy;
+import com.example.weatherapp.data.api.RequestPriority;
 import com.example.weatherapp.data.api.RetrofitClient;
 import com.example.weatherapp.data.api.WeatherApiService;
+import com.example.weatherapp.data.concurrent.IoDispatcher;
+import com.example.weatherapp.data.database.dao.AirQualityCacheDao;
+import com.example.weatherapp.data.database.dao.ForecastCacheDao;
+import com.example.weatherapp.data.database.dao.UVIndexCacheDao;
+import com.example.weatherapp.data.database.entities.AirQualityCacheEntity;
+import com.example.weatherapp.data.database.entities.ForecastCacheEntity;
+import com.example.weatherapp.data.database.entities.UVIndexCacheEntity;
 import com.example.weatherapp.data.local.dao.WeatherDao;
 import com.example.weatherapp.data.local.database.WeatherDatabase;
 import com.example.weatherapp.data.local.entity.WeatherCacheEntity;
+import com.example.weatherapp.data.local.gazetteer.Gazetteer;
+import com.example.weatherapp.data.local.gazetteer.LazyGazetteer;
 import com.example.weatherapp.data.local.mapper.CacheMapper;
+import com.example.weatherapp.data.local.snapshot.ColdStartSnapshot;
 import com.example.weatherapp.data.mapper.DomainMapper;
 import com.example.weatherapp.data.responses.AirQualityResponse;
+import com.example.weatherapp.data.responses.GroupWeatherResponse;
 import com.example.weatherapp.data.responses.HourlyForecastResponse;
 import com.example.weatherapp.data.responses.UVIndexResponse;
 import com.example.weatherapp.data.responses.WeatherResponse;
 import com.example.weatherapp.domain.model.AirQualityData;
 import com.example.weatherapp.domain.model.ForecastData;
+import com.example.weatherapp.domain.model.HourlySeries;
+import com.example.weatherapp.domain.model.UnitConversion;
 import com.example.weatherapp.domain.model.WeatherData;
+import com.example.weatherapp.domain.repository.CancellationToken;
 import com.example.weatherapp.domain.repository.WeatherRepository;
 
-import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import retrofit2.Call;
 import retrofit2.Callback;
@@ -30,23 +54,151 @@ import retrofit2.Response;
  * Implementation of WeatherRepository with caching
  * Handles data fetching from API, database caching, and conversion to domain models
  * Cache-first strategy: check cache first, then fetch from network if needed
+ * An expired entry is handed to WeatherCallback.onStale right away while the network refresh runs
+ * Answers the HTTP layer served from its cache because the network failed (HttpCachePolicy.isServedStale)
+ * are never written back to the caches with a new timestamp; weather ones are delivered as stale
+ * Every successful weather or forecast load also rewrites the cold-start snapshot read by MainActivity
+ *
+ * Units: everything is fetched and cached in canonical metric units (°C, m/s, hPa), whatever the
+ * caller asked for. Temperatures are converted to the requested unit only when handed to the
+ * callback, so switching units never needs the network or a cache write.
+ *
+ * GPS fixes within a few kilometres of a gazetteer city are keyed by that city's name, so the
+ * coordinates path and the city path read and write the same cache entries. The gazetteer name
+ * is only the key: results keep the name the API gave them.
  */
 public class WeatherRepositoryImpl implements WeatherRepository {
     private static final String TAG = "WeatherRepository";
+    
+    // OpenWeatherMap unit system matching UnitConversion's canonical units
+    private static final String API_UNITS = "metric";
+    
+    // How long each cached data type is served without asking the API again
+    static final long FORECAST_TTL_MS = 3 * 60 * 60 * 1000L;   // Forecast model runs every 3 hours
+    static final long AIR_QUALITY_TTL_MS = 60 * 60 * 1000L;    // Hourly readings
+    static final long UV_INDEX_TTL_MS = 24 * 60 * 60 * 1000L;  // Daily value
+    
+    // Reported with weather the HTTP cache served because the network failed
+    static final String STALE_ERROR_MESSAGE = "Couldn't refresh weather. Showing the last saved data.";
+    
+    // A GPS fix this close to a gazetteer city counts as being in it
+    static final double CITY_RADIUS_KM = 10;
+    
+    // Batch fetches: OpenWeatherMap's /group takes at most 20 ids; chunks beyond that overlap two at a time
+    static final int GROUP_MAX_IDS = 20;
+    static final int GROUP_MAX_CONCURRENT = 2;
+    
+    // Shared across instances so MainActivity, workers and widgets coalesce onto one call per key
+    private static final InFlightRequests<WeatherWaiter> weatherRequests = new InFlightRequests<>();
+    
     private final WeatherApiService apiService;
     private final String apiKey;
     private final WeatherDao weatherDao;
-    private final Executor executor;
+    private final ForecastCacheDao forecastCacheDao;
+    private final UVIndexCacheDao uvIndexCacheDao;
+    private final AirQualityCacheDao airQualityCacheDao;
+    private final MemoryWeatherCache memoryCache;
+    private final ColdStartSnapshot coldStartSnapshot; // Null when not persisted (tests)
+    private final IoDispatcher dispatcher;
+    private final LazyGazetteer gazetteer; // Null: no offline reverse geocoding (tests)
     
     // Cache latest responses for ChartsActivity
     private WeatherResponse latestWeatherResponse;
+    private volatile HourlySeries latestHourlySeries;
+    private volatile WeatherData latestWeatherData;
     private HourlyForecastResponse latestHourlyForecastResponse;
     
     public WeatherRepositoryImpl(Context context, String apiKey) {
-        this.apiService = RetrofitClient.getInstance().getWeatherApi();
+        this(RetrofitClient.getInstance().getWeatherApi(), apiKey,
+                WeatherDatabase.getInstance(context), MemoryWeatherCache.getShared(),
+                new ColdStartSnapshot(context), IoDispatcher.getInstance(), LazyGazetteer.getShared(context));
+    }
+    
+    /**
+     * For screens showing other cities than the main one (favorites): same caches, but their loads
+     * don't replace the main screen's cold-start snapshot, and they queue behind the main screen's
+     */
+    public static WeatherRepositoryImpl withoutSnapshot(Context context, String apiKey) {
+        return new WeatherRepositoryImpl(
+                RetrofitClient.getInstance().getWeatherApi(RequestPriority.PREFETCH, false), apiKey,
+                WeatherDatabase.getInstance(context), MemoryWeatherCache.getShared(), null,
+                IoDispatcher.getInstance(), LazyGazetteer.getShared(context));
+    }
+    
+    /**
+     * For workers: same caches and snapshot, but calls are scheduled BACKGROUND with its retry budget
+     */
+    public static WeatherRepositoryImpl forBackground(Context context, String apiKey) {
+        return new WeatherRepositoryImpl(
+                RetrofitClient.getInstance().getWeatherApi(RequestPriority.BACKGROUND, false), apiKey,
+                WeatherDatabase.getInstance(context), MemoryWeatherCache.getShared(),
+                new ColdStartSnapshot(context), IoDispatcher.getInstance(), LazyGazetteer.getShared(context));
+    }
+    
+    private WeatherRepositoryImpl(WeatherApiService apiService, String apiKey, WeatherDatabase database,
+                                  MemoryWeatherCache memoryCache, ColdStartSnapshot coldStartSnapshot,
+                                  IoDispatcher dispatcher, LazyGazetteer gazetteer) {
+        this(apiService, apiKey, database.weatherDao(), database.forecastCacheDao(),
+                database.uvIndexCacheDao(), database.airQualityCacheDao(), memoryCache, coldStartSnapshot,
+                dispatcher, gazetteer);
+    }
+    
+    /**
+     * Constructor with explicit dependencies (used by tests with a local server and in-memory DAOs)
+     * Gets its own memory tier so tests don't see each other's entries
+     */
+    public WeatherRepositoryImpl(WeatherApiService apiService, String apiKey, WeatherDao weatherDao,
+                                 ForecastCacheDao forecastCacheDao, UVIndexCacheDao uvIndexCacheDao,
+                                 AirQualityCacheDao airQualityCacheDao) {
+        this(apiService, apiKey, weatherDao, forecastCacheDao, uvIndexCacheDao, airQualityCacheDao,
+                new MemoryWeatherCache());
+    }
+    
+    public WeatherRepositoryImpl(WeatherApiService apiService, String apiKey, WeatherDao weatherDao,
+                                 ForecastCacheDao forecastCacheDao, UVIndexCacheDao uvIndexCacheDao,
+                                 AirQualityCacheDao airQualityCacheDao, MemoryWeatherCache memoryCache) {
+        this(apiService, apiKey, weatherDao, forecastCacheDao, uvIndexCacheDao, airQualityCacheDao,
+                memoryCache, null);
+    }
+    
+    public WeatherRepositoryImpl(WeatherApiService apiService, String apiKey, WeatherDao weatherDao,
+                                 ForecastCacheDao forecastCacheDao, UVIndexCacheDao uvIndexCacheDao,
+                                 AirQualityCacheDao airQualityCacheDao, MemoryWeatherCache memoryCache,
+                                 ColdStartSnapshot coldStartSnapshot) {
+        this(apiService, apiKey, weatherDao, forecastCacheDao, uvIndexCacheDao, airQualityCacheDao,
+                memoryCache, coldStartSnapshot, IoDispatcher.getInstance());
+    }
+    
+    /**
+     * Cache reads run on the dispatcher's read pool, cache and snapshot writes on its single writer,
+     * forecast decoding and mapping on its CPU pool
+     */
+    public WeatherRepositoryImpl(WeatherApiService apiService, String apiKey, WeatherDao weatherDao,
+                                 ForecastCacheDao forecastCacheDao, UVIndexCacheDao uvIndexCacheDao,
+                                 AirQualityCacheDao airQualityCacheDao, MemoryWeatherCache memoryCache,
+                                 ColdStartSnapshot coldStartSnapshot, IoDispatcher dispatcher) {
+        this(apiService, apiKey, weatherDao, forecastCacheDao, uvIndexCacheDao, airQualityCacheDao,
+                memoryCache, coldStartSnapshot, dispatcher, null);
+    }
+    
+    /**
+     * With a gazetteer, GPS fixes resolve to a nearby city offline and share its cache entries
+     */
+    public WeatherRepositoryImpl(WeatherApiService apiService, String apiKey, WeatherDao weatherDao,
+                                 ForecastCacheDao forecastCacheDao, UVIndexCacheDao uvIndexCacheDao,
+                                 AirQualityCacheDao airQualityCacheDao, MemoryWeatherCache memoryCache,
+                                 ColdStartSnapshot coldStartSnapshot, IoDispatcher dispatcher,
+                                 LazyGazetteer gazetteer) {
+        this.apiService = apiService;
         this.apiKey = apiKey;
-        this.weatherDao = WeatherDatabase.getInstance(context).weatherDao();
-        this.executor = Executors.newSingleThreadExecutor();
+        this.weatherDao = weatherDao;
+        this.forecastCacheDao = forecastCacheDao;
+        this.uvIndexCacheDao = uvIndexCacheDao;
+        this.airQualityCacheDao = airQualityCacheDao;
+        this.memoryCache = memoryCache;
+        this.coldStartSnapshot = coldStartSnapshot;
+        this.dispatcher = dispatcher;
+        this.gazetteer = gazetteer;
     }
     
     // Getters for cached responses
@@ -54,55 +206,143 @@ public class WeatherRepositoryImpl implements WeatherRepository {
         return latestWeatherResponse;
     }
     
-    public HourlyForecastResponse getLatestHourlyForecastResponse() {
+    /**
+     * Latest forecast in API-model form, rebuilt from the columnar series on first request
+     */
+    public synchronized HourlyForecastResponse getLatestHourlyForecastResponse() {
+        HourlySeries series = latestHourlySeries;
+        if (series == null) {
+            return null;
+        }
+        if (latestHourlyForecastResponse == null) {
+            latestHourlyForecastResponse = DomainMapper.toHourlyForecastResponse(series);
+        }
         return latestHourlyForecastResponse;
     }
     
+    private synchronized void setLatestHourlySeries(HourlySeries series) {
+        latestHourlySeries = series;
+        latestHourlyForecastResponse = null;
+        saveSnapshot();
+    }
+    
+    private void setLatestWeatherData(WeatherData weatherData) {
+        latestWeatherData = weatherData;
+        saveSnapshot();
+    }
+    
+    /**
+     * Rewrite the cold-start snapshot in background with the latest weather and,
+     * if it is for the same city, the latest forecast
+     */
+    private void saveSnapshot() {
+        WeatherData weather = latestWeatherData;
+        HourlySeries series = latestHourlySeries;
+        if (coldStartSnapshot == null || weather == null) {
+            return;
+        }
+        HourlySeries sameCity = series != null && series.getCityName().equalsIgnoreCase(weather.getCityName())
+                ? series : null;
+        dispatcher.writes().execute(() -> {
+            try {
+                coldStartSnapshot.write(weather, sameCity, System.currentTimeMillis());
+            } catch (IOException e) {
+                Log.w(TAG, "Cold-start snapshot not saved", e);
+            }
+        });
+    }
+    
     @Override
     public void getWeatherByCity(String cityName, String temperatureUnit, WeatherCallback callback) {
-        String units = temperatureUnit.equals("celsius") ? "metric" : "imperial";
-        Log.d(TAG, "Fetching weather for city: " + cityName + ", units: " + units);
+        getWeatherByCity(cityName, temperatureUnit, CancellationToken.none(), callback);
+    }
+    
+    @Override
+    public void getWeatherByCity(String cityName, String temperatureUnit, CancellationToken token,
+                                 WeatherCallback requested) {
+        String units = API_UNITS;
+        WeatherWaiter callback = inTemperatureUnit(requested, temperatureUnit);
+        Log.d(TAG, "Fetching weather for city: " + cityName);
+        
+        // Memory tier: no disk, no mapping, no thread hop
+        MemoryWeatherCache.Entry hot = memoryCache.getByCity(cityName, UnitConversion.CANONICAL_TEMPERATURE);
+        if (hot != null) {
+            Log.d(TAG, "Memory cache hit for city: " + cityName);
+            setLatestWeatherData(hot.data);
+            callback.onSuccess(hot.data);
+            return;
+        }
         
-        // First, check cache in background thread
-        executor.execute(() -> {
+        // Then check the database in background thread
+        dispatcher.reads().execute(() -> {
+            if (token.isCancelled()) {
+                return;
+            }
             WeatherCacheEntity cachedEntity = weatherDao.getWeatherByCity(cityName);
             
             if (cachedEntity != null && cachedEntity.isValid()) {
                 // Cache hit and still valid - return immediately
                 Log.d(TAG, "Cache hit for city: " + cityName);
-                WeatherData cachedData = CacheMapper.toDomain(cachedEntity);
+                touchWeather(cachedEntity.getCityName());
+                WeatherData cachedData = fromCache(cachedEntity);
+                memoryCache.put(cachedData, cachedEntity.getCachedAt(), cityName);
+                setLatestWeatherData(cachedData);
                 callback.onSuccess(cachedData);
                 return;
             }
             
-            // Cache miss or expired - fetch from network
+            if (cachedEntity != null) {
+                // Expired: show it now, the refresh below follows through onSuccess/onError
+                Log.d(TAG, "Serving stale cache for city: " + cityName + " while revalidating");
+                callback.onStale(fromCache(cachedEntity));
+            }
+            
+            // Cache miss or expired - fetch from network, unless the same query is already in flight
+            String requestKey = cityRequestKey(cityName, units);
+            boolean first = weatherRequests.join(requestKey, callback);
+            token.onCancel(() -> leaveWeatherRequest(requestKey, callback));
+            if (!first) {
+                Log.d(TAG, "Request already in flight for city: " + cityName + ", attaching");
+                return;
+            }
             Log.d(TAG, "Cache miss or expired for city: " + cityName + ", fetching from network");
-            fetchWeatherFromNetwork(cityName, units, temperatureUnit, callback);
+            fetchWeatherFromNetwork(cityName, units, requestKey);
         });
     }
     
     /**
      * Fetch weather from network and cache the result
      */
-    private void fetchWeatherFromNetwork(String cityName, String units, String temperatureUnit, WeatherCallback callback) {
+    private void fetchWeatherFromNetwork(String cityName, String units, String requestKey) {
         Call<WeatherResponse> call = apiService.getWeatherByCity(cityName, apiKey, units);
+        if (!weatherRequests.setCanceller(requestKey, call::cancel)) {
+            return; // Every caller was cancelled before the call started
+        }
         call.enqueue(new Callback<WeatherResponse>() {
             @Override
             public void onResponse(Call<WeatherResponse> call, Response<WeatherResponse> response) {
                 if (response.isSuccessful() && response.body() != null) {
-                    WeatherData weatherData = DomainMapper.toWeatherData(response.body(), temperatureUnit);
-                    if (weatherData != null) {
-                        // Cache the result in background
-                        executor.execute(() -> {
+                    WeatherData weatherData = DomainMapper.toWeatherData(response.body(),
+                            UnitConversion.CANONICAL_TEMPERATURE);
+                    if (weatherData != null && servedStale(response)) {
+                        Log.d(TAG, "Network failed, HTTP cache answered for: " + cityName);
+                        deliverStaleWeather(requestKey, weatherData, STALE_ERROR_MESSAGE);
+                    } else if (weatherData != null) {
+                        // Write through both tiers; the database write happens in background
+                        long fetchedAt = fetchedAt(response);
+                        memoryCache.put(weatherData, fetchedAt, cityName);
+                        dispatcher.writes().execute(() -> {
                             WeatherCacheEntity entity = CacheMapper.toEntity(weatherData);
                             if (entity != null) {
+                                entity.setCachedAt(fetchedAt);
                                 weatherDao.insertWeather(entity);
                                 Log.d(TAG, "Weather cached for city: " + cityName);
                             }
                         });
-                        callback.onSuccess(weatherData);
+                        setLatestWeatherData(weatherData);
+                        deliverWeather(requestKey, weatherData);
                     } else {
-                        callback.onError("Failed to parse weather data");
+                        deliverWeatherError(requestKey, "Failed to parse weather data");
                     }
                 } else {
                     String errorMsg = "City not found. Please check the city name and try again.";
@@ -114,22 +354,24 @@ public class WeatherRepositoryImpl implements WeatherRepository {
                     } catch (Exception e) {
                         Log.e(TAG, "Error reading error body", e);
                     }
-                    callback.onError(errorMsg);
+                    deliverWeatherError(requestKey, errorMsg);
                 }
             }
             
             @Override
             public void onFailure(Call<WeatherResponse> call, Throwable t) {
+                if (call.isCanceled()) {
+                    return; // Its callers left; a new request may already use the same key
+                }
                 Log.e(TAG, "Network error", t);
                 // On network failure, try to return cached data even if expired
-                executor.execute(() -> {
+                dispatcher.reads().execute(() -> {
                     WeatherCacheEntity cachedEntity = weatherDao.getWeatherByCity(cityName);
                     if (cachedEntity != null) {
                         Log.d(TAG, "Network failed, returning expired cache for: " + cityName);
-                        WeatherData cachedData = CacheMapper.toDomain(cachedEntity);
-                        callback.onSuccess(cachedData);
+                        deliverStaleWeather(requestKey, fromCache(cachedEntity), getNetworkErrorMessage(t));
                     } else {
-                        callback.onError(getNetworkErrorMessage(t));
+                        deliverWeatherError(requestKey, getNetworkErrorMessage(t));
                     }
                 });
             }
@@ -137,31 +379,100 @@ public class WeatherRepositoryImpl implements WeatherRepository {
     }
     
     @Override
-    public void getWeatherByCoordinates(double latitude, double longitude, String temperatureUnit, WeatherCallback callback) {
-        String units = temperatureUnit.equals("celsius") ? "metric" : "imperial";
+    public void getWeatherByCoordinates(double latitude, double longitude, String temperatureUnit,
+                                        WeatherCallback callback) {
+        getWeatherByCoordinates(latitude, longitude, temperatureUnit, CancellationToken.none(), callback);
+    }
+    
+    @Override
+    public void getWeatherByCoordinates(double latitude, double longitude, String temperatureUnit,
+                                        CancellationToken token, WeatherCallback requested) {
+        String units = API_UNITS;
+        WeatherWaiter callback = inTemperatureUnit(requested, temperatureUnit);
         Log.d(TAG, "Fetching weather by coordinates: " + latitude + ", " + longitude);
         
+        MemoryWeatherCache.Entry hot = memoryCache.getByCoordinates(latitude, longitude,
+                UnitConversion.CANONICAL_TEMPERATURE);
+        if (hot != null) {
+            Log.d(TAG, "Memory cache hit for coordinates");
+            setLatestWeatherData(hot.data);
+            callback.onSuccess(hot.data);
+            return;
+        }
+        
         // Check cache first
-        executor.execute(() -> {
+        dispatcher.reads().execute(() -> {
+            if (token.isCancelled()) {
+                return;
+            }
+            // Offline reverse geocoding: inside a known city, the city's entries answer too
+            Gazetteer.City place = nearestCity(latitude, longitude);
+            String placeName = place != null ? place.getAsciiName() : null;
+            if (placeName != null) {
+                MemoryWeatherCache.Entry shared = memoryCache.getByCity(placeName,
+                        UnitConversion.CANONICAL_TEMPERATURE);
+                if (shared != null) {
+                    Log.d(TAG, "Memory cache hit for coordinates via city: " + placeName);
+                    setLatestWeatherData(shared.data);
+                    callback.onSuccess(shared.data);
+                    return;
+                }
+            }
             WeatherCacheEntity cachedEntity = weatherDao.getWeatherByCoordinates(latitude, longitude);
+            if ((cachedEntity == null || !cachedEntity.isValid()) && placeName != null) {
+                WeatherCacheEntity byCity = weatherDao.getWeatherByCity(placeName);
+                if (byCity != null && (cachedEntity == null || byCity.isValid())) {
+                    cachedEntity = byCity;
+                }
+            }
             
             if (cachedEntity != null && cachedEntity.isValid()) {
                 Log.d(TAG, "Cache hit for coordinates");
-                WeatherData cachedData = CacheMapper.toDomain(cachedEntity);
+                touchWeather(cachedEntity.getCityName());
+                WeatherData cachedData = fromCache(cachedEntity);
+                memoryCache.put(cachedData, cachedEntity.getCachedAt(), cachedEntity.getCityName());
+                setLatestWeatherData(cachedData);
                 callback.onSuccess(cachedData);
                 return;
             }
             
+            if (cachedEntity != null) {
+                Log.d(TAG, "Serving stale cache for coordinates while revalidating");
+                callback.onStale(fromCache(cachedEntity));
+            }
+            
+            String requestKey = coordinatesRequestKey(latitude, longitude, units);
+            boolean first = weatherRequests.join(requestKey, callback);
+            token.onCancel(() -> leaveWeatherRequest(requestKey, callback));
+            if (!first) {
+                Log.d(TAG, "Request already in flight for coordinates, attaching");
+                return;
+            }
             Log.d(TAG, "Cache miss for coordinates, fetching from network");
-            fetchWeatherByCoordinatesFromNetwork(latitude, longitude, units, temperatureUnit, callback);
+            fetchWeatherByCoordinatesFromNetwork(latitude, longitude, units, requestKey, placeName);
         });
     }
     
+    /**
+     * Gazetteer city within CITY_RADIUS_KM of the point, loading the gazetteer on first use
+     * Background threads only
+     * @return The city, or null without a gazetteer or when no city is near
+     */
+    private Gazetteer.City nearestCity(double latitude, double longitude) {
+        Gazetteer index = gazetteer != null ? gazetteer.get() : null;
+        return index != null ? index.nearest(latitude, longitude, CITY_RADIUS_KM) : null;
+    }
+    
     /**
      * Fetch weather by coordinates from network and cache
+     * @param placeName Gazetteer name the result is stored under, or null to store it under the API's name
      */
-    private void fetchWeatherByCoordinatesFromNetwork(double latitude, double longitude, String units, String temperatureUnit, WeatherCallback callback) {
+    private void fetchWeatherByCoordinatesFromNetwork(double latitude, double longitude, String units,
+                                                      String requestKey, String placeName) {
         Call<WeatherResponse> call = apiService.getWeatherByCoordinates(latitude, longitude, apiKey, units);
+        if (!weatherRequests.setCanceller(requestKey, call::cancel)) {
+            return;
+        }
         call.enqueue(new Callback<WeatherResponse>() {
             @Override
             public void onResponse(Call<WeatherResponse> call, Response<WeatherResponse> response) {
@@ -170,37 +481,51 @@ public class WeatherRepositoryImpl implements WeatherRepository {
                     latestWeatherResponse = response.body();
                     Log.d(TAG, "✓ Cached WeatherResponse for charts");
                     
-                    WeatherData weatherData = DomainMapper.toWeatherData(response.body(), temperatureUnit);
-                    if (weatherData != null) {
-                        // Cache the result
-                        executor.execute(() -> {
-                            WeatherCacheEntity entity = CacheMapper.toEntity(weatherData);
+                    WeatherData weatherData = DomainMapper.toWeatherData(response.body(),
+                            UnitConversion.CANONICAL_TEMPERATURE);
+                    if (weatherData != null && servedStale(response)) {
+                        Log.d(TAG, "Network failed, HTTP cache answered for coordinates");
+                        deliverStaleWeather(requestKey, weatherData, STALE_ERROR_MESSAGE);
+                    } else if (weatherData != null) {
+                        // Cache the result; the API names a fix after its district (or with diacritics),
+                        // so it is also keyed by the gazetteer name the city path looks up
+                        long fetchedAt = fetchedAt(response);
+                        memoryCache.put(weatherData, fetchedAt, placeName);
+                        dispatcher.writes().execute(() -> {
+                            WeatherCacheEntity entity = CacheMapper.toEntity(weatherData, placeName);
                             if (entity != null) {
+                                entity.setCachedAt(fetchedAt);
                                 weatherDao.insertWeather(entity);
                                 Log.d(TAG, "Weather cached for coordinates");
                             }
                         });
-                        callback.onSuccess(weatherData);
+                        setLatestWeatherData(weatherData);
+                        deliverWeather(requestKey, weatherData);
                     } else {
-                        callback.onError("Failed to parse weather data");
+                        deliverWeatherError(requestKey, "Failed to parse weather data");
                     }
                 } else {
-                    callback.onError("Failed to fetch weather data");
+                    deliverWeatherError(requestKey, "Failed to fetch weather data");
                 }
             }
             
             @Override
             public void onFailure(Call<WeatherResponse> call, Throwable t) {
+                if (call.isCanceled()) {
+                    return; // Its callers left; a new request may already use the same key
+                }
                 Log.e(TAG, "Network error", t);
                 // Try returning cached data on network failure
-                executor.execute(() -> {
+                dispatcher.reads().execute(() -> {
                     WeatherCacheEntity cachedEntity = weatherDao.getWeatherByCoordinates(latitude, longitude);
+                    if (cachedEntity == null && placeName != null) {
+                        cachedEntity = weatherDao.getWeatherByCity(placeName);
+                    }
                     if (cachedEntity != null) {
                         Log.d(TAG, "Network failed, returning expired cache for coordinates");
-                        WeatherData cachedData = CacheMapper.toDomain(cachedEntity);
-                        callback.onSuccess(cachedData);
+                        deliverStaleWeather(requestKey, fromCache(cachedEntity), getNetworkErrorMessage(t));
                     } else {
-                        callback.onError(getNetworkErrorMessage(t));
+                        deliverWeatherError(requestKey, getNetworkErrorMessage(t));
                     }
                 });
             }
@@ -209,31 +534,90 @@ public class WeatherRepositoryImpl implements WeatherRepository {
     
     @Override
     public void getForecast(double latitude, double longitude, String temperatureUnit, ForecastCallback callback) {
-        String units = temperatureUnit.equals("celsius") ? "metric" : "imperial";
+        getForecast(latitude, longitude, temperatureUnit, CancellationToken.none(), callback);
+    }
+    
+    @Override
+    public void getForecast(double latitude, double longitude, String temperatureUnit,
+                            CancellationToken token, ForecastCallback requested) {
+        String units = API_UNITS;
+        ForecastCallback callback = inTemperatureUnit(requested, temperatureUnit);
         Log.d(TAG, "Fetching forecast for coordinates: " + latitude + ", " + longitude);
         
-        Call<HourlyForecastResponse> call = apiService.getHourlyForecastByCoordinates(latitude, longitude, apiKey, units);
-        call.enqueue(new Callback<HourlyForecastResponse>() {
+        dispatcher.reads().execute(() -> {
+            if (token.isCancelled()) {
+                return;
+            }
+            ForecastCacheEntity row = forecastCacheDao.getForecastByCoordinates(
+                    latitude, longitude, CacheMapper.FORECAST_TYPE_HOURLY, units,
+                    System.currentTimeMillis() - FORECAST_TTL_MS);
+            if (row == null) {
+                fetchForecastFromNetwork(latitude, longitude, units, token, callback);
+                return;
+            }
+            // One packed row; only this row's BLOB is decoded, off the read pool
+            dispatcher.cpu().execute(() -> {
+                if (token.isCancelled()) {
+                    return;
+                }
+                HourlySeries cached = CacheMapper.toHourlySeries(row);
+                if (cached != null && cached.size() > 0) {
+                    Log.d(TAG, "Forecast cache hit for coordinates");
+                    dispatcher.writes().execute(() ->
+                            forecastCacheDao.touchForecast(row.getId(), System.currentTimeMillis()));
+                    setLatestHourlySeries(cached);
+                    callback.onSuccess(DomainMapper.toForecastData(cached));
+                    return;
+                }
+                fetchForecastFromNetwork(latitude, longitude, units, token, callback);
+            });
+        });
+    }
+    
+    /**
+     * Fetch forecast from network and cache the hourly rows
+     */
+    private void fetchForecastFromNetwork(double latitude, double longitude, String units,
+                                          CancellationToken token, ForecastCallback callback) {
+        // Streamed straight into columns, no HourlyForecastResponse tree
+        Call<HourlySeries> call = apiService.getHourlySeriesByCoordinates(latitude, longitude, apiKey, units);
+        token.onCancel(call::cancel);
+        call.enqueue(new Callback<HourlySeries>() {
             @Override
-            public void onResponse(Call<HourlyForecastResponse> call, Response<HourlyForecastResponse> response) {
+            public void onResponse(Call<HourlySeries> call, Response<HourlySeries> response) {
                 if (response.isSuccessful() && response.body() != null) {
-                    // Cache the response for ChartsActivity
-                    latestHourlyForecastResponse = response.body();
-                    Log.d(TAG, "✓ Cached HourlyForecastResponse for charts");
+                    HourlySeries series = response.body();
+                    // Keep the series for ChartsActivity
+                    setLatestHourlySeries(series);
+                    Log.d(TAG, "✓ Cached hourly series for charts");
                     
-                    ForecastData forecastData = DomainMapper.toForecastData(response.body());
-                    if (forecastData != null) {
-                        callback.onSuccess(forecastData);
-                    } else {
-                        callback.onError("Failed to parse forecast data");
+                    if (!servedStale(response)) {
+                        dispatcher.writes().execute(() -> {
+                            long now = System.currentTimeMillis();
+                            forecastCacheDao.deleteOldForecasts(now - FORECAST_TTL_MS);
+                            forecastCacheDao.insertForecast(
+                                    CacheMapper.toForecastEntity(series, latitude, longitude, units, now));
+                        });
                     }
+                    
+                    dispatcher.cpu().execute(() -> {
+                        ForecastData forecastData = DomainMapper.toForecastData(series);
+                        if (forecastData != null) {
+                            callback.onSuccess(forecastData);
+                        } else {
+                            callback.onError("Failed to parse forecast data");
+                        }
+                    });
                 } else {
                     callback.onError("Failed to fetch forecast data");
                 }
             }
             
             @Override
-            public void onFailure(Call<HourlyForecastResponse> call, Throwable t) {
+            public void onFailure(Call<HourlySeries> call, Throwable t) {
+                if (call.isCanceled()) {
+                    return;
+                }
                 Log.e(TAG, "Network error", t);
                 callback.onError(getNetworkErrorMessage(t));
             }
@@ -242,14 +626,44 @@ public class WeatherRepositoryImpl implements WeatherRepository {
     
     @Override
     public void getUVIndex(double latitude, double longitude, UVIndexCallback callback) {
+        getUVIndex(latitude, longitude, CancellationToken.none(), callback);
+    }
+    
+    @Override
+    public void getUVIndex(double latitude, double longitude, CancellationToken token, UVIndexCallback callback) {
         Log.d(TAG, "Fetching UV index for coordinates: " + latitude + ", " + longitude);
         
+        dispatcher.reads().execute(() -> {
+            if (token.isCancelled()) {
+                return;
+            }
+            UVIndexCacheEntity cached = uvIndexCacheDao.getUVIndexByCoordinates(
+                    latitude, longitude, System.currentTimeMillis(), UV_INDEX_TTL_MS);
+            if (cached != null) {
+                Log.d(TAG, "UV index cache hit for coordinates");
+                dispatcher.writes().execute(() ->
+                        uvIndexCacheDao.touchUVIndex(cached.getId(), System.currentTimeMillis()));
+                callback.onSuccess((int) Math.round(cached.getUvIndex()));
+                return;
+            }
+            fetchUVIndexFromNetwork(latitude, longitude, token, callback);
+        });
+    }
+    
+    private void fetchUVIndexFromNetwork(double latitude, double longitude, CancellationToken token,
+                                         UVIndexCallback callback) {
         Call<UVIndexResponse> call = apiService.getUVIndex(latitude, longitude, apiKey);
+        token.onCancel(call::cancel);
         call.enqueue(new Callback<UVIndexResponse>() {
             @Override
             public void onResponse(Call<UVIndexResponse> call, Response<UVIndexResponse> response) {
                 if (response.isSuccessful() && response.body() != null) {
-                    int uvIndex = (int) Math.round(response.body().getValue());
+                    UVIndexResponse body = response.body();
+                    if (!servedStale(response)) {
+                        dispatcher.writes().execute(() -> uvIndexCacheDao.insertUVIndex(CacheMapper.toUVIndexEntity(
+                                body.getValue(), latitude, longitude, body.getDate(), System.currentTimeMillis())));
+                    }
+                    int uvIndex = (int) Math.round(body.getValue());
                     callback.onSuccess(uvIndex);
                 } else {
                     Log.w(TAG, "UV Index API returned error");
@@ -259,6 +673,9 @@ public class WeatherRepositoryImpl implements WeatherRepository {
             
             @Override
             public void onFailure(Call<UVIndexResponse> call, Throwable t) {
+                if (call.isCanceled()) {
+                    return;
+                }
                 Log.e(TAG, "UV Index network error", t);
                 callback.onError(getNetworkErrorMessage(t));
             }
@@ -267,15 +684,46 @@ public class WeatherRepositoryImpl implements WeatherRepository {
     
     @Override
     public void getAirQuality(double latitude, double longitude, AirQualityCallback callback) {
+        getAirQuality(latitude, longitude, CancellationToken.none(), callback);
+    }
+    
+    @Override
+    public void getAirQuality(double latitude, double longitude, CancellationToken token,
+                              AirQualityCallback callback) {
         Log.d(TAG, "Fetching air quality for coordinates: " + latitude + ", " + longitude);
         
+        dispatcher.reads().execute(() -> {
+            if (token.isCancelled()) {
+                return;
+            }
+            AirQualityCacheEntity cached = airQualityCacheDao.getAirQualityByCoordinates(
+                    latitude, longitude, System.currentTimeMillis(), AIR_QUALITY_TTL_MS);
+            if (cached != null) {
+                Log.d(TAG, "Air quality cache hit for coordinates");
+                dispatcher.writes().execute(() ->
+                        airQualityCacheDao.touchAirQuality(cached.getId(), System.currentTimeMillis()));
+                callback.onSuccess(CacheMapper.toAirQualityData(cached));
+                return;
+            }
+            fetchAirQualityFromNetwork(latitude, longitude, token, callback);
+        });
+    }
+    
+    private void fetchAirQualityFromNetwork(double latitude, double longitude, CancellationToken token,
+                                            AirQualityCallback callback) {
         Call<AirQualityResponse> call = apiService.getAirQuality(latitude, longitude, apiKey);
+        token.onCancel(call::cancel);
         call.enqueue(new Callback<AirQualityResponse>() {
             @Override
             public void onResponse(Call<AirQualityResponse> call, Response<AirQualityResponse> response) {
                 if (response.isSuccessful() && response.body() != null) {
                     AirQualityData airQualityData = DomainMapper.toAirQualityData(response.body());
                     if (airQualityData != null) {
+                        if (!servedStale(response)) {
+                            dispatcher.writes().execute(() -> airQualityCacheDao.insertAirQuality(
+                                    CacheMapper.toAirQualityEntity(airQualityData, latitude, longitude,
+                                            System.currentTimeMillis())));
+                        }
                         callback.onSuccess(airQualityData);
                     } else {
                         callback.onError("Failed to parse air quality data");
@@ -288,12 +736,313 @@ public class WeatherRepositoryImpl implements WeatherRepository {
             
             @Override
             public void onFailure(Call<AirQualityResponse> call, Throwable t) {
+                if (call.isCanceled()) {
+                    return;
+                }
                 Log.e(TAG, "Air Quality network error", t);
                 callback.onError(getNetworkErrorMessage(t));
             }
         });
     }
     
+    @Override
+    public void getCachedCoordinates(String cityName, CoordinatesCallback callback) {
+        dispatcher.reads().execute(() -> {
+            // Expired entries are fine here: a city's coordinates don't go stale
+            WeatherCacheEntity cachedEntity = weatherDao.getWeatherByCity(cityName);
+            if (cachedEntity != null && (cachedEntity.getLatitude() != 0 || cachedEntity.getLongitude() != 0)) {
+                callback.onFound(cachedEntity.getLatitude(), cachedEntity.getLongitude());
+            } else {
+                callback.onNotFound();
+            }
+        });
+    }
+    
+    @Override
+    public void getWeatherByCityIds(List<Long> cityIds, String temperatureUnit, BatchWeatherCallback callback) {
+        Log.d(TAG, "Fetching weather for " + cityIds.size() + " cities by id");
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < cityIds.size(); from += GROUP_MAX_IDS) {
+            chunks.add(cityIds.subList(from, Math.min(from + GROUP_MAX_IDS, cityIds.size())));
+        }
+        if (chunks.isEmpty()) {
+            callback.onSuccess(Collections.emptyMap());
+            return;
+        }
+        new GroupFetch(chunks, temperatureUnit, callback).start();
+    }
+    
+    /**
+     * One batch fetch: its chunks run at most GROUP_MAX_CONCURRENT at a time, and all results
+     * are cached together once the last chunk is in
+     * The ids of a chunk that failed are reported through onFailed, not dropped with it
+     */
+    private final class GroupFetch {
+        private final List<List<Long>> chunks;
+        private final String temperatureUnit;
+        private final BatchWeatherCallback callback;
+        private final AtomicInteger nextChunk = new AtomicInteger();
+        private final AtomicInteger pendingChunks;
+        private final Map<Long, WeatherData> results = new ConcurrentHashMap<>();
+        private final Set<Long> servedStale = ConcurrentHashMap.newKeySet(); // Delivered, not cached
+        private final Map<Long, Long> fetchedAtById = new ConcurrentHashMap<>();
+        private final List<Long> failed = Collections.synchronizedList(new ArrayList<>());
+        private volatile String error;
+        
+        GroupFetch(List<List<Long>> chunks, String temperatureUnit, BatchWeatherCallback callback) {
+            this.chunks = chunks;
+            this.temperatureUnit = temperatureUnit;
+            this.callback = callback;
+            this.pendingChunks = new AtomicInteger(chunks.size());
+        }
+        
+        void start() {
+            for (int i = 0; i < Math.min(GROUP_MAX_CONCURRENT, chunks.size()); i++) {
+                fetchNextChunk();
+            }
+        }
+        
+        private void fetchNextChunk() {
+            int chunk = nextChunk.getAndIncrement();
+            if (chunk >= chunks.size()) {
+                return;
+            }
+            List<Long> ids = chunks.get(chunk);
+            StringBuilder joined = new StringBuilder();
+            for (Long id : ids) {
+                joined.append(joined.length() > 0 ? "," : "").append(id);
+            }
+            apiService.getWeatherByCityIds(joined.toString(), apiKey, API_UNITS)
+                    .enqueue(new Callback<GroupWeatherResponse>() {
+                @Override
+                public void onResponse(Call<GroupWeatherResponse> call, Response<GroupWeatherResponse> response) {
+                    if (response.isSuccessful() && response.body() != null && response.body().getList() != null) {
+                        for (WeatherResponse city : response.body().getList()) {
+                            WeatherData weatherData = DomainMapper.toWeatherData(city,
+                                    UnitConversion.CANONICAL_TEMPERATURE);
+                            if (weatherData != null && weatherData.getCityId() != 0) {
+                                results.put(weatherData.getCityId(), weatherData);
+                                fetchedAtById.put(weatherData.getCityId(), fetchedAt(response));
+                                if (servedStale(response)) {
+                                    servedStale.add(weatherData.getCityId());
+                                }
+                            }
+                        }
+                    } else {
+                        chunkFailed(ids, "Failed to fetch weather data");
+                    }
+                    chunkDone();
+                }
+                
+                @Override
+                public void onFailure(Call<GroupWeatherResponse> call, Throwable t) {
+                    Log.e(TAG, "Network error", t);
+                    chunkFailed(ids, getNetworkErrorMessage(t));
+                    chunkDone();
+                }
+            });
+        }
+        
+        private void chunkFailed(List<Long> ids, String message) {
+            Log.w(TAG, "Group chunk failed for " + ids.size() + " cities: " + message);
+            failed.addAll(ids);
+            error = message;
+        }
+        
+        private void chunkDone() {
+            fetchNextChunk();
+            if (pendingChunks.decrementAndGet() == 0) {
+                finish();
+            }
+        }
+        
+        private void finish() {
+            if (!failed.isEmpty()) {
+                callback.onFailed(new ArrayList<>(failed), error);
+            }
+            if (results.isEmpty() && error != null) {
+                callback.onError(error);
+                return;
+            }
+            List<WeatherData> fetched = new ArrayList<>();
+            for (WeatherData weatherData : results.values()) {
+                if (!servedStale.contains(weatherData.getCityId())) {
+                    fetched.add(weatherData);
+                }
+            }
+            for (WeatherData weatherData : fetched) {
+                memoryCache.put(weatherData, fetchedAtById.get(weatherData.getCityId()));
+            }
+            // One transaction for the whole batch rather than one per city
+            dispatcher.writes().execute(() -> {
+                List<WeatherCacheEntity> entities = new ArrayList<>(fetched.size());
+                for (WeatherData weatherData : fetched) {
+                    WeatherCacheEntity entity = CacheMapper.toEntity(weatherData);
+                    if (entity != null) {
+                        entity.setCachedAt(fetchedAtById.get(weatherData.getCityId()));
+                        entities.add(entity);
+                    }
+                }
+                weatherDao.insertAllWeather(entities);
+                Log.d(TAG, "Weather cached for " + entities.size() + " cities");
+            });
+            Map<Long, WeatherData> converted = new HashMap<>();
+            for (Map.Entry<Long, WeatherData> entry : results.entrySet()) {
+                converted.put(entry.getKey(), UnitConversion.toTemperatureUnit(entry.getValue(), temperatureUnit));
+            }
+            callback.onSuccess(converted);
+        }
+    }
+    
+    /**
+     * Record a weather cache hit for the janitor's LRU order, on the writer
+     */
+    private void touchWeather(String cityName) {
+        dispatcher.writes().execute(() -> weatherDao.touchWeather(cityName, System.currentTimeMillis()));
+    }
+    
+    /**
+     * Cached weather in canonical units
+     * Rows written before canonical caching may hold imperial values (°F, mph)
+     */
+    private static WeatherData fromCache(WeatherCacheEntity entity) {
+        WeatherData data = CacheMapper.toDomain(entity);
+        if (!UnitConversion.FAHRENHEIT.equals(data.getTemperatureUnit())) {
+            return data;
+        }
+        UnitConversion wind = UnitConversion.windSpeed(UnitConversion.MILES_PER_HOUR,
+                UnitConversion.CANONICAL_WIND_SPEED);
+        return UnitConversion.toTemperatureUnit(data, UnitConversion.CANONICAL_TEMPERATURE).toBuilder()
+                .setWindSpeed(wind.apply(data.getWindSpeed()))
+                .build();
+    }
+    
+    /**
+     * Wrap a caller's callback so canonical results reach it in its temperature unit
+     * Coalesced callers asking in different units share one request this way
+     */
+    private static WeatherWaiter inTemperatureUnit(WeatherCallback callback, String temperatureUnit) {
+        return new WeatherWaiter(callback, temperatureUnit);
+    }
+    
+    /**
+     * A caller of a weather request, in its temperature unit
+     * Remembers whether it was already shown stale data, so a failed refresh doesn't repeat it
+     */
+    private static final class WeatherWaiter implements WeatherCallback {
+        private final WeatherCallback callback;
+        private final String temperatureUnit;
+        private volatile boolean staleDelivered;
+        
+        WeatherWaiter(WeatherCallback callback, String temperatureUnit) {
+            this.callback = callback;
+            this.temperatureUnit = temperatureUnit;
+        }
+        
+        @Override
+        public void onSuccess(WeatherData weatherData) {
+            callback.onSuccess(UnitConversion.toTemperatureUnit(weatherData, temperatureUnit));
+        }
+        
+        @Override
+        public void onStale(WeatherData weatherData) {
+            staleDelivered = true;
+            callback.onStale(UnitConversion.toTemperatureUnit(weatherData, temperatureUnit));
+        }
+        
+        @Override
+        public void onError(String message) {
+            callback.onError(message);
+        }
+    }
+    
+    private static ForecastCallback inTemperatureUnit(ForecastCallback callback, String temperatureUnit) {
+        return new ForecastCallback() {
+            @Override
+            public void onSuccess(ForecastData forecastData) {
+                callback.onSuccess(UnitConversion.toTemperatureUnit(forecastData,
+                        UnitConversion.CANONICAL_TEMPERATURE, temperatureUnit));
+            }
+            
+            @Override
+            public void onError(String message) {
+                callback.onError(message);
+            }
+        };
+    }
+    
+    /**
+     * Complete an in-flight weather request and notify every attached caller
+     */
+    private void deliverWeather(String requestKey, WeatherData weatherData) {
+        List<WeatherWaiter> waiters = weatherRequests.complete(requestKey);
+        if (waiters.size() > 1) {
+            Log.d(TAG, "Coalesced " + waiters.size() + " callers for: " + requestKey);
+        }
+        for (WeatherWaiter waiter : waiters) {
+            waiter.onSuccess(weatherData);
+        }
+    }
+    
+    /**
+     * Complete a failed refresh that still has old data (an expired entry, or the HTTP cache's copy):
+     * callers get it as stale (unless they already have it on screen), then the failure,
+     * never as a fresh result
+     */
+    private void deliverStaleWeather(String requestKey, WeatherData weatherData, String message) {
+        for (WeatherWaiter waiter : weatherRequests.complete(requestKey)) {
+            if (!waiter.staleDelivered) {
+                waiter.onStale(weatherData);
+            }
+            waiter.onError(message);
+        }
+    }
+    
+    private static boolean servedStale(Response<?> response) {
+        return HttpCachePolicy.isServedStale(response.raw());
+    }
+    
+    /**
+     * When a response's data was fetched: an answer from the HTTP cache is as old as the
+     * original fetch (OkHttp keeps its receive time), not as old as this call
+     */
+    private static long fetchedAt(Response<?> response) {
+        long now = System.currentTimeMillis();
+        long received = response.raw().receivedResponseAtMillis();
+        return received > 0 ? Math.min(received, now) : now;
+    }
+    
+    /**
+     * A cancelled caller stops waiting; the shared call is cancelled once nobody waits on it
+     */
+    private static void leaveWeatherRequest(String requestKey, WeatherWaiter callback) {
+        Runnable cancel = weatherRequests.leave(requestKey, callback);
+        if (cancel != null) {
+            Log.d(TAG, "Cancelled request: " + requestKey);
+            cancel.run();
+        }
+    }
+    
+    private void deliverWeatherError(String requestKey, String message) {
+        for (WeatherWaiter waiter : weatherRequests.complete(requestKey)) {
+            waiter.onError(message);
+        }
+    }
+    
+    /**
+     * In-flight key for a city query: case and surrounding whitespace don't change the result
+     */
+    static String cityRequestKey(String cityName, String units) {
+        return "city:" + cityName.trim().toLowerCase(Locale.ROOT) + "|" + units;
+    }
+    
+    /**
+     * In-flight key for a coordinate query, rounded to the same 0.01° the coordinate cache uses
+     */
+    static String coordinatesRequestKey(double latitude, double longitude, String units) {
+        return String.format(Locale.US, "coord:%.2f,%.2f|%s", latitude, longitude, units);
+    }
+    
     /**
      * Get user-friendly network error message
      */
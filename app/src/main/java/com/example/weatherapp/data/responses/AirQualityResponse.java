@@ -1,6 +1,12 @@
 package com.example.weatherapp.data.responses;
 
+import com.example.weatherapp.data.json.JsonFields;
+import com.example.weatherapp.data.json.ResponseAdapter;
+import com.google.gson.TypeAdapter;
 import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+
+import java.io.IOException;
 import java.util.List;
 
 public class AirQualityResponse {
@@ -11,6 +17,13 @@ public class AirQualityResponse {
         return list;
     }
 
+    /**
+     * Reflection-free reader, registered through JsonAdapters
+     */
+    public static TypeAdapter<AirQualityResponse> typeAdapter() {
+        return Adapter.INSTANCE;
+    }
+
     public static class AirQualityData {
         @SerializedName("main")
         private Main main;
@@ -93,6 +106,73 @@ public class AirQualityResponse {
             return nh3;
         }
     }
-}
 
+    private static final class Adapter extends ResponseAdapter<AirQualityResponse> {
+        static final Adapter INSTANCE = new Adapter();
+
+        @Override
+        public AirQualityResponse read(JsonReader reader) throws IOException {
+            AirQualityResponse response = new AirQualityResponse();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if ("list".equals(reader.nextName())) {
+                    response.list = JsonFields.nextList(reader, Adapter::readData);
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+            return response;
+        }
+
+        private static AirQualityData readData(JsonReader reader) throws IOException {
+            AirQualityData data = new AirQualityData();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "main": data.main = readMain(reader); break;
+                    case "components": data.components = readComponents(reader); break;
+                    default: reader.skipValue();
+                }
+            }
+            reader.endObject();
+            return data;
+        }
+
+        private static Main readMain(JsonReader reader) throws IOException {
+            if (JsonFields.skipIfNull(reader)) return null;
+            Main main = new Main();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if ("aqi".equals(reader.nextName())) {
+                    main.aqi = JsonFields.nextInt(reader);
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+            return main;
+        }
 
+        private static Components readComponents(JsonReader reader) throws IOException {
+            if (JsonFields.skipIfNull(reader)) return null;
+            Components components = new Components();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "co": components.co = JsonFields.nextDouble(reader); break;
+                    case "no": components.no = JsonFields.nextDouble(reader); break;
+                    case "no2": components.no2 = JsonFields.nextDouble(reader); break;
+                    case "o3": components.o3 = JsonFields.nextDouble(reader); break;
+                    case "so2": components.so2 = JsonFields.nextDouble(reader); break;
+                    case "pm2_5": components.pm2_5 = JsonFields.nextDouble(reader); break;
+                    case "pm10": components.pm10 = JsonFields.nextDouble(reader); break;
+                    case "nh3": components.nh3 = JsonFields.nextDouble(reader); break;
+                    default: reader.skipValue();
+                }
+            }
+            reader.endObject();
+            return components;
+        }
+    }
+}
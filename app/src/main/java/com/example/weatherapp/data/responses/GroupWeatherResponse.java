@@ -0,0 +1,56 @@
+package com.example.weatherapp.data.responses;
+
+import com.example.weatherapp.data.json.JsonFields;
+import com.example.weatherapp.data.json.ResponseAdapter;
+import com.google.gson.TypeAdapter;
+import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Response of the /group endpoint: current weather for several city ids at once
+ */
+public class GroupWeatherResponse {
+    @SerializedName("cnt")
+    private int count;
+
+    @SerializedName("list")
+    private List<WeatherResponse> list;
+
+    public int getCount() {
+        return count;
+    }
+
+    public List<WeatherResponse> getList() {
+        return list;
+    }
+
+    /**
+     * Reflection-free reader, registered through JsonAdapters
+     */
+    public static TypeAdapter<GroupWeatherResponse> typeAdapter() {
+        return Adapter.INSTANCE;
+    }
+
+    private static final class Adapter extends ResponseAdapter<GroupWeatherResponse> {
+        static final Adapter INSTANCE = new Adapter();
+
+        @Override
+        public GroupWeatherResponse read(JsonReader reader) throws IOException {
+            GroupWeatherResponse response = new GroupWeatherResponse();
+            TypeAdapter<WeatherResponse> item = WeatherResponse.typeAdapter();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "cnt": response.count = JsonFields.nextInt(reader); break;
+                    case "list": response.list = JsonFields.nextList(reader, item::read); break;
+                    default: reader.skipValue();
+                }
+            }
+            reader.endObject();
+            return response;
+        }
+    }
+}
@@ -1,6 +1,12 @@
 package com.example.weatherapp.data.responses;
 
+import com.example.weatherapp.data.json.JsonFields;
+import com.example.weatherapp.data.json.ResponseAdapter;
+import com.google.gson.TypeAdapter;
 import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+
+import java.io.IOException;
 import java.io.Serializable;
 import java.util.List;
 
@@ -11,6 +17,14 @@ public class HourlyForecastResponse implements Serializable {
     @SerializedName("city")
     private City city;
 
+    public HourlyForecastResponse() {
+    }
+
+    public HourlyForecastResponse(List<HourlyItem> list, City city) {
+        this.list = list;
+        this.city = city;
+    }
+
     public List<HourlyItem> getList() {
         return list;
     }
@@ -19,6 +33,13 @@ public class HourlyForecastResponse implements Serializable {
         return city;
     }
 
+    /**
+     * Reflection-free reader, registered through JsonAdapters
+     */
+    public static TypeAdapter<HourlyForecastResponse> typeAdapter() {
+        return Adapter.INSTANCE;
+    }
+
     public static class HourlyItem implements Serializable {
         @SerializedName("dt")
         private long dt; // Unix timestamp
@@ -41,6 +62,17 @@ public class HourlyForecastResponse implements Serializable {
         @SerializedName("rain")
         private Rain rain;
 
+        public HourlyItem() {
+        }
+
+        public HourlyItem(long dt, Main main, List<Weather> weather, Wind wind, double pop) {
+            this.dt = dt;
+            this.main = main;
+            this.weather = weather;
+            this.wind = wind;
+            this.pop = pop;
+        }
+
         public long getDt() {
             return dt;
         }
@@ -88,6 +120,19 @@ public class HourlyForecastResponse implements Serializable {
             @SerializedName("humidity")
             private int humidity;
 
+            public Main() {
+            }
+
+            public Main(double temp, double feelsLike, double tempMin, double tempMax,
+                        int pressure, int humidity) {
+                this.temp = temp;
+                this.feelsLike = feelsLike;
+                this.tempMin = tempMin;
+                this.tempMax = tempMax;
+                this.pressure = pressure;
+                this.humidity = humidity;
+            }
+
             public double getTemp() {
                 return temp;
             }
@@ -126,6 +171,15 @@ public class HourlyForecastResponse implements Serializable {
             @SerializedName("icon")
             private String icon;
 
+            public Weather() {
+            }
+
+            public Weather(String main, String description, String icon) {
+                this.main = main;
+                this.description = description;
+                this.icon = icon;
+            }
+
             public int getId() {
                 return id;
             }
@@ -159,6 +213,14 @@ public class HourlyForecastResponse implements Serializable {
             @SerializedName("deg")
             private int deg;
 
+            public Wind() {
+            }
+
+            public Wind(double speed, int deg) {
+                this.speed = speed;
+                this.deg = deg;
+            }
+
             public double getSpeed() {
                 return speed;
             }
@@ -194,6 +256,17 @@ public class HourlyForecastResponse implements Serializable {
         @SerializedName("sunset")
         private long sunset;
 
+        public City() {
+        }
+
+        public City(String name, String country, int timezone, long sunrise, long sunset) {
+            this.name = name;
+            this.country = country;
+            this.timezone = timezone;
+            this.sunrise = sunrise;
+            this.sunset = sunset;
+        }
+
         public String getName() {
             return name;
         }
@@ -214,5 +287,140 @@ public class HourlyForecastResponse implements Serializable {
             return sunset;
         }
     }
-}
 
+    private static final class Adapter extends ResponseAdapter<HourlyForecastResponse> {
+        static final Adapter INSTANCE = new Adapter();
+
+        @Override
+        public HourlyForecastResponse read(JsonReader reader) throws IOException {
+            HourlyForecastResponse response = new HourlyForecastResponse();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "list": response.list = JsonFields.nextList(reader, Adapter::readItem); break;
+                    case "city": response.city = readCity(reader); break;
+                    default: reader.skipValue();
+                }
+            }
+            reader.endObject();
+            return response;
+        }
+
+        private static HourlyItem readItem(JsonReader reader) throws IOException {
+            HourlyItem item = new HourlyItem();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "dt": item.dt = JsonFields.nextLong(reader); break;
+                    case "main": item.main = readMain(reader); break;
+                    case "weather": item.weather = JsonFields.nextList(reader, Adapter::readWeather); break;
+                    case "clouds": item.clouds = readClouds(reader); break;
+                    case "wind": item.wind = readWind(reader); break;
+                    case "pop": item.pop = JsonFields.nextDouble(reader); break;
+                    case "rain": item.rain = readRain(reader); break;
+                    default: reader.skipValue();
+                }
+            }
+            reader.endObject();
+            return item;
+        }
+
+        private static HourlyItem.Main readMain(JsonReader reader) throws IOException {
+            if (JsonFields.skipIfNull(reader)) return null;
+            HourlyItem.Main main = new HourlyItem.Main();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "temp": main.temp = JsonFields.nextDouble(reader); break;
+                    case "feels_like": main.feelsLike = JsonFields.nextDouble(reader); break;
+                    case "temp_min": main.tempMin = JsonFields.nextDouble(reader); break;
+                    case "temp_max": main.tempMax = JsonFields.nextDouble(reader); break;
+                    case "pressure": main.pressure = JsonFields.nextInt(reader); break;
+                    case "humidity": main.humidity = JsonFields.nextInt(reader); break;
+                    default: reader.skipValue();
+                }
+            }
+            reader.endObject();
+            return main;
+        }
+
+        private static HourlyItem.Weather readWeather(JsonReader reader) throws IOException {
+            HourlyItem.Weather weather = new HourlyItem.Weather();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "id": weather.id = JsonFields.nextInt(reader); break;
+                    case "main": weather.main = JsonFields.nextString(reader); break;
+                    case "description": weather.description = JsonFields.nextString(reader); break;
+                    case "icon": weather.icon = JsonFields.nextString(reader); break;
+                    default: reader.skipValue();
+                }
+            }
+            reader.endObject();
+            return weather;
+        }
+
+        private static HourlyItem.Clouds readClouds(JsonReader reader) throws IOException {
+            if (JsonFields.skipIfNull(reader)) return null;
+            HourlyItem.Clouds clouds = new HourlyItem.Clouds();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if ("all".equals(reader.nextName())) {
+                    clouds.all = JsonFields.nextInt(reader);
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+            return clouds;
+        }
+
+        private static HourlyItem.Wind readWind(JsonReader reader) throws IOException {
+            if (JsonFields.skipIfNull(reader)) return null;
+            HourlyItem.Wind wind = new HourlyItem.Wind();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "speed": wind.speed = JsonFields.nextDouble(reader); break;
+                    case "deg": wind.deg = JsonFields.nextInt(reader); break;
+                    default: reader.skipValue();
+                }
+            }
+            reader.endObject();
+            return wind;
+        }
+
+        private static HourlyItem.Rain readRain(JsonReader reader) throws IOException {
+            if (JsonFields.skipIfNull(reader)) return null;
+            HourlyItem.Rain rain = new HourlyItem.Rain();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if ("3h".equals(reader.nextName())) {
+                    rain.threeHours = JsonFields.nextBoxedDouble(reader);
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+            return rain;
+        }
+
+        private static City readCity(JsonReader reader) throws IOException {
+            if (JsonFields.skipIfNull(reader)) return null;
+            City city = new City();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "name": city.name = JsonFields.nextString(reader); break;
+                    case "country": city.country = JsonFields.nextString(reader); break;
+                    case "timezone": city.timezone = JsonFields.nextInt(reader); break;
+                    case "sunrise": city.sunrise = JsonFields.nextLong(reader); break;
+                    case "sunset": city.sunset = JsonFields.nextLong(reader); break;
+                    default: reader.skipValue();
+                }
+            }
+            reader.endObject();
+            return city;
+        }
+    }
+}
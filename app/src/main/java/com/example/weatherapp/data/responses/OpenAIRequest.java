@@ -1,6 +1,11 @@
 package com.example.weatherapp.data.responses;
 
+import com.google.gson.TypeAdapter;
 import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
 import java.util.List;
 
 public class OpenAIRequest {
@@ -23,6 +28,13 @@ public class OpenAIRequest {
         this.maxTokens = maxTokens;
     }
 
+    /**
+     * Reflection-free writer, registered through JsonAdapters
+     */
+    public static TypeAdapter<OpenAIRequest> typeAdapter() {
+        return Adapter.INSTANCE;
+    }
+
     public static class Message {
         @SerializedName("role")
         private String role;
@@ -35,6 +47,32 @@ public class OpenAIRequest {
             this.content = content;
         }
     }
-}
 
+    private static final class Adapter extends TypeAdapter<OpenAIRequest> {
+        static final Adapter INSTANCE = new Adapter();
 
+        @Override
+        public void write(JsonWriter out, OpenAIRequest request) throws IOException {
+            out.beginObject();
+            out.name("model").value(request.model);
+            if (request.messages != null) {
+                out.name("messages").beginArray();
+                for (Message message : request.messages) {
+                    out.beginObject();
+                    out.name("role").value(message.role);
+                    out.name("content").value(message.content);
+                    out.endObject();
+                }
+                out.endArray();
+            }
+            out.name("temperature").value(request.temperature);
+            out.name("max_tokens").value(request.maxTokens);
+            out.endObject();
+        }
+
+        @Override
+        public OpenAIRequest read(JsonReader reader) {
+            throw new UnsupportedOperationException("OpenAIRequest is only written");
+        }
+    }
+}
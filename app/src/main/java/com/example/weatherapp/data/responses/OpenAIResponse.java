@@ -1,6 +1,12 @@
 package com.example.weatherapp.data.responses;
 
+import com.example.weatherapp.data.json.JsonFields;
+import com.example.weatherapp.data.json.ResponseAdapter;
+import com.google.gson.TypeAdapter;
 import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+
+import java.io.IOException;
 import java.util.List;
 
 public class OpenAIResponse {
@@ -31,6 +37,59 @@ public class OpenAIResponse {
             return content;
         }
     }
-}
 
+    /**
+     * Reflection-free reader, registered through JsonAdapters
+     */
+    public static TypeAdapter<OpenAIResponse> typeAdapter() {
+        return Adapter.INSTANCE;
+    }
+
+    private static final class Adapter extends ResponseAdapter<OpenAIResponse> {
+        static final Adapter INSTANCE = new Adapter();
+
+        @Override
+        public OpenAIResponse read(JsonReader reader) throws IOException {
+            OpenAIResponse response = new OpenAIResponse();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if ("choices".equals(reader.nextName())) {
+                    response.choices = JsonFields.nextList(reader, Adapter::readChoice);
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+            return response;
+        }
+
+        private static Choice readChoice(JsonReader reader) throws IOException {
+            Choice choice = new Choice();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if ("message".equals(reader.nextName())) {
+                    choice.message = readMessage(reader);
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+            return choice;
+        }
 
+        private static Message readMessage(JsonReader reader) throws IOException {
+            if (JsonFields.skipIfNull(reader)) return null;
+            Message message = new Message();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "role": message.role = JsonFields.nextString(reader); break;
+                    case "content": message.content = JsonFields.nextString(reader); break;
+                    default: reader.skipValue();
+                }
+            }
+            reader.endObject();
+            return message;
+        }
+    }
+}
@@ -1,6 +1,12 @@
 package com.example.weatherapp.data.responses;
 
+import com.example.weatherapp.data.json.JsonFields;
+import com.example.weatherapp.data.json.ResponseAdapter;
+import com.google.gson.TypeAdapter;
 import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+
+import java.io.IOException;
 
 public class UVIndexResponse {
     @SerializedName("lat")
@@ -37,6 +43,35 @@ public class UVIndexResponse {
     public double getValue() {
         return value;
     }
+
+    /**
+     * Reflection-free reader, registered through JsonAdapters
+     */
+    public static TypeAdapter<UVIndexResponse> typeAdapter() {
+        return Adapter.INSTANCE;
+    }
+
+    private static final class Adapter extends ResponseAdapter<UVIndexResponse> {
+        static final Adapter INSTANCE = new Adapter();
+
+        @Override
+        public UVIndexResponse read(JsonReader reader) throws IOException {
+            UVIndexResponse response = new UVIndexResponse();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "lat": response.lat = JsonFields.nextDouble(reader); break;
+                    case "lon": response.lon = JsonFields.nextDouble(reader); break;
+                    case "date_iso": response.dateIso = JsonFields.nextString(reader); break;
+                    case "date": response.date = JsonFields.nextLong(reader); break;
+                    case "value": response.value = JsonFields.nextDouble(reader); break;
+                    default: reader.skipValue();
+                }
+            }
+            reader.endObject();
+            return response;
+        }
+    }
 }
 
 
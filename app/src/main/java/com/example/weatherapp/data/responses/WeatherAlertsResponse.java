@@ -1,7 +1,13 @@
 package com.example.weatherapp.data.responses;
 
+import com.example.weatherapp.data.json.JsonFields;
+import com.example.weatherapp.data.json.ResponseAdapter;
 import com.example.weatherapp.data.models.WeatherAlert;
+import com.google.gson.TypeAdapter;
 import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+
+import java.io.IOException;
 import java.util.List;
 
 public class WeatherAlertsResponse {
@@ -15,4 +21,31 @@ public class WeatherAlertsResponse {
     public boolean hasAlerts() {
         return alerts != null && !alerts.isEmpty();
     }
+
+    /**
+     * Reflection-free reader, registered through JsonAdapters
+     */
+    public static TypeAdapter<WeatherAlertsResponse> typeAdapter() {
+        return Adapter.INSTANCE;
+    }
+
+    private static final class Adapter extends ResponseAdapter<WeatherAlertsResponse> {
+        static final Adapter INSTANCE = new Adapter();
+
+        @Override
+        public WeatherAlertsResponse read(JsonReader reader) throws IOException {
+            WeatherAlertsResponse response = new WeatherAlertsResponse();
+            TypeAdapter<WeatherAlert> alert = WeatherAlert.typeAdapter();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if ("alerts".equals(reader.nextName())) {
+                    response.alerts = JsonFields.nextList(reader, alert::read);
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+            return response;
+        }
+    }
 }
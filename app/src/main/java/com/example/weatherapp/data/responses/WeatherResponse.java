@@ -1,6 +1,12 @@
 package com.example.weatherapp.data.responses;
 
+import com.example.weatherapp.data.json.JsonFields;
+import com.example.weatherapp.data.json.ResponseAdapter;
+import com.google.gson.TypeAdapter;
 import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+
+import java.io.IOException;
 import java.io.Serializable;
 import java.util.List;
 
@@ -35,6 +41,9 @@ public class WeatherResponse implements Serializable {
     @SerializedName("name")
     private String name;
 
+    @SerializedName("id")
+    private long id;
+
     public Coord getCoord() {
         return coord;
     }
@@ -75,6 +84,20 @@ public class WeatherResponse implements Serializable {
         return name;
     }
 
+    /**
+     * OpenWeatherMap city id, what the /group endpoint takes
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Reflection-free reader, registered through JsonAdapters
+     */
+    public static TypeAdapter<WeatherResponse> typeAdapter() {
+        return Adapter.INSTANCE;
+    }
+
     public static class Coord implements Serializable {
         @SerializedName("lon")
         private double lon;
@@ -228,5 +251,143 @@ public class WeatherResponse implements Serializable {
             return sunset;
         }
     }
-}
 
+    private static final class Adapter extends ResponseAdapter<WeatherResponse> {
+        static final Adapter INSTANCE = new Adapter();
+
+        @Override
+        public WeatherResponse read(JsonReader reader) throws IOException {
+            WeatherResponse response = new WeatherResponse();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "coord": response.coord = readCoord(reader); break;
+                    case "weather": response.weather = JsonFields.nextList(reader, Adapter::readWeather); break;
+                    case "main": response.main = readMain(reader); break;
+                    case "wind": response.wind = readWind(reader); break;
+                    case "visibility": response.visibility = JsonFields.nextBoxedInt(reader); break;
+                    case "rain": response.rain = readRain(reader); break;
+                    case "clouds": response.clouds = readClouds(reader); break;
+                    case "dt": response.dt = JsonFields.nextLong(reader); break;
+                    case "sys": response.sys = readSys(reader); break;
+                    case "name": response.name = JsonFields.nextString(reader); break;
+                    case "id": response.id = JsonFields.nextLong(reader); break;
+                    default: reader.skipValue();
+                }
+            }
+            reader.endObject();
+            return response;
+        }
+
+        private static Coord readCoord(JsonReader reader) throws IOException {
+            if (JsonFields.skipIfNull(reader)) return null;
+            Coord coord = new Coord();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "lon": coord.lon = JsonFields.nextDouble(reader); break;
+                    case "lat": coord.lat = JsonFields.nextDouble(reader); break;
+                    default: reader.skipValue();
+                }
+            }
+            reader.endObject();
+            return coord;
+        }
+
+        private static Weather readWeather(JsonReader reader) throws IOException {
+            Weather weather = new Weather();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "id": weather.id = JsonFields.nextInt(reader); break;
+                    case "main": weather.main = JsonFields.nextString(reader); break;
+                    case "description": weather.description = JsonFields.nextString(reader); break;
+                    case "icon": weather.icon = JsonFields.nextString(reader); break;
+                    default: reader.skipValue();
+                }
+            }
+            reader.endObject();
+            return weather;
+        }
+
+        private static Main readMain(JsonReader reader) throws IOException {
+            if (JsonFields.skipIfNull(reader)) return null;
+            Main main = new Main();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "temp": main.temp = JsonFields.nextDouble(reader); break;
+                    case "feels_like": main.feelsLike = JsonFields.nextDouble(reader); break;
+                    case "temp_min": main.tempMin = JsonFields.nextDouble(reader); break;
+                    case "temp_max": main.tempMax = JsonFields.nextDouble(reader); break;
+                    case "pressure": main.pressure = JsonFields.nextInt(reader); break;
+                    case "humidity": main.humidity = JsonFields.nextInt(reader); break;
+                    default: reader.skipValue();
+                }
+            }
+            reader.endObject();
+            return main;
+        }
+
+        private static Wind readWind(JsonReader reader) throws IOException {
+            if (JsonFields.skipIfNull(reader)) return null;
+            Wind wind = new Wind();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "speed": wind.speed = JsonFields.nextDouble(reader); break;
+                    case "deg": wind.deg = JsonFields.nextInt(reader); break;
+                    default: reader.skipValue();
+                }
+            }
+            reader.endObject();
+            return wind;
+        }
+
+        private static Rain readRain(JsonReader reader) throws IOException {
+            if (JsonFields.skipIfNull(reader)) return null;
+            Rain rain = new Rain();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "1h": rain.oneHour = JsonFields.nextBoxedDouble(reader); break;
+                    case "3h": rain.threeHours = JsonFields.nextBoxedDouble(reader); break;
+                    default: reader.skipValue();
+                }
+            }
+            reader.endObject();
+            return rain;
+        }
+
+        private static Clouds readClouds(JsonReader reader) throws IOException {
+            if (JsonFields.skipIfNull(reader)) return null;
+            Clouds clouds = new Clouds();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if ("all".equals(reader.nextName())) {
+                    clouds.all = JsonFields.nextInt(reader);
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+            return clouds;
+        }
+
+        private static Sys readSys(JsonReader reader) throws IOException {
+            if (JsonFields.skipIfNull(reader)) return null;
+            Sys sys = new Sys();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "country": sys.country = JsonFields.nextString(reader); break;
+                    case "sunrise": sys.sunrise = JsonFields.nextLong(reader); break;
+                    case "sunset": sys.sunset = JsonFields.nextLong(reader); break;
+                    default: reader.skipValue();
+                }
+            }
+            reader.endObject();
+            return sys;
+        }
+    }
+}
@@ -6,22 +6,43 @@ import java.util.List;
  * Domain model for Forecast data (hourly and daily)
  */
 public class ForecastData {
+    private final HourlySeries hourlySeries;
     private final List<HourlyForecast> hourlyForecasts;
     private final List<DailyForecast> dailyForecasts;
     private final String cityName;
     
-    public ForecastData(List<HourlyForecast> hourlyForecasts, 
-                        List<DailyForecast> dailyForecasts, 
+    /**
+     * Forecast backed by a columnar hourly series
+     */
+    public ForecastData(HourlySeries hourlySeries,
+                        List<DailyForecast> dailyForecasts,
                         String cityName) {
-        this.hourlyForecasts = hourlyForecasts;
+        this.hourlySeries = hourlySeries;
+        this.hourlyForecasts = hourlySeries.asList();
         this.dailyForecasts = dailyForecasts;
         this.cityName = cityName;
     }
     
+    public ForecastData(List<HourlyForecast> hourlyForecasts, 
+                        List<DailyForecast> dailyForecasts, 
+                        String cityName) {
+        this(HourlySeries.fromForecasts(hourlyForecasts, cityName), dailyForecasts, cityName);
+    }
+    
+    /**
+     * Hourly items as a read-only view over the series
+     */
     public List<HourlyForecast> getHourlyForecasts() {
         return hourlyForecasts;
     }
     
+    /**
+     * Primitive columns behind getHourlyForecasts(), for charts and aggregation
+     */
+    public HourlySeries getHourlySeries() {
+        return hourlySeries;
+    }
+    
     public List<DailyForecast> getDailyForecasts() {
         return dailyForecasts;
     }
@@ -0,0 +1,319 @@
+package com.example.weatherapp.domain.model;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Columnar, immutable storage for the 3-hourly forecast series
+ * One primitive array per field instead of one object graph per time slot.
+ * Repeated strings (icon, description, condition) are stored once in a string table
+ * and referenced by index.
+ */
+public final class HourlySeries {
+    private final int size;
+    private final long[] timestamps;      // Unix seconds
+    private final float[] temperature;
+    private final float[] feelsLike;
+    private final float[] tempMin;
+    private final float[] tempMax;
+    private final float[] humidity;       // %
+    private final float[] pressure;       // hPa
+    private final float[] windSpeed;
+    private final float[] windDegree;
+    private final float[] pop;            // Probability of precipitation, 0-1
+    private final short[] iconCodes;
+    private final short[] descriptionCodes;
+    private final short[] mainCodes;
+    private final String[] strings;
+
+    private final String cityName;
+    private final String countryCode;
+    private final int timezoneOffsetSeconds;
+    private final long sunrise;
+    private final long sunset;
+
+    private HourlySeries(Builder builder) {
+        this.size = builder.size;
+        this.timestamps = Arrays.copyOf(builder.timestamps, size);
+        this.temperature = Arrays.copyOf(builder.temperature, size);
+        this.feelsLike = Arrays.copyOf(builder.feelsLike, size);
+        this.tempMin = Arrays.copyOf(builder.tempMin, size);
+        this.tempMax = Arrays.copyOf(builder.tempMax, size);
+        this.humidity = Arrays.copyOf(builder.humidity, size);
+        this.pressure = Arrays.copyOf(builder.pressure, size);
+        this.windSpeed = Arrays.copyOf(builder.windSpeed, size);
+        this.windDegree = Arrays.copyOf(builder.windDegree, size);
+        this.pop = Arrays.copyOf(builder.pop, size);
+        this.iconCodes = Arrays.copyOf(builder.iconCodes, size);
+        this.descriptionCodes = Arrays.copyOf(builder.descriptionCodes, size);
+        this.mainCodes = Arrays.copyOf(builder.mainCodes, size);
+        this.strings = builder.strings.toArray(new String[0]);
+        this.cityName = builder.cityName;
+        this.countryCode = builder.countryCode;
+        this.timezoneOffsetSeconds = builder.timezoneOffsetSeconds;
+        this.sunrise = builder.sunrise;
+        this.sunset = builder.sunset;
+    }
+
+    /**
+     * Copy with new temperature columns; every other column is shared (never mutated)
+     */
+    private HourlySeries(HourlySeries source, float[] temperature, float[] feelsLike,
+                         float[] tempMin, float[] tempMax) {
+        this.size = source.size;
+        this.timestamps = source.timestamps;
+        this.temperature = temperature;
+        this.feelsLike = feelsLike;
+        this.tempMin = tempMin;
+        this.tempMax = tempMax;
+        this.humidity = source.humidity;
+        this.pressure = source.pressure;
+        this.windSpeed = source.windSpeed;
+        this.windDegree = source.windDegree;
+        this.pop = source.pop;
+        this.iconCodes = source.iconCodes;
+        this.descriptionCodes = source.descriptionCodes;
+        this.mainCodes = source.mainCodes;
+        this.strings = source.strings;
+        this.cityName = source.cityName;
+        this.countryCode = source.countryCode;
+        this.timezoneOffsetSeconds = source.timezoneOffsetSeconds;
+        this.sunrise = source.sunrise;
+        this.sunset = source.sunset;
+    }
+
+    /**
+     * Build a series from already materialized hourly items
+     */
+    public static HourlySeries fromForecasts(List<ForecastData.HourlyForecast> forecasts, String cityName) {
+        Builder builder = new Builder(forecasts != null ? forecasts.size() : 0).setCityName(cityName);
+        if (forecasts != null) {
+            for (ForecastData.HourlyForecast item : forecasts) {
+                builder.add(item.getTimestamp(), item.getTemperature(), item.getTemperature(),
+                        item.getTemperature(), item.getTemperature(), item.getHumidity(),
+                        item.getPressure(), item.getWindSpeed(), 0, item.getRainProbability() / 100.0,
+                        item.getWeatherIcon(), item.getWeatherDescription(), null);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Same series with the four temperature columns converted
+     */
+    public HourlySeries withTemperatures(UnitConversion conversion) {
+        if (conversion.isIdentity()) {
+            return this;
+        }
+        return new HourlySeries(this, convert(temperature, conversion), convert(feelsLike, conversion),
+                convert(tempMin, conversion), convert(tempMax, conversion));
+    }
+
+    private static float[] convert(float[] column, UnitConversion conversion) {
+        float[] converted = new float[column.length];
+        for (int i = 0; i < column.length; i++) {
+            converted[i] = conversion.apply(column[i]);
+        }
+        return converted;
+    }
+
+    public int size() { return size; }
+
+    public long getTimestamp(int index) { return timestamps[index]; }
+    public float getTemperature(int index) { return temperature[index]; }
+    public float getFeelsLike(int index) { return feelsLike[index]; }
+    public float getTempMin(int index) { return tempMin[index]; }
+    public float getTempMax(int index) { return tempMax[index]; }
+    public float getHumidity(int index) { return humidity[index]; }
+    public float getPressure(int index) { return pressure[index]; }
+    public float getWindSpeed(int index) { return windSpeed[index]; }
+    public float getWindDegree(int index) { return windDegree[index]; }
+    public float getPop(int index) { return pop[index]; }
+    public String getIcon(int index) { return strings[iconCodes[index]]; }
+    public String getDescription(int index) { return strings[descriptionCodes[index]]; }
+    public String getMain(int index) { return strings[mainCodes[index]]; }
+
+    /**
+     * Index of the icon, description or condition in the string table, for counting
+     * and packing without string comparisons
+     */
+    public int getIconCode(int index) { return iconCodes[index]; }
+    public int getDescriptionCode(int index) { return descriptionCodes[index]; }
+    public int getMainCode(int index) { return mainCodes[index]; }
+    public int getStringCount() { return strings.length; }
+    public String getString(int code) { return strings[code]; }
+
+    public String getCityName() { return cityName; }
+    public String getCountryCode() { return countryCode; }
+    public int getTimezoneOffsetSeconds() { return timezoneOffsetSeconds; }
+    public long getSunrise() { return sunrise; }
+    public long getSunset() { return sunset; }
+
+    /**
+     * Hourly item at the given index, in the shape the UI already uses
+     */
+    public ForecastData.HourlyForecast getHourlyForecast(int index) {
+        return new ForecastData.HourlyForecast(
+                timestamps[index],
+                temperature[index],
+                getIcon(index),
+                getDescription(index),
+                Math.round(humidity[index]),
+                windSpeed[index],
+                (int) (pop[index] * 100),
+                pressure[index]
+        );
+    }
+
+    /**
+     * Read-only list view; items are created on access and not retained
+     */
+    public List<ForecastData.HourlyForecast> asList() {
+        return new AbstractList<ForecastData.HourlyForecast>() {
+            @Override
+            public ForecastData.HourlyForecast get(int index) {
+                if (index < 0 || index >= size) {
+                    throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+                }
+                return getHourlyForecast(index);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * Builder that grows its columns as items are appended
+     */
+    public static final class Builder {
+        private static final int DEFAULT_CAPACITY = 40; // 5 days x 8 slots
+
+        private int size;
+        private long[] timestamps;
+        private float[] temperature;
+        private float[] feelsLike;
+        private float[] tempMin;
+        private float[] tempMax;
+        private float[] humidity;
+        private float[] pressure;
+        private float[] windSpeed;
+        private float[] windDegree;
+        private float[] pop;
+        private short[] iconCodes;
+        private short[] descriptionCodes;
+        private short[] mainCodes;
+        private final List<String> strings = new ArrayList<>();
+        private final Map<String, Short> stringCodes = new HashMap<>();
+
+        private String cityName = "";
+        private String countryCode = "";
+        private int timezoneOffsetSeconds;
+        private long sunrise;
+        private long sunset;
+
+        public Builder() {
+            this(DEFAULT_CAPACITY);
+        }
+
+        public Builder(int capacity) {
+            allocate(Math.max(capacity, 1));
+            intern(""); // code 0 = missing value
+        }
+
+        private void allocate(int capacity) {
+            timestamps = timestamps == null ? new long[capacity] : Arrays.copyOf(timestamps, capacity);
+            temperature = grow(temperature, capacity);
+            feelsLike = grow(feelsLike, capacity);
+            tempMin = grow(tempMin, capacity);
+            tempMax = grow(tempMax, capacity);
+            humidity = grow(humidity, capacity);
+            pressure = grow(pressure, capacity);
+            windSpeed = grow(windSpeed, capacity);
+            windDegree = grow(windDegree, capacity);
+            pop = grow(pop, capacity);
+            iconCodes = iconCodes == null ? new short[capacity] : Arrays.copyOf(iconCodes, capacity);
+            descriptionCodes = descriptionCodes == null ? new short[capacity] : Arrays.copyOf(descriptionCodes, capacity);
+            mainCodes = mainCodes == null ? new short[capacity] : Arrays.copyOf(mainCodes, capacity);
+        }
+
+        private static float[] grow(float[] column, int capacity) {
+            return column == null ? new float[capacity] : Arrays.copyOf(column, capacity);
+        }
+
+        private short intern(String value) {
+            if (value == null) {
+                return 0;
+            }
+            Short code = stringCodes.get(value);
+            if (code == null) {
+                code = (short) strings.size();
+                strings.add(value);
+                stringCodes.put(value, code);
+            }
+            return code;
+        }
+
+        /**
+         * Append one time slot
+         */
+        public Builder add(long timestamp, double temperature, double feelsLike,
+                           double tempMin, double tempMax, double humidity, double pressure,
+                           double windSpeed, double windDegree, double pop,
+                           String icon, String description, String main) {
+            if (size == timestamps.length) {
+                allocate(size * 2);
+            }
+            this.timestamps[size] = timestamp;
+            this.temperature[size] = (float) temperature;
+            this.feelsLike[size] = (float) feelsLike;
+            this.tempMin[size] = (float) tempMin;
+            this.tempMax[size] = (float) tempMax;
+            this.humidity[size] = (float) humidity;
+            this.pressure[size] = (float) pressure;
+            this.windSpeed[size] = (float) windSpeed;
+            this.windDegree[size] = (float) windDegree;
+            this.pop[size] = (float) pop;
+            this.iconCodes[size] = intern(icon);
+            this.descriptionCodes[size] = intern(description);
+            this.mainCodes[size] = intern(main);
+            size++;
+            return this;
+        }
+
+        public Builder setCityName(String cityName) {
+            this.cityName = cityName != null ? cityName : "";
+            return this;
+        }
+
+        public Builder setCountryCode(String countryCode) {
+            this.countryCode = countryCode != null ? countryCode : "";
+            return this;
+        }
+
+        public Builder setTimezoneOffsetSeconds(int timezoneOffsetSeconds) {
+            this.timezoneOffsetSeconds = timezoneOffsetSeconds;
+            return this;
+        }
+
+        public Builder setSunrise(long sunrise) {
+            this.sunrise = sunrise;
+            return this;
+        }
+
+        public Builder setSunset(long sunset) {
+            this.sunset = sunset;
+            return this;
+        }
+
+        public HourlySeries build() {
+            return new HourlySeries(this);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.weatherapp.domain.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Linear conversion between two units of the same quantity (value * scale + offset)
+ *
+ * Weather is fetched and cached in one canonical unit set (°C, m/s, hPa, the API's "metric")
+ * and converted to the user's units only when it is read. Every conversion between the
+ * supported units is built once when the class loads, so converting is a table lookup
+ * plus one multiply-add per value.
+ */
+public final class UnitConversion {
+    
+    // Temperature
+    public static final String CELSIUS = "celsius";
+    public static final String FAHRENHEIT = "fahrenheit";
+    
+    // Wind speed (same keys as the wind_speed_unit setting)
+    public static final String METERS_PER_SECOND = "ms";
+    public static final String KILOMETERS_PER_HOUR = "kmh";
+    public static final String MILES_PER_HOUR = "mph";
+    
+    // Pressure (same keys as the pressure_unit setting)
+    public static final String HECTOPASCAL = "hpa";
+    public static final String MILLIBAR = "mbar";
+    public static final String INCHES_OF_MERCURY = "inhg";
+    public static final String MILLIMETERS_OF_MERCURY = "mmhg";
+    
+    // Units everything is fetched and cached in
+    public static final String CANONICAL_TEMPERATURE = CELSIUS;
+    public static final String CANONICAL_WIND_SPEED = METERS_PER_SECOND;
+    public static final String CANONICAL_PRESSURE = HECTOPASCAL;
+    
+    private static final UnitConversion IDENTITY = new UnitConversion(1, 0);
+    private static final Map<String, UnitConversion> TABLE = new HashMap<>();
+    
+    static {
+        // Each unit as scale/offset from the canonical unit, then every pair precomputed
+        Map<String, UnitConversion> temperature = new HashMap<>();
+        temperature.put(CELSIUS, IDENTITY);
+        temperature.put(FAHRENHEIT, new UnitConversion(1.8, 32));
+        addPairs("temperature", temperature);
+        
+        Map<String, UnitConversion> windSpeed = new HashMap<>();
+        windSpeed.put(METERS_PER_SECOND, IDENTITY);
+        windSpeed.put(KILOMETERS_PER_HOUR, new UnitConversion(3.6, 0));
+        windSpeed.put(MILES_PER_HOUR, new UnitConversion(3600 / 1609.344, 0));
+        addPairs("wind", windSpeed);
+        
+        Map<String, UnitConversion> pressure = new HashMap<>();
+        pressure.put(HECTOPASCAL, IDENTITY);
+        pressure.put(MILLIBAR, IDENTITY);
+        pressure.put(INCHES_OF_MERCURY, new UnitConversion(100 / 3386.389, 0));
+        pressure.put(MILLIMETERS_OF_MERCURY, new UnitConversion(100 / 133.322387415, 0));
+        addPairs("pressure", pressure);
+    }
+    
+    private final double scale;
+    private final double offset;
+    
+    private UnitConversion(double scale, double offset) {
+        this.scale = scale;
+        this.offset = offset;
+    }
+    
+    private static void addPairs(String quantity, Map<String, UnitConversion> fromCanonical) {
+        for (Map.Entry<String, UnitConversion> from : fromCanonical.entrySet()) {
+            for (Map.Entry<String, UnitConversion> to : fromCanonical.entrySet()) {
+                // Undo "from", then apply "to"
+                UnitConversion back = from.getValue();
+                UnitConversion forward = to.getValue();
+                double scale = forward.scale / back.scale;
+                double offset = forward.offset - back.offset * scale;
+                UnitConversion pair = scale == 1 && offset == 0 ? IDENTITY : new UnitConversion(scale, offset);
+                TABLE.put(key(quantity, from.getKey(), to.getKey()), pair);
+            }
+        }
+    }
+    
+    private static String key(String quantity, String from, String to) {
+        return quantity + ':' + from + '>' + to;
+    }
+    
+    private static UnitConversion lookup(String quantity, String from, String to, String canonical) {
+        UnitConversion conversion = TABLE.get(key(quantity, from != null ? from : canonical,
+                to != null ? to : canonical));
+        if (conversion == null) {
+            throw new IllegalArgumentException("Unknown " + quantity + " unit: " + from + " or " + to);
+        }
+        return conversion;
+    }
+    
+    /**
+     * Temperature conversion; null means the canonical unit
+     * @throws IllegalArgumentException For an unknown unit
+     */
+    public static UnitConversion temperature(String from, String to) {
+        return lookup("temperature", from, to, CANONICAL_TEMPERATURE);
+    }
+    
+    public static UnitConversion windSpeed(String from, String to) {
+        return lookup("wind", from, to, CANONICAL_WIND_SPEED);
+    }
+    
+    public static UnitConversion pressure(String from, String to) {
+        return lookup("pressure", from, to, CANONICAL_PRESSURE);
+    }
+    
+    public double apply(double value) {
+        return value * scale + offset;
+    }
+    
+    public float apply(float value) {
+        return (float) (value * scale + offset);
+    }
+    
+    public boolean isIdentity() {
+        return this == IDENTITY;
+    }
+    
+    // ============ Domain models ============
+    
+    /**
+     * Weather with its temperatures in the given unit (wind and pressure stay canonical)
+     */
+    public static WeatherData toTemperatureUnit(WeatherData data, String unit) {
+        if (data == null) {
+            return null;
+        }
+        UnitConversion conversion = temperature(data.getTemperatureUnit(), unit);
+        if (conversion.isIdentity() && unit.equals(data.getTemperatureUnit())) {
+            return data;
+        }
+        return data.toBuilder()
+                .setTemperature(conversion.apply(data.getTemperature()))
+                .setFeelsLike(conversion.apply(data.getFeelsLike()))
+                .setMinTemperature(conversion.apply(data.getMinTemperature()))
+                .setMaxTemperature(conversion.apply(data.getMaxTemperature()))
+                .setTemperatureUnit(unit)
+                .build();
+    }
+    
+    /**
+     * Forecast with its hourly and daily temperatures converted
+     * ForecastData carries no unit of its own, so the caller names the one it is in
+     */
+    public static ForecastData toTemperatureUnit(ForecastData data, String fromUnit, String toUnit) {
+        UnitConversion conversion = temperature(fromUnit, toUnit);
+        if (data == null || conversion.isIdentity()) {
+            return data;
+        }
+        List<ForecastData.DailyForecast> daily = new ArrayList<>(data.getDailyForecasts().size());
+        for (ForecastData.DailyForecast day : data.getDailyForecasts()) {
+            daily.add(new ForecastData.DailyForecast(day.getTimestamp(),
+                    conversion.apply(day.getTempMin()), conversion.apply(day.getTempMax()),
+                    day.getWeatherIcon(), day.getWeatherDescription(), day.getRainProbability()));
+        }
+        return new ForecastData(data.getHourlySeries().withTemperatures(conversion), daily, data.getCityName());
+    }
+}
@@ -29,6 +29,7 @@ public class WeatherData implements Serializable {
     private final double longitude;
     private final Double rainVolume; // Can be null
     private final String temperatureUnit;
+    private final long cityId; // OpenWeatherMap city id, 0 if unknown
     
     private WeatherData(Builder builder) {
         this.cityName = builder.cityName;
@@ -53,6 +54,7 @@ public class WeatherData implements Serializable {
         this.longitude = builder.longitude;
         this.rainVolume = builder.rainVolume;
         this.temperatureUnit = builder.temperatureUnit;
+        this.cityId = builder.cityId;
     }
     
     // Getters
@@ -94,6 +96,37 @@ public class WeatherData implements Serializable {
     public double getLongitude() { return longitude; }
     public Double getRainVolume() { return rainVolume; }
     public String getTemperatureUnit() { return temperatureUnit; }
+    public long getCityId() { return cityId; }
+    
+    /**
+     * Builder pre-filled with this instance's values
+     */
+    public Builder toBuilder() {
+        return new Builder()
+                .setCityName(cityName)
+                .setCountryCode(countryCode)
+                .setTemperature(temperature)
+                .setFeelsLike(feelsLike)
+                .setMinTemperature(minTemperature)
+                .setMaxTemperature(maxTemperature)
+                .setHumidity(humidity)
+                .setPressure(pressure)
+                .setWindSpeed(windSpeed)
+                .setWindDegree(windDegree)
+                .setWeatherMain(weatherMain)
+                .setWeatherDescription(weatherDescription)
+                .setWeatherIcon(weatherIcon)
+                .setCloudiness(cloudiness)
+                .setVisibility(visibility)
+                .setSunrise(sunrise)
+                .setSunset(sunset)
+                .setTimestamp(timestamp)
+                .setLatitude(latitude)
+                .setLongitude(longitude)
+                .setRainVolume(rainVolume)
+                .setTemperatureUnit(temperatureUnit)
+                .setCityId(cityId);
+    }
     
     // Builder Pattern
     public static class Builder {
@@ -119,6 +152,7 @@ public class WeatherData implements Serializable {
         private double longitude;
         private Double rainVolume;
         private String temperatureUnit = "celsius";
+        private long cityId;
         
         public Builder setCityName(String cityName) {
             this.cityName = cityName;
@@ -230,6 +264,11 @@ public class WeatherData implements Serializable {
             return this;
         }
         
+        public Builder setCityId(long cityId) {
+            this.cityId = cityId;
+            return this;
+        }
+        
         public WeatherData build() {
             return new WeatherData(this);
         }
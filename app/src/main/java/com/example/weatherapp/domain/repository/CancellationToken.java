@@ -0,0 +1,56 @@
+package com.example.weatherapp.domain.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cancellation handle shared by every request of one load
+ * Repositories register what to undo (network calls, queued work) with onCancel;
+ * callers cancel the token when a newer load supersedes the old one
+ */
+public final class CancellationToken {
+    private List<Runnable> hooks = new ArrayList<>();
+    private boolean cancelled;
+
+    /**
+     * A token nobody cancels, for callers that don't need cancellation
+     */
+    public static CancellationToken none() {
+        return new CancellationToken();
+    }
+
+    public synchronized boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Cancel and run every registered hook; later calls do nothing
+     */
+    public void cancel() {
+        List<Runnable> toRun;
+        synchronized (this) {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            toRun = hooks;
+            hooks = null;
+        }
+        for (Runnable hook : toRun) {
+            hook.run();
+        }
+    }
+
+    /**
+     * Run the hook on cancellation, or right away if already cancelled
+     */
+    public void onCancel(Runnable hook) {
+        synchronized (this) {
+            if (!cancelled) {
+                hooks.add(hook);
+                return;
+            }
+        }
+        hook.run();
+    }
+}
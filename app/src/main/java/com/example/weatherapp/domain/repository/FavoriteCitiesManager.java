@@ -3,9 +3,9 @@ package com.example.weatherapp.domain.repository;
 import android.content.Context;
 import android.content.SharedPreferences;
 
+import com.example.weatherapp.data.json.JsonAdapters;
 import com.example.weatherapp.data.models.FavoriteCity;
 import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
 
 import java.lang.reflect.Type;
 import java.util.ArrayList;
@@ -15,13 +15,14 @@ public class FavoriteCitiesManager {
     private static final String PREFS_NAME = "FavoriteCities";
     private static final String KEY_CITIES = "cities";
     private static final int MAX_FAVORITE_CITIES = 10;
+    private static final Type CITY_LIST = JsonAdapters.listOf(FavoriteCity.class);
 
     private final SharedPreferences sharedPreferences;
     private final Gson gson;
 
     public FavoriteCitiesManager(Context context) {
         this.sharedPreferences = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
-        this.gson = new Gson();
+        this.gson = JsonAdapters.gson();
     }
 
     public List<FavoriteCity> getFavoriteCities() {
@@ -30,8 +31,7 @@ public class FavoriteCitiesManager {
             return new ArrayList<>();
         }
 
-        Type type = new TypeToken<List<FavoriteCity>>(){}.getType();
-        List<FavoriteCity> cities = gson.fromJson(json, type);
+        List<FavoriteCity> cities = gson.fromJson(json, CITY_LIST);
         return cities != null ? cities : new ArrayList<>();
     }
 
@@ -89,6 +89,27 @@ public class FavoriteCitiesManager {
         saveCities(cities);
     }
 
+    /**
+     * Store refreshed weather and city ids for several favorites in one write
+     * Cities removed meanwhile are not brought back
+     */
+    public void updateCities(List<FavoriteCity> updatedCities) {
+        List<FavoriteCity> cities = getFavoriteCities();
+        for (FavoriteCity city : cities) {
+            for (FavoriteCity updated : updatedCities) {
+                if (city.getCityName().equalsIgnoreCase(updated.getCityName())) {
+                    city.setCityId(updated.getCityId());
+                    city.setCurrentTemp(updated.getCurrentTemp());
+                    city.setWeatherCondition(updated.getWeatherCondition());
+                    city.setWeatherDescription(updated.getWeatherDescription());
+                    city.setLastUpdated(updated.getLastUpdated());
+                    break;
+                }
+            }
+        }
+        saveCities(cities);
+    }
+
     private void saveCities(List<FavoriteCity> cities) {
         String json = gson.toJson(cities);
         sharedPreferences.edit().putString(KEY_CITIES, json).apply();
@@ -4,6 +4,9 @@ import com.example.weatherapp.domain.model.AirQualityData;
 import com.example.weatherapp.domain.model.ForecastData;
 import com.example.weatherapp.domain.model.WeatherData;
 
+import java.util.List;
+import java.util.Map;
+
 /**
  * Repository interface for Weather data operations
  * Defines contract for data operations - implementation in data layer
@@ -53,10 +56,61 @@ public interface WeatherRepository {
      */
     void getAirQuality(double latitude, double longitude, AirQualityCallback callback);
     
+    // Cancellable variants: once the token is cancelled, the request's queued work and network call are
+    // dropped. A result already being delivered may still arrive, so callers check the token as well.
+    // Implementations without cancellation just run the plain request.
+    
+    default void getWeatherByCity(String cityName, String temperatureUnit, CancellationToken token,
+                                  WeatherCallback callback) {
+        getWeatherByCity(cityName, temperatureUnit, callback);
+    }
+    
+    default void getWeatherByCoordinates(double latitude, double longitude, String temperatureUnit,
+                                         CancellationToken token, WeatherCallback callback) {
+        getWeatherByCoordinates(latitude, longitude, temperatureUnit, callback);
+    }
+    
+    default void getForecast(double latitude, double longitude, String temperatureUnit,
+                             CancellationToken token, ForecastCallback callback) {
+        getForecast(latitude, longitude, temperatureUnit, callback);
+    }
+    
+    default void getUVIndex(double latitude, double longitude, CancellationToken token, UVIndexCallback callback) {
+        getUVIndex(latitude, longitude, callback);
+    }
+    
+    default void getAirQuality(double latitude, double longitude, CancellationToken token,
+                               AirQualityCallback callback) {
+        getAirQuality(latitude, longitude, callback);
+    }
+    
+    /**
+     * Look up the last known coordinates of a city from local cache only (no network)
+     * Lets callers start coordinate-based requests without waiting for current weather
+     * @param cityName Name of the city
+     * @param callback Callback to handle result
+     */
+    void getCachedCoordinates(String cityName, CoordinatesCallback callback);
+    
+    /**
+     * Get current weather for many cities at once (favorites), by OpenWeatherMap city id
+     * Uses as few network calls as the API allows; results are cached like single-city ones
+     * @param cityIds OpenWeatherMap city ids
+     * @param temperatureUnit Unit for temperature (celsius/fahrenheit)
+     * @param callback Callback to handle result
+     */
+    void getWeatherByCityIds(List<Long> cityIds, String temperatureUnit, BatchWeatherCallback callback);
+    
     // Callback interfaces
     interface WeatherCallback {
         void onSuccess(WeatherData weatherData);
         void onError(String message);
+        
+        /**
+         * Expired cached value, delivered at once while a refresh runs (stale-while-revalidate)
+         * onSuccess or onError follows when the refresh completes. Ignored by default.
+         */
+        default void onStale(WeatherData weatherData) {}
     }
     
     interface ForecastCallback {
@@ -73,4 +127,23 @@ public interface WeatherRepository {
         void onSuccess(AirQualityData airQualityData);
         void onError(String message);
     }
+    
+    interface BatchWeatherCallback {
+        /**
+         * @param weatherByCityId Results by city id; ids the API didn't return are absent
+         */
+        void onSuccess(Map<Long, WeatherData> weatherByCityId);
+        void onError(String message);
+        
+        /**
+         * Ids whose part of the batch failed (network or server error), so they may still exist
+         * Called before onSuccess, or before onError when nothing came back. Ignored by default.
+         */
+        default void onFailed(List<Long> cityIds, String message) {}
+    }
+    
+    interface CoordinatesCallback {
+        void onFound(double latitude, double longitude);
+        void onNotFound();
+    }
 }
@@ -3,6 +3,8 @@ package com.example.weatherapp.domain.services;
 import android.content.Context;
 import android.util.Log;
 
+import com.example.weatherapp.data.api.HttpClients;
+import com.example.weatherapp.data.concurrent.IoDispatcher;
 import com.example.weatherapp.data.models.OutfitSuggestion;
 import com.example.weatherapp.data.responses.WeatherResponse;
 
@@ -10,10 +12,9 @@ import org.json.JSONArray;
 import org.json.JSONObject;
 
 import java.io.IOException;
-import java.net.SocketTimeoutException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.Executor;
 
 import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
@@ -32,20 +33,22 @@ public class OutfitSuggestionService {
 
     private final Context context;
     private final OkHttpClient client;
+    private final Executor executor; // Blocking Gemini calls
 
     public OutfitSuggestionService(Context context) {
+        this(context, IoDispatcher.getInstance().network());
+    }
+
+    public OutfitSuggestionService(Context context, Executor executor) {
         this.context = context;
+        this.executor = executor;
 
         HttpLoggingInterceptor loggingInterceptor = new HttpLoggingInterceptor();
         loggingInterceptor.setLevel(HttpLoggingInterceptor.Level.BODY);
 
-        client = new OkHttpClient.Builder()
+        // Derived from the shared LLM client: same pool and dispatcher, plus logging
+        client = HttpClients.getInstance().llm().newBuilder()
                 .addInterceptor(loggingInterceptor)
-                .connectTimeout(20, TimeUnit.SECONDS)
-                .readTimeout(45, TimeUnit.SECONDS)      // ≥ 45s cho LLM
-                .writeTimeout(30, TimeUnit.SECONDS)
-                .callTimeout(60, TimeUnit.SECONDS)      // Timeout tổng
-                .retryOnConnectionFailure(true)
                 .build();
     }
 
@@ -66,8 +69,8 @@ public class OutfitSuggestionService {
         Log.d(TAG, "=== USING GEMINI API ===");
         Log.d(TAG, "Model: gemini-2.5-flash");
 
-        // Gọi Gemini API trong background thread
-        new Thread(() -> {
+        // Gọi Gemini API trong background thread (dispatcher dùng chung)
+        executor.execute(() -> {
             try {
                 Log.d(TAG, "Calling Gemini API...");
                 List<OutfitSuggestion> suggestions = callGeminiAPI(weatherData);
@@ -84,7 +87,7 @@ public class OutfitSuggestionService {
                 // Fallback to default suggestions
                 callback.onSuccess(getDefaultOutfitSuggestions(weatherData), "OFFLINE");
             }
-        }).start();
+        });
     }
 
     private List<OutfitSuggestion> callGeminiAPI(WeatherResponse weatherData) throws Exception {
@@ -129,30 +132,18 @@ public class OutfitSuggestionService {
                 .post(body)
                 .build();
 
-        // Retry logic cho timeout
-        int maxRetries = 1;
-        for (int attempt = 0; attempt <= maxRetries; attempt++) {
-            try (Response response = client.newCall(request).execute()) {
-                if (response.isSuccessful() && response.body() != null) {
-                    String responseBody = response.body().string();
-                    Log.d(TAG, "✅ Gemini response received (" + responseBody.length() + " bytes)");
-                    return parseGeminiResponse(responseBody, weatherData, maxTokens, isRetry);
-                } else {
-                    String errorBody = response.body() != null ? response.body().string() : "No error body";
-                    Log.e(TAG, "❌ API failed: " + response.code() + " - " + errorBody);
-                    return null;
-                }
-            } catch (SocketTimeoutException e) {
-                if (attempt < maxRetries) {
-                    Log.w(TAG, "⏱️ Timeout, retrying in 500ms... (attempt " + (attempt + 1) + ")");
-                    Thread.sleep(500);
-                } else {
-                    Log.e(TAG, "❌ Timeout after " + (attempt + 1) + " attempts");
-                    throw e;
-                }
+        // Timeouts and 5xx are retried by the LLM client's ResilienceInterceptor
+        try (Response response = client.newCall(request).execute()) {
+            if (response.isSuccessful() && response.body() != null) {
+                String responseBody = response.body().string();
+                Log.d(TAG, "✅ Gemini response received (" + responseBody.length() + " bytes)");
+                return parseGeminiResponse(responseBody, weatherData, maxTokens, isRetry);
+            } else {
+                String errorBody = response.body() != null ? response.body().string() : "No error body";
+                Log.e(TAG, "❌ API failed: " + response.code() + " - " + errorBody);
+                return null;
             }
         }
-        return null;
     }
 
     private String createPrompt(WeatherResponse weatherData) {
@@ -3,6 +3,8 @@ package com.example.weatherapp.domain.services;
 import android.content.Context;
 import android.util.Log;
 
+import com.example.weatherapp.data.api.HttpClients;
+import com.example.weatherapp.data.concurrent.IoDispatcher;
 import com.example.weatherapp.domain.model.VoiceQuery;
 import com.example.weatherapp.domain.model.VoiceResponse;
 import com.example.weatherapp.domain.model.WeatherData;
@@ -12,7 +14,7 @@ import org.json.JSONObject;
 
 import java.io.IOException;
 import java.util.Locale;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.Executor;
 
 import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
@@ -32,17 +34,17 @@ public class VoiceWeatherService {
     
     private final Context context;
     private final OkHttpClient client;
+    private final Executor executor; // Blocking Gemini calls
     
     public VoiceWeatherService(Context context) {
+        this(context, IoDispatcher.getInstance().network());
+    }
+    
+    public VoiceWeatherService(Context context, Executor executor) {
         this.context = context;
+        this.executor = executor;
         
-        client = new OkHttpClient.Builder()
-                .connectTimeout(15, TimeUnit.SECONDS)
-                .readTimeout(30, TimeUnit.SECONDS)
-                .writeTimeout(15, TimeUnit.SECONDS)
-                .callTimeout(45, TimeUnit.SECONDS)
-                .retryOnConnectionFailure(true)
-                .build();
+        client = HttpClients.getInstance().voice();
     }
     
     /**
@@ -151,7 +153,7 @@ public class VoiceWeatherService {
         }
         
         // For complex queries, use Gemini AI in background thread
-        new Thread(() -> {
+        executor.execute(() -> {
             try {
                 VoiceResponse aiResponse = generateAIResponse(query, weatherData);
                 callback.onSuccess(aiResponse);
@@ -161,7 +163,7 @@ public class VoiceWeatherService {
                 VoiceResponse fallback = generateFallbackResponse(query, weatherData);
                 callback.onSuccess(fallback);
             }
-        }).start();
+        });
     }
     
     /**
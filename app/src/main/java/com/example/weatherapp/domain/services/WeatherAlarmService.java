@@ -4,12 +4,12 @@ import android.content.Context;
 import android.content.SharedPreferences;
 import android.util.Log;
 
+import com.example.weatherapp.data.json.JsonAdapters;
 import com.example.weatherapp.domain.model.AlarmCondition;
 import com.example.weatherapp.domain.model.AlarmType;
 import com.example.weatherapp.domain.model.WeatherAlarm;
 import com.example.weatherapp.domain.model.WeatherData;
 import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
 
 import java.lang.reflect.Type;
 import java.util.ArrayList;
@@ -24,6 +24,7 @@ public class WeatherAlarmService {
     private static final String TAG = "WeatherAlarmService";
     private static final String PREFS_NAME = "WeatherAlarms";
     private static final String KEY_ALARMS = "alarms";
+    private static final Type ALARM_LIST = JsonAdapters.listOf(WeatherAlarm.class);
     
     private final Context context;
     private final SharedPreferences prefs;
@@ -32,7 +33,7 @@ public class WeatherAlarmService {
     public WeatherAlarmService(Context context) {
         this.context = context;
         this.prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
-        this.gson = new Gson();
+        this.gson = JsonAdapters.gson();
     }
     
     /**
@@ -92,8 +93,7 @@ public class WeatherAlarmService {
             return new ArrayList<>();
         }
         
-        Type listType = new TypeToken<ArrayList<WeatherAlarm>>(){}.getType();
-        List<WeatherAlarm> alarms = gson.fromJson(json, listType);
+        List<WeatherAlarm> alarms = gson.fromJson(json, ALARM_LIST);
         return alarms != null ? alarms : new ArrayList<>();
     }
     
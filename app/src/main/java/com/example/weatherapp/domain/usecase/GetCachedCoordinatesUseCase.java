@@ -0,0 +1,45 @@
+package com.example.weatherapp.domain.usecase;
+
+import com.example.weatherapp.domain.repository.WeatherRepository;
+
+/**
+ * UseCase for resolving a city's coordinates from local cache
+ * Used to start forecast, UV and air quality requests in parallel with current weather
+ */
+public class GetCachedCoordinatesUseCase {
+    private final WeatherRepository repository;
+    
+    public GetCachedCoordinatesUseCase(WeatherRepository repository) {
+        this.repository = repository;
+    }
+    
+    /**
+     * Execute the use case
+     * @param cityName Name of the city
+     * @param callback Callback to handle result
+     */
+    public void execute(String cityName, Callback callback) {
+        if (cityName == null || cityName.trim().isEmpty()) {
+            callback.onNotFound();
+            return;
+        }
+        
+        repository.getCachedCoordinates(cityName.trim(),
+            new WeatherRepository.CoordinatesCallback() {
+                @Override
+                public void onFound(double latitude, double longitude) {
+                    callback.onFound(latitude, longitude);
+                }
+                
+                @Override
+                public void onNotFound() {
+                    callback.onNotFound();
+                }
+            });
+    }
+    
+    public interface Callback {
+        void onFound(double latitude, double longitude);
+        void onNotFound();
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.weatherapp.domain.usecase;
 
+import com.example.weatherapp.domain.repository.CancellationToken;
 import com.example.weatherapp.domain.repository.WeatherRepository;
 
 /**
@@ -19,30 +20,48 @@ public class GetUVIndexUseCase {
      * @param callback Callback to handle result
      */
     public void execute(double latitude, double longitude, Callback callback) {
+        if (isValid(latitude, longitude, callback)) {
+            repository.getUVIndex(latitude, longitude, adapt(callback));
+        }
+    }
+    
+    /**
+     * Execute as part of a load that a newer one may cancel
+     * @param token Cancelled when this load is superseded
+     */
+    public void execute(double latitude, double longitude, CancellationToken token,
+                        Callback callback) {
+        if (isValid(latitude, longitude, callback)) {
+            repository.getUVIndex(latitude, longitude, token, adapt(callback));
+        }
+    }
+    
+    private static boolean isValid(double latitude, double longitude, Callback callback) {
         // Validate coordinates
         if (latitude < -90 || latitude > 90) {
             callback.onError("Invalid latitude: must be between -90 and 90");
-            return;
+            return false;
         }
         
         if (longitude < -180 || longitude > 180) {
             callback.onError("Invalid longitude: must be between -180 and 180");
-            return;
+            return false;
         }
-        
-        // Call repository
-        repository.getUVIndex(latitude, longitude,
-            new WeatherRepository.UVIndexCallback() {
-                @Override
-                public void onSuccess(int uvIndex) {
-                    callback.onSuccess(uvIndex);
-                }
-                
-                @Override
-                public void onError(String message) {
-                    callback.onError(message);
-                }
-            });
+        return true;
+    }
+    
+    private static WeatherRepository.UVIndexCallback adapt(Callback callback) {
+        return new WeatherRepository.UVIndexCallback() {
+            @Override
+            public void onSuccess(int uvIndex) {
+                callback.onSuccess(uvIndex);
+            }
+            
+            @Override
+            public void onError(String message) {
+                callback.onError(message);
+            }
+        };
     }
     
     public interface Callback {
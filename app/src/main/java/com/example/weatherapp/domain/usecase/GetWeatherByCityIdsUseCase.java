@@ -0,0 +1,64 @@
+package com.example.weatherapp.domain.usecase;
+
+import com.example.weatherapp.domain.model.WeatherData;
+import com.example.weatherapp.domain.repository.WeatherRepository;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * UseCase for getting weather for several cities at once (favorites list)
+ */
+public class GetWeatherByCityIdsUseCase {
+    private final WeatherRepository repository;
+    
+    public GetWeatherByCityIdsUseCase(WeatherRepository repository) {
+        this.repository = repository;
+    }
+    
+    /**
+     * Execute the use case
+     * @param cityIds OpenWeatherMap city ids
+     * @param temperatureUnit Temperature unit preference
+     * @param callback Callback to handle result
+     */
+    public void execute(List<Long> cityIds, String temperatureUnit, Callback callback) {
+        if (cityIds == null || cityIds.isEmpty()) {
+            callback.onSuccess(Collections.emptyMap());
+            return;
+        }
+        for (Long cityId : cityIds) {
+            if (cityId == null || cityId <= 0) {
+                callback.onError("Invalid city id: " + cityId);
+                return;
+            }
+        }
+        repository.getWeatherByCityIds(cityIds, temperatureUnit, new WeatherRepository.BatchWeatherCallback() {
+            @Override
+            public void onSuccess(Map<Long, WeatherData> weatherByCityId) {
+                callback.onSuccess(weatherByCityId);
+            }
+            
+            @Override
+            public void onError(String message) {
+                callback.onError(message);
+            }
+            
+            @Override
+            public void onFailed(List<Long> failedIds, String message) {
+                callback.onFailed(failedIds, message);
+            }
+        });
+    }
+    
+    public interface Callback {
+        void onSuccess(Map<Long, WeatherData> weatherByCityId);
+        void onError(String message);
+        
+        /**
+         * Ids that got no answer because their request failed; see BatchWeatherCallback.onFailed
+         */
+        default void onFailed(List<Long> cityIds, String message) {}
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.weatherapp.domain.usecase;
 
 import com.example.weatherapp.domain.model.WeatherData;
+import com.example.weatherapp.domain.repository.CancellationToken;
 import com.example.weatherapp.domain.repository.WeatherRepository;
 
 /**
@@ -21,29 +22,56 @@ public class GetWeatherByCityUseCase {
      * @param callback Callback to handle result
      */
     public void execute(String cityName, String temperatureUnit, Callback callback) {
+        if (isValid(cityName, callback)) {
+            repository.getWeatherByCity(cityName.trim(), temperatureUnit, adapt(callback));
+        }
+    }
+    
+    /**
+     * Execute as part of a load that a newer one may cancel
+     * @param token Cancelled when this load is superseded
+     */
+    public void execute(String cityName, String temperatureUnit, CancellationToken token, Callback callback) {
+        if (isValid(cityName, callback)) {
+            repository.getWeatherByCity(cityName.trim(), temperatureUnit, token, adapt(callback));
+        }
+    }
+    
+    private static boolean isValid(String cityName, Callback callback) {
         // Validate input
         if (cityName == null || cityName.trim().isEmpty()) {
             callback.onError("City name cannot be empty");
-            return;
+            return false;
         }
-        
-        // Call repository
-        repository.getWeatherByCity(cityName.trim(), temperatureUnit, 
-            new WeatherRepository.WeatherCallback() {
-                @Override
-                public void onSuccess(WeatherData weatherData) {
-                    callback.onSuccess(weatherData);
-                }
-                
-                @Override
-                public void onError(String message) {
-                    callback.onError(message);
-                }
-            });
+        return true;
+    }
+    
+    private static WeatherRepository.WeatherCallback adapt(Callback callback) {
+        return new WeatherRepository.WeatherCallback() {
+            @Override
+            public void onSuccess(WeatherData weatherData) {
+                callback.onSuccess(weatherData);
+            }
+            
+            @Override
+            public void onError(String message) {
+                callback.onError(message);
+            }
+            
+            @Override
+            public void onStale(WeatherData weatherData) {
+                callback.onStale(weatherData);
+            }
+        };
     }
     
     public interface Callback {
         void onSuccess(WeatherData weatherData);
         void onError(String message);
+        
+        /**
+         * Expired cached value shown while fresh data loads
+         */
+        default void onStale(WeatherData weatherData) {}
     }
 }
@@ -1,6 +1,7 @@
 package com.example.weatherapp.domain.usecase;
 
 import com.example.weatherapp.domain.model.WeatherData;
+import com.example.weatherapp.domain.repository.CancellationToken;
 import com.example.weatherapp.domain.repository.WeatherRepository;
 
 /**
@@ -21,34 +22,62 @@ public class GetWeatherByCoordinatesUseCase {
      * @param callback Callback to handle result
      */
     public void execute(double latitude, double longitude, String temperatureUnit, Callback callback) {
+        if (isValid(latitude, longitude, callback)) {
+            repository.getWeatherByCoordinates(latitude, longitude, temperatureUnit, adapt(callback));
+        }
+    }
+    
+    /**
+     * Execute as part of a load that a newer one may cancel
+     * @param token Cancelled when this load is superseded
+     */
+    public void execute(double latitude, double longitude, String temperatureUnit, CancellationToken token,
+                        Callback callback) {
+        if (isValid(latitude, longitude, callback)) {
+            repository.getWeatherByCoordinates(latitude, longitude, temperatureUnit, token, adapt(callback));
+        }
+    }
+    
+    private static boolean isValid(double latitude, double longitude, Callback callback) {
         // Validate coordinates
         if (latitude < -90 || latitude > 90) {
             callback.onError("Invalid latitude: must be between -90 and 90");
-            return;
+            return false;
         }
         
         if (longitude < -180 || longitude > 180) {
             callback.onError("Invalid longitude: must be between -180 and 180");
-            return;
+            return false;
         }
-        
-        // Call repository
-        repository.getWeatherByCoordinates(latitude, longitude, temperatureUnit,
-            new WeatherRepository.WeatherCallback() {
-                @Override
-                public void onSuccess(WeatherData weatherData) {
-                    callback.onSuccess(weatherData);
-                }
-                
-                @Override
-                public void onError(String message) {
-                    callback.onError(message);
-                }
-            });
+        return true;
+    }
+    
+    private static WeatherRepository.WeatherCallback adapt(Callback callback) {
+        return new WeatherRepository.WeatherCallback() {
+            @Override
+            public void onSuccess(WeatherData weatherData) {
+                callback.onSuccess(weatherData);
+            }
+            
+            @Override
+            public void onError(String message) {
+                callback.onError(message);
+            }
+            
+            @Override
+            public void onStale(WeatherData weatherData) {
+                callback.onStale(weatherData);
+            }
+        };
     }
     
     public interface Callback {
         void onSuccess(WeatherData weatherData);
         void onError(String message);
+        
+        /**
+         * Expired cached value shown while fresh data loads
+         */
+        default void onStale(WeatherData weatherData) {}
     }
 }
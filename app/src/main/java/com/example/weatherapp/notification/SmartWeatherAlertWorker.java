@@ -32,7 +32,7 @@ public class SmartWeatherAlertWorker extends Worker {
     public SmartWeatherAlertWorker(@NonNull Context context, @NonNull WorkerParameters workerParams) {
         super(context, workerParams);
         this.notificationManager = new SmartWeatherNotificationManager(context);
-        this.weatherRepository = new WeatherRepositoryImpl(context, Constants.WEATHER_API_KEY);
+        this.weatherRepository = WeatherRepositoryImpl.forBackground(context, Constants.WEATHER_API_KEY);
     }
     
     @NonNull
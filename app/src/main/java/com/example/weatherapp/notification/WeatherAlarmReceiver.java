@@ -5,6 +5,7 @@ import android.content.Context;
 import android.content.Intent;
 import android.util.Log;
 
+import com.example.weatherapp.data.json.JsonAdapters;
 import com.example.weatherapp.domain.model.AlarmType;
 import com.example.weatherapp.domain.model.WeatherAlarm;
 import com.example.weatherapp.domain.model.WeatherData;
@@ -105,8 +106,7 @@ public class WeatherAlarmReceiver extends BroadcastReceiver {
             String weatherJson = prefs.getString("current_weather", null);
             
             if (weatherJson != null) {
-                com.google.gson.Gson gson = new com.google.gson.Gson();
-                return gson.fromJson(weatherJson, WeatherData.class);
+                return JsonAdapters.gson().fromJson(weatherJson, WeatherData.class);
             }
         } catch (Exception e) {
             Log.e(TAG, "Error loading weather data", e);
@@ -8,6 +8,7 @@ import androidx.work.Worker;
 import androidx.work.WorkerParameters;
 
 import com.example.weatherapp.BuildConfig;
+import com.example.weatherapp.data.api.RequestPriority;
 import com.example.weatherapp.data.api.RetrofitClient;
 import com.example.weatherapp.data.api.WeatherApiService;
 import com.example.weatherapp.data.responses.WeatherResponse;
@@ -50,7 +51,7 @@ public class WeatherNotificationWorker extends Worker {
 
         try {
             // Fetch weather data
-            WeatherApiService apiService = RetrofitClient.getInstance().getWeatherApi();
+            WeatherApiService apiService = RetrofitClient.getInstance().getWeatherApi(RequestPriority.BACKGROUND, false);
             Call<WeatherResponse> call = apiService.getWeatherByCity(cityName, BuildConfig.WEATHER_API_KEY, units);
             Response<WeatherResponse> response = call.execute();
 
@@ -24,17 +24,42 @@ public abstract class UIState<T> {
     
     /**
      * Success state - when data is successfully fetched
+     * Stale when it is an expired cached value shown while a refresh is running,
+     * or kept on screen after that refresh failed (then it carries the refresh error)
      */
     public static final class Success<T> extends UIState<T> {
         private final T data;
+        private final boolean stale;
+        private final String refreshError;
         
         public Success(T data) {
+            this(data, false);
+        }
+        
+        public Success(T data, boolean stale) {
+            this(data, stale, null);
+        }
+        
+        public Success(T data, boolean stale, String refreshError) {
             this.data = data;
+            this.stale = stale;
+            this.refreshError = refreshError;
         }
         
         public T getData() {
             return data;
         }
+        
+        public boolean isStale() {
+            return stale;
+        }
+        
+        /**
+         * Why the refresh of stale data failed; null while it is running or when not stale
+         */
+        public String getRefreshError() {
+            return refreshError;
+        }
     }
     
     /**
@@ -0,0 +1,100 @@
+package com.example.weatherapp.presentation.state;
+
+import com.example.weatherapp.domain.model.AirQualityData;
+import com.example.weatherapp.domain.model.ForecastData;
+import com.example.weatherapp.domain.model.WeatherData;
+
+/**
+ * Immutable combined state of the four parts of the main screen
+ * (current weather, forecast, UV index, air quality)
+ * A new snapshot is emitted each time one of the parts arrives
+ * Observers may skip snapshots (LiveData keeps only the latest), so they ask
+ * changesSince(the snapshot they last drew) which sections to redraw
+ */
+public final class WeatherSnapshot {
+    
+    // Section flags for changesSince
+    public static final int WEATHER = 1;
+    public static final int FORECAST = 1 << 1;
+    public static final int UV_INDEX = 1 << 2;
+    public static final int AIR_QUALITY = 1 << 3;
+    public static final int ALL = WEATHER | FORECAST | UV_INDEX | AIR_QUALITY;
+    
+    private final UIState<WeatherData> weather;
+    private final UIState<ForecastData> forecast;
+    private final UIState<Integer> uvIndex;
+    private final UIState<AirQualityData> airQuality;
+    
+    public WeatherSnapshot(UIState<WeatherData> weather,
+                           UIState<ForecastData> forecast,
+                           UIState<Integer> uvIndex,
+                           UIState<AirQualityData> airQuality) {
+        this.weather = weather;
+        this.forecast = forecast;
+        this.uvIndex = uvIndex;
+        this.airQuality = airQuality;
+    }
+    
+    /**
+     * Snapshot with every part loading
+     */
+    public static WeatherSnapshot loading() {
+        return new WeatherSnapshot(new UIState.Loading<>(), new UIState.Loading<>(),
+                new UIState.Loading<>(), new UIState.Loading<>());
+    }
+    
+    public UIState<WeatherData> getWeather() { return weather; }
+    public UIState<ForecastData> getForecast() { return forecast; }
+    public UIState<Integer> getUvIndex() { return uvIndex; }
+    public UIState<AirQualityData> getAirQuality() { return airQuality; }
+    
+    public WeatherSnapshot withWeather(UIState<WeatherData> state) {
+        return new WeatherSnapshot(state, forecast, uvIndex, airQuality);
+    }
+    
+    public WeatherSnapshot withForecast(UIState<ForecastData> state) {
+        return new WeatherSnapshot(weather, state, uvIndex, airQuality);
+    }
+    
+    public WeatherSnapshot withUvIndex(UIState<Integer> state) {
+        return new WeatherSnapshot(weather, forecast, state, airQuality);
+    }
+    
+    public WeatherSnapshot withAirQuality(UIState<AirQualityData> state) {
+        return new WeatherSnapshot(weather, forecast, uvIndex, state);
+    }
+    
+    /**
+     * Sections whose state was replaced since an earlier snapshot
+     * Parts are compared by identity: with* keeps the untouched parts as they were
+     * @param earlier Snapshot already drawn, or null if none
+     * @return Bitwise OR of the section flags, 0 when nothing changed
+     */
+    public int changesSince(WeatherSnapshot earlier) {
+        if (earlier == null) {
+            return ALL;
+        }
+        int changes = 0;
+        if (weather != earlier.weather) changes |= WEATHER;
+        if (forecast != earlier.forecast) changes |= FORECAST;
+        if (uvIndex != earlier.uvIndex) changes |= UV_INDEX;
+        if (airQuality != earlier.airQuality) changes |= AIR_QUALITY;
+        return changes;
+    }
+    
+    /**
+     * True once no part is loading anymore (each one succeeded or failed)
+     * Stale data still waiting for its refresh counts as loading
+     */
+    public boolean isComplete() {
+        return isSettled(weather) && isSettled(forecast) && isSettled(uvIndex) && isSettled(airQuality);
+    }
+    
+    private static boolean isSettled(UIState<?> state) {
+        if (state instanceof UIState.Success) {
+            UIState.Success<?> success = (UIState.Success<?>) state;
+            return !success.isStale() || success.getRefreshError() != null;
+        }
+        return state instanceof UIState.Error;
+    }
+}
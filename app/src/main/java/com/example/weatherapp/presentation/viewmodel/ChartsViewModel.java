@@ -21,11 +21,13 @@ public class ChartsViewModel extends ViewModel {
     
     /**
      * Load chart data from Intent
+     * Wind and pressure arrive in canonical units and are charted in the given ones
      */
     public void loadChartData(HourlyForecastResponse hourlyData, 
                              WeatherResponse currentData, 
                              int uvIndex,
-                             String windSpeedUnit) {
+                             String windSpeedUnit,
+                             String pressureUnit) {
         
         if (hourlyData == null || currentData == null) {
             return;
@@ -36,6 +38,7 @@ public class ChartsViewModel extends ViewModel {
             currentData,
             uvIndex,
             windSpeedUnit,
+            pressureUnit,
             currentData.getName()
         );
         
@@ -50,17 +53,20 @@ public class ChartsViewModel extends ViewModel {
         public final WeatherResponse currentWeatherData;
         public final int currentUVIndex;
         public final String windSpeedUnit;
+        public final String pressureUnit;
         public final String cityName;
         
         public ChartDataState(HourlyForecastResponse hourlyForecastData,
                             WeatherResponse currentWeatherData,
                             int currentUVIndex,
                             String windSpeedUnit,
+                            String pressureUnit,
                             String cityName) {
             this.hourlyForecastData = hourlyForecastData;
             this.currentWeatherData = currentWeatherData;
             this.currentUVIndex = currentUVIndex;
             this.windSpeedUnit = windSpeedUnit;
+            this.pressureUnit = pressureUnit;
             this.cityName = cityName;
         }
     }
@@ -6,33 +6,38 @@ import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.ViewModel;
 
-import com.example.weatherapp.data.api.RetrofitClient;
-import com.example.weatherapp.data.api.WeatherApiService;
 import com.example.weatherapp.data.models.FavoriteCity;
-import com.example.weatherapp.data.responses.WeatherResponse;
+import com.example.weatherapp.data.repository.implementation.WeatherRepositoryImpl;
 import com.example.weatherapp.domain.model.UIState;
+import com.example.weatherapp.domain.model.WeatherData;
 import com.example.weatherapp.domain.repository.FavoriteCitiesManager;
+import com.example.weatherapp.domain.repository.WeatherRepository;
+import com.example.weatherapp.domain.usecase.GetWeatherByCityIdsUseCase;
+import com.example.weatherapp.domain.usecase.GetWeatherByCityUseCase;
+import com.example.weatherapp.utils.Constants;
 
 import java.util.ArrayList;
 import java.util.List;
-
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * ViewModel for FavoriteCitiesActivity
  * Manages favorite cities list and weather data fetching
+ * Favorites with a known city id refresh together in one batch request; the others are
+ * fetched by name once, which records their id for the next refresh
  */
 public class FavoriteCitiesViewModel extends ViewModel {
     
-    private static final String API_KEY = "bd5e378503939ddaee76f12ad7a97608";
+    // Favorites keep their last temperature in °C
+    private static final String TEMPERATURE_UNIT = "celsius";
     
     private final MutableLiveData<UIState<List<FavoriteCityWithWeather>>> favoriteCitiesState = new MutableLiveData<>();
     private final MutableLiveData<Boolean> canAddMoreCities = new MutableLiveData<>();
     
     private FavoriteCitiesManager favoritesManager;
-    private WeatherApiService weatherApiService;
+    private GetWeatherByCityIdsUseCase getWeatherByCityIdsUseCase;
+    private GetWeatherByCityUseCase getWeatherByCityUseCase;
     
     public LiveData<UIState<List<FavoriteCityWithWeather>>> getFavoriteCitiesState() {
         return favoriteCitiesState;
@@ -43,11 +48,13 @@ public class FavoriteCitiesViewModel extends ViewModel {
     }
     
     /**
-     * Initialize manager and service
+     * Initialize manager and use cases
      */
     public void init(Context context) {
         this.favoritesManager = new FavoriteCitiesManager(context);
-        this.weatherApiService = RetrofitClient.getInstance().getWeatherApi();
+        WeatherRepository repository = WeatherRepositoryImpl.withoutSnapshot(context, Constants.WEATHER_API_KEY);
+        this.getWeatherByCityIdsUseCase = new GetWeatherByCityIdsUseCase(repository);
+        this.getWeatherByCityUseCase = new GetWeatherByCityUseCase(repository);
         canAddMoreCities.setValue(favoritesManager.canAddMoreCities());
     }
     
@@ -64,46 +71,110 @@ public class FavoriteCitiesViewModel extends ViewModel {
         
         favoriteCitiesState.setValue(UIState.loading());
         
-        List<FavoriteCityWithWeather> citiesWithWeather = new ArrayList<>();
-        int[] pendingRequests = {favoriteCities.size()};
-        
+        List<Long> cityIds = new ArrayList<>();
+        List<FavoriteCity> withoutId = new ArrayList<>();
         for (FavoriteCity city : favoriteCities) {
-            fetchWeatherForCity(city, citiesWithWeather, pendingRequests);
+            if (city.getCityId() > 0) {
+                cityIds.add(city.getCityId());
+            } else {
+                withoutId.add(city);
+            }
         }
-    }
-    
-    /**
-     * Fetch weather data for a single city
-     */
-    private void fetchWeatherForCity(FavoriteCity city, 
-                                     List<FavoriteCityWithWeather> citiesWithWeather, 
-                                     int[] pendingRequests) {
-        weatherApiService.getWeatherByCity(city.getCityName(), API_KEY, "metric")
-            .enqueue(new Callback<WeatherResponse>() {
+        
+        WeatherData[] weather = new WeatherData[favoriteCities.size()];
+        AtomicInteger pendingRequests = new AtomicInteger((cityIds.isEmpty() ? 0 : 1) + withoutId.size());
+        
+        if (!cityIds.isEmpty()) {
+            getWeatherByCityIdsUseCase.execute(cityIds, TEMPERATURE_UNIT, new GetWeatherByCityIdsUseCase.Callback() {
                 @Override
-                public void onResponse(Call<WeatherResponse> call, Response<WeatherResponse> response) {
-                    if (response.isSuccessful() && response.body() != null) {
-                        citiesWithWeather.add(new FavoriteCityWithWeather(city, response.body()));
-                    }
-                    
-                    pendingRequests[0]--;
-                    if (pendingRequests[0] == 0) {
-                        favoriteCitiesState.postValue(UIState.success(citiesWithWeather));
+                public void onSuccess(Map<Long, WeatherData> weatherByCityId) {
+                    synchronized (weather) {
+                        for (int i = 0; i < favoriteCities.size(); i++) {
+                            WeatherData data = weatherByCityId.get(favoriteCities.get(i).getCityId());
+                            if (data != null) {
+                                weather[i] = data;
+                            }
+                        }
                     }
+                    requestDone(favoriteCities, weather, pendingRequests);
+                }
+                
+                @Override
+                public void onError(String message) {
+                    requestDone(favoriteCities, weather, pendingRequests);
                 }
                 
                 @Override
-                public void onFailure(Call<WeatherResponse> call, Throwable t) {
-                    pendingRequests[0]--;
-                    if (pendingRequests[0] == 0) {
-                        if (citiesWithWeather.isEmpty()) {
-                            favoriteCitiesState.postValue(UIState.error("Failed to load weather data"));
-                        } else {
-                            favoriteCitiesState.postValue(UIState.success(citiesWithWeather));
+                public void onFailed(List<Long> failedIds, String message) {
+                    // Their batch request failed: try those cities one by one by name
+                    for (FavoriteCity city : favoriteCities) {
+                        if (failedIds.contains(city.getCityId())) {
+                            pendingRequests.incrementAndGet();
+                            fetchWeatherForCity(city, favoriteCities, weather, pendingRequests);
                         }
                     }
                 }
             });
+        }
+        for (FavoriteCity city : withoutId) {
+            fetchWeatherForCity(city, favoriteCities, weather, pendingRequests);
+        }
+    }
+    
+    /**
+     * Fetch weather data for a single city whose id isn't known yet
+     */
+    private void fetchWeatherForCity(FavoriteCity city, List<FavoriteCity> favoriteCities,
+                                     WeatherData[] weather, AtomicInteger pendingRequests) {
+        getWeatherByCityUseCase.execute(city.getCityName(), TEMPERATURE_UNIT, new GetWeatherByCityUseCase.Callback() {
+            @Override
+            public void onSuccess(WeatherData weatherData) {
+                synchronized (weather) {
+                    weather[favoriteCities.indexOf(city)] = weatherData;
+                }
+                requestDone(favoriteCities, weather, pendingRequests);
+            }
+            
+            @Override
+            public void onError(String message) {
+                requestDone(favoriteCities, weather, pendingRequests);
+            }
+        });
+    }
+    
+    /**
+     * After the last request: save the refreshed favorites in one write and publish them in list order
+     */
+    private void requestDone(List<FavoriteCity> favoriteCities, WeatherData[] weather,
+                             AtomicInteger pendingRequests) {
+        if (pendingRequests.decrementAndGet() != 0) {
+            return;
+        }
+        List<FavoriteCityWithWeather> citiesWithWeather = new ArrayList<>();
+        synchronized (weather) {
+            for (int i = 0; i < favoriteCities.size(); i++) {
+                WeatherData data = weather[i];
+                if (data == null) {
+                    continue;
+                }
+                FavoriteCity city = favoriteCities.get(i);
+                if (data.getCityId() > 0) {
+                    city.setCityId(data.getCityId());
+                }
+                city.setCurrentTemp(data.getTemperature());
+                city.setWeatherCondition(data.getWeatherMain());
+                city.setWeatherDescription(data.getWeatherDescription());
+                city.setLastUpdated(System.currentTimeMillis());
+                citiesWithWeather.add(new FavoriteCityWithWeather(city, data));
+            }
+        }
+        
+        if (citiesWithWeather.isEmpty()) {
+            favoriteCitiesState.postValue(UIState.error("Failed to load weather data"));
+            return;
+        }
+        favoritesManager.updateCities(favoriteCities);
+        favoriteCitiesState.postValue(UIState.success(citiesWithWeather));
     }
     
     /**
@@ -120,9 +191,9 @@ public class FavoriteCitiesViewModel extends ViewModel {
      */
     public static class FavoriteCityWithWeather {
         public final FavoriteCity city;
-        public final WeatherResponse weatherData;
+        public final WeatherData weatherData;
         
-        public FavoriteCityWithWeather(FavoriteCity city, WeatherResponse weatherData) {
+        public FavoriteCityWithWeather(FavoriteCity city, WeatherData weatherData) {
             this.city = city;
             this.weatherData = weatherData;
         }
@@ -6,14 +6,20 @@ import androidx.lifecycle.ViewModel;
 
 import com.example.weatherapp.domain.model.AirQualityData;
 import com.example.weatherapp.domain.model.ForecastData;
+import com.example.weatherapp.domain.model.UnitConversion;
 import com.example.weatherapp.domain.model.WeatherData;
+import com.example.weatherapp.domain.repository.CancellationToken;
 import com.example.weatherapp.domain.repository.WeatherRepository;
 import com.example.weatherapp.domain.usecase.GetAirQualityUseCase;
+import com.example.weatherapp.domain.usecase.GetCachedCoordinatesUseCase;
 import com.example.weatherapp.domain.usecase.GetForecastUseCase;
 import com.example.weatherapp.domain.usecase.GetUVIndexUseCase;
 import com.example.weatherapp.domain.usecase.GetWeatherByCityUseCase;
 import com.example.weatherapp.domain.usecase.GetWeatherByCoordinatesUseCase;
 import com.example.weatherapp.presentation.state.UIState;
+import com.example.weatherapp.presentation.state.WeatherSnapshot;
+
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * MainViewModel - Heart of MVVM architecture
@@ -28,6 +34,7 @@ public class MainViewModel extends ViewModel {
     private final GetForecastUseCase getForecastUseCase;
     private final GetUVIndexUseCase getUVIndexUseCase;
     private final GetAirQualityUseCase getAirQualityUseCase;
+    private final GetCachedCoordinatesUseCase getCachedCoordinatesUseCase;
     
     // LiveData for observing from UI
     private final MutableLiveData<UIState<WeatherData>> weatherState = new MutableLiveData<>(new UIState.Idle<>());
@@ -35,8 +42,19 @@ public class MainViewModel extends ViewModel {
     private final MutableLiveData<UIState<Integer>> uvIndexState = new MutableLiveData<>(new UIState.Idle<>());
     private final MutableLiveData<UIState<AirQualityData>> airQualityState = new MutableLiveData<>(new UIState.Idle<>());
     
+    // Combined state of the four parts above, re-emitted as each part arrives
+    private final MutableLiveData<WeatherSnapshot> snapshotState = new MutableLiveData<>();
+    private WeatherSnapshot snapshot = new WeatherSnapshot(
+            new UIState.Idle<>(), new UIState.Idle<>(), new UIState.Idle<>(), new UIState.Idle<>());
+    
+    // Cold-start data is on screen: loads keep it there instead of showing Loading until real weather arrives
+    private boolean showingColdStart = false;
+    
+    // Latest load; a new load cancels it, and results of any other load are dropped before posting
+    private volatile CancellationToken currentLoad = new CancellationToken();
+    
     // Current settings and state
-    private String temperatureUnit = "celsius";
+    private volatile String temperatureUnit = "celsius";
     private String currentCityName = "Hanoi";
     private double currentLatitude = 0;
     private double currentLongitude = 0;
@@ -51,6 +69,7 @@ public class MainViewModel extends ViewModel {
         this.getForecastUseCase = new GetForecastUseCase(repository);
         this.getUVIndexUseCase = new GetUVIndexUseCase(repository);
         this.getAirQualityUseCase = new GetAirQualityUseCase(repository);
+        this.getCachedCoordinatesUseCase = new GetCachedCoordinatesUseCase(repository);
     }
     
     // ============ Public API for UI ============
@@ -74,69 +93,156 @@ public class MainViewModel extends ViewModel {
         return airQualityState;
     }
     
+    /**
+     * Combined weather/forecast/UV/air quality state, emitted once per arriving part
+     */
+    public LiveData<WeatherSnapshot> getSnapshotState() {
+        return snapshotState;
+    }
+    
     // ============ Actions ============
     
+    /**
+     * Show the cold-start snapshot (last rendered weather and forecast) before any load
+     * Both parts are marked stale; loads replace them as their results arrive
+     * Ignored once anything has been loaded, e.g. after a configuration change
+     */
+    public synchronized void showColdStart(WeatherData weatherData, ForecastData forecastData) {
+        if (!(snapshot.getWeather() instanceof UIState.Idle) || weatherData == null) {
+            return;
+        }
+        showingColdStart = true;
+        currentCityName = weatherData.getCityName();
+        currentLatitude = weatherData.getLatitude();
+        currentLongitude = weatherData.getLongitude();
+        postWeather(currentLoad, new UIState.Success<>(weatherData, true));
+        if (forecastData != null) {
+            postForecast(currentLoad, new UIState.Success<>(forecastData, true), weatherData.getTemperatureUnit());
+        }
+    }
+    
     /**
      * Load weather by city name
+     * Current weather starts immediately. Forecast, UV and air quality start at the same time
+     * when the city's coordinates are already known (in memory or in the weather cache),
+     * and only wait for the current-weather response when they are not
+     * Starting another load cancels this one, so switching cities quickly shows only the last city
      */
     public void loadWeatherByCity(String cityName) {
         if (cityName == null || cityName.trim().isEmpty()) {
-            weatherState.postValue(new UIState.Error<>("City name cannot be empty"));
+            // Through the snapshot like every other error, MainActivity only observes that
+            postWeather(currentLoad, new UIState.Error<>("City name cannot be empty"));
             return;
         }
         
+        boolean sameCity = cityName.equalsIgnoreCase(currentCityName);
         this.currentCityName = cityName;
-        weatherState.postValue(new UIState.Loading<>());
+        CancellationToken load = beginLoad();
         
-        getWeatherByCityUseCase.execute(cityName, temperatureUnit, 
+        // Guards against starting the coordinate-based requests twice
+        AtomicBoolean extrasStarted = new AtomicBoolean(false);
+        
+        getWeatherByCityUseCase.execute(cityName, temperatureUnit, load,
             new GetWeatherByCityUseCase.Callback() {
                 @Override
                 public void onSuccess(WeatherData weatherData) {
-                    weatherState.postValue(new UIState.Success<>(weatherData));
+                    postWeather(load, new UIState.Success<>(weatherData));
                     
-                    // Update coordinates for additional data
-                    currentLatitude = weatherData.getLatitude();
-                    currentLongitude = weatherData.getLongitude();
+                    // Coordinates were unknown: fall back to the chained path
+                    if (extrasStarted.compareAndSet(false, true)) {
+                        loadExtras(load, weatherData.getLatitude(), weatherData.getLongitude());
+                    }
+                }
+                
+                @Override
+                public void onStale(WeatherData weatherData) {
+                    postWeather(load, new UIState.Success<>(weatherData, true));
                     
-                    // Load additional data
-                    loadForecast();
-                    loadUVIndex();
-                    loadAirQuality();
+                    // The expired entry still has the right coordinates
+                    if (extrasStarted.compareAndSet(false, true)) {
+                        loadExtras(load, weatherData.getLatitude(), weatherData.getLongitude());
+                    }
                 }
                 
                 @Override
                 public void onError(String message) {
-                    weatherState.postValue(new UIState.Error<>(message));
+                    postWeatherError(load, message);
                 }
             });
+        
+        if (sameCity && hasCoordinates(currentLatitude, currentLongitude)) {
+            // Refresh of the city on screen: reuse its coordinates
+            // (a fast cache callback may already have started the extras)
+            if (extrasStarted.compareAndSet(false, true)) {
+                loadExtras(load, currentLatitude, currentLongitude);
+            }
+            return;
+        }
+        
+        getCachedCoordinatesUseCase.execute(cityName, new GetCachedCoordinatesUseCase.Callback() {
+            @Override
+            public void onFound(double latitude, double longitude) {
+                if (extrasStarted.compareAndSet(false, true)) {
+                    loadExtras(load, latitude, longitude);
+                }
+            }
+            
+            @Override
+            public void onNotFound() {
+                // Wait for the current-weather response to learn the coordinates
+            }
+        });
     }
     
     /**
      * Load weather by GPS coordinates
+     * Coordinates are known up front, so all four requests run in parallel
      */
     public void loadWeatherByCoordinates(double latitude, double longitude) {
-        this.currentLatitude = latitude;
-        this.currentLongitude = longitude;
-        weatherState.postValue(new UIState.Loading<>());
+        CancellationToken load = beginLoad();
         
-        getWeatherByCoordinatesUseCase.execute(latitude, longitude, temperatureUnit,
+        getWeatherByCoordinatesUseCase.execute(latitude, longitude, temperatureUnit, load,
             new GetWeatherByCoordinatesUseCase.Callback() {
                 @Override
                 public void onSuccess(WeatherData weatherData) {
-                    weatherState.postValue(new UIState.Success<>(weatherData));
-                    currentCityName = weatherData.getCityName();
-                    
-                    // Load additional data
-                    loadForecast();
-                    loadUVIndex();
-                    loadAirQuality();
+                    if (postWeather(load, new UIState.Success<>(weatherData))) {
+                        currentCityName = weatherData.getCityName();
+                    }
+                }
+                
+                @Override
+                public void onStale(WeatherData weatherData) {
+                    postWeather(load, new UIState.Success<>(weatherData, true));
                 }
                 
                 @Override
                 public void onError(String message) {
-                    weatherState.postValue(new UIState.Error<>(message));
+                    postWeatherError(load, message);
                 }
             });
+        
+        loadExtras(load, latitude, longitude);
+    }
+    
+    /**
+     * Start forecast, UV index and air quality requests for the given coordinates
+     * Does nothing once the load is superseded, so a late response can't move the coordinates
+     */
+    private void loadExtras(CancellationToken load, double latitude, double longitude) {
+        synchronized (this) {
+            if (load != currentLoad) {
+                return;
+            }
+            this.currentLatitude = latitude;
+            this.currentLongitude = longitude;
+        }
+        loadForecast(load, latitude, longitude);
+        loadUVIndex(load, latitude, longitude);
+        loadAirQuality(load, latitude, longitude);
+    }
+    
+    private static boolean hasCoordinates(double latitude, double longitude) {
+        return latitude != 0 || longitude != 0;
     }
     
     /**
@@ -146,19 +252,26 @@ public class MainViewModel extends ViewModel {
         if (currentLatitude == 0 && currentLongitude == 0) {
             return; // No coordinates available
         }
+        loadForecast(currentLoad, currentLatitude, currentLongitude);
+    }
+    
+    private void loadForecast(CancellationToken load, double latitude, double longitude) {
+        if (!isStale(snapshot.getForecast())) {
+            postForecast(load, new UIState.Loading<>());
+        }
         
-        forecastState.postValue(new UIState.Loading<>());
-        
-        getForecastUseCase.execute(currentLatitude, currentLongitude, temperatureUnit,
+        // The unit may change while the request runs; the result is converted on arrival
+        String requestedUnit = temperatureUnit;
+        getForecastUseCase.execute(latitude, longitude, requestedUnit, load,
             new GetForecastUseCase.Callback() {
                 @Override
                 public void onSuccess(ForecastData forecastData) {
-                    forecastState.postValue(new UIState.Success<>(forecastData));
+                    postForecast(load, new UIState.Success<>(forecastData), requestedUnit);
                 }
                 
                 @Override
                 public void onError(String message) {
-                    forecastState.postValue(new UIState.Error<>(message));
+                    postForecast(load, new UIState.Error<>(message));
                 }
             });
     }
@@ -170,19 +283,22 @@ public class MainViewModel extends ViewModel {
         if (currentLatitude == 0 && currentLongitude == 0) {
             return; // No coordinates available
         }
+        loadUVIndex(currentLoad, currentLatitude, currentLongitude);
+    }
+    
+    private void loadUVIndex(CancellationToken load, double latitude, double longitude) {
+        postUVIndex(load, new UIState.Loading<>());
         
-        uvIndexState.postValue(new UIState.Loading<>());
-        
-        getUVIndexUseCase.execute(currentLatitude, currentLongitude,
+        getUVIndexUseCase.execute(latitude, longitude, load,
             new GetUVIndexUseCase.Callback() {
                 @Override
                 public void onSuccess(int uvIndex) {
-                    uvIndexState.postValue(new UIState.Success<>(uvIndex));
+                    postUVIndex(load, new UIState.Success<>(uvIndex));
                 }
                 
                 @Override
                 public void onError(String message) {
-                    uvIndexState.postValue(new UIState.Error<>(message));
+                    postUVIndex(load, new UIState.Error<>(message));
                 }
             });
     }
@@ -194,23 +310,142 @@ public class MainViewModel extends ViewModel {
         if (currentLatitude == 0 && currentLongitude == 0) {
             return; // No coordinates available
         }
+        loadAirQuality(currentLoad, currentLatitude, currentLongitude);
+    }
+    
+    private void loadAirQuality(CancellationToken load, double latitude, double longitude) {
+        postAirQuality(load, new UIState.Loading<>());
         
-        airQualityState.postValue(new UIState.Loading<>());
-        
-        getAirQualityUseCase.execute(currentLatitude, currentLongitude,
+        getAirQualityUseCase.execute(latitude, longitude, load,
             new GetAirQualityUseCase.Callback() {
                 @Override
                 public void onSuccess(AirQualityData airQualityData) {
-                    airQualityState.postValue(new UIState.Success<>(airQualityData));
+                    postAirQuality(load, new UIState.Success<>(airQualityData));
                 }
                 
                 @Override
                 public void onError(String message) {
-                    airQualityState.postValue(new UIState.Error<>(message));
+                    postAirQuality(load, new UIState.Error<>(message));
                 }
             });
     }
     
+    // ============ Snapshot ============
+    
+    /**
+     * Start a new load: supersede the previous one and reset the combined snapshot
+     * The previous load's requests are cancelled outside the lock; anything it still
+     * delivers is dropped because its token is no longer current
+     */
+    private CancellationToken beginLoad() {
+        CancellationToken load = new CancellationToken();
+        CancellationToken previous;
+        synchronized (this) {
+            previous = currentLoad;
+            currentLoad = load;
+            beginSnapshot();
+        }
+        previous.cancel();
+        return load;
+    }
+    
+    /**
+     * Reset the combined snapshot for a new load
+     */
+    private synchronized void beginSnapshot() {
+        if (showingColdStart) {
+            // Keep the cold-start weather and forecast on screen while they reload
+            // (an earlier refresh error no longer applies to this load)
+            UIState<WeatherData> weather = snapshot.getWeather();
+            if (weather instanceof UIState.Success && ((UIState.Success<WeatherData>) weather).getRefreshError() != null) {
+                weather = new UIState.Success<>(((UIState.Success<WeatherData>) weather).getData(), true);
+            }
+            WeatherSnapshot loading = WeatherSnapshot.loading();
+            snapshot = new WeatherSnapshot(weather, snapshot.getForecast(),
+                    loading.getUvIndex(), loading.getAirQuality());
+            snapshotState.postValue(snapshot);
+            return;
+        }
+        snapshot = WeatherSnapshot.loading();
+        weatherState.postValue(new UIState.Loading<>());
+        snapshotState.postValue(snapshot);
+    }
+    
+    private static boolean isStale(UIState<?> state) {
+        return state instanceof UIState.Success && ((UIState.Success<?>) state).isStale();
+    }
+    
+    /**
+     * @return false if the load was superseded and nothing was posted
+     */
+    private synchronized boolean postWeather(CancellationToken load, UIState<WeatherData> state) {
+        if (load != currentLoad) {
+            return false;
+        }
+        if (!isStale(state)) {
+            showingColdStart = false;
+        }
+        if (state instanceof UIState.Success) {
+            // Results of a request made before a unit change
+            UIState.Success<WeatherData> success = (UIState.Success<WeatherData>) state;
+            state = new UIState.Success<>(UnitConversion.toTemperatureUnit(success.getData(), temperatureUnit),
+                    success.isStale(), success.getRefreshError());
+        }
+        weatherState.postValue(state);
+        snapshot = snapshot.withWeather(state);
+        snapshotState.postValue(snapshot);
+        return true;
+    }
+    
+    /**
+     * Report a weather failure
+     * Stale data already on screen stays there (still marked stale) and carries the error,
+     * since the last known numbers beat an empty error screen
+     */
+    private synchronized void postWeatherError(CancellationToken load, String message) {
+        UIState<WeatherData> current = snapshot.getWeather();
+        if (isStale(current)) {
+            postWeather(load, new UIState.Success<>(((UIState.Success<WeatherData>) current).getData(), true, message));
+            return;
+        }
+        postWeather(load, new UIState.Error<>(message));
+    }
+    
+    /**
+     * Post forecast data, converting it from the unit it was requested in
+     */
+    private synchronized void postForecast(CancellationToken load, UIState.Success<ForecastData> state, String unit) {
+        ForecastData data = UnitConversion.toTemperatureUnit(state.getData(), unit, temperatureUnit);
+        postForecast(load, new UIState.Success<>(data, state.isStale()));
+    }
+    
+    private synchronized void postForecast(CancellationToken load, UIState<ForecastData> state) {
+        if (load != currentLoad) {
+            return;
+        }
+        forecastState.postValue(state);
+        snapshot = snapshot.withForecast(state);
+        snapshotState.postValue(snapshot);
+    }
+    
+    private synchronized void postUVIndex(CancellationToken load, UIState<Integer> state) {
+        if (load != currentLoad) {
+            return;
+        }
+        uvIndexState.postValue(state);
+        snapshot = snapshot.withUvIndex(state);
+        snapshotState.postValue(snapshot);
+    }
+    
+    private synchronized void postAirQuality(CancellationToken load, UIState<AirQualityData> state) {
+        if (load != currentLoad) {
+            return;
+        }
+        airQualityState.postValue(state);
+        snapshot = snapshot.withAirQuality(state);
+        snapshotState.postValue(snapshot);
+    }
+    
     /**
      * Refresh all weather data
      */
@@ -224,11 +459,24 @@ public class MainViewModel extends ViewModel {
     
     // ============ Settings ============
     
-    public void setTemperatureUnit(String unit) {
-        if (!this.temperatureUnit.equals(unit)) {
-            this.temperatureUnit = unit;
-            // Reload data with new unit
-            refreshAllData();
+    /**
+     * Switch the temperature unit
+     * Weather and forecast on screen are converted in place: no reload, no network
+     */
+    public synchronized void setTemperatureUnit(String unit) {
+        if (this.temperatureUnit.equals(unit)) {
+            return;
+        }
+        String previousUnit = this.temperatureUnit;
+        this.temperatureUnit = unit;
+        
+        UIState<WeatherData> weather = snapshot.getWeather();
+        if (weather instanceof UIState.Success) {
+            postWeather(currentLoad, weather);
+        }
+        UIState<ForecastData> forecast = snapshot.getForecast();
+        if (forecast instanceof UIState.Success) {
+            postForecast(currentLoad, (UIState.Success<ForecastData>) forecast, previousUnit);
         }
     }
     
@@ -260,9 +508,22 @@ public class MainViewModel extends ViewModel {
         return null;
     }
     
+    /**
+     * Get current ForecastData from state, in the current temperature unit
+     * @return Current ForecastData or null if not available
+     */
+    public ForecastData getCurrentForecastData() {
+        UIState<ForecastData> state = forecastState.getValue();
+        if (state instanceof UIState.Success) {
+            return ((UIState.Success<ForecastData>) state).getData();
+        }
+        return null;
+    }
+    
     @Override
     protected void onCleared() {
         super.onCleared();
-        // Cleanup resources if needed
+        // Nobody is left to show the results
+        currentLoad.cancel();
     }
 }
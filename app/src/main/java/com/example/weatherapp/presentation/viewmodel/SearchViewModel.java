@@ -1,23 +1,43 @@
 package com.example.weatherapp.presentation.viewmodel;
 
+import android.app.Application;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.AndroidViewModel;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
-import androidx.lifecycle.ViewModel;
 
+import com.example.weatherapp.data.concurrent.IoDispatcher;
+import com.example.weatherapp.data.local.gazetteer.Gazetteer;
+import com.example.weatherapp.data.local.gazetteer.LazyGazetteer;
 import com.example.weatherapp.data.models.CityWeather;
 import com.example.weatherapp.presentation.state.UIState;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
  * ViewModel for SearchActivity
- * Manages search state and popular cities list
+ * Manages search state, popular cities list and offline city suggestions
  */
-public class SearchViewModel extends ViewModel {
+public class SearchViewModel extends AndroidViewModel {
+    
+    private static final int MAX_SUGGESTIONS = 8;
     
     private final MutableLiveData<UIState<List<CityWeather>>> citiesState = new MutableLiveData<>();
     private final MutableLiveData<UIState<LocationData>> locationState = new MutableLiveData<>();
+    private final MutableLiveData<List<Gazetteer.City>> suggestionsState = new MutableLiveData<>(Collections.emptyList());
+    private final LazyGazetteer gazetteer;
+    private volatile String lastQuery = "";
+    
+    public SearchViewModel(@NonNull Application application) {
+        super(application);
+        gazetteer = LazyGazetteer.getShared(application);
+        if (gazetteer.getIfLoaded() == null) {
+            IoDispatcher.getInstance().reads().execute(this::loadGazetteer);
+        }
+    }
     
     public LiveData<UIState<List<CityWeather>>> getCitiesState() {
         return citiesState;
@@ -27,6 +47,41 @@ public class SearchViewModel extends ViewModel {
         return locationState;
     }
     
+    /**
+     * Offline city suggestions for the text being typed, best first
+     */
+    public LiveData<List<Gazetteer.City>> getSuggestionsState() {
+        return suggestionsState;
+    }
+    
+    /**
+     * Update suggestions for the search text; called per keystroke on the main thread
+     * A prefix lookup in the bundled gazetteer, no network
+     */
+    public void suggestCities(String query) {
+        lastQuery = query != null ? query : "";
+        Gazetteer index = gazetteer.getIfLoaded();
+        suggestionsState.setValue(index != null ? index.search(lastQuery, MAX_SUGGESTIONS) : Collections.emptyList());
+    }
+    
+    /**
+     * Gazetteer city named exactly as typed (ignoring case and accents), or null
+     * Lets a typed search use the coordinates path instead of a name lookup
+     */
+    public Gazetteer.City findExactCity(String query) {
+        Gazetteer index = gazetteer.getIfLoaded();
+        return index != null ? index.findExact(query) : null;
+    }
+    
+    private void loadGazetteer() {
+        Gazetteer index = gazetteer.get();
+        // Text typed while loading
+        String query = lastQuery;
+        if (index != null && !query.isEmpty()) {
+            suggestionsState.postValue(index.search(query, MAX_SUGGESTIONS));
+        }
+    }
+    
     /**
      * Load popular cities list
      */
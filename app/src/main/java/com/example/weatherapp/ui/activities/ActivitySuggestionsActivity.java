@@ -19,13 +19,13 @@ import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.weatherapp.R;
+import com.example.weatherapp.data.json.JsonAdapters;
 import com.example.weatherapp.databinding.ActivityActivitySuggestionsBinding;
 import com.example.weatherapp.domain.model.ActivitySuggestion;
 import com.example.weatherapp.domain.model.WeatherData;
 import com.example.weatherapp.domain.services.ActivitySuggestionService;
 import com.example.weatherapp.ui.adapters.ActivitySuggestionAdapter;
 import com.example.weatherapp.utils.CalendarHelper;
-import com.google.gson.Gson;
 
 import java.util.List;
 import java.util.concurrent.ExecutorService;
@@ -101,7 +101,7 @@ public class ActivitySuggestionsActivity extends AppCompatActivity
         Intent intent = getIntent();
         if (intent.hasExtra("weather_data")) {
             String weatherJson = intent.getStringExtra("weather_data");
-            currentWeather = new Gson().fromJson(weatherJson, WeatherData.class);
+            currentWeather = JsonAdapters.gson().fromJson(weatherJson, WeatherData.class);
             
             // Get UV Index from Intent
             if (intent.hasExtra("uv_index")) {
@@ -117,7 +117,7 @@ public class ActivitySuggestionsActivity extends AppCompatActivity
             SharedPreferences prefs = getSharedPreferences("WeatherApp", MODE_PRIVATE);
             String weatherJson = prefs.getString("cached_weather_data", null);
             if (weatherJson != null) {
-                currentWeather = new Gson().fromJson(weatherJson, WeatherData.class);
+                currentWeather = JsonAdapters.gson().fromJson(weatherJson, WeatherData.class);
             }
         }
 
@@ -11,6 +11,7 @@ import androidx.lifecycle.ViewModelProvider;
 import com.example.weatherapp.R;
 import com.example.weatherapp.data.responses.HourlyForecastResponse;
 import com.example.weatherapp.data.responses.WeatherResponse;
+import com.example.weatherapp.domain.model.UnitConversion;
 import com.example.weatherapp.presentation.viewmodel.ChartsViewModel;
 import com.example.weatherapp.ui.dialogs.WeatherDetailDialog;
 import com.example.weatherapp.ui.helpers.ChartHelper;
@@ -48,6 +49,9 @@ public class ChartsActivity extends AppCompatActivity {
     // Đơn vị tốc độ gió (m/s hoặc km/h)
     private String windSpeedUnit = "ms";
 
+    // Đơn vị áp suất (hPa hoặc mbar)
+    private String pressureUnit = "hpa";
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
@@ -64,9 +68,10 @@ public class ChartsActivity extends AppCompatActivity {
         // Load cài đặt đơn vị từ SharedPreferences
         SharedPreferences prefs = getSharedPreferences("WeatherAppPrefs", MODE_PRIVATE);
         windSpeedUnit = SettingsActivity.getWindSpeedUnit(prefs);
+        pressureUnit = SettingsActivity.getPressureUnit(prefs);
 
         // Load data into ViewModel
-        viewModel.loadChartData(hourlyForecastData, currentWeatherData, currentUVIndex, windSpeedUnit);
+        viewModel.loadChartData(hourlyForecastData, currentWeatherData, currentUVIndex, windSpeedUnit, pressureUnit);
 
         // Setup nút Back để quay lại màn hình trước
         ImageButton btnBack = findViewById(R.id.btnBack);
@@ -96,6 +101,7 @@ public class ChartsActivity extends AppCompatActivity {
                 currentWeatherData = state.currentWeatherData;
                 currentUVIndex = state.currentUVIndex;
                 windSpeedUnit = state.windSpeedUnit;
+                pressureUnit = state.pressureUnit;
 
                 // Setup all charts
                 setupTemperatureChart();      // Biểu đồ nhiệt độ
@@ -150,14 +156,12 @@ public class ChartsActivity extends AppCompatActivity {
         // Lấy các giá trị thực từ dữ liệu thời tiết
         final float humidityValue = currentWeatherData.getMain().getHumidity();
 
-        float windSpeed = (float) currentWeatherData.getWind().getSpeed();
-        // Chuyển đổi đơn vị gió nếu cần (m/s -> km/h)
-        if (windSpeedUnit.equals("kmh")) {
-            windSpeed = windSpeed * 3.6f;  // 1 m/s = 3.6 km/h
-        }
-        final float windValue = windSpeed;
+        // Dữ liệu ở đơn vị chuẩn (m/s, hPa), đổi sang đơn vị trong cài đặt như màn hình chính
+        final float windValue = UnitConversion.windSpeed(UnitConversion.CANONICAL_WIND_SPEED, windSpeedUnit)
+                .apply((float) currentWeatherData.getWind().getSpeed());
 
-        final float pressureValue = currentWeatherData.getMain().getPressure();
+        final float pressureValue = UnitConversion.pressure(UnitConversion.CANONICAL_PRESSURE, pressureUnit)
+                .apply((float) currentWeatherData.getMain().getPressure());
         final float uvValue = currentUVIndex;
 
         // Tạo danh sách các cột (BarEntry)
@@ -197,7 +201,8 @@ public class ChartsActivity extends AppCompatActivity {
         dataSet.setHighLightAlpha(255);         // Độ sáng khi chạm vào cột
 
         // === FORMATTER: HIỂN THỊ GIÁ TRỊ + ĐỐN VỊ TRÊN MỖI CỘT ===
-        final String windUnit = windSpeedUnit.equals("kmh") ? "km/h" : "m/s";
+        final String windUnit = windSpeedUnit.equals(UnitConversion.KILOMETERS_PER_HOUR) ? "km/h" : "m/s";
+        final String pressureLabel = pressureUnit.equals(UnitConversion.MILLIBAR) ? "mbar" : "hPa";
         dataSet.setValueFormatter(new ValueFormatter() {
             @Override
             public String getFormattedValue(float value) {
@@ -219,7 +224,7 @@ public class ChartsActivity extends AppCompatActivity {
                         return String.format(java.util.Locale.getDefault(), "%.1f\n%s", value, windUnit);
 
                     case 2: // Cột 3 - Áp suất (nhân lại 10 để có giá trị thực)
-                        return String.format(java.util.Locale.getDefault(), "%.0f\nhPa", value * 10);
+                        return String.format(java.util.Locale.getDefault(), "%.0f\n%s", value * 10, pressureLabel);
 
                     case 3: // Cột 4 - Chỉ số UV (chia lại 10 để có giá trị thực)
                         return String.format(java.util.Locale.getDefault(), "UV\n%.0f", value / 10);
@@ -297,7 +302,7 @@ public class ChartsActivity extends AppCompatActivity {
             count,
             item -> {
                 float speed = (float) item.getWind().getSpeed();
-                return "kmh".equalsIgnoreCase(windSpeedUnit) ? speed * 3.6f : speed;
+                return UnitConversion.windSpeed(UnitConversion.CANONICAL_WIND_SPEED, windSpeedUnit).apply(speed);
             }
         );
 
@@ -11,6 +11,7 @@ import android.os.Bundle;
 import android.os.Handler;
 import android.os.Looper;
 import android.util.Log;
+import android.view.Choreographer;
 import android.view.View;
 import android.widget.TextView;
 import android.widget.Toast;
@@ -25,6 +26,9 @@ import androidx.core.view.WindowInsetsCompat;
 import androidx.lifecycle.ViewModelProvider;
 
 import com.example.weatherapp.R;
+import com.example.weatherapp.data.json.JsonAdapters;
+import com.example.weatherapp.data.local.snapshot.ColdStartSnapshot;
+import com.example.weatherapp.data.mapper.DomainMapper;
 import com.example.weatherapp.data.repository.implementation.WeatherRepositoryImpl;
 import com.example.weatherapp.databinding.ActivityMainBinding;
 import com.example.weatherapp.domain.model.AirQualityData;
@@ -33,6 +37,7 @@ import com.example.weatherapp.domain.model.WeatherData;
 import com.example.weatherapp.domain.repository.FavoriteCitiesManager;
 import com.example.weatherapp.domain.repository.WeatherRepository;
 import com.example.weatherapp.presentation.state.UIState;
+import com.example.weatherapp.presentation.state.WeatherSnapshot;
 import com.example.weatherapp.presentation.viewmodel.MainViewModel;
 import com.example.weatherapp.presentation.viewmodel.MainViewModelFactory;
 import com.example.weatherapp.ui.dialogs.MoreFeaturesBottomSheet;
@@ -48,7 +53,6 @@ import com.example.weatherapp.ui.helpers.ParallaxAnimationHelper;
 import com.example.weatherapp.ui.helpers.UISetupHelper;
 import com.example.weatherapp.ui.helpers.UIUpdateHelper;
 import com.example.weatherapp.ui.views.charts.AnimatedProgressRing;
-import com.google.gson.Gson;
 import com.example.weatherapp.ui.views.charts.WeatherLineChart;
 import com.example.weatherapp.ui.views.charts.WindSpeedGauge;
 import com.example.weatherapp.utils.LocaleHelper;
@@ -75,6 +79,13 @@ public class MainActivity extends AppCompatActivity {
     private ActivityMainBinding binding;
     private MainViewModel viewModel;
     private WeatherRepositoryImpl repository; // Keep reference to access cached responses
+    private String coldStartCity; // City shown from the cold-start snapshot, loaded first
+    
+    // Screen state: the latest snapshot is drawn at most once per frame, redrawing only changed sections
+    private WeatherSnapshot pendingSnapshot;
+    private WeatherSnapshot boundSnapshot;
+    private boolean bindScheduled = false;
+    private final Choreographer.FrameCallback bindSnapshotFrame = frameTimeNanos -> bindSnapshot();
     private static final String API_KEY = "4f8cf691daad596ac4e465c909868d0d";
     
     // Weather Background Views
@@ -142,6 +153,11 @@ public class MainActivity extends AppCompatActivity {
                             // Load weather by coordinates using ViewModel
                             viewModel.loadWeatherByCoordinates(latitude, longitude);
                         }
+                    } else if (result.getData().hasExtra(SearchActivity.EXTRA_LATITUDE)) {
+                        // City picked from the offline suggestions: coordinates already known
+                        double latitude = result.getData().getDoubleExtra(SearchActivity.EXTRA_LATITUDE, 0);
+                        double longitude = result.getData().getDoubleExtra(SearchActivity.EXTRA_LONGITUDE, 0);
+                        viewModel.loadWeatherByCoordinates(latitude, longitude);
                     } else {
                         // Get city name from search
                         String cityName = result.getData().getStringExtra(SearchActivity.EXTRA_CITY_NAME);
@@ -177,13 +193,9 @@ public class MainActivity extends AppCompatActivity {
                     // Re-initialize helpers with new settings
                     initializeHelpers();
                     
-                    // If temperature unit changed, update ViewModel and refetch
+                    // If temperature unit changed, the ViewModel converts what is on screen (no refetch)
                     if (!oldTempUnit.equals(temperatureUnit)) {
                         viewModel.setTemperatureUnit(temperatureUnit);
-                        String cityName = viewModel.getCurrentCityName();
-                        if (cityName != null && !cityName.isEmpty()) {
-                            viewModel.loadWeatherByCity(cityName);
-                        }
                     }
                 }
             });
@@ -312,67 +324,118 @@ public class MainActivity extends AppCompatActivity {
             }
         }
 
-        // Default: load weather for Hanoi via ViewModel
-        viewModel.loadWeatherByCity("Hanoi");
+        // Default: reload the city from the cold-start snapshot, or Hanoi
+        viewModel.loadWeatherByCity(coldStartCity != null ? coldStartCity : "Hanoi");
     }
 
     /**
      * Initialize ViewModel with Repository (MVVM Pattern)
      */
     private void initializeViewModel() {
+        // Mapped file read, a few milliseconds; done before the repository opens Room
+        ColdStartSnapshot.Contents coldStart = new ColdStartSnapshot(this).read();
+        
         repository = new WeatherRepositoryImpl(this, API_KEY); // Keep reference for charts
         MainViewModelFactory factory = new MainViewModelFactory(repository);
         viewModel = new ViewModelProvider(this, factory).get(MainViewModel.class);
+        
+        // Set the unit first so showColdStart converts the snapshot to it
         viewModel.setTemperatureUnit(temperatureUnit);
+        if (coldStart != null && isColdStartCity(coldStart.getWeather().getCityName())) {
+            coldStartCity = coldStart.getWeather().getCityName();
+            ForecastData forecast = coldStart.getHourlySeries().size() > 0
+                    ? DomainMapper.toForecastData(coldStart.getHourlySeries()) : null;
+            viewModel.showColdStart(coldStart.getWeather(), forecast);
+        }
+    }
+    
+    /**
+     * The snapshot is only worth showing when no other city was asked for
+     */
+    private boolean isColdStartCity(String cityName) {
+        Intent intent = getIntent();
+        String requested = intent != null ? intent.getStringExtra("CITY_NAME") : null;
+        return requested == null || requested.isEmpty() || requested.equalsIgnoreCase(cityName);
     }
 
     /**
      * Setup LiveData Observers (MVVM - Core Pattern)
+     * One combined stream instead of four: a refresh used to re-lay out the screen
+     * once per part and state (up to eight times)
      */
     private void setupObservers() {
-        // Observe Weather State
-        viewModel.getWeatherState().observe(this, state -> {
-            if (state instanceof UIState.Loading) {
-                showLoading();
-            } else if (state instanceof UIState.Success) {
-                hideLoading();
-                WeatherData data = ((UIState.Success<WeatherData>) state).getData();
+        viewModel.getSnapshotState().observe(this, snapshot -> {
+            pendingSnapshot = snapshot;
+            if (!bindScheduled) {
+                bindScheduled = true;
+                Choreographer.getInstance().postFrameCallback(bindSnapshotFrame);
+            }
+        });
+    }
+    
+    /**
+     * Draw the latest snapshot, only the sections that changed since the last one drawn
+     */
+    private void bindSnapshot() {
+        bindScheduled = false;
+        WeatherSnapshot snapshot = pendingSnapshot;
+        if (binding == null || snapshot == null) {
+            return;
+        }
+        WeatherSnapshot previous = boundSnapshot;
+        int changes = snapshot.changesSince(previous);
+        boundSnapshot = snapshot;
+        
+        if ((changes & WeatherSnapshot.WEATHER) != 0) {
+            bindWeather(snapshot.getWeather(), previous != null ? previous.getWeather() : null);
+        }
+        if ((changes & WeatherSnapshot.FORECAST) != 0) {
+            bindForecast(snapshot.getForecast());
+        }
+        if ((changes & WeatherSnapshot.UV_INDEX) != 0 && snapshot.getUvIndex() instanceof UIState.Success) {
+            updateUVIndexUI(((UIState.Success<Integer>) snapshot.getUvIndex()).getData());
+        }
+        if ((changes & WeatherSnapshot.AIR_QUALITY) != 0 && snapshot.getAirQuality() instanceof UIState.Success) {
+            updateAirQualityUI(((UIState.Success<AirQualityData>) snapshot.getAirQuality()).getData());
+        }
+    }
+    
+    /**
+     * @param bound The weather state drawn before; a failed refresh of the same data only adds its error
+     */
+    private void bindWeather(UIState<WeatherData> state, UIState<WeatherData> bound) {
+        if (state instanceof UIState.Loading) {
+            showLoading();
+        } else if (state instanceof UIState.Success) {
+            hideLoading();
+            UIState.Success<WeatherData> success = (UIState.Success<WeatherData>) state;
+            WeatherData data = success.getData();
+            boolean alreadyDrawn = bound instanceof UIState.Success
+                    && ((UIState.Success<WeatherData>) bound).getData() == data;
+            if (!alreadyDrawn) {
                 updateWeatherUI(data);
                 // Update mini map location
                 updateMiniMap(data.getLatitude(), data.getLongitude());
-            } else if (state instanceof UIState.Error) {
-                hideLoading();
-                String error = ((UIState.Error<WeatherData>) state).getMessage();
-                showError(error);
-            }
-        });
-
-        // Observe Forecast State
-        viewModel.getForecastState().observe(this, state -> {
-            if (state instanceof UIState.Success) {
-                ForecastData data = ((UIState.Success<ForecastData>) state).getData();
-                updateForecastUI(data);
-            } else if (state instanceof UIState.Error) {
-                String error = ((UIState.Error<ForecastData>) state).getMessage();
-                showError("Forecast: " + error);
             }
-        });
-
-        // Observe UV Index State
-        viewModel.getUVIndexState().observe(this, state -> {
-            if (state instanceof UIState.Success) {
-                int uvIndex = ((UIState.Success<Integer>) state).getData();
-                updateUVIndexUI(uvIndex);
-            }
-        });
-
-        // Observe Air Quality State
-        viewModel.getAirQualityState().observe(this, state -> {
-            if (state instanceof UIState.Success) {
-                AirQualityData data = ((UIState.Success<AirQualityData>) state).getData();
-                updateAirQualityUI(data);
+            if (success.getRefreshError() != null) {
+                // Old data stays on screen; say why it wasn't updated
+                showError(success.getRefreshError());
             }
-        });
+        } else if (state instanceof UIState.Error) {
+            hideLoading();
+            String error = ((UIState.Error<WeatherData>) state).getMessage();
+            showError(error);
+        }
+    }
+    
+    private void bindForecast(UIState<ForecastData> state) {
+        if (state instanceof UIState.Success) {
+            ForecastData data = ((UIState.Success<ForecastData>) state).getData();
+            updateForecastUI(data);
+        } else if (state instanceof UIState.Error) {
+            String error = ((UIState.Error<ForecastData>) state).getMessage();
+            showError("Forecast: " + error);
+        }
     }
 
     private void initializeHelpers() {
@@ -659,9 +722,13 @@ public class MainActivity extends AppCompatActivity {
                     uvIndex = ((UIState.Success<Integer>) uvState).getData();
                 }
                 
-                // Get cached responses from repository
+                // Get cached responses from repository (canonical units; ChartsActivity converts
+                // wind and pressure to the settings' units, as this screen does)
                 com.example.weatherapp.data.responses.WeatherResponse currentData = repository.getLatestWeatherResponse();
-                com.example.weatherapp.data.responses.HourlyForecastResponse hourlyData = repository.getLatestHourlyForecastResponse();
+                // Forecast as displayed, so the charts use the same temperature unit as the screen
+                ForecastData forecast = viewModel.getCurrentForecastData();
+                com.example.weatherapp.data.responses.HourlyForecastResponse hourlyData = forecast != null
+                        ? DomainMapper.toHourlyForecastResponse(forecast.getHourlySeries()) : null;
                 
                 // Debug logging
                 Log.d(TAG, "Opening charts - currentData: " + (currentData != null ? "✓" : "✗") + 
@@ -732,7 +799,7 @@ public class MainActivity extends AppCompatActivity {
                 if (currentWeather != null) {
                     Intent intent = new Intent(MainActivity.this, ActivitySuggestionsActivity.class);
                     // Pass weather data as JSON
-                    intent.putExtra("weather_data", new com.google.gson.Gson().toJson(currentWeather));
+                    intent.putExtra("weather_data", JsonAdapters.gson().toJson(currentWeather));
                     
                     // Pass UV Index if available
                     UIState<Integer> uvState = viewModel.getUVIndexState().getValue();
@@ -819,7 +886,7 @@ public class MainActivity extends AppCompatActivity {
                         WeatherData currentWeather = viewModel.getCurrentWeatherData();
                         if (currentWeather != null) {
                             Intent intent = new Intent(MainActivity.this, ActivitySuggestionsActivity.class);
-                            intent.putExtra("weather_data", new com.google.gson.Gson().toJson(currentWeather));
+                            intent.putExtra("weather_data", JsonAdapters.gson().toJson(currentWeather));
                             
                             UIState<Integer> uvState = viewModel.getUVIndexState().getValue();
                             if (uvState instanceof UIState.Success) {
@@ -922,7 +989,7 @@ public class MainActivity extends AppCompatActivity {
                     Intent intent = new Intent(MainActivity.this, ActivitySuggestionsActivity.class);
                     
                     // Pass full weather data as JSON (same as OutfitSuggestionActivity)
-                    intent.putExtra("weather_data", new Gson().toJson(currentWeather));
+                    intent.putExtra("weather_data", JsonAdapters.gson().toJson(currentWeather));
                     
                     // Pass UV Index if available
                     UIState<Integer> uvState = viewModel.getUVIndexState().getValue();
@@ -1235,11 +1302,9 @@ public class MainActivity extends AppCompatActivity {
             Log.d(TAG, "Updating forecast views - Hourly: " + data.getHourlyForecasts().size() + 
                   " items, Daily: " + data.getDailyForecasts().size() + " days");
             
-            // Set hourly data for dialog charts
-            com.example.weatherapp.data.responses.HourlyForecastResponse hourlyResponse = repository.getLatestHourlyForecastResponse();
-            if (hourlyResponse != null && hourlyResponse.getList() != null) {
-                forecastViewManager.setHourlyDataForCharts(hourlyResponse.getList());
-            }
+            // Set hourly data for dialog charts (built only when a day is opened)
+            forecastViewManager.setHourlyDataSource(() ->
+                    DomainMapper.toHourlyForecastResponse(data.getHourlySeries()).getList());
             
             // Always show hourly forecast (in first card)
             forecastViewManager.createHourlyForecastView(data);
@@ -1928,6 +1993,7 @@ public class MainActivity extends AppCompatActivity {
     @Override
     protected void onDestroy() {
         super.onDestroy();
+        Choreographer.getInstance().removeFrameCallback(bindSnapshotFrame);
         if (locationHelper != null) {
             locationHelper.cleanup();
         }
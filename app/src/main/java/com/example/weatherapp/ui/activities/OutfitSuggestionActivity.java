@@ -14,6 +14,7 @@ import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.weatherapp.R;
+import com.example.weatherapp.data.json.JsonAdapters;
 import com.example.weatherapp.data.models.OutfitSuggestion;
 import com.example.weatherapp.data.responses.WeatherResponse;
 import com.example.weatherapp.domain.services.OutfitSuggestionService;
@@ -280,9 +281,8 @@ public class OutfitSuggestionActivity extends AppCompatActivity {
                 json.add("rain", rain);
             }
             
-            // Convert JSON to WeatherResponse using Gson
-            com.google.gson.Gson gson = new com.google.gson.Gson();
-            return gson.fromJson(json, WeatherResponse.class);
+            // Convert JSON to WeatherResponse using the shared Gson
+            return JsonAdapters.gson().fromJson(json, WeatherResponse.class);
             
         } catch (Exception e) {
             Log.e("OutfitSuggestionActivity", "Error converting WeatherData to WeatherResponse", e);
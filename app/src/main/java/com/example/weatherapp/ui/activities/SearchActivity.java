@@ -5,6 +5,8 @@ import android.content.Intent;
 import android.content.pm.PackageManager;
 import android.graphics.drawable.AnimationDrawable;
 import android.os.Bundle;
+import android.text.Editable;
+import android.text.TextWatcher;
 import android.util.Log;
 import android.view.KeyEvent;
 import android.view.View;
@@ -19,12 +21,14 @@ import androidx.lifecycle.ViewModelProvider;
 import androidx.recyclerview.widget.LinearLayoutManager;
 
 import com.example.weatherapp.R;
+import com.example.weatherapp.data.local.gazetteer.Gazetteer;
 import com.example.weatherapp.data.models.CityWeather;
 import com.example.weatherapp.data.models.FavoriteCity;
 import com.example.weatherapp.databinding.ActivitySearchBinding;
 import com.example.weatherapp.domain.repository.FavoriteCitiesManager;
 import com.example.weatherapp.presentation.state.UIState;
 import com.example.weatherapp.presentation.viewmodel.SearchViewModel;
+import com.example.weatherapp.ui.adapters.CitySuggestionAdapter;
 import com.example.weatherapp.ui.adapters.CityWeatherAdapter;
 import com.example.weatherapp.ui.helpers.LocationHelper;
 import com.example.weatherapp.ui.helpers.SlideInItemAnimator;
@@ -42,6 +46,7 @@ public class SearchActivity extends AppCompatActivity {
     private ActivitySearchBinding binding;
     private SearchViewModel viewModel;
     private CityWeatherAdapter favoritesAdapter;
+    private CitySuggestionAdapter suggestionsAdapter;
     private LocationHelper locationHelper;
     private FavoriteCitiesManager favoritesManager;
     
@@ -70,6 +75,7 @@ public class SearchActivity extends AppCompatActivity {
         setupObservers();
         setupListeners();
         setupFavoritesRecyclerView();
+        setupSuggestionsRecyclerView();
         
         // Data will be loaded in onResume()
     }
@@ -129,6 +135,12 @@ public class SearchActivity extends AppCompatActivity {
                 Toast.makeText(this, error, Toast.LENGTH_SHORT).show();
             }
         });
+        
+        // Observe offline city suggestions
+        viewModel.getSuggestionsState().observe(this, cities -> {
+            suggestionsAdapter.setCities(cities);
+            binding.recyclerViewSuggestions.setVisibility(cities.isEmpty() ? View.GONE : View.VISIBLE);
+        });
     }
     
     /**
@@ -141,6 +153,15 @@ public class SearchActivity extends AppCompatActivity {
         binding.recyclerViewFavorites.setItemAnimator(new SlideInItemAnimator());
     }
 
+    /**
+     * Setup offline suggestions RecyclerView
+     */
+    private void setupSuggestionsRecyclerView() {
+        suggestionsAdapter = new CitySuggestionAdapter(this::returnCityLocationToMain);
+        binding.recyclerViewSuggestions.setLayoutManager(new LinearLayoutManager(this));
+        binding.recyclerViewSuggestions.setAdapter(suggestionsAdapter);
+    }
+
     private void setupListeners() {
         // Back button click
         binding.btnBack.setOnClickListener(v -> finish());
@@ -166,6 +187,22 @@ public class SearchActivity extends AppCompatActivity {
             requestCurrentLocation();
         });
 
+        // Suggest cities per keystroke (bundled gazetteer, no network)
+        binding.etSearch.addTextChangedListener(new TextWatcher() {
+            @Override
+            public void beforeTextChanged(CharSequence s, int start, int count, int after) {
+            }
+
+            @Override
+            public void onTextChanged(CharSequence s, int start, int before, int count) {
+            }
+
+            @Override
+            public void afterTextChanged(Editable s) {
+                viewModel.suggestCities(s.toString());
+            }
+        });
+
         // Search when user presses Enter on keyboard
         binding.etSearch.setOnEditorActionListener((v, actionId, event) -> {
             if (actionId == EditorInfo.IME_ACTION_SEARCH ||
@@ -233,8 +270,13 @@ public class SearchActivity extends AppCompatActivity {
     }
 
     private void searchCity(String cityName) {
-        // Return searched city to MainActivity
-        returnCityToMain(cityName);
+        // A known city goes by coordinates; anything else by name
+        Gazetteer.City city = viewModel.findExactCity(cityName);
+        if (city != null) {
+            returnCityLocationToMain(city);
+        } else {
+            returnCityToMain(cityName);
+        }
     }
 
     private void returnCityToMain(String cityName) {
@@ -270,6 +312,19 @@ public class SearchActivity extends AppCompatActivity {
         binding.recyclerViewFavorites.setAdapter(favoritesAdapter);
     }
     
+    /**
+     * Return a gazetteer city with its coordinates: MainActivity loads it by coordinates,
+     * which skips the name lookup and reuses caches keyed by location
+     */
+    private void returnCityLocationToMain(Gazetteer.City city) {
+        Intent resultIntent = new Intent();
+        resultIntent.putExtra(EXTRA_CITY_NAME, city.getName());
+        resultIntent.putExtra(EXTRA_LATITUDE, city.getLatitude());
+        resultIntent.putExtra(EXTRA_LONGITUDE, city.getLongitude());
+        setResult(RESULT_OK, resultIntent);
+        finish();
+    }
+    
     private void returnLocationToMain(double latitude, double longitude) {
         Intent resultIntent = new Intent();
         resultIntent.putExtra(EXTRA_USE_GPS, true);
@@ -19,6 +19,7 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.weatherapp.R;
 import com.example.weatherapp.BuildConfig;
+import com.example.weatherapp.data.api.HttpClients;
 
 import org.json.JSONArray;
 import org.json.JSONObject;
@@ -70,12 +71,8 @@ public class WeatherChatBotActivity extends AppCompatActivity {
         recyclerView.setLayoutManager(layoutManager);
         recyclerView.setAdapter(adapter);
 
-        // Configure OkHttpClient with longer timeouts (same as ActivitySuggestionService)
-        httpClient = new OkHttpClient.Builder()
-                .connectTimeout(30, java.util.concurrent.TimeUnit.SECONDS)
-                .readTimeout(30, java.util.concurrent.TimeUnit.SECONDS)
-                .writeTimeout(30, java.util.concurrent.TimeUnit.SECONDS)
-                .build();
+        // Shared LLM client, not a new pool per activity instance
+        httpClient = HttpClients.getInstance().llm();
 
         // Add welcome message
         addBotMessage("Hello! I'm your weather assistant powered by Gemini AI. Ask me anything about weather!");
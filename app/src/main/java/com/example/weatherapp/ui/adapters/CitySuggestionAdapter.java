@@ -0,0 +1,71 @@
+package com.example.weatherapp.ui.adapters;
+
+import android.graphics.Color;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.weatherapp.data.local.gazetteer.Gazetteer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Adapter for offline city suggestions in SearchActivity
+ */
+public class CitySuggestionAdapter extends RecyclerView.Adapter<CitySuggestionAdapter.ViewHolder> {
+    
+    private List<Gazetteer.City> cities = new ArrayList<>();
+    private final OnCityClickListener listener;
+    
+    public interface OnCityClickListener {
+        void onCityClick(Gazetteer.City city);
+    }
+    
+    public CitySuggestionAdapter(OnCityClickListener listener) {
+        this.listener = listener;
+    }
+    
+    public void setCities(List<Gazetteer.City> cities) {
+        this.cities = cities;
+        notifyDataSetChanged();
+    }
+    
+    @NonNull
+    @Override
+    public ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View view = LayoutInflater.from(parent.getContext())
+                .inflate(android.R.layout.simple_list_item_2, parent, false);
+        return new ViewHolder(view);
+    }
+    
+    @Override
+    public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
+        Gazetteer.City city = cities.get(position);
+        holder.name.setText(city.getName());
+        holder.country.setText(city.getCountryCode());
+        holder.itemView.setOnClickListener(v -> listener.onCityClick(city));
+    }
+    
+    @Override
+    public int getItemCount() {
+        return cities.size();
+    }
+    
+    static class ViewHolder extends RecyclerView.ViewHolder {
+        final TextView name;
+        final TextView country;
+        
+        ViewHolder(@NonNull View itemView) {
+            super(itemView);
+            name = itemView.findViewById(android.R.id.text1);
+            country = itemView.findViewById(android.R.id.text2);
+            name.setTextColor(Color.WHITE);
+            country.setTextColor(0x99FFFFFF);
+        }
+    }
+}
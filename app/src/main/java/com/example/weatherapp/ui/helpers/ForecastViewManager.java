@@ -15,6 +15,7 @@ import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.List;
 import java.util.Locale;
+import java.util.function.Supplier;
 
 /**
  * Manages forecast views (hourly and daily)
@@ -28,7 +29,7 @@ public class ForecastViewManager {
     private final String temperatureUnit;
     
     // Store hourly data for dialog charts
-    private List<HourlyForecastResponse.HourlyItem> hourlyDataForCharts;
+    private Supplier<List<HourlyForecastResponse.HourlyItem>> hourlyDataSource;
 
     // Old constructor for backward compatibility
     public ForecastViewManager(Context context, LinearLayout forecastContainer, String temperatureUnit) {
@@ -270,7 +271,15 @@ public class ForecastViewManager {
      * Set hourly data for chart displays in daily detail dialog
      */
     public void setHourlyDataForCharts(List<HourlyForecastResponse.HourlyItem> hourlyData) {
-        this.hourlyDataForCharts = hourlyData;
+        this.hourlyDataSource = () -> hourlyData;
+    }
+
+    /**
+     * Set a lazy source of hourly data for the daily detail dialog
+     * Only resolved when a day is opened, so refreshes don't build the list up front
+     */
+    public void setHourlyDataSource(Supplier<List<HourlyForecastResponse.HourlyItem>> source) {
+        this.hourlyDataSource = source;
     }
 
     /**
@@ -280,11 +289,13 @@ public class ForecastViewManager {
         android.util.Log.d("ForecastViewManager", "Show detail for day: " + dailyForecast.getTimestamp());
         
         // Show iOS-style detail dialog with hourly chart data
+        List<HourlyForecastResponse.HourlyItem> hourlyData =
+            hourlyDataSource != null ? hourlyDataSource.get() : null;
         com.example.weatherapp.ui.dialogs.DailyWeatherDetailDialog dialog = 
             new com.example.weatherapp.ui.dialogs.DailyWeatherDetailDialog(
                 context, 
                 dailyForecast,
-                hourlyDataForCharts != null ? hourlyDataForCharts : new ArrayList<>()
+                hourlyData != null ? hourlyData : new ArrayList<>()
             );
         dialog.show();
     }
@@ -7,6 +7,7 @@ import android.widget.TextView;
 import com.example.weatherapp.R;
 import com.example.weatherapp.databinding.ActivityMainBinding;
 import com.example.weatherapp.domain.model.AirQualityData;
+import com.example.weatherapp.domain.model.UnitConversion;
 import com.example.weatherapp.domain.model.WeatherData;
 
 import java.text.SimpleDateFormat;
@@ -92,11 +93,14 @@ public class UIUpdateHelper {
         // Wind (iOS: "1 m/s" with direction)
         updateWindCard(weatherData.getWindSpeed(), weatherData.getWindDegree());
 
-        // Pressure
+        // Pressure (canonical hPa, shown in the pressure setting's unit)
         int pressure = (int) weatherData.getPressure();
         String pressureDesc = pressure > 1013 ? "High pressure" : pressure > 1000 ? "Normal pressure" : "Low pressure";
+        double shownPressure = UnitConversion.pressure(UnitConversion.CANONICAL_PRESSURE, pressureUnit)
+                .apply(weatherData.getPressure());
+        String pressureLabel = pressureUnit.equals(UnitConversion.MILLIBAR) ? "mbar" : "hPa";
         updateCard(R.id.cardPressure, "📊", "PRESSURE",
-                String.format(Locale.getDefault(), "%d hPa", pressure), pressureDesc);
+                String.format(Locale.getDefault(), "%.0f %s", shownPressure, pressureLabel), pressureDesc);
 
         // Sunrise/Sunset (iOS: "6:28 AM", "Sunset: 6:10 PM")
         long sunrise = weatherData.getSunrise();
@@ -121,25 +125,12 @@ public class UIUpdateHelper {
 
     /**
      * Update wind card with proper unit conversion (iOS Style: shows speed and direction)
+     * Wind speed always arrives in canonical m/s, whatever the temperature unit
      */
     private void updateWindCard(double windSpeed, int windDeg) {
-        String windValue, windUnit;
-
-        if (windSpeedUnit.equals("kmh")) {
-            if (temperatureUnit.equals("imperial")) {
-                windSpeed = windSpeed * 1.60934; // mph to km/h
-            } else {
-                windSpeed = windSpeed * 3.6; // m/s to km/h
-            }
-            windValue = String.format(Locale.getDefault(), "%.0f", windSpeed); // iOS style: no decimal
-            windUnit = "km/h";
-        } else {
-            if (temperatureUnit.equals("imperial")) {
-                windSpeed = windSpeed * 0.44704; // mph to m/s
-            }
-            windValue = String.format(Locale.getDefault(), "%.0f", windSpeed); // iOS style: no decimal
-            windUnit = "m/s";
-        }
+        windSpeed = UnitConversion.windSpeed(UnitConversion.CANONICAL_WIND_SPEED, windSpeedUnit).apply(windSpeed);
+        String windValue = String.format(Locale.getDefault(), "%.0f", windSpeed); // iOS style: no decimal
+        String windUnit = windSpeedUnit.equals(UnitConversion.KILOMETERS_PER_HOUR) ? "km/h" : "m/s";
 
         String direction = getWindDirection(windDeg);
         updateCard(R.id.cardWind, "💨", "WIND", windValue + " " + windUnit, direction);
@@ -270,13 +261,13 @@ public class UIUpdateHelper {
 
     /**
      * Calculate dew point using Magnus-Tetens formula
-     * @param temperature Temperature in Celsius
+     * @param temperature Temperature in the display unit
      * @param humidity Relative humidity (0-100)
-     * @return Dew point in Celsius
+     * @return Dew point in the display unit
      */
     private double calculateDewPoint(double temperature, int humidity) {
         // Convert to Celsius if needed
-        double tempC = temperatureUnit.equals("imperial") ? (temperature - 32) * 5 / 9 : temperature;
+        double tempC = UnitConversion.temperature(temperatureUnit, UnitConversion.CELSIUS).apply(temperature);
         
         // Magnus-Tetens constants
         double a = 17.27;
@@ -288,8 +279,8 @@ public class UIUpdateHelper {
         // Calculate dew point in Celsius
         double dewPointC = (b * alpha) / (a - alpha);
         
-        // Convert back to imperial if needed
-        return temperatureUnit.equals("imperial") ? (dewPointC * 9 / 5) + 32 : dewPointC;
+        // Convert back to the display unit
+        return UnitConversion.temperature(UnitConversion.CELSIUS, temperatureUnit).apply(dewPointC);
     }
 
     /**
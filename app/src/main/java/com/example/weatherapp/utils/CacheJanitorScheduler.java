@@ -0,0 +1,54 @@
+package com.example.weatherapp.utils;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.work.Constraints;
+import androidx.work.ExistingPeriodicWorkPolicy;
+import androidx.work.PeriodicWorkRequest;
+import androidx.work.WorkManager;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scheduler for the daily cache cleanup
+ */
+public class CacheJanitorScheduler {
+    private static final String TAG = "CacheJanitorScheduler";
+    private static final String WORK_NAME = "cache_janitor";
+    
+    /**
+     * Schedule the cleanup once a day while the device is idle and charging
+     * Keeps an existing schedule so calling this on every app start does not push it back
+     */
+    public static void scheduleCacheJanitor(Context context) {
+        Constraints constraints = new Constraints.Builder()
+                .setRequiresDeviceIdle(true)
+                .setRequiresCharging(true)
+                .build();
+        
+        PeriodicWorkRequest workRequest = new PeriodicWorkRequest.Builder(
+                CacheJanitorWorker.class,
+                1,
+                TimeUnit.DAYS
+        )
+                .setConstraints(constraints)
+                .addTag("cache_janitor")
+                .build();
+        
+        WorkManager.getInstance(context).enqueueUniquePeriodicWork(
+                WORK_NAME,
+                ExistingPeriodicWorkPolicy.KEEP,
+                workRequest
+        );
+        
+        Log.d(TAG, "Cache janitor scheduled");
+    }
+    
+    /**
+     * Cancel the scheduled cleanup
+     */
+    public static void cancelCacheJanitor(Context context) {
+        WorkManager.getInstance(context).cancelUniqueWork(WORK_NAME);
+    }
+}
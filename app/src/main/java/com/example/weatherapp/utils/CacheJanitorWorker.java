@@ -0,0 +1,51 @@
+package com.example.weatherapp.utils;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.work.Data;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.example.weatherapp.data.concurrent.IoDispatcher;
+import com.example.weatherapp.data.local.database.CacheJanitor;
+import com.example.weatherapp.data.local.database.WeatherDatabase;
+
+/**
+ * Cache Janitor Worker
+ * Background worker that keeps the weather cache within its age, row and byte budgets
+ */
+public class CacheJanitorWorker extends Worker {
+    private static final String TAG = "CacheJanitorWorker";
+    
+    public static final String KEY_ROWS_REMOVED = "rows_removed";
+    public static final String KEY_BYTES_RECLAIMED = "bytes_reclaimed";
+    
+    public CacheJanitorWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+    
+    @NonNull
+    @Override
+    public Result doWork() {
+        try {
+            WeatherDatabase database = WeatherDatabase.getInstance(getApplicationContext());
+            CacheJanitor janitor = new CacheJanitor(database);
+            // On the app's single writer, so the deletes never interleave with cache writes
+            CacheJanitor.Report report = IoDispatcher.getInstance().writes()
+                    .submit(() -> janitor.run(System.currentTimeMillis()))
+                    .get();
+            Log.d(TAG, report.toString());
+            
+            Data output = new Data.Builder()
+                    .putInt(KEY_ROWS_REMOVED, report.totalRows())
+                    .putLong(KEY_BYTES_RECLAIMED, report.bytesReclaimed())
+                    .build();
+            return Result.success(output);
+        } catch (Exception e) {
+            Log.e(TAG, "Cache cleanup failed", e);
+            return Result.retry();
+        }
+    }
+}
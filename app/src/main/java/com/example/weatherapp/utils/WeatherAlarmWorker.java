@@ -7,6 +7,7 @@ import androidx.annotation.NonNull;
 import androidx.work.Worker;
 import androidx.work.WorkerParameters;
 
+import com.example.weatherapp.data.json.JsonAdapters;
 import com.example.weatherapp.domain.model.WeatherAlarm;
 import com.example.weatherapp.domain.model.WeatherData;
 import com.example.weatherapp.domain.services.WeatherAlarmService;
@@ -83,8 +84,7 @@ public class WeatherAlarmWorker extends Worker {
             String weatherJson = prefs.getString("current_weather", null);
             
             if (weatherJson != null) {
-                com.google.gson.Gson gson = new com.google.gson.Gson();
-                return gson.fromJson(weatherJson, WeatherData.class);
+                return JsonAdapters.gson().fromJson(weatherJson, WeatherData.class);
             }
         } catch (Exception e) {
             Log.e(TAG, "Error loading weather data from cache", e);
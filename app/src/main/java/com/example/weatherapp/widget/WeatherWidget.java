@@ -9,15 +9,12 @@ import android.content.SharedPreferences;
 import android.widget.RemoteViews;
 
 import com.example.weatherapp.R;
+import com.example.weatherapp.data.api.RequestPriority;
 import com.example.weatherapp.data.api.RetrofitClient;
 import com.example.weatherapp.data.api.WeatherApiService;
 import com.example.weatherapp.data.responses.WeatherResponse;
 import com.example.weatherapp.ui.activities.MainActivity;
 
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
-
 /**
  * Weather Widget for home screen
  */
@@ -64,24 +61,19 @@ public class WeatherWidget extends AppWidgetProvider {
 
     private static void fetchWeatherData(Context context, AppWidgetManager appWidgetManager,
                                         int appWidgetId, String cityName, String tempUnit) {
-        WeatherApiService apiService = RetrofitClient.getInstance().getWeatherApi();
+        // Queued, not droppable: the widget already shows "Loading..." and must get an answer
+        WeatherApiService apiService = RetrofitClient.getInstance().getWeatherApi(RequestPriority.BACKGROUND, false);
         String units = tempUnit.equals("celsius") ? "metric" : "imperial";
 
-        Call<WeatherResponse> call = apiService.getWeatherByCity(cityName, API_KEY, units);
-        call.enqueue(new Callback<WeatherResponse>() {
+        WidgetWeatherLoader.load(apiService, API_KEY, cityName, units, appWidgetId, new WidgetWeatherLoader.Painter() {
             @Override
-            public void onResponse(Call<WeatherResponse> call, Response<WeatherResponse> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    WeatherResponse weather = response.body();
-                    updateWidgetWithWeatherData(context, appWidgetManager, appWidgetId, weather, tempUnit);
-                } else {
-                    updateWidgetWithError(context, appWidgetManager, appWidgetId, cityName);
-                }
+            public void showWeather(int id, WeatherResponse weather) {
+                updateWidgetWithWeatherData(context, appWidgetManager, id, weather, tempUnit);
             }
 
             @Override
-            public void onFailure(Call<WeatherResponse> call, Throwable t) {
-                updateWidgetWithError(context, appWidgetManager, appWidgetId, cityName);
+            public void showError(int id) {
+                updateWidgetWithError(context, appWidgetManager, id, cityName);
             }
         });
     }
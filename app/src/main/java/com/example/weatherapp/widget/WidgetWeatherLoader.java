@@ -0,0 +1,50 @@
+package com.example.weatherapp.widget;
+
+import com.example.weatherapp.data.api.WeatherApiService;
+import com.example.weatherapp.data.responses.WeatherResponse;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Loads the weather shown by one widget and hands the outcome to a Painter
+ * The widget paints "Loading..." before calling this, so every load must end in a paint: calls
+ * queue for the background slot instead of being dropped, even with several widgets updating at once.
+ */
+final class WidgetWeatherLoader {
+
+    /**
+     * Turns the outcome into RemoteViews; called on OkHttp's thread
+     */
+    interface Painter {
+        void showWeather(int appWidgetId, WeatherResponse weather);
+
+        void showError(int appWidgetId);
+    }
+
+    private WidgetWeatherLoader() {
+    }
+
+    /**
+     * @param api OpenWeatherMap scheduled BACKGROUND and not droppable
+     */
+    static void load(WeatherApiService api, String apiKey, String cityName, String units,
+                     int appWidgetId, Painter painter) {
+        api.getWeatherByCity(cityName, apiKey, units).enqueue(new Callback<WeatherResponse>() {
+            @Override
+            public void onResponse(Call<WeatherResponse> call, Response<WeatherResponse> response) {
+                if (response.isSuccessful() && response.body() != null) {
+                    painter.showWeather(appWidgetId, response.body());
+                } else {
+                    painter.showError(appWidgetId);
+                }
+            }
+
+            @Override
+            public void onFailure(Call<WeatherResponse> call, Throwable t) {
+                painter.showError(appWidgetId);
+            }
+        });
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.weatherapp.data.api;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import okhttp3.HttpUrl;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the per-endpoint breaker state machine, on a fake clock
+ */
+public class CircuitBreakersTest {
+
+    private static final String KEY = "api.openweathermap.org/data/2.5/weather";
+
+    private final long[] now = {1_000};
+    private final List<String> transitions = new ArrayList<>();
+    private CircuitBreakers breakers;
+    private CircuitBreaker breaker;
+
+    @Before
+    public void setup() {
+        breakers = new CircuitBreakers(3, 30_000, () -> now[0]);
+        breakers.addListener((key, from, to) -> transitions.add(from + "->" + to));
+        breaker = breakers.get(KEY);
+    }
+
+    @Test
+    public void consecutiveFailures_openAtThreshold() {
+        // Act
+        fail(2);
+        breaker.tryAcquire();
+        breaker.onSuccess(); // Resets the count
+        fail(3);
+
+        // Assert
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+        assertEquals(30_000, breaker.getRetryAfterMillis());
+        assertEquals(1, transitions.size());
+        assertEquals("CLOSED->OPEN", transitions.get(0));
+    }
+
+    @Test
+    public void afterOpenPeriod_singleProbe_successCloses() {
+        // Arrange
+        fail(3);
+        now[0] += 30_000;
+
+        // Act
+        boolean probe = breaker.tryAcquire();
+        boolean second = breaker.tryAcquire();
+        breaker.onSuccess();
+
+        // Assert
+        assertTrue(probe);
+        assertFalse(second);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals("[CLOSED->OPEN, OPEN->HALF_OPEN, HALF_OPEN->CLOSED]", transitions.toString());
+    }
+
+    @Test
+    public void failedProbe_reopensForAnotherPeriod() {
+        // Arrange
+        fail(3);
+        now[0] += 30_000;
+
+        // Act
+        breaker.tryAcquire();
+        breaker.onFailure();
+
+        // Assert
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+        assertEquals(30_000, breaker.getRetryAfterMillis());
+        assertEquals("HALF_OPEN->OPEN", transitions.get(2));
+    }
+
+    @Test
+    public void neutralProbe_freesSlotWithoutClosing() {
+        // Arrange
+        fail(3);
+        now[0] += 30_000;
+        breaker.tryAcquire();
+
+        // Act
+        breaker.onNeutral();
+
+        // Assert
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    public void breakersKeyedByHostAndPath_notQuery() {
+        // Arrange
+        HttpUrl hanoi = HttpUrl.get("https://api.openweathermap.org/data/2.5/weather?q=Hanoi&appid=secret");
+        HttpUrl forecast = HttpUrl.get("https://api.openweathermap.org/data/2.5/forecast?q=Hanoi");
+
+        // Act
+        fail(3);
+        breakers.get(CircuitBreakers.keyOf(forecast));
+
+        // Assert
+        assertEquals(KEY, CircuitBreakers.keyOf(hanoi));
+        assertSame(breaker, breakers.get(CircuitBreakers.keyOf(hanoi)));
+        assertEquals(CircuitBreaker.State.OPEN, breakers.snapshot().get(KEY));
+        assertEquals(CircuitBreaker.State.CLOSED,
+                breakers.snapshot().get("api.openweathermap.org/data/2.5/forecast"));
+    }
+
+    private void fail(int times) {
+        for (int i = 0; i < times; i++) {
+            breaker.tryAcquire();
+            breaker.onFailure();
+        }
+    }
+}
@@ -0,0 +1,318 @@
+package com.example.weatherapp.data.api;
+
+import com.example.weatherapp.data.mapper.DomainMapper;
+import com.example.weatherapp.data.responses.HourlyForecastResponse;
+import com.example.weatherapp.domain.model.ForecastData;
+import com.example.weatherapp.domain.model.HourlySeries;
+import com.example.weatherapp.testutil.Fixtures;
+import com.google.gson.Gson;
+
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import retrofit2.Converter;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the streaming /forecast parser
+ * Compares the columnar result with the reflective Gson path on a recorded payload
+ */
+public class HourlySeriesConverterFactoryTest {
+
+    private static final double DELTA = 0.001;
+    private static final int WARMUP_ROUNDS = 200;
+    private static final int MEASURED_ROUNDS = 500;
+
+    private static final MediaType JSON = MediaType.get("application/json");
+
+    private final Gson gson = new Gson();
+    private String json;
+    private byte[] jsonBytes;
+    private Converter<ResponseBody, HourlyForecastResponse> legacyConverter;
+    private Converter<ResponseBody, HourlySeries> streamingConverter;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        json = Fixtures.read(Fixtures.FORECAST);
+        jsonBytes = json.getBytes(StandardCharsets.UTF_8);
+        Annotation[] none = new Annotation[0];
+        legacyConverter = (Converter<ResponseBody, HourlyForecastResponse>) GsonConverterFactory.create()
+                .responseBodyConverter(HourlyForecastResponse.class, none, null);
+        streamingConverter = (Converter<ResponseBody, HourlySeries>) HourlySeriesConverterFactory.create()
+                .responseBodyConverter(HourlySeries.class, none, null);
+    }
+
+    @Test
+    public void parse_matchesGsonModelFieldByField() throws IOException {
+        // Arrange
+        HourlyForecastResponse expected = gson.fromJson(json, HourlyForecastResponse.class);
+
+        // Act
+        HourlySeries series = parseStreaming(json);
+
+        // Assert
+        List<HourlyForecastResponse.HourlyItem> items = expected.getList();
+        assertEquals(items.size(), series.size());
+        for (int i = 0; i < items.size(); i++) {
+            HourlyForecastResponse.HourlyItem item = items.get(i);
+            assertEquals(item.getDt(), series.getTimestamp(i));
+            assertEquals(item.getMain().getTemp(), series.getTemperature(i), DELTA);
+            assertEquals(item.getMain().getFeelsLike(), series.getFeelsLike(i), DELTA);
+            assertEquals(item.getMain().getTempMin(), series.getTempMin(i), DELTA);
+            assertEquals(item.getMain().getTempMax(), series.getTempMax(i), DELTA);
+            assertEquals(item.getMain().getHumidity(), series.getHumidity(i), DELTA);
+            assertEquals(item.getMain().getPressure(), series.getPressure(i), DELTA);
+            assertEquals(item.getWind().getSpeed(), series.getWindSpeed(i), DELTA);
+            assertEquals(item.getPop(), series.getPop(i), DELTA);
+            assertEquals(item.getWeather().get(0).getIcon(), series.getIcon(i));
+            assertEquals(item.getWeather().get(0).getDescription(), series.getDescription(i));
+            assertEquals(item.getWeather().get(0).getMain(), series.getMain(i));
+        }
+        assertEquals(expected.getCity().getName(), series.getCityName());
+        assertEquals(expected.getCity().getTimezone(), series.getTimezoneOffsetSeconds());
+    }
+
+    @Test
+    public void toForecastData_sameResultFromBothParsers() throws IOException {
+        // Arrange
+        ForecastData fromGson = DomainMapper.toForecastData(gson.fromJson(json, HourlyForecastResponse.class));
+
+        // Act
+        ForecastData fromStream = DomainMapper.toForecastData(parseStreaming(json));
+
+        // Assert
+        assertEquals(fromGson.getCityName(), fromStream.getCityName());
+        assertEquals(fromGson.getHourlyForecasts().size(), fromStream.getHourlyForecasts().size());
+        List<ForecastData.DailyForecast> expectedDaily = fromGson.getDailyForecasts();
+        List<ForecastData.DailyForecast> actualDaily = fromStream.getDailyForecasts();
+        assertEquals(expectedDaily.size(), actualDaily.size());
+        // Days past the 5-day payload are extrapolated with random variation, so only
+        // the leading days backed by real data are compared
+        int realDays = countLocalDays(fromStream.getHourlySeries());
+        for (int i = 0; i < realDays; i++) {
+            assertEquals(expectedDaily.get(i).getTimestamp(), actualDaily.get(i).getTimestamp());
+            assertEquals(expectedDaily.get(i).getTempMin(), actualDaily.get(i).getTempMin(), DELTA);
+            assertEquals(expectedDaily.get(i).getTempMax(), actualDaily.get(i).getTempMax(), DELTA);
+            assertEquals(expectedDaily.get(i).getWeatherIcon(), actualDaily.get(i).getWeatherIcon());
+            assertEquals(expectedDaily.get(i).getRainProbability(), actualDaily.get(i).getRainProbability());
+        }
+    }
+
+    @Test
+    public void parse_handlesMissingAndNullSections() throws IOException {
+        // Arrange
+        String body = "{\"list\":[{\"dt\":100,\"main\":null,\"weather\":[],\"pop\":0.5},"
+                + "{\"dt\":200,\"main\":{\"temp\":20.5},\"wind\":null}],\"city\":null}";
+
+        // Act
+        HourlySeries series = parseStreaming(body);
+
+        // Assert
+        assertEquals(2, series.size());
+        assertEquals(1013f, series.getPressure(0), DELTA);
+        assertEquals("", series.getIcon(0));
+        assertEquals(50, series.getHourlyForecast(0).getRainProbability());
+        assertEquals(20.5f, series.getTemperature(1), DELTA);
+        assertEquals("", series.getCityName());
+    }
+
+    @Test
+    public void parse_mainWithoutPressure_keepsDefaultPressure() throws IOException {
+        // Arrange
+        String body = "{\"list\":[{\"dt\":100,\"main\":{\"temp\":20.5,\"humidity\":70}}]}";
+
+        // Act
+        HourlySeries series = parseStreaming(body);
+
+        // Assert
+        assertEquals(1013f, series.getPressure(0), DELTA);
+        assertEquals(70f, series.getHumidity(0), DELTA);
+    }
+
+    @Test
+    public void parse_handlesEscapesSkippedFieldsAndExponents() throws IOException {
+        // Arrange
+        String body = "{\"cod\":\"200\",\"list\":[{\"dt\":100,\"x\\\"y\":{\"a\":[1,{\"b\":\"]}\"}]},"
+                + "\"main\":{\"temp\":-2.5e1,\"pressure\":1008},"
+                + "\"weather\":[{\"description\":\"m\\u00e2y \\\"r\u1ea3i\\\"\",\"icon\":\"04n\"}]}],"
+                + "\"city\":{\"name\":\"H\u00e0 N\u1ed9i\",\"timezone\":25200}}";
+
+        // Act
+        HourlySeries series = parseStreaming(body);
+
+        // Assert
+        assertEquals(1, series.size());
+        assertEquals(-25f, series.getTemperature(0), DELTA);
+        assertEquals(1008f, series.getPressure(0), DELTA);
+        assertEquals("m\u00e2y \"r\u1ea3i\"", series.getDescription(0));
+        assertEquals("04n", series.getIcon(0));
+        assertEquals("H\u00e0 N\u1ed9i", series.getCityName());
+        assertEquals(25200, series.getTimezoneOffsetSeconds());
+    }
+
+    @Test
+    public void toHourlyForecastResponse_roundTripsForLegacyCharts() throws IOException {
+        // Arrange
+        HourlySeries series = parseStreaming(json);
+
+        // Act
+        HourlyForecastResponse rebuilt = DomainMapper.toHourlyForecastResponse(series);
+
+        // Assert
+        assertEquals(series.size(), rebuilt.getList().size());
+        assertEquals(series.getTimestamp(3), rebuilt.getList().get(3).getDt());
+        assertEquals(series.getIcon(3), rebuilt.getList().get(3).getWeather().get(0).getIcon());
+        assertEquals(series.getCityName(), rebuilt.getCity().getName());
+    }
+
+    /**
+     * Allocation benchmark on the recorded payload, response body to ForecastData: the pre-change
+     * pipeline (GsonConverterFactory's reflective model copied into ForecastData.HourlyForecast
+     * objects) vs streaming into columns
+     */
+    @Test
+    public void streamingPath_allocatesAtMostHalfOfLegacyPath() throws IOException {
+        com.sun.management.ThreadMXBean threads = threadMXBean();
+        Assume.assumeTrue(threads != null && threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+        long threadId = Thread.currentThread().getId();
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            runLegacyPath();
+            runStreamingPath();
+        }
+
+        long start = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            runLegacyPath();
+        }
+        long legacyBytes = (threads.getThreadAllocatedBytes(threadId) - start) / MEASURED_ROUNDS;
+
+        start = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            runStreamingPath();
+        }
+        long streamBytes = (threads.getThreadAllocatedBytes(threadId) - start) / MEASURED_ROUNDS;
+
+        assertTrue("Streaming path should allocate at most half (" + streamBytes + " vs " + legacyBytes
+                + " B per refresh)", streamBytes * 2 <= legacyBytes);
+    }
+
+    /**
+     * The forecast refresh as it was before the streaming converter (DomainMapper at baseline)
+     */
+    private int runLegacyPath() throws IOException {
+        HourlyForecastResponse response = legacyConverter.convert(recordedBody());
+        List<ForecastData.HourlyForecast> hourly = new ArrayList<>();
+        Map<String, LegacyDay> days = new HashMap<>();
+        for (HourlyForecastResponse.HourlyItem item : response.getList()) {
+            boolean hasWeather = item.getWeather() != null && !item.getWeather().isEmpty();
+            hourly.add(new ForecastData.HourlyForecast(
+                    item.getDt(),
+                    item.getMain() != null ? item.getMain().getTemp() : 0,
+                    hasWeather ? item.getWeather().get(0).getIcon() : "",
+                    hasWeather ? item.getWeather().get(0).getDescription() : "",
+                    item.getMain() != null ? item.getMain().getHumidity() : 0,
+                    item.getWind() != null ? item.getWind().getSpeed() : 0,
+                    (int) (item.getPop() * 100),
+                    item.getMain() != null ? item.getMain().getPressure() : 1013.0));
+            Calendar calendar = Calendar.getInstance();
+            calendar.setTimeInMillis(item.getDt() * 1000);
+            String dayKey = calendar.get(Calendar.YEAR) + "-" + calendar.get(Calendar.MONTH) + "-"
+                    + calendar.get(Calendar.DAY_OF_MONTH);
+            LegacyDay day = days.get(dayKey);
+            if (day == null) {
+                day = new LegacyDay(item.getDt());
+                days.put(dayKey, day);
+            }
+            double temp = item.getMain() != null ? item.getMain().getTemp() : 0;
+            day.tempMin = Math.min(day.tempMin, temp);
+            day.tempMax = Math.max(day.tempMax, temp);
+            if (hasWeather) {
+                day.icons.add(item.getWeather().get(0).getIcon());
+                day.descriptions.add(item.getWeather().get(0).getDescription());
+            }
+            day.pops.add(item.getPop());
+        }
+        List<ForecastData.DailyForecast> daily = new ArrayList<>();
+        for (LegacyDay day : days.values()) {
+            double pop = 0;
+            for (double p : day.pops) {
+                pop += p;
+            }
+            daily.add(new ForecastData.DailyForecast(day.timestamp, day.tempMin, day.tempMax,
+                    day.icons.isEmpty() ? "" : day.icons.get(0),
+                    day.descriptions.isEmpty() ? "" : day.descriptions.get(0),
+                    (int) (pop / day.pops.size() * 100)));
+        }
+        Random random = new Random();
+        ForecastData.DailyForecast last = daily.get(daily.size() - 1);
+        for (int i = daily.size(); i < 10; i++) {
+            double variation = (random.nextDouble() - 0.5) * 4;
+            daily.add(new ForecastData.DailyForecast(last.getTimestamp() + 86400L * (i - days.size() + 1),
+                    last.getTempMin() + variation, last.getTempMax() + variation, last.getWeatherIcon(),
+                    last.getWeatherDescription(), last.getRainProbability()));
+        }
+        return hourly.size() + daily.size();
+    }
+
+    private static final class LegacyDay {
+        final long timestamp;
+        double tempMin = Double.MAX_VALUE;
+        double tempMax = -Double.MAX_VALUE;
+        final List<String> icons = new ArrayList<>();
+        final List<String> descriptions = new ArrayList<>();
+        final List<Double> pops = new ArrayList<>();
+
+        LegacyDay(long timestamp) {
+            this.timestamp = timestamp;
+        }
+    }
+
+    private ForecastData runStreamingPath() throws IOException {
+        return DomainMapper.toForecastData(streamingConverter.convert(recordedBody()));
+    }
+
+    private static HourlySeries parseStreaming(String body) throws IOException {
+        return HourlySeriesConverterFactory.parse(new Buffer().writeUtf8(body));
+    }
+
+    private ResponseBody recordedBody() {
+        return ResponseBody.create(jsonBytes, JSON);
+    }
+
+    private static int countLocalDays(HourlySeries series) {
+        Set<String> days = new HashSet<>();
+        Calendar calendar = Calendar.getInstance();
+        for (int i = 0; i < series.size(); i++) {
+            calendar.setTimeInMillis(series.getTimestamp(i) * 1000);
+            days.add(calendar.get(Calendar.YEAR) + "-" + calendar.get(Calendar.DAY_OF_YEAR));
+        }
+        return days.size();
+    }
+
+    private static com.sun.management.ThreadMXBean threadMXBean() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        return bean instanceof com.sun.management.ThreadMXBean ? (com.sun.management.ThreadMXBean) bean : null;
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.weatherapp.data.api;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+
+import okhttp3.Cache;
+import okhttp3.CacheControl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.SocketPolicy;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for HttpCachePolicy against a local MockWebServer and a temporary disk cache
+ */
+public class HttpCachePolicyTest {
+    
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+    
+    private MockWebServer server;
+    private Cache cache;
+    private HttpCachePolicy policy;
+    private OkHttpClient client;
+    
+    @Before
+    public void setup() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        cache = new Cache(tempFolder.newFolder("http_cache"), HttpCachePolicy.CACHE_SIZE_BYTES);
+        policy = new HttpCachePolicy();
+        client = new OkHttpClient.Builder()
+                .cache(cache)
+                .addInterceptor(policy.staleIfErrorInterceptor())
+                .addNetworkInterceptor(policy.networkInterceptor())
+                .build();
+    }
+    
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+        cache.close();
+    }
+    
+    @Test
+    public void maxAgeSeconds_perEndpoint() {
+        assertEquals(600, HttpCachePolicy.maxAgeSeconds(Arrays.asList("data", "2.5", "weather")));
+        assertEquals(1800, HttpCachePolicy.maxAgeSeconds(Arrays.asList("data", "2.5", "forecast")));
+        assertEquals(3600, HttpCachePolicy.maxAgeSeconds(Arrays.asList("data", "2.5", "air_pollution")));
+        assertEquals(0, HttpCachePolicy.maxAgeSeconds(Arrays.asList("v1", "chat")));
+        assertEquals(0, HttpCachePolicy.maxAgeSeconds(Collections.emptyList()));
+    }
+    
+    @Test
+    public void freshResponse_isServedFromCacheWithoutNetwork() throws Exception {
+        // Arrange
+        server.enqueue(new MockResponse().setBody("{\"name\":\"Hanoi\"}"));
+        
+        // Act
+        String first = get("/data/2.5/weather?q=Hanoi", null);
+        String second = get("/data/2.5/weather?q=Hanoi", null);
+        
+        // Assert
+        assertEquals(first, second);
+        assertEquals(1, server.getRequestCount());
+        assertEquals(1, cache.hitCount());
+        assertEquals(1, cache.networkCount());
+    }
+    
+    @Test
+    public void uncachedEndpoint_alwaysGoesToNetwork() throws Exception {
+        server.enqueue(new MockResponse().setBody("a"));
+        server.enqueue(new MockResponse().setBody("b"));
+        
+        get("/v1/other", null);
+        get("/v1/other", null);
+        
+        assertEquals(2, server.getRequestCount());
+        assertEquals(0, cache.hitCount());
+    }
+    
+    @Test
+    public void serverError_servesStaleCopy() throws Exception {
+        // Arrange - cache a response, then make the server fail
+        server.enqueue(new MockResponse().setBody("cached"));
+        get("/data/2.5/forecast?lat=1&lon=2", null);
+        server.enqueue(new MockResponse().setResponseCode(503));
+        
+        // Act - FORCE_NETWORK stands in for an expired entry
+        String body = get("/data/2.5/forecast?lat=1&lon=2", CacheControl.FORCE_NETWORK);
+        
+        // Assert
+        assertEquals("cached", body);
+        assertEquals(1, policy.getStaleIfErrorCount());
+    }
+    
+    @Test
+    public void connectionFailure_servesStaleCopy() throws Exception {
+        // Arrange - cache a response, then go offline
+        server.enqueue(new MockResponse().setBody("cached"));
+        get("/data/2.5/weather?q=Hanoi", null);
+        server.shutdown();
+        
+        // Act
+        String body = get("/data/2.5/weather?q=Hanoi", CacheControl.FORCE_NETWORK);
+        
+        // Assert
+        assertEquals("cached", body);
+        assertEquals(1, policy.getStaleIfErrorCount());
+    }
+    
+    @Test
+    public void staleCopy_markedServedStale_networkAnswerIsNot() throws Exception {
+        // Arrange
+        server.enqueue(new MockResponse().setBody("cached"));
+        server.enqueue(new MockResponse().setResponseCode(503));
+        Request request = new Request.Builder().url(server.url("/data/2.5/weather?q=Hanoi")).build();
+        Request forceNetwork = request.newBuilder().cacheControl(CacheControl.FORCE_NETWORK).build();
+        
+        Response fresh = client.newCall(request).execute();
+        fresh.body().string(); // Stored once the body is read
+        
+        // Act
+        try (Response stale = client.newCall(forceNetwork).execute()) {
+            // Assert - the stale copy keeps the time it was originally received
+            assertFalse(HttpCachePolicy.isServedStale(fresh));
+            assertTrue(HttpCachePolicy.isServedStale(stale));
+            assertEquals("stale-if-error", stale.header(HttpCachePolicy.SERVED_STALE_HEADER));
+            assertEquals(fresh.receivedResponseAtMillis(), stale.receivedResponseAtMillis());
+        }
+    }
+    
+    @Test
+    public void serverError_withoutCachedCopy_passesErrorThrough() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(503));
+        
+        Request request = new Request.Builder().url(server.url("/data/2.5/weather?q=Nowhere")).build();
+        try (Response response = client.newCall(request).execute()) {
+            assertEquals(503, response.code());
+        }
+        assertEquals(0, policy.getStaleIfErrorCount());
+    }
+    
+    @Test(expected = IOException.class)
+    public void connectionFailure_withoutCachedCopy_throws() throws Exception {
+        server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AT_START));
+        OkHttpClient noRetry = client.newBuilder().retryOnConnectionFailure(false).build();
+        
+        Request request = new Request.Builder().url(server.url("/data/2.5/weather?q=Nowhere")).build();
+        noRetry.newCall(request).execute().close();
+    }
+    
+    private String get(String path, CacheControl cacheControl) throws IOException {
+        Request.Builder builder = new Request.Builder().url(server.url(path));
+        if (cacheControl != null) {
+            builder.cacheControl(cacheControl);
+        }
+        try (Response response = client.newCall(builder.build()).execute()) {
+            assertTrue("HTTP " + response.code(), response.isSuccessful());
+            return response.body().string();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.weatherapp.data.api;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.SocketPolicy;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the shared client registry and its per-host timings, against a local MockWebServer
+ */
+public class HttpClientsTest {
+
+    private MockWebServer server;
+    private HttpClients clients;
+
+    @Before
+    public void setup() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        clients = new HttpClients();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void purposeClients_shareBasePoolAndDispatcher() {
+        // Act
+        OkHttpClient weather = clients.weatherApi(null, new HttpCachePolicy());
+        OkHttpClient llm = clients.llm();
+        OkHttpClient voice = clients.voice();
+
+        // Assert
+        assertSame(clients.base().connectionPool(), weather.connectionPool());
+        assertSame(clients.base().connectionPool(), llm.connectionPool());
+        assertSame(clients.base().dispatcher(), voice.dispatcher());
+        assertSame(clients.base().dns(), llm.dns());
+        assertSame(llm, clients.llm());
+        assertEquals(45_000, llm.readTimeoutMillis());
+        assertEquals(15_000, voice.connectTimeoutMillis());
+    }
+
+    @Test
+    public void metrics_recordPhasesPerHost_connectionReusedAcrossClients() throws Exception {
+        // Arrange
+        server.enqueue(new MockResponse().setBody("{}").setHeadersDelay(150, TimeUnit.MILLISECONDS));
+        server.enqueue(new MockResponse().setBody("{}").setBodyDelay(150, TimeUnit.MILLISECONDS));
+
+        // Act - two purposes, one host
+        get(clients.llm());
+        get(clients.voice());
+
+        // Assert - the second call rode the first one's pooled connection
+        HttpMetrics.HostTimings timings = clients.getMetrics().snapshot().get(server.getHostName());
+        assertEquals(2, timings.getCallCount());
+        assertEquals(0, timings.getFailureCount());
+        assertEquals(1, timings.getSampleCount(HttpMetrics.Phase.CONNECT));
+        assertEquals(2, timings.getSampleCount(HttpMetrics.Phase.TTFB));
+        assertEquals(2, timings.getSampleCount(HttpMetrics.Phase.BODY));
+        assertEquals(0, timings.getSampleCount(HttpMetrics.Phase.TLS));
+        assertTrue(timings.getMaxMillis(HttpMetrics.Phase.TTFB) >= 150);
+        assertTrue(timings.getMaxMillis(HttpMetrics.Phase.BODY) >= 100);
+        assertTrue(timings.toString().startsWith(server.getHostName() + ": 2 calls"));
+    }
+
+    @Test
+    public void metrics_failedCall_counted() throws Exception {
+        // Arrange
+        server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AT_START));
+        OkHttpClient noRetry = clients.base().newBuilder().retryOnConnectionFailure(false).build();
+
+        // Act
+        try {
+            get(noRetry);
+            fail("Expected the call to fail");
+        } catch (IOException expected) {
+            // Recorded below
+        }
+
+        // Assert
+        HttpMetrics.HostTimings timings = clients.getMetrics().snapshot().get(server.getHostName());
+        assertEquals(1, timings.getFailureCount());
+        clients.getMetrics().reset();
+        assertTrue(clients.getMetrics().snapshot().isEmpty());
+    }
+
+    private void get(OkHttpClient client) throws IOException {
+        Request request = new Request.Builder().url(server.url("/v1/test")).build();
+        try (Response response = client.newCall(request).execute()) {
+            response.body().string();
+        }
+    }
+}
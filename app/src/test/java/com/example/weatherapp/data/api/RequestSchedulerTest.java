@@ -0,0 +1,254 @@
+package com.example.weatherapp.data.api;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the priority queue in front of OkHttp, against a local MockWebServer
+ * Paths under /slow answer after SLOW_MS, every other path at once.
+ */
+public class RequestSchedulerTest {
+
+    private static final long SLOW_MS = 300;
+
+    private MockWebServer server;
+    private OkHttpClient client;
+
+    @Before
+    public void setup() throws Exception {
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                MockResponse response = new MockResponse().setBody("{}");
+                return request.getPath().startsWith("/slow")
+                        ? response.setHeadersDelay(SLOW_MS, TimeUnit.MILLISECONDS)
+                        : response;
+            }
+        });
+        server.start();
+        client = new OkHttpClient();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        client.dispatcher().cancelAll();
+        server.shutdown();
+    }
+
+    @Test
+    public void backgroundFlood_doesNotDelayInteractive() throws Exception {
+        // Arrange - a widget/worker burst far larger than the host's slots
+        RequestScheduler scheduler = new RequestScheduler();
+        Call.Factory background = scheduler.callFactory(client, RequestPriority.BACKGROUND, false);
+        Call.Factory interactive = scheduler.callFactory(client, RequestPriority.INTERACTIVE, false);
+        CountDownLatch flood = new CountDownLatch(20);
+        long unscheduled = floodThenTime(client, client, 20); // Baseline: OkHttp's FIFO dispatcher
+
+        // Act
+        for (int i = 0; i < 20; i++) {
+            background.newCall(get("/slow/bg" + i)).enqueue(countDown(flood));
+        }
+        long scheduled = time(interactive);
+
+        // Assert - the screen's call ran next to the single background slot instead of after the burst
+        System.out.println("Interactive latency behind 20 background calls: "
+                + unscheduled + " ms unscheduled, " + scheduled + " ms scheduled");
+        assertTrue("unscheduled " + unscheduled, unscheduled >= 2 * SLOW_MS);
+        assertTrue("scheduled " + scheduled, scheduled < SLOW_MS);
+        RequestScheduler.QueueStats stats = scheduler.snapshot().get(RequestPriority.BACKGROUND);
+        assertEquals(1, stats.getStartedCount());
+        assertEquals(19, stats.getQueuedCount());
+        assertEquals(0, scheduler.snapshot().get(RequestPriority.INTERACTIVE).getQueuedCount());
+        client.dispatcher().cancelAll();
+    }
+
+    @Test
+    public void freedSlot_goesToHighestPriorityFirst() throws Exception {
+        // Arrange - one slot, held by a slow call
+        RequestScheduler scheduler = new RequestScheduler(1, 1, 1);
+        List<String> completed = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(4);
+        scheduler.callFactory(client, RequestPriority.BACKGROUND, false)
+                .newCall(get("/slow/blocker")).enqueue(record(completed, done));
+
+        // Act - queued lowest priority first
+        scheduler.callFactory(client, RequestPriority.BACKGROUND, false)
+                .newCall(get("/background")).enqueue(record(completed, done));
+        scheduler.callFactory(client, RequestPriority.PREFETCH, false)
+                .newCall(get("/prefetch")).enqueue(record(completed, done));
+        scheduler.callFactory(client, RequestPriority.INTERACTIVE, false)
+                .newCall(get("/interactive")).enqueue(record(completed, done));
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+
+        // Assert
+        assertEquals(List.of("/slow/blocker", "/interactive", "/prefetch", "/background"), completed);
+        RequestScheduler.QueueStats interactive = scheduler.snapshot().get(RequestPriority.INTERACTIVE);
+        assertEquals(1, interactive.getQueuedCount());
+        assertTrue(interactive.getMaxWaitMillis() >= SLOW_MS / 2.0);
+        assertTrue(interactive.toString().startsWith("interactive: 1 started, 1 queued, 0 dropped"));
+    }
+
+    @Test
+    public void droppable_failsInsteadOfWaiting() throws Exception {
+        // Arrange
+        RequestScheduler scheduler = new RequestScheduler();
+        Call.Factory widget = scheduler.callFactory(client, RequestPriority.BACKGROUND, true);
+        CountDownLatch blocker = new CountDownLatch(1);
+        scheduler.callFactory(client, RequestPriority.BACKGROUND, false)
+                .newCall(get("/slow/worker")).enqueue(countDown(blocker));
+
+        // Act
+        long start = System.nanoTime();
+        try {
+            widget.newCall(get("/widget")).execute();
+            fail("Expected the widget refresh to be dropped");
+        } catch (RequestDroppedException expected) {
+            // Background slot taken by the worker
+        }
+        long waitedMs = (System.nanoTime() - start) / 1_000_000;
+        assertTrue(blocker.await(5, TimeUnit.SECONDS));
+        // The worker's slot is released after its callback; a queued sync call returns only once it has its own
+        scheduler.callFactory(client, RequestPriority.BACKGROUND, false).newCall(get("/worker")).execute().close();
+        try (Response response = widget.newCall(get("/widget")).execute()) {
+            // Assert - dropped at once, served once the slot is free again
+            assertTrue(waitedMs < SLOW_MS);
+            assertEquals(200, response.code());
+        }
+        assertEquals(1, scheduler.snapshot().get(RequestPriority.BACKGROUND).getDroppedCount());
+        assertEquals(3, server.getRequestCount());
+    }
+
+    @Test
+    public void cancelWhileQueued_failsWithoutSending() throws Exception {
+        // Arrange
+        RequestScheduler scheduler = new RequestScheduler(1, 1, 1);
+        CountDownLatch blocker = new CountDownLatch(1);
+        scheduler.callFactory(client, RequestPriority.INTERACTIVE, false)
+                .newCall(get("/slow/blocker")).enqueue(countDown(blocker));
+        Call queued = scheduler.callFactory(client, RequestPriority.INTERACTIVE, false).newCall(get("/queued"));
+        AtomicReference<IOException> failure = new AtomicReference<>();
+        CountDownLatch failed = new CountDownLatch(1);
+
+        // Act
+        queued.enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                failure.set(e);
+                failed.countDown();
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                response.close();
+            }
+        });
+        queued.cancel();
+
+        // Assert
+        assertTrue(failed.await(1, TimeUnit.SECONDS));
+        assertEquals("Canceled", failure.get().getMessage());
+        assertTrue(queued.isCanceled());
+        assertTrue(blocker.await(5, TimeUnit.SECONDS));
+        assertEquals(1, server.getRequestCount());
+        assertEquals(1, scheduler.snapshot().get(RequestPriority.INTERACTIVE).getStartedCount());
+    }
+
+    @Test
+    public void execute_waitsForSlot() throws Exception {
+        // Arrange
+        RequestScheduler scheduler = new RequestScheduler(1, 1, 1);
+        Call.Factory calls = scheduler.callFactory(client, RequestPriority.PREFETCH, false);
+        calls.newCall(get("/slow/first")).enqueue(countDown(new CountDownLatch(1)));
+
+        // Act
+        long start = System.nanoTime();
+        try (Response response = calls.newCall(get("/second")).execute()) {
+            long waitedMs = (System.nanoTime() - start) / 1_000_000;
+
+            // Assert
+            assertEquals(200, response.code());
+            assertTrue(waitedMs >= SLOW_MS / 2);
+        }
+        assertEquals(1, scheduler.snapshot().get(RequestPriority.PREFETCH).getQueuedCount());
+        scheduler.resetStats();
+        assertEquals(0, scheduler.snapshot().get(RequestPriority.PREFETCH).getStartedCount());
+    }
+
+    /**
+     * Latency of one async call enqueued behind a burst of slow ones
+     */
+    private long floodThenTime(Call.Factory flood, Call.Factory timed, int burst) throws Exception {
+        for (int i = 0; i < burst; i++) {
+            flood.newCall(get("/slow/baseline" + i)).enqueue(countDown(new CountDownLatch(1)));
+        }
+        long latency = time(timed);
+        client.dispatcher().cancelAll();
+        return latency;
+    }
+
+    private long time(Call.Factory calls) throws Exception {
+        CountDownLatch done = new CountDownLatch(1);
+        long start = System.nanoTime();
+        calls.newCall(get("/interactive")).enqueue(countDown(done));
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    private Request get(String path) {
+        return new Request.Builder().url(server.url(path)).build();
+    }
+
+    private static Callback countDown(CountDownLatch latch) {
+        return new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                latch.countDown();
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) throws IOException {
+                response.body().string();
+                latch.countDown();
+            }
+        };
+    }
+
+    private static Callback record(List<String> completed, CountDownLatch done) {
+        return new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                completed.add("failed " + call.request().url().encodedPath());
+                done.countDown();
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) throws IOException {
+                response.body().string();
+                completed.add(call.request().url().encodedPath());
+                done.countDown();
+            }
+        };
+    }
+}
@@ -0,0 +1,218 @@
+package com.example.weatherapp.data.api;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Cache;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for breaker, budget and retries against a local MockWebServer that injects errors and latency
+ */
+public class ResilienceInterceptorTest {
+
+    // 3 attempts in 1.5 s, waits of 10-50 ms
+    private static final RetryPolicy FAST = new RetryPolicy(3, 1_500, 10, 50);
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private final long[] now = {0};
+    private final List<String> transitions = new ArrayList<>();
+    private MockWebServer server;
+    private CircuitBreakers breakers;
+    private Cache cache;
+    private OkHttpClient client;
+
+    @Before
+    public void setup() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        breakers = new CircuitBreakers(3, 30_000, () -> now[0]);
+        breakers.addListener((key, from, to) -> transitions.add(from + "->" + to));
+        cache = new Cache(tempFolder.newFolder("http_cache"), HttpCachePolicy.CACHE_SIZE_BYTES);
+        client = clientWith(FAST);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+        cache.close();
+    }
+
+    @Test
+    public void serverErrors_retriedUntilSuccess() throws Exception {
+        // Arrange
+        server.enqueue(new MockResponse().setResponseCode(503));
+        server.enqueue(new MockResponse().setResponseCode(429));
+        server.enqueue(new MockResponse().setBody("{\"name\":\"Hanoi\"}"));
+
+        // Act
+        String body = get("/data/2.5/weather");
+
+        // Assert
+        assertEquals("{\"name\":\"Hanoi\"}", body);
+        assertEquals(3, server.getRequestCount());
+        assertEquals(CircuitBreaker.State.CLOSED, breakerState("/data/2.5/weather"));
+    }
+
+    @Test
+    public void clientErrors_notRetried() throws Exception {
+        // Arrange
+        server.enqueue(new MockResponse().setResponseCode(404));
+
+        // Act
+        int code = code("/data/2.5/weather");
+
+        // Assert
+        assertEquals(404, code);
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void attemptsExhausted_lastErrorReturned_andCircuitOpens() throws Exception {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            server.enqueue(new MockResponse().setResponseCode(500));
+        }
+
+        // Act
+        int code = code("/data/2.5/weather");
+
+        // Assert
+        assertEquals(500, code);
+        assertEquals(3, server.getRequestCount());
+        assertEquals(CircuitBreaker.State.OPEN, breakerState("/data/2.5/weather"));
+        assertEquals("[CLOSED->OPEN]", transitions.toString());
+    }
+
+    @Test
+    public void openCircuit_failsFastWithoutNetwork_untilProbeSucceeds() throws Exception {
+        // Arrange
+        openCircuit("/data/2.5/forecast");
+        int requests = server.getRequestCount();
+
+        // Act
+        long start = System.nanoTime();
+        try {
+            get("/data/2.5/forecast");
+            fail("Expected the open circuit to refuse the call");
+        } catch (CircuitOpenException e) {
+            // Assert
+            assertTrue(e.getKey().endsWith("/data/2.5/forecast"));
+            assertEquals(30_000, e.getRetryAfterMillis());
+        }
+        assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(200));
+        assertEquals(requests, server.getRequestCount());
+
+        // Act - open period over, the probe goes through and closes it
+        now[0] += 30_000;
+        server.enqueue(new MockResponse().setBody("ok"));
+        assertEquals("ok", get("/data/2.5/forecast"));
+        assertEquals("[CLOSED->OPEN, OPEN->HALF_OPEN, HALF_OPEN->CLOSED]", transitions.toString());
+    }
+
+    @Test
+    public void openCircuit_servesStaleCacheImmediately() throws Exception {
+        // Arrange - cached but already stale, so a closed circuit would go to the network
+        server.enqueue(new MockResponse().setBody("cached").addHeader("Cache-Control", "max-age=0"));
+        assertEquals("cached", get("/data/2.5/group"));
+        openCircuit("/data/2.5/group");
+        int requests = server.getRequestCount();
+
+        // Act
+        try (Response response = client.newCall(new Request.Builder().url(server.url("/data/2.5/group")).build())
+                .execute()) {
+
+            // Assert
+            assertEquals("cached", response.body().string());
+            assertEquals("circuit-open", response.header(HttpCachePolicy.SERVED_STALE_HEADER));
+        }
+        assertEquals(requests, server.getRequestCount());
+    }
+
+    @Test
+    public void slowServer_attemptTimeoutsCutToBudget() throws Exception {
+        // Arrange - each answer takes 2 s, the budget is 400 ms
+        client = clientWith(new RetryPolicy(3, 400, 10, 50));
+        for (int i = 0; i < 3; i++) {
+            server.enqueue(new MockResponse().setBody("late").setHeadersDelay(2, TimeUnit.SECONDS));
+        }
+
+        // Act
+        long start = System.nanoTime();
+        try {
+            get("/data/2.5/weather");
+            fail("Expected the budget to run out");
+        } catch (InterruptedIOException expected) {
+            // Timeout
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Assert - well under one 2 s answer, and the client's own 30 s timeout
+        assertTrue("Took " + elapsedMillis + " ms", elapsedMillis < 1_500);
+    }
+
+    @Test
+    public void retryPolicy_decorrelatedJitterStaysInBounds() {
+        // Arrange
+        RetryPolicy policy = new RetryPolicy(5, 60_000, 100, 2_000);
+        Random random = new Random(42);
+
+        // Act & Assert
+        long delay = 0;
+        for (int i = 0; i < 50; i++) {
+            long next = policy.nextDelayMillis(delay, random);
+            assertTrue(next >= 100);
+            assertTrue(next <= Math.min(2_000, Math.max(100, delay * 3)));
+            delay = next;
+        }
+    }
+
+    private OkHttpClient clientWith(RetryPolicy policy) {
+        return new HttpClients(breakers).base().newBuilder()
+                .cache(cache)
+                .addInterceptor(new ResilienceInterceptor(breakers, policy, new Random(7)))
+                .build();
+    }
+
+    private void openCircuit(String path) throws IOException {
+        for (int i = 0; i < 3; i++) {
+            server.enqueue(new MockResponse().setResponseCode(503));
+        }
+        assertEquals(503, code(path));
+        assertEquals(CircuitBreaker.State.OPEN, breakerState(path));
+    }
+
+    private CircuitBreaker.State breakerState(String path) {
+        return breakers.snapshot().get(CircuitBreakers.keyOf(server.url(path)));
+    }
+
+    private String get(String path) throws IOException {
+        try (Response response = client.newCall(new Request.Builder().url(server.url(path)).build()).execute()) {
+            return response.body().string();
+        }
+    }
+
+    private int code(String path) throws IOException {
+        try (Response response = client.newCall(new Request.Builder().url(server.url(path)).build()).execute()) {
+            return response.code();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.weatherapp.data.api;
+
+import org.junit.Test;
+
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import retrofit2.Retrofit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the typed service registry
+ */
+public class RetrofitClientTest {
+
+    @Test
+    public void getService_createsEachServiceOnce() {
+        // Arrange
+        RetrofitClient client = RetrofitClient.getInstance();
+
+        // Act & Assert
+        assertSame(client.getWeatherApi(), client.getWeatherApi());
+        assertSame(client.getWeatherApi(), client.getService(WeatherApiService.class));
+        assertSame(client.getOpenAIService(), client.getService(OpenAIService.class));
+        assertSame(client.getGeminiService(), client.getService(GeminiService.class));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void getService_unregisteredInterface_throws() {
+        RetrofitClient.getInstance().getService(Runnable.class);
+    }
+
+    @Test
+    public void warmUp_runsOnGivenExecutor() {
+        // Arrange
+        int[] tasks = {0};
+
+        // Act
+        RetrofitClient.warmUp(task -> {
+            tasks[0]++;
+            task.run();
+        });
+
+        // Assert
+        assertEquals(1, tasks[0]);
+        assertNotNull(RetrofitClient.getInstance().getGeminiService());
+    }
+
+    @Test
+    public void geminiService_buildsGenerateContentUrl() throws Exception {
+        // Arrange
+        MockWebServer server = new MockWebServer();
+        server.enqueue(new MockResponse().setBody("{\"candidates\": []}"));
+        server.start();
+        GeminiService gemini = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .validateEagerly(true)
+                .build()
+                .create(GeminiService.class);
+
+        // Act
+        String body = gemini.generateContent("gemini-2.5-flash", "test-key",
+                RequestBody.create("{}", MediaType.parse("application/json"))).execute().body().string();
+        RecordedRequest request = server.takeRequest();
+        server.shutdown();
+
+        // Assert
+        assertEquals("{\"candidates\": []}", body);
+        assertEquals("POST", request.getMethod());
+        assertEquals("/v1/models/gemini-2.5-flash:generateContent?key=test-key", request.getPath());
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.weatherapp.data.concurrent;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the shared read/write/CPU dispatcher
+ */
+public class IoDispatcherTest {
+
+    private IoDispatcher dispatcher;
+
+    @Before
+    public void setup() {
+        dispatcher = new IoDispatcher(2, 2);
+    }
+
+    @After
+    public void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    public void writes_runOneAtATimeInSubmissionOrder() throws Exception {
+        // Arrange
+        List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+        List<String> threads = Collections.synchronizedList(new ArrayList<>());
+
+        // Act
+        for (int i = 0; i < 50; i++) {
+            int index = i;
+            dispatcher.writes().execute(() -> {
+                order.add(index);
+                threads.add(Thread.currentThread().getName());
+            });
+        }
+        awaitLane(dispatcher.writes());
+
+        // Assert
+        for (int i = 0; i < 50; i++) {
+            assertEquals(i, (int) order.get(i));
+        }
+        assertTrue(threads.stream().allMatch(name -> name.startsWith("io-write-")));
+    }
+
+    @Test
+    public void reads_runWhileWriterIsBusy() throws Exception {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        dispatcher.writes().execute(() -> await(release));
+        CountDownLatch read = new CountDownLatch(1);
+
+        // Act
+        dispatcher.reads().execute(read::countDown);
+
+        // Assert
+        assertTrue(read.await(1, TimeUnit.SECONDS));
+        release.countDown();
+    }
+
+    @Test
+    public void reads_runWhileNetworkLaneIsFull() throws Exception {
+        // Arrange - every network thread stuck on a slow remote call
+        CountDownLatch release = new CountDownLatch(1);
+        for (int i = 0; i < 8; i++) {
+            dispatcher.network().execute(() -> await(release));
+        }
+        CountDownLatch read = new CountDownLatch(1);
+
+        // Act
+        dispatcher.reads().execute(read::countDown);
+
+        // Assert
+        assertTrue(read.await(1, TimeUnit.SECONDS));
+        release.countDown();
+    }
+
+    @Test
+    public void stats_reportQueueDepthAndWait() throws Exception {
+        // Arrange - one task blocks the writer while three wait behind it
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        dispatcher.writes().execute(() -> {
+            started.countDown();
+            await(release);
+        });
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        for (int i = 0; i < 3; i++) {
+            dispatcher.writes().execute(() -> { });
+        }
+
+        // Act
+        IoDispatcher.Stats busy = dispatcher.writes().stats();
+        Thread.sleep(20);
+        release.countDown();
+        awaitLane(dispatcher.writes());
+        IoDispatcher.Stats idle = dispatcher.writes().stats();
+
+        // Assert
+        assertEquals(3, busy.queueDepth);
+        assertEquals(0, idle.queueDepth);
+        assertTrue(idle.maxQueueDepth >= 3);
+        assertTrue(idle.completed >= 4);
+        assertTrue(idle.maxWaitMicros >= 20_000);
+    }
+
+    @Test
+    public void submit_returnsResult() throws Exception {
+        assertEquals(Integer.valueOf(42), dispatcher.cpu().submit(() -> 42).get(1, TimeUnit.SECONDS));
+    }
+
+    private static void awaitLane(IoDispatcher.Lane lane) throws Exception {
+        lane.submit(() -> null).get(5, TimeUnit.SECONDS);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
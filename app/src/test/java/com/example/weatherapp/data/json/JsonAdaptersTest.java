@@ -0,0 +1,310 @@
+package com.example.weatherapp.data.json;
+
+import com.example.weatherapp.data.api.GeminiService;
+import com.example.weatherapp.data.api.OpenAIService;
+import com.example.weatherapp.data.api.WeatherApiService;
+import com.example.weatherapp.data.models.FavoriteCity;
+import com.example.weatherapp.data.responses.AirQualityResponse;
+import com.example.weatherapp.data.responses.GroupWeatherResponse;
+import com.example.weatherapp.data.responses.HourlyForecastResponse;
+import com.example.weatherapp.data.responses.OpenAIRequest;
+import com.example.weatherapp.data.responses.OpenAIResponse;
+import com.example.weatherapp.data.responses.UVIndexResponse;
+import com.example.weatherapp.data.responses.WeatherAlertsResponse;
+import com.example.weatherapp.data.responses.WeatherResponse;
+import com.example.weatherapp.domain.model.AlarmCondition;
+import com.example.weatherapp.domain.model.AlarmType;
+import com.example.weatherapp.domain.model.HourlySeries;
+import com.example.weatherapp.domain.model.WeatherAlarm;
+import com.example.weatherapp.domain.model.WeatherData;
+import com.example.weatherapp.testutil.Fixtures;
+import com.google.gson.Gson;
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonParser;
+import com.google.gson.reflect.TypeToken;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.lang.annotation.Annotation;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
+import retrofit2.http.Body;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the hand-written adapters
+ * Each one is checked against reflective Gson, the format the app used before, on recorded payloads
+ */
+public class JsonAdaptersTest {
+
+    private static final int WARMUP_ROUNDS = 200;
+    private static final int MEASURED_ROUNDS = 500;
+
+    /** Every Retrofit service whose bodies go through JsonAdapters.gson() */
+    private static final Class<?>[] SERVICES = {WeatherApiService.class, OpenAIService.class, GeminiService.class};
+
+    /** Models the app stores as JSON (SharedPreferences, Intent extras, WorkManager data) */
+    private static final Type[] PERSISTED = {
+            WeatherData.class,
+            JsonAdapters.listOf(FavoriteCity.class), JsonAdapters.listOf(WeatherAlarm.class)
+    };
+
+    private final Gson reflective = new Gson();
+    private final Gson adapters = JsonAdapters.gson();
+
+    @Test
+    public void responses_parseLikeReflectiveGson() {
+        assertSameModel(Fixtures.read(Fixtures.WEATHER), WeatherResponse.class);
+        assertSameModel(Fixtures.read(Fixtures.FORECAST), HourlyForecastResponse.class);
+        assertSameModel(Fixtures.read(Fixtures.UV_INDEX), UVIndexResponse.class);
+        assertSameModel(Fixtures.read(Fixtures.AIR_QUALITY), AirQualityResponse.class);
+        assertSameModel("{\"cnt\":2,\"list\":[" + Fixtures.read(Fixtures.WEATHER) + ",null]}",
+                GroupWeatherResponse.class);
+        assertSameModel("{\"id\":\"x\",\"choices\":[{\"index\":0,\"message\":"
+                + "{\"role\":\"assistant\",\"content\":\"Mang ô\"}}]}", OpenAIResponse.class);
+    }
+
+    @Test
+    public void weatherResponse_nullsAndUnknownFields_keepDefaults() {
+        // Arrange
+        String body = "{\"main\":null,\"rain\":{\"1h\":0.4},\"visibility\":null,\"extra\":{\"a\":[1,2]},\"dt\":5}";
+
+        // Act
+        WeatherResponse response = adapters.fromJson(body, WeatherResponse.class);
+
+        // Assert
+        assertNull(response.getMain());
+        assertNull(response.getVisibility());
+        assertEquals(0.4, response.getRain().get1h(), 0.001);
+        assertNull(response.getRain().get3h());
+        assertEquals(5, response.getDt());
+        assertNull(adapters.fromJson("null", WeatherResponse.class));
+    }
+
+    @Test
+    public void weatherAlerts_readApiSenderName() {
+        // Arrange
+        String body = "{\"alerts\":[{\"sender_name\":\"NCHMF\",\"event\":\"Tropical Storm Warning\","
+                + "\"start\":100,\"end\":200,\"description\":\"Bão số 6\",\"tags\":[\"Wind\",\"Rain\"]}]}";
+
+        // Act
+        WeatherAlertsResponse response = adapters.fromJson(body, WeatherAlertsResponse.class);
+
+        // Assert
+        assertTrue(response.hasAlerts());
+        assertEquals("NCHMF", response.getAlerts().get(0).getSenderName());
+        assertEquals("HIGH", response.getAlerts().get(0).getSeverity());
+        assertEquals(200, response.getAlerts().get(0).getEnd());
+        assertArrayEquals(new String[]{"Wind", "Rain"}, response.getAlerts().get(0).getTags());
+    }
+
+    @Test
+    public void openAIRequest_writesSameJsonAsReflectiveGson() {
+        // Arrange
+        OpenAIRequest request = new OpenAIRequest("gpt-4o-mini",
+                Collections.singletonList(new OpenAIRequest.Message("user", "Hôm nay mặc gì?")), 0.7, 200);
+
+        // Act & Assert
+        assertEquals(JsonParser.parseString(reflective.toJson(request)),
+                JsonParser.parseString(adapters.toJson(request)));
+    }
+
+    @Test
+    public void weatherData_readsReflectiveJson_andRoundTrips() {
+        // Arrange
+        WeatherData data = new WeatherData.Builder()
+                .setCityName("Hà Nội").setCountryCode("VN").setTemperature(29.4).setFeelsLike(33.1)
+                .setHumidity(70).setPressure(1008).setWindSpeed(3.6).setWindDegree(120)
+                .setWeatherMain("Clouds").setWeatherIcon("04d").setVisibility(10000)
+                .setTimestamp(1729236000).setLatitude(21.02).setLongitude(105.84)
+                .setTemperatureUnit("fahrenheit").setCityId(1581130)
+                .build();
+        String stored = reflective.toJson(data);
+
+        // Act
+        WeatherData read = adapters.fromJson(stored, WeatherData.class);
+
+        // Assert
+        assertEquals(JsonParser.parseString(stored), JsonParser.parseString(adapters.toJson(read)));
+        assertNull(read.getRainVolume());
+        assertEquals("fahrenheit", read.getTemperatureUnit());
+    }
+
+    @Test
+    public void favoriteCities_readReflectiveJson_andRoundTrip() {
+        // Arrange
+        FavoriteCity city = new FavoriteCity("Đà Nẵng", "VN", 16.05, 108.2);
+        city.setCurrentTemp(27.5);
+        city.setWeatherCondition("Rain");
+        city.setCityId(1583992);
+        String stored = reflective.toJson(Arrays.asList(city, new FavoriteCity("Huế", "VN", 16.46, 107.59)));
+
+        // Act
+        List<FavoriteCity> read = adapters.fromJson(stored, JsonAdapters.listOf(FavoriteCity.class));
+
+        // Assert
+        assertEquals(2, read.size());
+        assertEquals(1583992, read.get(0).getCityId());
+        assertNull(read.get(1).getWeatherDescription());
+        assertEquals(JsonParser.parseString(stored),
+                JsonParser.parseString(adapters.toJson(read, JsonAdapters.listOf(FavoriteCity.class))));
+    }
+
+    @Test
+    public void weatherAlarms_readReflectiveJson_andRoundTrip() {
+        // Arrange
+        WeatherAlarm alarm = new WeatherAlarm("Mang ô", 6, 30, AlarmType.UMBRELLA_REMINDER,
+                AlarmCondition.forTemperature(35, AlarmCondition.ComparisonOperator.GREATER_THAN));
+        alarm.setDayOfWeek(1, true);
+        alarm.setCityName("Hà Nội");
+        String stored = reflective.toJson(Collections.singletonList(alarm));
+
+        // Act
+        List<WeatherAlarm> read = adapters.fromJson(stored, JsonAdapters.listOf(WeatherAlarm.class));
+
+        // Assert
+        assertEquals(alarm.getId(), read.get(0).getId());
+        assertEquals(AlarmType.UMBRELLA_REMINDER, read.get(0).getType());
+        assertEquals(AlarmCondition.ComparisonOperator.GREATER_THAN,
+                read.get(0).getCondition().getComparisonOperator());
+        assertTrue(read.get(0).isDayEnabled(1));
+        assertEquals(JsonParser.parseString(stored),
+                JsonParser.parseString(adapters.toJson(read, JsonAdapters.listOf(WeatherAlarm.class))));
+    }
+
+    /**
+     * Reflection is blocked for every type, so a new response, request body or stored model
+     * without an adapter must fail here rather than on a user's device
+     */
+    @Test
+    public void everyServiceAndPersistedModel_hasAdapter() {
+        // Arrange
+        List<Type> responses = new ArrayList<>();
+        List<Type> requests = new ArrayList<>();
+        for (Class<?> service : SERVICES) {
+            for (Method method : service.getDeclaredMethods()) {
+                responses.add(((ParameterizedType) method.getGenericReturnType()).getActualTypeArguments()[0]);
+                Annotation[][] annotations = method.getParameterAnnotations();
+                for (int i = 0; i < annotations.length; i++) {
+                    for (Annotation annotation : annotations[i]) {
+                        if (annotation instanceof Body) {
+                            requests.add(method.getGenericParameterTypes()[i]);
+                        }
+                    }
+                }
+            }
+        }
+        assertFalse(responses.isEmpty());
+        assertFalse(requests.isEmpty());
+
+        // Act & Assert - raw OkHttp bodies and HourlySeries never reach Gson
+        for (Type type : responses) {
+            if (type != ResponseBody.class && type != HourlySeries.class) {
+                assertNotNull(type.getTypeName(), adapters.fromJson("{}", type));
+            }
+        }
+        for (Type type : requests) {
+            if (type != RequestBody.class) {
+                assertNotNull(type.getTypeName(), adapters.getAdapter(TypeToken.get(type)));
+            }
+        }
+        for (Type type : PERSISTED) {
+            Object empty = adapters.fromJson(type instanceof Class ? "{}" : "[]", type);
+            assertNotNull(type.getTypeName(), empty);
+            String written = adapters.toJson(empty, type);
+            assertEquals(type.getTypeName(), JsonParser.parseString(written),
+                    JsonParser.parseString(adapters.toJson(adapters.fromJson(written, type), type)));
+        }
+    }
+
+    @Test(expected = JsonIOException.class)
+    public void modelWithoutAdapter_failsInsteadOfUsingReflection() {
+        adapters.fromJson("{}", AlarmCondition.class);
+    }
+
+    /**
+     * Benchmark: first parse on a fresh Gson (adapter lookup included) and steady-state
+     * parse of the /weather payload, reflective vs hand-written
+     */
+    @Test
+    public void handWrittenAdapters_fasterAndLeanerThanReflection() {
+        com.sun.management.ThreadMXBean threads = threadMXBean();
+        Assume.assumeTrue(threads != null && threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+        long threadId = Thread.currentThread().getId();
+        String json = Fixtures.read(Fixtures.WEATHER);
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            new Gson().fromJson(json, WeatherResponse.class);
+            JsonAdapters.newGson().fromJson(json, WeatherResponse.class);
+        }
+
+        long start = threads.getThreadAllocatedBytes(threadId);
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            new Gson().fromJson(json, WeatherResponse.class);
+        }
+        long reflectiveFirstNanos = System.nanoTime() - startNanos;
+        long reflectiveFirstBytes = threads.getThreadAllocatedBytes(threadId) - start;
+
+        start = threads.getThreadAllocatedBytes(threadId);
+        startNanos = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            JsonAdapters.newGson().fromJson(json, WeatherResponse.class);
+        }
+        long adapterFirstNanos = System.nanoTime() - startNanos;
+        long adapterFirstBytes = threads.getThreadAllocatedBytes(threadId) - start;
+
+        start = threads.getThreadAllocatedBytes(threadId);
+        startNanos = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            reflective.fromJson(json, WeatherResponse.class);
+        }
+        long reflectiveNanos = System.nanoTime() - startNanos;
+        long reflectiveBytes = threads.getThreadAllocatedBytes(threadId) - start;
+
+        start = threads.getThreadAllocatedBytes(threadId);
+        startNanos = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            adapters.fromJson(json, WeatherResponse.class);
+        }
+        long adapterNanos = System.nanoTime() - startNanos;
+        long adapterBytes = threads.getThreadAllocatedBytes(threadId) - start;
+
+        System.out.printf("Weather first parse: reflective %d B / %d us, adapters %d B / %d us%n",
+                reflectiveFirstBytes / MEASURED_ROUNDS, reflectiveFirstNanos / MEASURED_ROUNDS / 1000,
+                adapterFirstBytes / MEASURED_ROUNDS, adapterFirstNanos / MEASURED_ROUNDS / 1000);
+        System.out.printf("Weather warm parse: reflective %d B / %d us, adapters %d B / %d us%n",
+                reflectiveBytes / MEASURED_ROUNDS, reflectiveNanos / MEASURED_ROUNDS / 1000,
+                adapterBytes / MEASURED_ROUNDS, adapterNanos / MEASURED_ROUNDS / 1000);
+        assertTrue("First parse should allocate less (" + adapterFirstBytes + " vs " + reflectiveFirstBytes + ")",
+                adapterFirstBytes < reflectiveFirstBytes);
+        assertTrue("Warm parse should allocate no more (" + adapterBytes + " vs " + reflectiveBytes + ")",
+                adapterBytes <= reflectiveBytes);
+    }
+
+    /**
+     * Compare through reflective Gson's own view of both results, so every field is covered
+     */
+    private <T> void assertSameModel(String json, Class<T> type) {
+        T expected = reflective.fromJson(json, type);
+        T actual = adapters.fromJson(json, type);
+        assertEquals(type.getSimpleName(), reflective.toJsonTree(expected), reflective.toJsonTree(actual));
+    }
+
+    private static com.sun.management.ThreadMXBean threadMXBean() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        return bean instanceof com.sun.management.ThreadMXBean ? (com.sun.management.ThreadMXBean) bean : null;
+    }
+}
@@ -0,0 +1,302 @@
+package com.example.weatherapp.data.local.database;
+
+import com.example.weatherapp.data.local.dao.CacheMaintenanceDao;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for CacheJanitor against a real SQLite file
+ * The DAO runs the same SQL as CacheMaintenanceDao over JDBC (no Room on the JVM)
+ */
+public class CacheJanitorTest {
+    
+    private static final long NOW = 1_700_000_000_000L;
+    private static final long HOUR = 60 * 60 * 1000L;
+    
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    
+    private Connection connection;
+    private CacheJanitor janitor;
+    
+    @Before
+    public void setup() throws Exception {
+        connection = DriverManager.getConnection("jdbc:sqlite:" + folder.newFile("weather.db").getPath());
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("PRAGMA auto_vacuum = INCREMENTAL");
+            statement.execute("CREATE TABLE weather_cache (cityName TEXT PRIMARY KEY NOT NULL, "
+                    + "cachedAt INTEGER NOT NULL, lastAccessed INTEGER NOT NULL)");
+            for (String table : new String[] {"forecast_cache", "uv_index_cache", "air_quality_cache"}) {
+                statement.execute("CREATE TABLE " + table + " (id INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, "
+                        + "series BLOB, cached_at INTEGER NOT NULL, last_accessed INTEGER NOT NULL)");
+            }
+        }
+        janitor = new CacheJanitor(new JdbcMaintenanceDao(), new JdbcStorage(), 64 * 1024);
+    }
+    
+    @After
+    public void tearDown() throws Exception {
+        connection.close();
+    }
+    
+    @Test
+    public void run_purgesRowsPastMaxAge() throws Exception {
+        // Arrange
+        insertWeather("Hanoi", NOW - CacheJanitor.WEATHER_MAX_AGE_MS - HOUR, NOW);
+        insertWeather("Hue", NOW - HOUR, NOW - HOUR);
+        insertRow("uv_index_cache", 16, NOW - CacheJanitor.UV_INDEX_MAX_AGE_MS - HOUR, NOW);
+        insertRow("uv_index_cache", 16, NOW - HOUR, NOW);
+        
+        // Act
+        CacheJanitor.Report report = janitor.run(NOW);
+        
+        // Assert
+        assertEquals(1, report.weatherRows);
+        assertEquals(1, report.uvIndexRows);
+        assertEquals(1, count("weather_cache WHERE cityName = 'Hue'"));
+        assertEquals(1, count("uv_index_cache"));
+    }
+    
+    @Test
+    public void run_overRowBudget_evictsLeastRecentlyAccessed() throws Exception {
+        // Arrange: cached in order, but the oldest row was read most recently
+        int extra = 5;
+        for (int i = 0; i < CacheJanitor.AIR_QUALITY_MAX_ROWS + extra; i++) {
+            insertRow("air_quality_cache", 16, NOW - HOUR + i, NOW - HOUR + i);
+        }
+        execute("UPDATE air_quality_cache SET last_accessed = " + NOW + " WHERE id = 1");
+        
+        // Act
+        CacheJanitor.Report report = janitor.run(NOW);
+        
+        // Assert
+        assertEquals(extra, report.airQualityRows);
+        assertEquals(CacheJanitor.AIR_QUALITY_MAX_ROWS, count("air_quality_cache"));
+        assertEquals(1, count("air_quality_cache WHERE id = 1"));
+        assertEquals(0, count("air_quality_cache WHERE id BETWEEN 2 AND " + (extra + 1)));
+    }
+    
+    @Test
+    public void run_overForecastByteBudget_keepsRecentlyAccessedRowsThatFit() throws Exception {
+        // Arrange: 6 x 16 KB against a 64 KB budget
+        for (int i = 0; i < 6; i++) {
+            insertRow("forecast_cache", 16 * 1024, NOW - HOUR, NOW - HOUR + i);
+        }
+        
+        // Act
+        CacheJanitor.Report report = janitor.run(NOW);
+        
+        // Assert
+        assertEquals(2, report.forecastRows);
+        assertEquals(0, count("forecast_cache WHERE id IN (1, 2)"));
+        assertEquals(4, count("forecast_cache"));
+    }
+    
+    @Test
+    public void run_afterEviction_reclaimsFileSpace() throws Exception {
+        // Arrange
+        for (int i = 0; i < 40; i++) {
+            insertRow("forecast_cache", 16 * 1024, NOW - CacheJanitor.FORECAST_MAX_AGE_MS - HOUR, NOW);
+        }
+        
+        // Act
+        CacheJanitor.Report report = janitor.run(NOW);
+        
+        // Assert
+        assertEquals(40, report.forecastRows);
+        assertTrue(report.bytesReclaimed() >= 40 * 16 * 1024);
+        assertEquals(report.bytesAfter, new JdbcStorage().sizeBytes());
+    }
+    
+    @Test
+    public void run_withinBudget_removesNothing() throws Exception {
+        // Arrange
+        insertWeather("Hanoi", NOW - HOUR, NOW);
+        insertRow("forecast_cache", 2 * 1024, NOW - HOUR, NOW);
+        
+        // Act
+        CacheJanitor.Report report = janitor.run(NOW);
+        
+        // Assert
+        assertEquals(0, report.totalRows());
+        assertEquals(0, report.bytesReclaimed());
+    }
+    
+    private void insertWeather(String city, long cachedAt, long lastAccessed) throws SQLException {
+        execute("INSERT INTO weather_cache VALUES ('" + city + "', " + cachedAt + ", " + lastAccessed + ")");
+    }
+    
+    private void insertRow(String table, int bytes, long cachedAt, long lastAccessed) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO " + table + " (series, cached_at, last_accessed) VALUES (?, ?, ?)")) {
+            statement.setBytes(1, new byte[bytes]);
+            statement.setLong(2, cachedAt);
+            statement.setLong(3, lastAccessed);
+            statement.executeUpdate();
+        }
+    }
+    
+    private int count(String from) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT COUNT(*) FROM " + from)) {
+            rows.next();
+            return rows.getInt(1);
+        }
+    }
+    
+    private void execute(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+    
+    private int update(String sql, long arg) {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, arg);
+            return statement.executeUpdate();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    private long pragma(String name) {
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("PRAGMA " + name)) {
+            long value = 0;
+            while (rows.next()) {
+                value = rows.getLong(1);
+            }
+            return value;
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    /**
+     * CacheMaintenanceDao with the queries from its annotations
+     */
+    private class JdbcMaintenanceDao implements CacheMaintenanceDao {
+        @Override
+        public int purgeWeather(long cutoff) {
+            return update("DELETE FROM weather_cache WHERE cachedAt < ?", cutoff);
+        }
+        
+        @Override
+        public int purgeForecasts(long cutoff) {
+            return update("DELETE FROM forecast_cache WHERE cached_at < ?", cutoff);
+        }
+        
+        @Override
+        public int purgeUVIndex(long cutoff) {
+            return update("DELETE FROM uv_index_cache WHERE cached_at < ?", cutoff);
+        }
+        
+        @Override
+        public int purgeAirQuality(long cutoff) {
+            return update("DELETE FROM air_quality_cache WHERE cached_at < ?", cutoff);
+        }
+        
+        @Override
+        public int trimWeather(int maxRows) {
+            return update("DELETE FROM weather_cache WHERE cityName IN "
+                    + "(SELECT cityName FROM weather_cache ORDER BY lastAccessed DESC LIMIT -1 OFFSET ?)", maxRows);
+        }
+        
+        @Override
+        public int trimForecasts(int maxRows) {
+            return trim("forecast_cache", maxRows);
+        }
+        
+        @Override
+        public int trimUVIndex(int maxRows) {
+            return trim("uv_index_cache", maxRows);
+        }
+        
+        @Override
+        public int trimAirQuality(int maxRows) {
+            return trim("air_quality_cache", maxRows);
+        }
+        
+        @Override
+        public List<RowSize> getForecastSizesByAccess() {
+            List<RowSize> sizes = new ArrayList<>();
+            try (Statement statement = connection.createStatement();
+                 ResultSet rows = statement.executeQuery(
+                         "SELECT id, LENGTH(series) AS bytes FROM forecast_cache ORDER BY last_accessed DESC")) {
+                while (rows.next()) {
+                    RowSize size = new RowSize();
+                    size.id = rows.getInt("id");
+                    size.bytes = rows.getLong("bytes");
+                    sizes.add(size);
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+            return sizes;
+        }
+        
+        @Override
+        public int deleteForecasts(List<Integer> ids) {
+            int deleted = 0;
+            for (int id : ids) {
+                deleted += update("DELETE FROM forecast_cache WHERE id = ?", id);
+            }
+            return deleted;
+        }
+        
+        private int trim(String table, int maxRows) {
+            return update("DELETE FROM " + table + " WHERE id IN "
+                    + "(SELECT id FROM " + table + " ORDER BY last_accessed DESC LIMIT -1 OFFSET ?)", maxRows);
+        }
+    }
+    
+    private class JdbcStorage implements CacheJanitor.Storage {
+        @Override
+        public void runInTransaction(Runnable work) {
+            try {
+                connection.setAutoCommit(false);
+                work.run();
+                connection.commit();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            } finally {
+                try {
+                    connection.setAutoCommit(true);
+                } catch (SQLException ignored) {
+                }
+            }
+        }
+        
+        @Override
+        public long sizeBytes() {
+            return pragma("page_count") * pragma("page_size");
+        }
+        
+        @Override
+        public void incrementalVacuum() {
+            try {
+                // JDBC steps the pragma once and each step frees one page, so repeat until the free list is empty
+                while (pragma("freelist_count") > 0) {
+                    execute("PRAGMA incremental_vacuum");
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
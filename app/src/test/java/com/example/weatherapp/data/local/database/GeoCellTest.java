@@ -0,0 +1,185 @@
+package com.example.weatherapp.data.local.database;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for GeoCell and the cell-indexed coordinate lookup
+ * The SQL mirrors WeatherDao on a plain SQLite database (no Room on the JVM)
+ */
+public class GeoCellTest {
+
+    private static final int SEEDED_LOCATIONS = 20000;
+    private static final int LOOKUPS = 300;
+
+    private static final String OLD_QUERY = "SELECT cityName FROM weather_cache WHERE "
+            + "ABS(latitude - ?) < 0.01 AND ABS(longitude - ?) < 0.01 LIMIT 1";
+
+    private Connection connection;
+
+    @Before
+    public void setup() throws Exception {
+        connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE weather_cache (cityName TEXT PRIMARY KEY NOT NULL, "
+                    + "latitude REAL NOT NULL, longitude REAL NOT NULL, cellId INTEGER NOT NULL, "
+                    + "cachedAt INTEGER NOT NULL)");
+            statement.execute("CREATE INDEX index_weather_cache_cellId ON weather_cache (cellId)");
+        }
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        connection.close();
+    }
+
+    @Test
+    public void neighborhood_containsEveryPointWithinTolerance() {
+        Random random = new Random(42);
+        for (int i = 0; i < 10000; i++) {
+            double lat = random.nextDouble() * 170 - 85;
+            double lon = random.nextDouble() * 358 - 179;
+            double nearLat = lat + (random.nextDouble() * 2 - 1) * GeoCell.FINE_DEGREES * 0.999;
+            double nearLon = lon + (random.nextDouble() * 2 - 1) * GeoCell.FINE_DEGREES * 0.999;
+
+            List<Long> cells = GeoCell.neighborhood(lat, lon, GeoCell.FINE_DEGREES);
+
+            assertTrue(cells.contains(GeoCell.cellOf(nearLat, nearLon, GeoCell.FINE_DEGREES)));
+        }
+    }
+
+    @Test
+    public void neighborhood_wrapsAtAntimeridianAndStopsAtPoles() {
+        List<Long> east = GeoCell.neighborhood(10, 179.95, GeoCell.COARSE_DEGREES);
+        assertTrue(east.contains(GeoCell.cellOf(10, -179.95, GeoCell.COARSE_DEGREES)));
+        assertEquals(9, east.size());
+
+        List<Long> pole = GeoCell.neighborhood(90, 0, GeoCell.COARSE_DEGREES);
+        assertEquals(6, pole.size());
+    }
+
+    @Test
+    public void cellLookup_usesIndexAndMatchesFullScan() throws Exception {
+        // Arrange
+        double[][] seeded = seedLocations();
+        Random random = new Random(7);
+        double[][] queries = new double[LOOKUPS][];
+        for (int i = 0; i < LOOKUPS; i++) {
+            double[] base = seeded[random.nextInt(seeded.length)];
+            // Half near a cached location, half anywhere
+            queries[i] = i % 2 == 0
+                    ? new double[] {base[0] + 0.004, base[1] - 0.004}
+                    : new double[] {random.nextDouble() * 120 - 60, random.nextDouble() * 360 - 180};
+        }
+
+        // Act
+        long start = System.nanoTime();
+        String[] fullScan = new String[LOOKUPS];
+        try (PreparedStatement statement = connection.prepareStatement(OLD_QUERY)) {
+            for (int i = 0; i < LOOKUPS; i++) {
+                statement.setDouble(1, queries[i][0]);
+                statement.setDouble(2, queries[i][1]);
+                fullScan[i] = firstString(statement);
+            }
+        }
+        long fullScanNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        String[] indexed = new String[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            List<Long> cells = GeoCell.neighborhood(queries[i][0], queries[i][1], GeoCell.FINE_DEGREES);
+            try (PreparedStatement statement = connection.prepareStatement(cellQuery(cells.size()))) {
+                bindCellQuery(statement, cells, queries[i][0], queries[i][1]);
+                indexed[i] = firstString(statement);
+            }
+        }
+        long indexedNanos = System.nanoTime() - start;
+
+        // Assert
+        System.out.printf("%d lookups over %d rows: full scan %d ms, cell index %d ms%n",
+                LOOKUPS, SEEDED_LOCATIONS, fullScanNanos / 1_000_000, indexedNanos / 1_000_000);
+        assertArrayEquals(fullScan, indexed);
+        assertTrue(queryPlan(cellQuery(9)).contains("index_weather_cache_cellId"));
+        assertFalse(queryPlan(OLD_QUERY).contains("INDEX"));
+        assertTrue("Indexed lookup should be much faster", indexedNanos * 3 < fullScanNanos);
+    }
+
+    private double[][] seedLocations() throws Exception {
+        Random random = new Random(1);
+        double[][] seeded = new double[SEEDED_LOCATIONS][];
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO weather_cache VALUES (?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < SEEDED_LOCATIONS; i++) {
+                double lat = random.nextDouble() * 120 - 60;
+                double lon = random.nextDouble() * 360 - 180;
+                seeded[i] = new double[] {lat, lon};
+                insert.setString(1, "city-" + i);
+                insert.setDouble(2, lat);
+                insert.setDouble(3, lon);
+                insert.setLong(4, GeoCell.cellOf(lat, lon, GeoCell.FINE_DEGREES));
+                insert.setLong(5, i);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+        return seeded;
+    }
+
+    /**
+     * WeatherDao.getWeatherInCells with the IN list expanded as Room does
+     */
+    private static String cellQuery(int cellCount) {
+        StringBuilder placeholders = new StringBuilder();
+        for (int i = 0; i < cellCount; i++) {
+            placeholders.append(i == 0 ? "?" : ",?");
+        }
+        return "SELECT cityName FROM weather_cache WHERE cellId IN (" + placeholders + ") "
+                + "AND ABS(latitude - ?) < 0.01 AND ABS(longitude - ?) < 0.01 LIMIT 1";
+    }
+
+    private static void bindCellQuery(PreparedStatement statement, List<Long> cells,
+                                      double lat, double lon) throws Exception {
+        int index = 1;
+        for (Long cell : cells) {
+            statement.setLong(index++, cell);
+        }
+        statement.setDouble(index++, lat);
+        statement.setDouble(index, lon);
+    }
+
+    private static String firstString(PreparedStatement statement) throws Exception {
+        try (ResultSet rows = statement.executeQuery()) {
+            return rows.next() ? rows.getString(1) : null;
+        }
+    }
+
+    private String queryPlan(String sql) throws Exception {
+        StringBuilder plan = new StringBuilder();
+        try (PreparedStatement statement = connection.prepareStatement("EXPLAIN QUERY PLAN " + sql)) {
+            int params = statement.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= params; i++) {
+                statement.setDouble(i, 0);
+            }
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    plan.append(rows.getString("detail")).append('\n');
+                }
+            }
+        }
+        return plan.toString();
+    }
+}
@@ -0,0 +1,314 @@
+package com.example.weatherapp.data.local.database;
+
+import androidx.room.migration.Migration;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for the cache table migrations and the forecast_cache TTL query plans
+ * Migrations run against a plain SQLite database holding the released version 2 schema (no Room on the JVM)
+ */
+public class WeatherDatabaseMigrationTest {
+
+    private static final String VERSION_2_WEATHER_CACHE = "CREATE TABLE `weather_cache` ("
+            + "`cityName` TEXT NOT NULL, `countryCode` TEXT, `temperature` REAL NOT NULL, "
+            + "`feelsLike` REAL NOT NULL, `minTemperature` REAL NOT NULL, `maxTemperature` REAL NOT NULL, "
+            + "`humidity` INTEGER NOT NULL, `pressure` REAL NOT NULL, `windSpeed` REAL NOT NULL, "
+            + "`windDegree` INTEGER NOT NULL, `weatherMain` TEXT, `weatherDescription` TEXT, "
+            + "`weatherIcon` TEXT, `cloudiness` INTEGER NOT NULL, `visibility` REAL NOT NULL, "
+            + "`sunrise` INTEGER NOT NULL, `sunset` INTEGER NOT NULL, `timestamp` INTEGER NOT NULL, "
+            + "`latitude` REAL NOT NULL, `longitude` REAL NOT NULL, `temperatureUnit` TEXT, "
+            + "`cachedAt` INTEGER NOT NULL, PRIMARY KEY(`cityName`))";
+
+    private static final String VERSION_2_FORECAST_CACHE = "CREATE TABLE `forecast_cache` ("
+            + "`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, `city_name` TEXT, "
+            + "`latitude` REAL NOT NULL, `longitude` REAL NOT NULL, "
+            + "`forecast_type` TEXT, `timestamp` INTEGER NOT NULL, `temperature` REAL NOT NULL, "
+            + "`temp_min` REAL, `temp_max` REAL, `weather_main` TEXT, `weather_description` TEXT, "
+            + "`weather_icon` TEXT, `humidity` INTEGER NOT NULL, `wind_speed` REAL NOT NULL, "
+            + "`rain_probability` INTEGER NOT NULL, `cached_at` INTEGER NOT NULL)";
+
+    private static final String VERSION_2_UV_INDEX_CACHE = "CREATE TABLE `uv_index_cache` ("
+            + "`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, `latitude` REAL NOT NULL, "
+            + "`longitude` REAL NOT NULL, `uv_index` REAL NOT NULL, `uv_level` TEXT, "
+            + "`timestamp` INTEGER NOT NULL, `cached_at` INTEGER NOT NULL)";
+
+    private static final String VERSION_2_AIR_QUALITY_CACHE = "CREATE TABLE `air_quality_cache` ("
+            + "`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, `latitude` REAL NOT NULL, "
+            + "`longitude` REAL NOT NULL, `aqi` INTEGER NOT NULL, `co` REAL NOT NULL, `no` REAL NOT NULL, "
+            + "`no2` REAL NOT NULL, `o3` REAL NOT NULL, `so2` REAL NOT NULL, `pm2_5` REAL NOT NULL, "
+            + "`pm10` REAL NOT NULL, `nh3` REAL NOT NULL, `cached_at` INTEGER NOT NULL)";
+
+    // ForecastCacheDao queries
+    private static final String BY_CITY = "SELECT * FROM forecast_cache WHERE city_name = ? "
+            + "AND forecast_type = ? AND cached_at > ? AND units = ? ORDER BY cached_at DESC LIMIT 1";
+    private static final String IN_CELLS = "SELECT * FROM forecast_cache WHERE cell_id IN (?,?,?) "
+            + "AND ABS(latitude - ?) < 0.1 AND ABS(longitude - ?) < 0.1 "
+            + "AND forecast_type = ? AND cached_at > ? AND units = ? ORDER BY cached_at DESC LIMIT 1";
+    private static final String PURGE = "DELETE FROM forecast_cache WHERE cached_at < ?";
+
+    private Connection connection;
+    private SupportSQLiteDatabase database;
+
+    @Before
+    public void setup() throws Exception {
+        connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(VERSION_2_WEATHER_CACHE);
+            statement.execute(VERSION_2_FORECAST_CACHE);
+            statement.execute(VERSION_2_UV_INDEX_CACHE);
+            statement.execute(VERSION_2_AIR_QUALITY_CACHE);
+            statement.execute("INSERT INTO weather_cache (cityName, temperature, feelsLike, minTemperature, "
+                    + "maxTemperature, humidity, pressure, windSpeed, windDegree, cloudiness, visibility, "
+                    + "sunrise, sunset, timestamp, latitude, longitude, cachedAt) "
+                    + "VALUES ('Hanoi', 25.5, 26, 24, 27, 80, 1012, 3.2, 90, 40, 10000, 0, 0, 1700000000, "
+                    + "21.02, 105.84, 1234)");
+            statement.execute("INSERT INTO forecast_cache (city_name, latitude, longitude, "
+                    + "forecast_type, timestamp, temperature, humidity, wind_speed, rain_probability, cached_at) "
+                    + "VALUES ('Hanoi', 21.02, 105.84, 'hourly', 1700000000, 25.5, 80, 3.2, 40, 1234)");
+            statement.execute("INSERT INTO uv_index_cache (latitude, longitude, uv_index, uv_level, "
+                    + "timestamp, cached_at) VALUES (21.02, 105.84, 7.5, 'High', 1700000000, 1234)");
+            statement.execute("INSERT INTO air_quality_cache (latitude, longitude, aqi, co, no, no2, o3, "
+                    + "so2, pm2_5, pm10, nh3, cached_at) "
+                    + "VALUES (21.02, 105.84, 3, 200, 0.1, 10, 60, 5, 25, 40, 2, 1234)");
+        }
+        database = mock(SupportSQLiteDatabase.class);
+        doAnswer(invocation -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(invocation.getArgument(0));
+            }
+            return null;
+        }).when(database).execSQL(anyString());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        connection.close();
+    }
+
+    @Test
+    public void migrate2To3_backfillsCellIdsAndIndexes() throws Exception {
+        // Act
+        migrate(WeatherDatabase.MIGRATION_2_3);
+
+        // Assert
+        long fine = GeoCell.cellOf(21.02, 105.84, GeoCell.FINE_DEGREES);
+        long coarse = GeoCell.cellOf(21.02, 105.84, GeoCell.COARSE_DEGREES);
+        assertEquals(fine, singleLong("SELECT cellId FROM weather_cache"));
+        assertEquals(coarse, singleLong("SELECT cell_id FROM forecast_cache"));
+        assertEquals(coarse, singleLong("SELECT cell_id FROM uv_index_cache"));
+        assertEquals(coarse, singleLong("SELECT cell_id FROM air_quality_cache"));
+        assertTrue(queryPlan("SELECT * FROM weather_cache WHERE cellId IN (?,?)").contains("index_weather_cache_cellId"));
+        assertTrue(queryPlan("SELECT * FROM uv_index_cache WHERE cell_id IN (?,?)").contains("index_uv_index_cache_cell_id"));
+        assertTrue(queryPlan("SELECT * FROM air_quality_cache WHERE cell_id IN (?,?)")
+                .contains("index_air_quality_cache_cell_id"));
+    }
+
+    @Test
+    public void cellIdSql_matchesGeoCellAtGridEdges() throws Exception {
+        // Arrange
+        double[][] points = {
+                {0, 0}, {-90, -180}, {90, 180}, {89.999, 179.999}, {-33.87, 151.21},
+                {40.71, -74.01}, {51.5, -0.12}, {-0.005, -0.005}, {64.1, -21.9}
+        };
+
+        for (double[] point : points) {
+            for (double degrees : new double[] {GeoCell.FINE_DEGREES, GeoCell.COARSE_DEGREES}) {
+                // Act
+                long sqlCell = singleLong("SELECT " + WeatherDatabase.cellIdSql(degrees)
+                        .replace("`latitude`", Double.toString(point[0]))
+                        .replace("`longitude`", Double.toString(point[1])));
+
+                // Assert
+                assertEquals(point[0] + "," + point[1] + " @" + degrees,
+                        GeoCell.cellOf(point[0], point[1], degrees), sqlCell);
+            }
+        }
+    }
+
+    @Test
+    public void migrate2To7_keepsCachedRows() throws Exception {
+        // Act
+        migrate(WeatherDatabase.MIGRATION_2_3, WeatherDatabase.MIGRATION_3_4, WeatherDatabase.MIGRATION_4_5,
+                WeatherDatabase.MIGRATION_5_6, WeatherDatabase.MIGRATION_6_7);
+
+        // Assert
+        assertEquals(1234, singleLong("SELECT lastAccessed FROM weather_cache WHERE cityName = 'Hanoi'"));
+        assertEquals(1234, singleLong("SELECT last_accessed FROM uv_index_cache"));
+        assertEquals(1234, singleLong("SELECT last_accessed FROM air_quality_cache"));
+    }
+
+    @Test
+    public void migrate7To8_cachedWeatherStartsWithoutCityId() throws Exception {
+        // Arrange
+        migrate(WeatherDatabase.MIGRATION_2_3, WeatherDatabase.MIGRATION_3_4, WeatherDatabase.MIGRATION_4_5,
+                WeatherDatabase.MIGRATION_5_6, WeatherDatabase.MIGRATION_6_7);
+
+        // Act
+        migrate(WeatherDatabase.MIGRATION_7_8);
+
+        // Assert
+        assertEquals(0, singleLong("SELECT cityId FROM weather_cache WHERE cityName = 'Hanoi'"));
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("UPDATE weather_cache SET cityId = 1581130 WHERE cityName = 'Hanoi'");
+        }
+        assertEquals(1581130, singleLong("SELECT cityId FROM weather_cache WHERE cityName = 'Hanoi'"));
+    }
+
+    @Test
+    public void migrate8To9_cachedWeatherStartsWithoutDisplayName() throws Exception {
+        // Arrange
+        migrate(WeatherDatabase.MIGRATION_2_3, WeatherDatabase.MIGRATION_3_4, WeatherDatabase.MIGRATION_4_5,
+                WeatherDatabase.MIGRATION_5_6, WeatherDatabase.MIGRATION_6_7, WeatherDatabase.MIGRATION_7_8);
+
+        // Act
+        migrate(WeatherDatabase.MIGRATION_8_9);
+
+        // Assert - existing rows show their key, as before
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT displayName FROM weather_cache WHERE cityName = 'Hanoi'")) {
+            assertTrue(rows.next());
+            assertNull(rows.getString("displayName"));
+        }
+    }
+
+    @Test
+    public void migrate3To5_keepsCachedRows() throws Exception {
+        // Act
+        migrate(WeatherDatabase.MIGRATION_2_3, WeatherDatabase.MIGRATION_3_4, WeatherDatabase.MIGRATION_4_5);
+
+        // Assert
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT temperature, units, pressure, cached_at FROM forecast_cache")) {
+            assertTrue(rows.next());
+            assertEquals(25.5, rows.getDouble("temperature"), 0.0);
+            assertNull(rows.getString("units"));
+            assertEquals(0.0, rows.getDouble("pressure"), 0.0);
+            assertEquals(1234, rows.getLong("cached_at"));
+        }
+    }
+
+    @Test
+    public void migrate4To5_ttlQueriesUseCompositeIndexes() throws Exception {
+        // Arrange
+        migrate(WeatherDatabase.MIGRATION_2_3, WeatherDatabase.MIGRATION_3_4);
+        assertTrue(queryPlan(IN_CELLS).contains("index_forecast_cache_cell_id "));
+
+        // Act
+        migrate(WeatherDatabase.MIGRATION_4_5);
+
+        // Assert
+        assertTrue(queryPlan(BY_CITY).contains("index_forecast_cache_city_name_forecast_type_cached_at"
+                + " (city_name=? AND forecast_type=? AND cached_at>?)"));
+        assertTrue(queryPlan(IN_CELLS).contains("index_forecast_cache_cell_id_forecast_type_cached_at"
+                + " (cell_id=? AND forecast_type=? AND cached_at>?)"));
+        assertTrue(queryPlan(PURGE).contains("index_forecast_cache_cached_at (cached_at<?)"));
+        assertFalse(queryPlan(BY_CITY).contains("SCAN"));
+    }
+
+    @Test
+    public void migrate5To6_rebuildsPackedTableWithIndexes() throws Exception {
+        // Arrange
+        migrate(WeatherDatabase.MIGRATION_2_3, WeatherDatabase.MIGRATION_3_4, WeatherDatabase.MIGRATION_4_5);
+
+        // Act
+        migrate(WeatherDatabase.MIGRATION_5_6);
+
+        // Assert
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO forecast_cache (city_name, latitude, longitude, cell_id, "
+                    + "forecast_type, units, slot_count, series, cached_at) "
+                    + "VALUES ('Hanoi', 21.02, 105.84, 1, 'hourly', 'metric', 40, X'5746', 5678)");
+            try (ResultSet rows = statement.executeQuery("SELECT COUNT(*), MAX(slot_count) FROM forecast_cache")) {
+                assertTrue(rows.next());
+                assertEquals(1, rows.getInt(1));
+                assertEquals(40, rows.getInt(2));
+            }
+        }
+        assertTrue(queryPlan(BY_CITY).contains("index_forecast_cache_city_name_forecast_type_cached_at"));
+        assertTrue(queryPlan(IN_CELLS).contains("index_forecast_cache_cell_id_forecast_type_cached_at"));
+        assertTrue(queryPlan(PURGE).contains("index_forecast_cache_cached_at"));
+    }
+
+    @Test
+    public void migrate6To7_startsLastAccessedAtCachedAt() throws Exception {
+        // Arrange
+        migrate(WeatherDatabase.MIGRATION_2_3, WeatherDatabase.MIGRATION_3_4, WeatherDatabase.MIGRATION_4_5, WeatherDatabase.MIGRATION_5_6);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO forecast_cache (city_name, latitude, longitude, cell_id, "
+                    + "forecast_type, units, slot_count, series, cached_at) "
+                    + "VALUES ('Hanoi', 21.02, 105.84, 1, 'hourly', 'metric', 40, X'5746', 5678)");
+        }
+
+        // Act
+        migrate(WeatherDatabase.MIGRATION_6_7);
+
+        // Assert
+        try (Statement statement = connection.createStatement()) {
+            try (ResultSet rows = statement.executeQuery("SELECT lastAccessed FROM weather_cache")) {
+                assertTrue(rows.next());
+                assertEquals(1234, rows.getLong(1));
+            }
+            try (ResultSet rows = statement.executeQuery("SELECT last_accessed FROM forecast_cache")) {
+                assertTrue(rows.next());
+                assertEquals(5678, rows.getLong(1));
+            }
+        }
+    }
+
+    @Test
+    public void oldTtlExpression_cannotUseIndex() throws Exception {
+        // Arrange
+        migrate(WeatherDatabase.MIGRATION_2_3, WeatherDatabase.MIGRATION_3_4, WeatherDatabase.MIGRATION_4_5);
+
+        // Act
+        String plan = queryPlan("DELETE FROM forecast_cache WHERE (? - cached_at) > ?");
+
+        // Assert
+        assertTrue(plan.contains("SCAN"));
+    }
+
+    private void migrate(Migration... migrations) {
+        for (Migration migration : migrations) {
+            migration.migrate(database);
+        }
+    }
+
+    private long singleLong(String sql) throws Exception {
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery(sql)) {
+            assertTrue(rows.next());
+            return rows.getLong(1);
+        }
+    }
+
+    private String queryPlan(String sql) throws Exception {
+        StringBuilder plan = new StringBuilder();
+        try (PreparedStatement statement = connection.prepareStatement("EXPLAIN QUERY PLAN " + sql)) {
+            int params = statement.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= params; i++) {
+                statement.setString(i, "0");
+            }
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    plan.append(rows.getString("detail")).append('\n');
+                }
+            }
+        }
+        return plan.toString();
+    }
+}
@@ -0,0 +1,223 @@
+package com.example.weatherapp.data.local.gazetteer;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the offline city prefix index
+ */
+public class GazetteerTest {
+
+    private static final String CITIES = ""
+            + "# name\tascii\tcountry\tlat\tlon\tpopulation\n"
+            + "Hà Nội\tHanoi\tVN\t21.0245\t105.8412\t8053663\n"
+            + "Hải Phòng\tHaiphong\tVN\t20.8449\t106.6881\t2028514\n"
+            + "Hạ Long\tHa Long\tVN\t20.9511\t107.0809\t300267\n"
+            + "Huế\tHue\tVN\t16.4637\t107.5909\t652572\n"
+            + "Đà Nẵng\tDa Nang\tVN\t16.0544\t108.2022\t1134310\n"
+            + "München\tMunich\tDE\t48.1351\t11.582\t1471508\n"
+            + "Valencia\tValencia\tES\t39.4699\t-0.3763\t791413\n"
+            + "Valencia\tValencia\tVE\t10.1620\t-68.0077\t1484430\n";
+
+    private Gazetteer gazetteer;
+
+    @Before
+    public void setup() throws IOException {
+        gazetteer = Gazetteer.load(gzip(CITIES));
+    }
+
+    @Test
+    public void load_skipsCommentLines() {
+        assertEquals(8, gazetteer.size());
+    }
+
+    @Test
+    public void fold_dropsCaseAndDiacritics() {
+        assertEquals("ha noi", Gazetteer.fold(" Hà Nội "));
+        assertEquals("da nang", Gazetteer.fold("Đà Nẵng"));
+        assertEquals("munchen", Gazetteer.fold("MÜNCHEN"));
+    }
+
+    @Test
+    public void search_prefix_ranksByPopulation() {
+        // Act
+        List<Gazetteer.City> cities = gazetteer.search("ha", 10);
+
+        // Assert - "ha noi", "hai phong", "ha long" and the ASCII key "hanoi" (same city, once)
+        assertEquals(3, cities.size());
+        assertEquals("Hà Nội", cities.get(0).getName());
+        assertEquals("Hải Phòng", cities.get(1).getName());
+        assertEquals("Hạ Long", cities.get(2).getName());
+    }
+
+    @Test
+    public void search_withoutAccents_findsAccentedNames() {
+        assertEquals("Huế", gazetteer.search("hue", 5).get(0).getName());
+        assertEquals("Đà Nẵng", gazetteer.search("Da n", 5).get(0).getName());
+        assertEquals("München", gazetteer.search("muni", 5).get(0).getName());
+    }
+
+    @Test
+    public void search_exactNameOutranksLargerPrefixMatch() throws IOException {
+        // Arrange
+        Gazetteer index = Gazetteer.load(gzip("Paris\tParis\tFR\t48.85\t2.35\t2148271\n"
+                + "Pari\tPari\tIT\t43.01\t11.41\t200\n"));
+
+        // Act & Assert
+        assertEquals("Pari", index.search("pari", 2).get(0).getName());
+    }
+
+    @Test
+    public void search_limitAndNoMatch() {
+        assertEquals(1, gazetteer.search("h", 1).size());
+        assertTrue(gazetteer.search("xyz", 5).isEmpty());
+        assertTrue(gazetteer.search("   ", 5).isEmpty());
+    }
+
+    @Test
+    public void findExact_matchesNameOrAsciiName_largestFirst() {
+        // Act
+        Gazetteer.City hanoi = gazetteer.findExact("hanoi");
+        Gazetteer.City valencia = gazetteer.findExact("VALENCIA");
+
+        // Assert
+        assertEquals("Hà Nội", hanoi.getName());
+        assertEquals(21.0245, hanoi.getLatitude(), 1e-4);
+        assertEquals("VE", valencia.getCountryCode());
+        assertNull(gazetteer.findExact("han"));
+    }
+
+    @Test
+    public void search_largeGazetteer_underOneMillisecondPerKeystroke() throws IOException {
+        // Arrange - 25k synthetic cities, about the size of a cities-over-15k export
+        Random random = new Random(11);
+        StringBuilder tsv = new StringBuilder();
+        for (int i = 0; i < 25_000; i++) {
+            String name = randomName(random);
+            tsv.append(name).append('\t').append(name).append("\tXX\t")
+                    .append(random.nextDouble() * 180 - 90).append('\t')
+                    .append(random.nextDouble() * 360 - 180).append('\t')
+                    .append(random.nextInt(5_000_000)).append('\n');
+        }
+        Gazetteer index = Gazetteer.load(gzip(tsv.toString()));
+        String typed = randomName(random);
+        for (int i = 0; i < 200; i++) {
+            index.search(typed.substring(0, 1 + i % typed.length()), 8); // Warm up
+        }
+
+        // Act - type names one character at a time
+        int keystrokes = 0;
+        long start = System.nanoTime();
+        for (int word = 0; word < 200; word++) {
+            String name = randomName(random);
+            for (int length = 1; length <= name.length(); length++) {
+                index.search(name.substring(0, length), 8);
+                keystrokes++;
+            }
+        }
+        long perKeystrokeMicros = (System.nanoTime() - start) / keystrokes / 1000;
+
+        // Assert
+        System.out.printf("Gazetteer of %d cities: %d us per keystroke%n", index.size(), perKeystrokeMicros);
+        assertTrue("Took " + perKeystrokeMicros + " us", perKeystrokeMicros < 1000);
+    }
+
+    @Test
+    public void nearest_findsClosestCityWithinRadius() {
+        // Act - Hoan Kiem lake, then a point in the Gulf of Tonkin
+        Gazetteer.City hanoi = gazetteer.nearest(21.0288, 105.8525, 10);
+        Gazetteer.City offshore = gazetteer.nearest(20.0, 108.0, 10);
+
+        // Assert
+        assertEquals("Hanoi", hanoi.getAsciiName());
+        assertNull(offshore);
+        assertEquals("Da Nang", gazetteer.nearest(16.0, 108.0, 50).getAsciiName());
+    }
+
+    @Test
+    public void nearest_acrossAntimeridian() throws IOException {
+        // Arrange
+        Gazetteer index = Gazetteer.load(gzip("Suva\tSuva\tFJ\t-18.1416\t178.4419\t93970\n"
+                + "Apia\tApia\tWS\t-13.8333\t-171.7667\t40407\n"));
+
+        // Act & Assert - just east of 180° is still closest to Suva, west of it
+        assertEquals("Suva", index.nearest(-18.0, -179.9, 500).getName());
+    }
+
+    @Test
+    public void nearest_largeGazetteer_matchesBruteForceInMicroseconds() throws IOException {
+        // Arrange
+        Random random = new Random(5);
+        StringBuilder tsv = new StringBuilder();
+        double[][] points = new double[25_000][];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = new double[]{random.nextDouble() * 180 - 90, random.nextDouble() * 360 - 180};
+            tsv.append("c").append(i).append("\tc").append(i).append("\tXX\t")
+                    .append((float) points[i][0]).append('\t').append((float) points[i][1]).append("\t1\n");
+        }
+        Gazetteer index = Gazetteer.load(gzip(tsv.toString()));
+        for (int i = 0; i < 2_000; i++) {
+            index.nearest(random.nextDouble() * 180 - 90, random.nextDouble() * 360 - 180, 20_000); // Warm up
+        }
+
+        // Act
+        int lookups = 20_000;
+        double[][] queries = new double[lookups][];
+        int[] found = new int[lookups];
+        for (int i = 0; i < lookups; i++) {
+            queries[i] = new double[]{random.nextDouble() * 180 - 90, random.nextDouble() * 360 - 180};
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < lookups; i++) {
+            found[i] = index.nearest(queries[i][0], queries[i][1], 20_000).getId();
+        }
+        double perLookupMicros = (System.nanoTime() - start) / 1000.0 / lookups;
+
+        // Assert - same distance as a linear scan (ties may pick either city)
+        for (int i = 0; i < 200; i++) {
+            double best = Double.MAX_VALUE;
+            for (double[] point : points) {
+                best = Math.min(best, haversineKm(queries[i], point));
+            }
+            assertEquals(best, haversineKm(queries[i], points[found[i]]), 0.01);
+        }
+        System.out.printf("Nearest city among %d: %.2f us per lookup%n", index.size(), perLookupMicros);
+        assertTrue("Took " + perLookupMicros + " us", perLookupMicros < 100);
+    }
+
+    private static double haversineKm(double[] a, double[] b) {
+        double dLat = Math.toRadians(b[0] - a[0]);
+        double dLon = Math.toRadians(b[1] - a[1]);
+        double h = Math.pow(Math.sin(dLat / 2), 2)
+                + Math.cos(Math.toRadians(a[0])) * Math.cos(Math.toRadians(b[0])) * Math.pow(Math.sin(dLon / 2), 2);
+        return 2 * 6371.0 * Math.asin(Math.sqrt(h));
+    }
+
+    private static String randomName(Random random) {
+        int length = 4 + random.nextInt(8);
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            name.append((char) ('a' + random.nextInt(26)));
+        }
+        return name.toString();
+    }
+
+    private static InputStream gzip(String text) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+        return new ByteArrayInputStream(bytes.toByteArray());
+    }
+}
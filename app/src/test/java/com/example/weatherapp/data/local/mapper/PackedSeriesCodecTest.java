@@ -0,0 +1,258 @@
+package com.example.weatherapp.data.local.mapper;
+
+import com.example.weatherapp.data.api.HourlySeriesConverterFactory;
+import com.example.weatherapp.data.database.entities.ForecastCacheEntity;
+import com.example.weatherapp.data.mapper.DomainMapper;
+import com.example.weatherapp.domain.model.ForecastData;
+import com.example.weatherapp.domain.model.HourlySeries;
+import com.example.weatherapp.testutil.Fixtures;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Arrays;
+
+import okio.Buffer;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for PackedSeriesCodec and the packed forecast_cache row
+ */
+public class PackedSeriesCodecTest {
+
+    private static final int FAVORITES = 50;
+
+    private HourlySeries series;
+
+    @Before
+    public void setup() throws Exception {
+        series = HourlySeriesConverterFactory.parse(new Buffer().writeUtf8(Fixtures.read(Fixtures.FORECAST)));
+    }
+
+    @Test
+    public void decode_restoresEveryColumnAndHeaderField() {
+        // Act
+        HourlySeries decoded = PackedSeriesCodec.decode(PackedSeriesCodec.encode(series));
+
+        // Assert
+        assertEquals(series.size(), decoded.size());
+        assertEquals(series.getCityName(), decoded.getCityName());
+        assertEquals(series.getCountryCode(), decoded.getCountryCode());
+        assertEquals(series.getTimezoneOffsetSeconds(), decoded.getTimezoneOffsetSeconds());
+        assertEquals(series.getSunrise(), decoded.getSunrise());
+        assertEquals(series.getSunset(), decoded.getSunset());
+        assertEquals(series.getStringCount(), decoded.getStringCount());
+        for (int i = 0; i < series.size(); i++) {
+            assertEquals(series.getTimestamp(i), decoded.getTimestamp(i));
+            assertEquals(series.getTemperature(i), decoded.getTemperature(i), 0f);
+            assertEquals(series.getFeelsLike(i), decoded.getFeelsLike(i), 0f);
+            assertEquals(series.getTempMin(i), decoded.getTempMin(i), 0f);
+            assertEquals(series.getTempMax(i), decoded.getTempMax(i), 0f);
+            assertEquals(series.getHumidity(i), decoded.getHumidity(i), 0f);
+            assertEquals(series.getPressure(i), decoded.getPressure(i), 0f);
+            assertEquals(series.getWindSpeed(i), decoded.getWindSpeed(i), 0f);
+            assertEquals(series.getWindDegree(i), decoded.getWindDegree(i), 0f);
+            assertEquals(series.getPop(i), decoded.getPop(i), 0f);
+            assertEquals(series.getIcon(i), decoded.getIcon(i));
+            assertEquals(series.getDescription(i), decoded.getDescription(i));
+            assertEquals(series.getMain(i), decoded.getMain(i));
+        }
+    }
+
+    @Test
+    public void cachedRow_decodesToSameForecastData() {
+        // Arrange
+        ForecastCacheEntity entity = CacheMapper.toForecastEntity(series, 21.02, 105.84, "metric", 1000L);
+
+        // Act
+        ForecastData fromCache = DomainMapper.toForecastData(CacheMapper.toHourlySeries(entity));
+        ForecastData fresh = DomainMapper.toForecastData(series);
+
+        // Assert
+        assertEquals(series.size(), entity.getSlotCount());
+        assertEquals(series.size(), PackedSeriesCodec.slotCount(entity.getSeries()));
+        assertEquals(fresh.getHourlyForecasts().size(), fromCache.getHourlyForecasts().size());
+        assertEquals(fresh.getDailyForecasts().get(0).getTempMax(),
+                fromCache.getDailyForecasts().get(0).getTempMax(), 0.0);
+        assertEquals(fresh.getDailyForecasts().get(0).getWeatherIcon(),
+                fromCache.getDailyForecasts().get(0).getWeatherIcon());
+    }
+
+    @Test
+    public void emptySeries_roundTrips() {
+        HourlySeries empty = new HourlySeries.Builder().setCityName("Hanoi").build();
+
+        HourlySeries decoded = PackedSeriesCodec.decode(PackedSeriesCodec.encode(empty));
+
+        assertEquals(0, decoded.size());
+        assertEquals("Hanoi", decoded.getCityName());
+    }
+
+    @Test
+    public void valuesBeyondApiPrecision_roundedToStoredScale() {
+        HourlySeries precise = new HourlySeries.Builder()
+                .add(1700000000L, 12.3456, -4.321, -40.0049, 45.678, 99.6, 1013.26, 3.14159, 359.7, 0.333,
+                        "10d", "light rain", "Rain")
+                .build();
+
+        HourlySeries decoded = PackedSeriesCodec.decode(PackedSeriesCodec.encode(precise));
+
+        assertEquals(12.35, decoded.getTemperature(0), 1e-4);
+        assertEquals(-4.32, decoded.getFeelsLike(0), 1e-4);
+        assertEquals(-40.0, decoded.getTempMin(0), 1e-4);
+        assertEquals(100, decoded.getHumidity(0), 0f);
+        assertEquals(1013.3, decoded.getPressure(0), 1e-3);
+        assertEquals(3.14, decoded.getWindSpeed(0), 1e-4);
+        assertEquals(360, decoded.getWindDegree(0), 0f);
+        assertEquals(0.33, decoded.getPop(0), 1e-4);
+        assertEquals("light rain", decoded.getDescription(0));
+    }
+
+    @Test
+    public void unknownVersionOrTruncatedData_rejected() {
+        byte[] packed = PackedSeriesCodec.encode(series);
+
+        byte[] future = packed.clone();
+        future[2] = (byte) (PackedSeriesCodec.FORMAT_VERSION + 1);
+        assertRejected(future);
+        assertRejected(Arrays.copyOf(packed, packed.length / 2));
+        assertRejected(new byte[] {1, 2, 3});
+
+        ForecastCacheEntity entity = CacheMapper.toForecastEntity(series, 0, 0, "metric", 0);
+        entity.setSeries(future);
+        assertNull(CacheMapper.toHourlySeries(entity));
+    }
+
+    @Test
+    public void packedRows_muchSmallerThanRowPerSlot() throws Exception {
+        // Arrange: the same favorites stored both ways on a plain SQLite database
+        long rowPerSlotBytes;
+        long packedBytes;
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite::memory:")) {
+            rowPerSlotBytes = storeRowPerSlot(connection);
+        }
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite::memory:")) {
+            packedBytes = storePacked(connection);
+        }
+
+        // Assert
+        System.out.printf("%d favorites x %d slots: row per slot %d KB, packed %d KB%n",
+                FAVORITES, series.size(), rowPerSlotBytes / 1024, packedBytes / 1024);
+        assertTrue(packedBytes * 4 < rowPerSlotBytes);
+    }
+
+    private static void assertRejected(byte[] packed) {
+        try {
+            PackedSeriesCodec.decode(packed);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException expected) {
+            // Expected
+        }
+    }
+
+    /**
+     * Version 5 forecast_cache layout and indexes, one row per slot
+     */
+    private long storeRowPerSlot(Connection connection) throws Exception {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE forecast_cache (id INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, "
+                    + "city_name TEXT, latitude REAL NOT NULL, longitude REAL NOT NULL, cell_id INTEGER NOT NULL, "
+                    + "forecast_type TEXT, timestamp INTEGER NOT NULL, temperature REAL NOT NULL, temp_min REAL, "
+                    + "temp_max REAL, weather_main TEXT, weather_description TEXT, weather_icon TEXT, "
+                    + "humidity INTEGER NOT NULL, wind_speed REAL NOT NULL, rain_probability INTEGER NOT NULL, "
+                    + "feels_like REAL NOT NULL, pressure REAL NOT NULL, wind_degree INTEGER NOT NULL, units TEXT, "
+                    + "timezone_offset INTEGER NOT NULL, cached_at INTEGER NOT NULL)");
+            createIndexes(statement);
+        }
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO forecast_cache (city_name, "
+                + "latitude, longitude, cell_id, forecast_type, timestamp, temperature, temp_min, temp_max, "
+                + "weather_main, weather_description, weather_icon, humidity, wind_speed, rain_probability, "
+                + "feels_like, pressure, wind_degree, units, timezone_offset, cached_at) "
+                + "VALUES (?, ?, ?, ?, 'hourly', ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 'metric', ?, ?)")) {
+            for (int f = 0; f < FAVORITES; f++) {
+                for (int i = 0; i < series.size(); i++) {
+                    insert.setString(1, series.getCityName() + " " + f);
+                    insert.setDouble(2, f);
+                    insert.setDouble(3, f);
+                    insert.setLong(4, f);
+                    insert.setLong(5, series.getTimestamp(i));
+                    insert.setDouble(6, series.getTemperature(i));
+                    insert.setDouble(7, series.getTempMin(i));
+                    insert.setDouble(8, series.getTempMax(i));
+                    insert.setString(9, series.getMain(i));
+                    insert.setString(10, series.getDescription(i));
+                    insert.setString(11, series.getIcon(i));
+                    insert.setInt(12, Math.round(series.getHumidity(i)));
+                    insert.setDouble(13, series.getWindSpeed(i));
+                    insert.setInt(14, Math.round(series.getPop(i) * 100));
+                    insert.setDouble(15, series.getFeelsLike(i));
+                    insert.setDouble(16, series.getPressure(i));
+                    insert.setInt(17, Math.round(series.getWindDegree(i)));
+                    insert.setInt(18, series.getTimezoneOffsetSeconds());
+                    insert.setLong(19, 1000L + f);
+                    insert.addBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+        return databaseBytes(connection);
+    }
+
+    /**
+     * Version 6 forecast_cache layout, one packed row per favorite
+     */
+    private long storePacked(Connection connection) throws Exception {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE forecast_cache (id INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, "
+                    + "city_name TEXT, latitude REAL NOT NULL, longitude REAL NOT NULL, cell_id INTEGER NOT NULL, "
+                    + "forecast_type TEXT, units TEXT, slot_count INTEGER NOT NULL, series BLOB, "
+                    + "cached_at INTEGER NOT NULL)");
+            createIndexes(statement);
+        }
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO forecast_cache (city_name, "
+                + "latitude, longitude, cell_id, forecast_type, units, slot_count, series, cached_at) "
+                + "VALUES (?, ?, ?, ?, 'hourly', 'metric', ?, ?, ?)")) {
+            for (int f = 0; f < FAVORITES; f++) {
+                ForecastCacheEntity entity = CacheMapper.toForecastEntity(series, f, f, "metric", 1000L + f);
+                insert.setString(1, entity.getCityName() + " " + f);
+                insert.setDouble(2, entity.getLatitude());
+                insert.setDouble(3, entity.getLongitude());
+                insert.setLong(4, entity.getCellId());
+                insert.setInt(5, entity.getSlotCount());
+                insert.setBytes(6, entity.getSeries());
+                insert.setLong(7, entity.getCachedAt());
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+        return databaseBytes(connection);
+    }
+
+    private static void createIndexes(Statement statement) throws Exception {
+        statement.execute("CREATE INDEX i1 ON forecast_cache (city_name, forecast_type, cached_at)");
+        statement.execute("CREATE INDEX i2 ON forecast_cache (cell_id, forecast_type, cached_at)");
+        statement.execute("CREATE INDEX i3 ON forecast_cache (cached_at)");
+    }
+
+    private static long databaseBytes(Connection connection) throws Exception {
+        return pragma(connection, "page_count") * pragma(connection, "page_size");
+    }
+
+    private static long pragma(Connection connection, String name) throws Exception {
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("PRAGMA " + name)) {
+            rows.next();
+            return rows.getLong(1);
+        }
+    }
+}
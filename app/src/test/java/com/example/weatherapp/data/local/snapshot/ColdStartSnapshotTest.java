@@ -0,0 +1,158 @@
+package com.example.weatherapp.data.local.snapshot;
+
+import com.example.weatherapp.data.api.HourlySeriesConverterFactory;
+import com.example.weatherapp.data.mapper.DomainMapper;
+import com.example.weatherapp.data.responses.WeatherResponse;
+import com.example.weatherapp.domain.model.HourlySeries;
+import com.example.weatherapp.domain.model.WeatherData;
+import com.example.weatherapp.testutil.Fixtures;
+import com.google.gson.Gson;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+
+import okio.Buffer;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the cold-start snapshot file
+ */
+public class ColdStartSnapshotTest {
+    
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    
+    private WeatherData weather;
+    private HourlySeries series;
+    private File file;
+    private ColdStartSnapshot snapshot;
+    
+    @Before
+    public void setup() throws Exception {
+        WeatherResponse response = new Gson().fromJson(Fixtures.read(Fixtures.WEATHER), WeatherResponse.class);
+        weather = DomainMapper.toWeatherData(response, "celsius");
+        series = HourlySeriesConverterFactory.parse(new Buffer().writeUtf8(Fixtures.read(Fixtures.FORECAST)));
+        file = new File(folder.getRoot(), ColdStartSnapshot.FILE_NAME);
+        snapshot = new ColdStartSnapshot(file);
+    }
+    
+    @Test
+    public void read_restoresWeatherAndNextHourlySlots() throws Exception {
+        // Arrange
+        long now = series.getTimestamp(0) * 1000;
+        snapshot.write(weather, series, now);
+        
+        // Act
+        ColdStartSnapshot.Contents contents = snapshot.read();
+        
+        // Assert
+        assertEquals(ColdStartSnapshot.SIZE, file.length());
+        assertEquals(now, contents.getSavedAt());
+        WeatherData read = contents.getWeather();
+        assertEquals(weather.getCityName(), read.getCityName());
+        assertEquals(weather.getCountryCode(), read.getCountryCode());
+        assertEquals(weather.getTemperature(), read.getTemperature(), 0.001);
+        assertEquals(weather.getHumidity(), read.getHumidity());
+        assertEquals(weather.getWeatherDescription(), read.getWeatherDescription());
+        assertEquals(weather.getWeatherIcon(), read.getWeatherIcon());
+        assertEquals(weather.getSunrise(), read.getSunrise());
+        assertEquals(weather.getLatitude(), read.getLatitude(), 0.0);
+        assertEquals(weather.getRainVolume(), read.getRainVolume());
+        assertEquals("celsius", read.getTemperatureUnit());
+        
+        HourlySeries hourly = contents.getHourlySeries();
+        assertEquals(ColdStartSnapshot.HOURLY_SLOTS, hourly.size());
+        for (int i = 0; i < hourly.size(); i++) {
+            assertEquals(series.getTimestamp(i), hourly.getTimestamp(i));
+            assertEquals(series.getTemperature(i), hourly.getTemperature(i), 0f);
+            assertEquals(series.getHumidity(i), hourly.getHumidity(i), 0f);
+            assertEquals(series.getPop(i), hourly.getPop(i), 0.005f);
+            assertEquals(series.getIcon(i), hourly.getIcon(i));
+            assertEquals(series.getDescription(i), hourly.getDescription(i));
+        }
+    }
+    
+    @Test
+    public void write_laterLaunch_skipsSlotsAlreadyOver() throws Exception {
+        // Arrange - six 3-hour slots have passed
+        long now = (series.getTimestamp(6) + 60) * 1000;
+        
+        // Act
+        snapshot.write(weather, series, now);
+        
+        // Assert
+        assertEquals(series.getTimestamp(6), snapshot.read().getHourlySeries().getTimestamp(0));
+    }
+    
+    @Test
+    public void write_withoutForecast_storesWeatherOnly() throws Exception {
+        // Act
+        snapshot.write(weather, null, 0);
+        
+        // Assert
+        ColdStartSnapshot.Contents contents = snapshot.read();
+        assertEquals(weather.getCityName(), contents.getWeather().getCityName());
+        assertEquals(0, contents.getHourlySeries().size());
+    }
+    
+    @Test
+    public void write_longName_cutAtCharacterBoundary() throws Exception {
+        // Arrange - 3-byte characters that don't fit the 63-byte city field
+        String longName = new String(new char[40]).replace('\0', 'ệ');
+        WeatherData named = new WeatherData.Builder().setCityName(longName).setTemperatureUnit("celsius").build();
+        
+        // Act
+        snapshot.write(named, null, 0);
+        
+        // Assert
+        String read = snapshot.read().getWeather().getCityName();
+        assertEquals(longName.substring(0, 21), read);
+    }
+    
+    @Test
+    public void read_missingOrDamagedFile_returnsNull() throws Exception {
+        // Missing
+        assertNull(snapshot.read());
+        
+        // Truncated
+        snapshot.write(weather, series, 0);
+        try (RandomAccessFile out = new RandomAccessFile(file, "rw")) {
+            out.setLength(ColdStartSnapshot.SIZE - 1);
+        }
+        assertNull(snapshot.read());
+        
+        // Unknown version
+        snapshot.write(weather, series, 0);
+        try (RandomAccessFile out = new RandomAccessFile(file, "rw")) {
+            out.seek(4);
+            out.writeShort(ColdStartSnapshot.FORMAT_VERSION + 1);
+        }
+        assertNull(snapshot.read());
+    }
+    
+    @Test
+    public void read_mappedFile_takesUnderAMillisecondWhenWarm() throws Exception {
+        // Arrange
+        snapshot.write(weather, series, 0);
+        for (int i = 0; i < 200; i++) {
+            snapshot.read();
+        }
+        
+        // Act
+        long start = System.nanoTime();
+        int reads = 1000;
+        for (int i = 0; i < reads; i++) {
+            assertNotNull(snapshot.read());
+        }
+        long perReadMicros = (System.nanoTime() - start) / 1000 / reads;
+        
+        // Assert
+        assertTrue("Read took " + perReadMicros + "us", perReadMicros < 1000);
+    }
+}
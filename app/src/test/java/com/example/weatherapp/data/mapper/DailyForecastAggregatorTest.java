@@ -0,0 +1,237 @@
+package com.example.weatherapp.data.mapper;
+
+import com.example.weatherapp.data.api.HourlySeriesConverterFactory;
+import com.example.weatherapp.domain.model.ForecastData;
+import com.example.weatherapp.domain.model.HourlySeries;
+import com.example.weatherapp.testutil.Fixtures;
+
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+
+import okio.Buffer;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for DailyForecastAggregator
+ * The previous HashMap/Calendar aggregation is kept here as a reference implementation
+ */
+public class DailyForecastAggregatorTest {
+
+    private static final double DELTA = 0.0001;
+    private static final int ROUNDS = 2000;
+
+    private TimeZone originalTimeZone;
+    private HourlySeries series;
+
+    @Before
+    public void setup() throws IOException {
+        originalTimeZone = TimeZone.getDefault();
+        series = HourlySeriesConverterFactory.parse(new Buffer().writeUtf8(Fixtures.read(Fixtures.FORECAST)));
+        // The old mapper bucketed by device timezone; pin it to the city's so both agree
+        TimeZone.setDefault(TimeZone.getTimeZone("GMT+07:00"));
+        assertEquals(25200, series.getTimezoneOffsetSeconds());
+    }
+
+    @After
+    public void tearDown() {
+        TimeZone.setDefault(originalTimeZone);
+    }
+
+    @Test
+    public void aggregate_matchesLegacyMapperOnFixture() {
+        // Arrange
+        List<ForecastData.DailyForecast> expected = legacyAggregate(series);
+
+        // Act
+        List<ForecastData.DailyForecast> actual = DailyForecastAggregator.aggregate(series);
+
+        // Assert
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getTimestamp(), actual.get(i).getTimestamp());
+            assertEquals(expected.get(i).getTempMin(), actual.get(i).getTempMin(), DELTA);
+            assertEquals(expected.get(i).getTempMax(), actual.get(i).getTempMax(), DELTA);
+            assertEquals(expected.get(i).getRainProbability(), actual.get(i).getRainProbability());
+            assertEquals(dominantIcon(series, actual.get(i).getTimestamp()), actual.get(i).getWeatherIcon());
+        }
+    }
+
+    @Test
+    public void aggregate_returnsDaysInChronologicalOrder() {
+        // Act
+        List<ForecastData.DailyForecast> days = DailyForecastAggregator.aggregate(series);
+
+        // Assert
+        for (int i = 1; i < days.size(); i++) {
+            assertTrue(days.get(i - 1).getTimestamp() < days.get(i).getTimestamp());
+        }
+    }
+
+    @Test
+    public void aggregate_bucketsByCityTimezoneNotDevice() {
+        // Given: 20:00 and 23:00 UTC on Jan 1 fall on Jan 2 in UTC+7
+        TimeZone.setDefault(TimeZone.getTimeZone("UTC"));
+        long jan1 = 1704067200L; // 2024-01-01T00:00Z
+        HourlySeries input = new HourlySeries.Builder()
+                .setTimezoneOffsetSeconds(25200)
+                .add(jan1 + 14 * 3600, 10, 10, 10, 10, 50, 1013, 1, 0, 0.0, "01d", "clear sky", "Clear")
+                .add(jan1 + 20 * 3600, 5, 5, 5, 5, 50, 1013, 1, 0, 1.0, "10n", "rain", "Rain")
+                .add(jan1 + 23 * 3600, 3, 3, 3, 3, 50, 1013, 1, 0, 1.0, "10n", "rain", "Rain")
+                .build();
+
+        // When
+        List<ForecastData.DailyForecast> days = DailyForecastAggregator.aggregate(input);
+
+        // Then
+        assertEquals(2, days.size());
+        assertEquals(10, days.get(0).getTempMax(), DELTA);
+        assertEquals(3, days.get(1).getTempMin(), DELTA);
+        assertEquals(100, days.get(1).getRainProbability());
+        assertEquals("10n", days.get(1).getWeatherIcon());
+    }
+
+    @Test
+    public void aggregate_picksMostFrequentIconAndKeepsNegativeMax() {
+        // Given: out-of-order slots of one day, all below zero
+        long day = 1704067200L;
+        HourlySeries input = new HourlySeries.Builder()
+                .add(day + 9 * 3600, -4, -4, -4, -4, 80, 1013, 1, 0, 0.2, "13d", "snow", "Snow")
+                .add(day + 3 * 3600, -8, -8, -8, -8, 80, 1013, 1, 0, 0.4, "04d", "clouds", "Clouds")
+                .add(day + 6 * 3600, -6, -6, -6, -6, 80, 1013, 1, 0, 0.6, "13d", "light snow", "Snow")
+                .build();
+
+        // When
+        List<ForecastData.DailyForecast> days = DailyForecastAggregator.aggregate(input);
+
+        // Then
+        assertEquals(1, days.size());
+        assertEquals(-8, days.get(0).getTempMin(), DELTA);
+        assertEquals(-4, days.get(0).getTempMax(), DELTA);
+        assertEquals("13d", days.get(0).getWeatherIcon());
+        assertEquals("snow", days.get(0).getWeatherDescription());
+        assertEquals(40, days.get(0).getRainProbability());
+    }
+
+    @Test
+    public void aggregate_emptySeries_returnsEmptyList() {
+        assertTrue(DailyForecastAggregator.aggregate(new HourlySeries.Builder().build()).isEmpty());
+        assertTrue(DailyForecastAggregator.aggregate(null).isEmpty());
+    }
+
+    @Test
+    public void aggregate_allocatesFarLessThanLegacyMapper() {
+        com.sun.management.ThreadMXBean threads = threadMXBean();
+        Assume.assumeTrue(threads != null && threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+        long threadId = Thread.currentThread().getId();
+        for (int i = 0; i < ROUNDS; i++) {
+            legacyAggregate(series);
+            DailyForecastAggregator.aggregate(series);
+        }
+
+        long start = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < ROUNDS; i++) {
+            legacyAggregate(series);
+        }
+        long legacyBytes = threads.getThreadAllocatedBytes(threadId) - start;
+
+        start = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < ROUNDS; i++) {
+            DailyForecastAggregator.aggregate(series);
+        }
+        long newBytes = threads.getThreadAllocatedBytes(threadId) - start;
+
+        System.out.printf("Daily aggregation per call: legacy %d B, aggregator %d B%n",
+                legacyBytes / ROUNDS, newBytes / ROUNDS);
+        assertTrue("Expected at least 4x fewer bytes (" + newBytes + " vs " + legacyBytes + ")",
+                newBytes * 4 < legacyBytes);
+    }
+
+    private static String dominantIcon(HourlySeries series, long dayTimestamp) {
+        long day = DailyForecastAggregator.epochDay(dayTimestamp, series.getTimezoneOffsetSeconds());
+        Map<String, Integer> counts = new LinkedHashMap<>(); // first-seen order breaks ties
+        for (int i = 0; i < series.size(); i++) {
+            if (DailyForecastAggregator.epochDay(series.getTimestamp(i), series.getTimezoneOffsetSeconds()) == day
+                    && !series.getIcon(i).isEmpty()) {
+                counts.merge(series.getIcon(i), 1, Integer::sum);
+            }
+        }
+        String best = "";
+        int bestCount = 0;
+        for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+            if (entry.getValue() > bestCount) {
+                bestCount = entry.getValue();
+                best = entry.getKey();
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Aggregation as DomainMapper did it before DailyForecastAggregator, sorted by day
+     */
+    private static List<ForecastData.DailyForecast> legacyAggregate(HourlySeries series) {
+        Map<String, LegacyAggregate> map = new HashMap<>();
+        for (int i = 0; i < series.size(); i++) {
+            long timestamp = series.getTimestamp(i);
+            Calendar calendar = Calendar.getInstance();
+            calendar.setTimeInMillis(timestamp * 1000);
+            String key = calendar.get(Calendar.YEAR) + "-" + calendar.get(Calendar.MONTH) + "-"
+                    + calendar.get(Calendar.DAY_OF_MONTH);
+            LegacyAggregate aggregate = map.get(key);
+            if (aggregate == null) {
+                aggregate = new LegacyAggregate(timestamp);
+                map.put(key, aggregate);
+            }
+            double temp = series.getTemperature(i);
+            if (temp < aggregate.tempMin) aggregate.tempMin = temp;
+            if (temp > aggregate.tempMax) aggregate.tempMax = temp;
+            if (series.getIconCode(i) != 0) {
+                aggregate.icons.add(series.getIcon(i));
+            }
+            aggregate.pops.add((double) series.getPop(i));
+        }
+        List<ForecastData.DailyForecast> result = new ArrayList<>();
+        for (LegacyAggregate aggregate : map.values()) {
+            double avgPop = 0;
+            for (double pop : aggregate.pops) {
+                avgPop += pop;
+            }
+            avgPop /= aggregate.pops.size();
+            result.add(new ForecastData.DailyForecast(aggregate.timestamp, aggregate.tempMin, aggregate.tempMax,
+                    aggregate.icons.isEmpty() ? "" : aggregate.icons.get(0), "", (int) (avgPop * 100)));
+        }
+        result.sort((a, b) -> Long.compare(a.getTimestamp(), b.getTimestamp()));
+        return result;
+    }
+
+    private static final class LegacyAggregate {
+        final long timestamp;
+        double tempMin = Double.MAX_VALUE;
+        double tempMax = Double.MIN_VALUE;
+        final List<String> icons = new ArrayList<>();
+        final List<Double> pops = new ArrayList<>();
+
+        LegacyAggregate(long timestamp) {
+            this.timestamp = timestamp;
+        }
+    }
+
+    private static com.sun.management.ThreadMXBean threadMXBean() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        return bean instanceof com.sun.management.ThreadMXBean ? (com.sun.management.ThreadMXBean) bean : null;
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.weatherapp.data.repository.implementation;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for InFlightRequests and the request keys used by WeatherRepositoryImpl
+ */
+public class InFlightRequestsTest {
+    
+    private InFlightRequests<String> requests;
+    
+    @Before
+    public void setup() {
+        requests = new InFlightRequests<>();
+    }
+    
+    @Test
+    public void join_firstCallerStartsRequest_laterCallersAttach() {
+        // Act
+        boolean first = requests.join("city:hanoi|metric", "main");
+        boolean second = requests.join("city:hanoi|metric", "worker");
+        boolean third = requests.join("city:hanoi|metric", "widget");
+        
+        // Assert
+        assertTrue(first);
+        assertFalse(second);
+        assertFalse(third);
+        assertEquals(1, requests.size());
+    }
+    
+    @Test
+    public void complete_returnsAllWaitersInArrivalOrder() {
+        // Arrange
+        requests.join("key", "a");
+        requests.join("key", "b");
+        requests.join("key", "c");
+        
+        // Act
+        List<String> waiters = requests.complete("key");
+        
+        // Assert
+        assertEquals(Arrays.asList("a", "b", "c"), waiters);
+        assertFalse(requests.isInFlight("key"));
+    }
+    
+    @Test
+    public void complete_thenJoin_startsNewRequest() {
+        // Arrange
+        requests.join("key", "a");
+        requests.complete("key");
+        
+        // Act & Assert - a finished request must not absorb new callers
+        assertTrue(requests.join("key", "b"));
+    }
+    
+    @Test
+    public void complete_unknownKey_returnsEmptyList() {
+        assertTrue(requests.complete("missing").isEmpty());
+    }
+    
+    @Test
+    public void leave_lastCallerCancelsRequest_othersKeepIt() {
+        // Arrange
+        int[] cancelled = {0};
+        requests.join("key", "a");
+        requests.join("key", "b");
+        assertTrue(requests.setCanceller("key", () -> cancelled[0]++));
+        
+        // Act
+        Runnable afterFirst = requests.leave("key", "a");
+        Runnable afterLast = requests.leave("key", "b");
+        afterLast.run();
+        
+        // Assert
+        assertNull(afterFirst);
+        assertEquals(1, cancelled[0]);
+        assertFalse(requests.isInFlight("key"));
+    }
+    
+    @Test
+    public void setCanceller_afterEveryCallerLeft_returnsFalse() {
+        // Arrange
+        requests.join("key", "a");
+        requests.leave("key", "a");
+        
+        // Act & Assert - the request must not be started
+        assertFalse(requests.setCanceller("key", () -> { }));
+    }
+    
+    @Test
+    public void differentKeys_doNotCoalesce() {
+        assertTrue(requests.join("city:hanoi|metric", "a"));
+        assertTrue(requests.join("city:hanoi|imperial", "b"));
+        assertEquals(2, requests.size());
+    }
+    
+    @Test
+    public void cityRequestKey_normalizesCaseAndWhitespace() {
+        assertEquals(
+                WeatherRepositoryImpl.cityRequestKey("Hanoi", "metric"),
+                WeatherRepositoryImpl.cityRequestKey("  hanoi ", "metric"));
+        assertNotEquals(
+                WeatherRepositoryImpl.cityRequestKey("Hanoi", "metric"),
+                WeatherRepositoryImpl.cityRequestKey("Hanoi", "imperial"));
+    }
+    
+    @Test
+    public void coordinatesRequestKey_roundsToCacheTolerance() {
+        assertEquals(
+                WeatherRepositoryImpl.coordinatesRequestKey(21.02851, 105.85423, "metric"),
+                WeatherRepositoryImpl.coordinatesRequestKey(21.02849, 105.85419, "metric"));
+        assertNotEquals(
+                WeatherRepositoryImpl.coordinatesRequestKey(21.03, 105.85, "metric"),
+                WeatherRepositoryImpl.coordinatesRequestKey(21.05, 105.85, "metric"));
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.weatherapp.data.repository.implementation;
+
+import com.example.weatherapp.data.api.WeatherApiService;
+import com.example.weatherapp.data.database.dao.AirQualityCacheDao;
+import com.example.weatherapp.data.database.dao.ForecastCacheDao;
+import com.example.weatherapp.data.database.dao.UVIndexCacheDao;
+import com.example.weatherapp.data.local.dao.WeatherDao;
+import com.example.weatherapp.domain.model.WeatherData;
+import com.example.weatherapp.domain.repository.WeatherRepository;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for MemoryWeatherCache and the memory tier in WeatherRepositoryImpl
+ */
+public class MemoryWeatherCacheTest {
+
+    private static final long TTL = 60_000;
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private MemoryWeatherCache cache;
+
+    @Before
+    public void setup() {
+        cache = new MemoryWeatherCache(4, TTL, now::get);
+    }
+
+    @Test
+    public void getByCity_ignoresCaseAndWhitespace_andMatchesRequestedName() {
+        // Arrange
+        WeatherData hanoi = weather("Hanoi", 21.03, 105.85, "celsius");
+        cache.put(hanoi, now.get(), "ha noi");
+
+        // Act & Assert
+        assertSame(hanoi, cache.getByCity("  HANOI ", "celsius").data);
+        assertSame(hanoi, cache.getByCity("Ha Noi", "celsius").data);
+        assertNull(cache.getByCity("Hanoi", "fahrenheit"));
+    }
+
+    @Test
+    public void getByCoordinates_matchesWithinTolerance() {
+        // Arrange
+        WeatherData hanoi = weather("Hanoi", 21.03, 105.85, "celsius");
+        cache.put(hanoi, now.get());
+
+        // Act & Assert
+        assertSame(hanoi, cache.getByCoordinates(21.035, 105.845, "celsius").data);
+        assertNull(cache.getByCoordinates(21.05, 105.85, "celsius"));
+    }
+
+    @Test
+    public void expiredEntries_areDroppedUnderEveryKey() {
+        // Arrange
+        cache.put(weather("Hanoi", 21.03, 105.85, "celsius"), now.get());
+
+        // Act
+        now.addAndGet(TTL);
+
+        // Assert
+        assertNull(cache.getByCity("Hanoi", "celsius"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void leastRecentlyUsedEntries_areEvictedPastTheLimit_withTheirAliases() {
+        // Arrange
+        cache.put(weather("Hanoi", 21.03, 105.85, "celsius"), now.get());
+        cache.put(weather("Hue", 16.46, 107.59, "celsius"), now.get(), "Thua Thien Hue");
+        cache.put(weather("Hai Phong", 20.84, 106.69, "celsius"), now.get());
+        cache.put(weather("Can Tho", 10.03, 105.78, "celsius"), now.get());
+        cache.getByCity("Hanoi", "celsius");
+
+        // Act
+        cache.put(weather("Da Nang", 16.05, 108.20, "celsius"), now.get());
+
+        // Assert - Hue is gone under its name, its requested name and its cell
+        assertEquals(4, cache.size());
+        assertNotNull(cache.getByCity("Hanoi", "celsius"));
+        assertNull(cache.getByCity("Hue", "celsius"));
+        assertNull(cache.getByCity("Thua Thien Hue", "celsius"));
+        assertNull(cache.getByCoordinates(16.46, 107.59, "celsius"));
+    }
+
+    @Test
+    public void aliases_doNotCountTowardsTheLimit() {
+        // Arrange - one city found by three names and a cell
+        cache.put(weather("Hanoi", 21.03, 105.85, "celsius"), now.get(), "Ha Noi", "Hà Nội", "Thang Long");
+
+        // Act
+        cache.put(weather("Hue", 16.46, 107.59, "celsius"), now.get());
+        cache.put(weather("Hai Phong", 20.84, 106.69, "celsius"), now.get());
+        cache.put(weather("Can Tho", 10.03, 105.78, "celsius"), now.get());
+
+        // Assert
+        assertEquals(4, cache.size());
+        assertNotNull(cache.getByCity("Thang Long", "celsius"));
+        assertNotNull(cache.getByCity("Hue", "celsius"));
+    }
+
+    @Test
+    public void newerValue_takesOverAName() {
+        // Arrange - Hanoi from the city search, then a GPS fix the API names with diacritics
+        cache.put(weather("Hanoi", 21.03, 105.85, "celsius"), now.get());
+        WeatherData fix = weather("Hà Nội", 21.03, 105.85, "celsius");
+
+        // Act
+        cache.put(fix, now.get(), "Hanoi");
+
+        // Assert
+        assertEquals(1, cache.size());
+        assertSame(fix, cache.getByCity("Hanoi", "celsius").data);
+        assertSame(fix, cache.getByCoordinates(21.03, 105.85, "celsius").data);
+    }
+
+    @Test
+    public void repository_servesMemoryHitWithoutTouchingDatabaseOrNetwork() {
+        // Arrange
+        WeatherDao dao = mock(WeatherDao.class);
+        WeatherApiService api = mock(WeatherApiService.class);
+        WeatherData hanoi = weather("Hanoi", 21.03, 105.85, "celsius");
+        cache.put(hanoi, now.get());
+        WeatherRepositoryImpl repository = new WeatherRepositoryImpl(api, "key", dao,
+                mock(ForecastCacheDao.class), mock(UVIndexCacheDao.class), mock(AirQualityCacheDao.class), cache);
+        AtomicReference<WeatherData> delivered = new AtomicReference<>();
+        WeatherRepository.WeatherCallback callback = new WeatherRepository.WeatherCallback() {
+            @Override
+            public void onSuccess(WeatherData data) {
+                delivered.set(data);
+            }
+
+            @Override
+            public void onError(String message) {
+                fail(message);
+            }
+        };
+
+        // Act: delivered synchronously on the calling thread
+        repository.getWeatherByCity("Hanoi", "celsius", callback);
+        assertSame(hanoi, delivered.getAndSet(null));
+        repository.getWeatherByCoordinates(21.03, 105.85, "celsius", callback);
+
+        // Assert
+        assertSame(hanoi, delivered.get());
+        verifyNoInteractions(dao, api);
+    }
+
+    private static WeatherData weather(String city, double lat, double lon, String unit) {
+        return new WeatherData.Builder()
+                .setCityName(city)
+                .setLatitude(lat)
+                .setLongitude(lon)
+                .setTemperatureUnit(unit)
+                .build();
+    }
+}
@@ -0,0 +1,734 @@
+package com.example.weatherapp.data.repository.implementation;
+
+import com.example.weatherapp.data.api.CircuitBreakers;
+import com.example.weatherapp.data.api.HourlySeriesConverterFactory;
+import com.example.weatherapp.data.api.HttpCachePolicy;
+import com.example.weatherapp.data.api.ResilienceInterceptor;
+import com.example.weatherapp.data.api.RetryPolicy;
+import com.example.weatherapp.data.api.WeatherApiService;
+import com.example.weatherapp.data.concurrent.IoDispatcher;
+import com.example.weatherapp.data.local.entity.WeatherCacheEntity;
+import com.example.weatherapp.data.local.gazetteer.LazyGazetteer;
+import com.example.weatherapp.domain.model.AirQualityData;
+import com.example.weatherapp.domain.model.ForecastData;
+import com.example.weatherapp.domain.model.WeatherData;
+import com.example.weatherapp.domain.repository.WeatherRepository;
+import com.example.weatherapp.testutil.Fixtures;
+import com.example.weatherapp.testutil.InMemoryCacheDaos;
+import com.example.weatherapp.testutil.InMemoryWeatherDao;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+import okhttp3.Cache;
+import okhttp3.CacheControl;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.mockwebserver.SocketPolicy;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for WeatherRepositoryImpl against a local MockWebServer and an in-memory DAO
+ */
+public class WeatherRepositoryImplTest {
+
+    private static final long NETWORK_DELAY_MS = 400;
+    private static final double STALE_TEMPERATURE = -99;
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private MockWebServer server;
+    private InMemoryWeatherDao weatherDao;
+    private InMemoryCacheDaos.Forecast forecastDao;
+    private IoDispatcher dispatcher;
+    private WeatherApiService api;
+    private WeatherRepositoryImpl repository;
+    private Cache httpCache; // Created by withHttpCache()
+
+    @Before
+    public void setup() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        api = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .addConverterFactory(HourlySeriesConverterFactory.create())
+                .addConverterFactory(GsonConverterFactory.create())
+                .build()
+                .create(WeatherApiService.class);
+        weatherDao = new InMemoryWeatherDao();
+        forecastDao = new InMemoryCacheDaos.Forecast();
+        dispatcher = new IoDispatcher(2, 2);
+        repository = new WeatherRepositoryImpl(api, "test-key", weatherDao,
+                forecastDao, new InMemoryCacheDaos.UVIndex(), new InMemoryCacheDaos.AirQuality(),
+                new MemoryWeatherCache(), null, dispatcher);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+        if (httpCache != null) {
+            httpCache.close();
+        }
+        dispatcher.shutdown();
+    }
+
+    @Test
+    public void getWeatherByCity_expiredEntry_deliveredStaleBeforeNetwork_thenFresh() throws Exception {
+        // Arrange
+        weatherDao.insertWeather(expiredHanoi());
+        server.enqueue(new MockResponse()
+                .setBody(Fixtures.read(Fixtures.WEATHER))
+                .setHeadersDelay(NETWORK_DELAY_MS, TimeUnit.MILLISECONDS));
+        RecordingCallback callback = new RecordingCallback();
+
+        // Act
+        repository.getWeatherByCity("Hanoi", "celsius", callback);
+
+        // Assert
+        assertTrue(callback.done.await(5, TimeUnit.SECONDS));
+        assertEquals(STALE_TEMPERATURE, callback.stale.get().getTemperature(), 0.0);
+        assertTrue("Stale after " + callback.staleAtMs.get() + "ms",
+                callback.staleAtMs.get() < NETWORK_DELAY_MS / 2);
+        assertTrue(callback.freshAtMs.get() >= NETWORK_DELAY_MS);
+        assertNotEquals(STALE_TEMPERATURE, callback.fresh.get().getTemperature(), 0.0);
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void getWeatherByCity_expiredEntryAndOffline_staleThenError() throws Exception {
+        // Arrange
+        weatherDao.insertWeather(expiredHanoi());
+        server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AT_START));
+        RecordingCallback callback = new RecordingCallback();
+
+        // Act
+        repository.getWeatherByCity("Hanoi", "celsius", callback);
+
+        // Assert - the expired entry stays stale; it is never handed over as a fresh result
+        assertTrue(callback.done.await(5, TimeUnit.SECONDS));
+        assertEquals(STALE_TEMPERATURE, callback.stale.get().getTemperature(), 0.0);
+        assertEquals("Already shown stale, only the error follows", 1, callback.staleCount.get());
+        assertNull(callback.fresh.get());
+        assertNotNull(callback.error.get());
+    }
+
+    @Test
+    public void getWeatherByCoordinates_expiredEntryAndOffline_staleThenError() throws Exception {
+        // Arrange
+        weatherDao.insertWeather(expiredHanoi());
+        server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AT_START));
+        RecordingCallback callback = new RecordingCallback();
+
+        // Act
+        repository.getWeatherByCoordinates(21.0245, 105.8412, "celsius", callback);
+
+        // Assert
+        assertTrue(callback.done.await(5, TimeUnit.SECONDS));
+        assertEquals(STALE_TEMPERATURE, callback.stale.get().getTemperature(), 0.0);
+        assertEquals(1, callback.staleCount.get());
+        assertNull(callback.fresh.get());
+        assertNotNull(callback.error.get());
+    }
+
+    @Test
+    public void getWeatherByCity_httpStaleIfError_deliveredStale_notRecached() throws Exception {
+        // Arrange - the HTTP cache holds Hanoi, the database only an expired entry
+        HttpCachePolicy policy = new HttpCachePolicy();
+        WeatherRepositoryImpl cached = withHttpCache(policy.staleIfErrorInterceptor(), policy);
+        server.enqueue(new MockResponse().setBody(Fixtures.read(Fixtures.WEATHER)));
+        server.enqueue(new MockResponse().setResponseCode(503));
+        RecordingCallback first = new RecordingCallback();
+        cached.getWeatherByCity("Hanoi", "celsius", first);
+        assertTrue(first.done.await(5, TimeUnit.SECONDS));
+        awaitWrites();
+        WeatherCacheEntity entry = weatherDao.getWeatherByCity("Hanoi");
+        entry.setCachedAt(0);
+        weatherDao.insertWeather(entry);
+        RecordingCallback callback = new RecordingCallback();
+
+        // Act - the server fails, stale-if-error answers from the HTTP cache
+        withHttpCache(policy.staleIfErrorInterceptor(), policy).getWeatherByCity("Hanoi", "celsius", callback);
+
+        // Assert - shown as stale, and the database entry keeps its old timestamp
+        assertTrue(callback.done.await(5, TimeUnit.SECONDS));
+        awaitWrites();
+        assertEquals(1, policy.getStaleIfErrorCount());
+        assertNotNull(callback.stale.get());
+        assertEquals(1, callback.staleCount.get());
+        assertNull(callback.fresh.get());
+        assertEquals(WeatherRepositoryImpl.STALE_ERROR_MESSAGE, callback.error.get());
+        assertEquals(0, weatherDao.getWeatherByCity("Hanoi").getCachedAt());
+    }
+
+    @Test
+    public void getWeatherByCity_httpCacheHit_storedAsOldAsTheOriginalFetch() throws Exception {
+        // Arrange - Hanoi fetched once, then gone from the database but still fresh in the HTTP cache
+        HttpCachePolicy policy = new HttpCachePolicy();
+        server.enqueue(new MockResponse().setBody(Fixtures.read(Fixtures.WEATHER)));
+        RecordingCallback first = new RecordingCallback();
+        withHttpCache(chain -> chain.proceed(chain.request()), policy, false)
+                .getWeatherByCity("Hanoi", "celsius", first);
+        assertTrue(first.done.await(5, TimeUnit.SECONDS));
+        awaitWrites();
+        long fetchedAt = weatherDao.getWeatherByCity("Hanoi").getCachedAt();
+        weatherDao.deleteAll();
+        Thread.sleep(50);
+        RecordingCallback callback = new RecordingCallback();
+
+        // Act
+        withHttpCache(chain -> chain.proceed(chain.request()), policy, false)
+                .getWeatherByCity("Hanoi", "celsius", callback);
+
+        // Assert - answered without the network, and not stamped as fetched just now
+        assertTrue(callback.done.await(5, TimeUnit.SECONDS));
+        awaitWrites();
+        assertEquals(1, server.getRequestCount());
+        assertNotNull(callback.fresh.get());
+        assertEquals(fetchedAt, weatherDao.getWeatherByCity("Hanoi").getCachedAt());
+    }
+
+    @Test
+    public void getWeatherByCity_openCircuit_cachedAnswerDoesNotRefreshCachedAt() throws Exception {
+        // Arrange - Hanoi in the HTTP cache, an expired database entry, and the endpoint's circuit open
+        HttpCachePolicy policy = new HttpCachePolicy();
+        CircuitBreakers breakers = new CircuitBreakers(1, 60_000, System::currentTimeMillis);
+        ResilienceInterceptor resilience = new ResilienceInterceptor(breakers, new RetryPolicy(1, 1_000, 10, 10));
+        server.enqueue(new MockResponse().setBody(Fixtures.read(Fixtures.WEATHER)));
+        RecordingCallback first = new RecordingCallback();
+        withHttpCache(resilience, policy).getWeatherByCity("Hanoi", "celsius", first);
+        assertTrue(first.done.await(5, TimeUnit.SECONDS));
+        awaitWrites();
+        WeatherCacheEntity entry = weatherDao.getWeatherByCity("Hanoi");
+        entry.setCachedAt(0);
+        weatherDao.insertWeather(entry);
+        breakers.get(CircuitBreakers.keyOf(server.url("/weather"))).onFailure();
+        RecordingCallback callback = new RecordingCallback();
+
+        // Act
+        withHttpCache(resilience, policy).getWeatherByCity("Hanoi", "celsius", callback);
+
+        // Assert - answered without the network, as stale, and not saved as new
+        assertTrue(callback.done.await(5, TimeUnit.SECONDS));
+        awaitWrites();
+        assertEquals(1, server.getRequestCount());
+        assertNotNull(callback.stale.get());
+        assertNull(callback.fresh.get());
+        assertEquals(WeatherRepositoryImpl.STALE_ERROR_MESSAGE, callback.error.get());
+        assertEquals(0, weatherDao.getWeatherByCity("Hanoi").getCachedAt());
+    }
+
+    @Test
+    public void getWeatherByCity_noCache_noStaleCallback() throws Exception {
+        // Arrange
+        server.enqueue(new MockResponse().setBody(Fixtures.read(Fixtures.WEATHER)));
+        RecordingCallback callback = new RecordingCallback();
+
+        // Act
+        repository.getWeatherByCity("Hanoi", "celsius", callback);
+
+        // Assert
+        assertTrue(callback.done.await(5, TimeUnit.SECONDS));
+        assertNull(callback.stale.get());
+        assertNotNull(callback.fresh.get());
+    }
+
+    @Test
+    public void getWeatherByCity_otherUnit_convertedFromCacheWithoutRefetch() throws Exception {
+        // Arrange
+        server.enqueue(new MockResponse().setBody(Fixtures.read(Fixtures.WEATHER)));
+        RecordingCallback celsius = new RecordingCallback();
+        repository.getWeatherByCity("Hanoi", "celsius", celsius);
+        assertTrue(celsius.done.await(5, TimeUnit.SECONDS));
+        RecordingCallback fahrenheit = new RecordingCallback();
+
+        // Act
+        repository.getWeatherByCity("Hanoi", "fahrenheit", fahrenheit);
+
+        // Assert
+        assertTrue(fahrenheit.done.await(5, TimeUnit.SECONDS));
+        assertEquals(1, server.getRequestCount());
+        assertTrue(server.takeRequest().getPath().contains("units=metric"));
+        WeatherData inCelsius = celsius.fresh.get();
+        WeatherData inFahrenheit = fahrenheit.fresh.get();
+        assertEquals("fahrenheit", inFahrenheit.getTemperatureUnit());
+        assertEquals(inCelsius.getTemperature() * 1.8 + 32, inFahrenheit.getTemperature(), 1e-9);
+        assertEquals(inCelsius.getWindSpeed(), inFahrenheit.getWindSpeed(), 0.0);
+        assertEquals(1581130L, inFahrenheit.getCityId());
+    }
+
+    @Test
+    public void getWeatherByCoordinates_insideCachedCity_servedFromCityEntry() throws Exception {
+        // Arrange - Hanoi fetched by name, then a GPS fix 5 km from its centre
+        repository = withGazetteer();
+        server.enqueue(new MockResponse().setBody(Fixtures.read(Fixtures.WEATHER)));
+        RecordingCallback byCity = new RecordingCallback();
+        repository.getWeatherByCity("Hanoi", "celsius", byCity);
+        assertTrue(byCity.done.await(5, TimeUnit.SECONDS));
+        RecordingCallback byFix = new RecordingCallback();
+
+        // Act
+        repository.getWeatherByCoordinates(21.05, 105.80, "celsius", byFix);
+
+        // Assert
+        assertTrue(byFix.done.await(5, TimeUnit.SECONDS));
+        assertEquals(1, server.getRequestCount());
+        assertEquals("Hanoi", byFix.fresh.get().getCityName());
+    }
+
+    @Test
+    public void getWeatherByCoordinates_insideKnownCity_storedUnderCityName_showsApiName() throws Exception {
+        // Arrange - the API names the fix with diacritics, the gazetteer key is ASCII
+        repository = withGazetteer();
+        server.enqueue(new MockResponse().setBody(Fixtures.read(Fixtures.WEATHER)
+                .replace("\"Hanoi\"", "\"Hà Nội\"")));
+        RecordingCallback byFix = new RecordingCallback();
+        repository.getWeatherByCoordinates(21.05, 105.80, "celsius", byFix);
+        assertTrue(byFix.done.await(5, TimeUnit.SECONDS));
+        awaitWrites();
+        RecordingCallback byCity = new RecordingCallback();
+        RecordingCallback byCityFromDisk = new RecordingCallback();
+
+        // Act - from the memory tier, then from the database alone
+        repository.getWeatherByCity("Hanoi", "celsius", byCity);
+        withGazetteer().getWeatherByCity("Hanoi", "celsius", byCityFromDisk);
+
+        // Assert
+        assertTrue(byCity.done.await(5, TimeUnit.SECONDS));
+        assertTrue(byCityFromDisk.done.await(5, TimeUnit.SECONDS));
+        assertEquals(1, server.getRequestCount());
+        assertEquals("Hà Nội", byFix.fresh.get().getCityName());
+        assertEquals("Hà Nội", byCity.fresh.get().getCityName());
+        assertEquals("Hà Nội", byCityFromDisk.fresh.get().getCityName());
+        assertEquals("Hà Nội", weatherDao.getWeatherByCity("Hanoi").getDisplayName());
+    }
+
+    @Test
+    public void getWeatherByCityIds_chunkedWithinLimit_boundedConcurrency_cachedTogether() throws Exception {
+        // Arrange - /group answers every id it's asked for, slowly enough for chunks to overlap
+        String city = Fixtures.read(Fixtures.WEATHER);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                Thread.sleep(100);
+                MockResponse response = groupResponse(request, city);
+                inFlight.decrementAndGet();
+                return response;
+            }
+        });
+        List<Long> cityIds = new ArrayList<>();
+        for (long id = 1; id <= 45; id++) {
+            cityIds.add(id);
+        }
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicReference<Map<Long, WeatherData>> result = new AtomicReference<>();
+
+        // Act
+        repository.getWeatherByCityIds(cityIds, "fahrenheit", new WeatherRepository.BatchWeatherCallback() {
+            @Override
+            public void onSuccess(Map<Long, WeatherData> weatherByCityId) {
+                result.set(weatherByCityId);
+                done.countDown();
+            }
+
+            @Override
+            public void onError(String message) {
+                done.countDown();
+            }
+        });
+
+        // Assert - 20 + 20 + 5 ids, at most two requests at a time, every row written
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(3, server.getRequestCount());
+        assertTrue("Max in flight " + maxInFlight.get(), maxInFlight.get() <= WeatherRepositoryImpl.GROUP_MAX_CONCURRENT);
+        assertEquals(45, result.get().size());
+        assertEquals("City 7", result.get().get(7L).getCityName());
+        assertEquals("fahrenheit", result.get().get(7L).getTemperatureUnit());
+        awaitWrites();
+        assertEquals(45, weatherDao.getAllCachedWeather().size());
+        assertEquals(7L, weatherDao.getWeatherByCity("City 7").getCityId());
+    }
+
+    @Test
+    public void getWeatherByCityIds_oneChunkFails_reportsItsIds() throws Exception {
+        // Arrange - the second chunk (ids 21-40) gets a server error
+        String city = Fixtures.read(Fixtures.WEATHER);
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                if (request.getRequestUrl().queryParameter("id").startsWith("21,")) {
+                    return new MockResponse().setResponseCode(503);
+                }
+                return groupResponse(request, city);
+            }
+        });
+        List<Long> cityIds = new ArrayList<>();
+        for (long id = 1; id <= 45; id++) {
+            cityIds.add(id);
+        }
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicReference<Map<Long, WeatherData>> result = new AtomicReference<>();
+        AtomicReference<List<Long>> failed = new AtomicReference<>();
+
+        // Act
+        repository.getWeatherByCityIds(cityIds, "celsius", new WeatherRepository.BatchWeatherCallback() {
+            @Override
+            public void onSuccess(Map<Long, WeatherData> weatherByCityId) {
+                result.set(weatherByCityId);
+                done.countDown();
+            }
+
+            @Override
+            public void onError(String message) {
+                done.countDown();
+            }
+
+            @Override
+            public void onFailed(List<Long> failedIds, String message) {
+                failed.set(failedIds);
+            }
+        });
+
+        // Assert - the other chunks still arrive, and the failed chunk's ids are named
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(25, result.get().size());
+        assertEquals(cityIds.subList(20, 40), new ArrayList<>(new TreeSet<>(failed.get())));
+    }
+
+    @Test
+    public void getWeatherByCityIds_offline_reportsError() throws Exception {
+        // Arrange
+        server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AT_START));
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicReference<String> error = new AtomicReference<>();
+
+        // Act
+        repository.getWeatherByCityIds(Collections.singletonList(1581130L), "celsius",
+                new WeatherRepository.BatchWeatherCallback() {
+            @Override
+            public void onSuccess(Map<Long, WeatherData> weatherByCityId) {
+                done.countDown();
+            }
+
+            @Override
+            public void onError(String message) {
+                error.set(message);
+                done.countDown();
+            }
+        });
+
+        // Assert
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertNotNull(error.get());
+    }
+
+    @Test
+    public void getForecast_otherUnit_convertedFromCacheWithoutRefetch() throws Exception {
+        // Arrange
+        server.enqueue(new MockResponse().setBody(Fixtures.read(Fixtures.FORECAST)));
+        ForecastData inCelsius = awaitForecast();
+        awaitWrites();
+
+        // Act
+        ForecastData inFahrenheit = awaitForecast("fahrenheit");
+
+        // Assert
+        assertEquals(1, server.getRequestCount());
+        assertEquals(inCelsius.getHourlySeries().getTemperature(0) * 1.8 + 32,
+                inFahrenheit.getHourlySeries().getTemperature(0), 1e-3);
+        assertEquals(inCelsius.getDailyForecasts().get(0).getTempMax() * 1.8 + 32,
+                inFahrenheit.getDailyForecasts().get(0).getTempMax(), 1e-9);
+    }
+
+    @Test
+    public void getForecast_secondCallWithinTtl_servedFromCache() throws Exception {
+        // Arrange
+        server.enqueue(new MockResponse().setBody(Fixtures.read(Fixtures.FORECAST)));
+        ForecastData fromNetwork = awaitForecast();
+        awaitWrites();
+
+        // Act
+        ForecastData fromCache = awaitForecast();
+
+        // Assert
+        assertEquals(1, server.getRequestCount());
+        assertEquals(fromNetwork.getDailyForecasts().size(), fromCache.getDailyForecasts().size());
+        assertEquals(fromNetwork.getDailyForecasts().get(0).getTempMax(),
+                fromCache.getDailyForecasts().get(0).getTempMax(), 0.0);
+        assertNotNull(repository.getLatestHourlyForecastResponse());
+    }
+
+    @Test
+    public void getForecast_expiredRows_refetched() throws Exception {
+        // Arrange
+        server.enqueue(new MockResponse().setBody(Fixtures.read(Fixtures.FORECAST)));
+        server.enqueue(new MockResponse().setBody(Fixtures.read(Fixtures.FORECAST)));
+        awaitForecast();
+        awaitWrites();
+        awaitForecast();
+        forecastDao.deleteOldForecasts(Long.MAX_VALUE);
+
+        // Act
+        awaitForecast();
+
+        // Assert
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    public void getUVIndexAndAirQuality_secondCallWithinTtl_servedFromCache() throws Exception {
+        // Arrange
+        server.enqueue(new MockResponse().setBody(Fixtures.read(Fixtures.UV_INDEX)));
+        server.enqueue(new MockResponse().setBody(Fixtures.read(Fixtures.AIR_QUALITY)));
+        int uvFromNetwork = awaitUVIndex();
+        AirQualityData airFromNetwork = awaitAirQuality();
+        awaitWrites();
+
+        // Act
+        int uvFromCache = awaitUVIndex();
+        AirQualityData airFromCache = awaitAirQuality();
+
+        // Assert
+        assertEquals(2, server.getRequestCount());
+        assertEquals(uvFromNetwork, uvFromCache);
+        assertEquals(airFromNetwork.getAqi(), airFromCache.getAqi());
+        assertEquals(airFromNetwork.getPm2_5(), airFromCache.getPm2_5(), 0.0);
+    }
+
+    @Test
+    public void getForecast_cacheReadsDoNotWaitBehindWrites() throws Exception {
+        // Arrange
+        server.enqueue(new MockResponse().setBody(Fixtures.read(Fixtures.FORECAST)));
+        awaitForecast();
+        awaitWrites();
+        CountDownLatch release = new CountDownLatch(1);
+        dispatcher.writes().execute(() -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        // Act - served from cache while the writer is busy
+        ForecastData fromCache = awaitForecast();
+        release.countDown();
+
+        // Assert
+        assertNotNull(fromCache);
+        assertEquals(1, server.getRequestCount());
+    }
+
+    /**
+     * Wait for every cache write queued so far; the writer runs tasks in order
+     */
+    private void awaitWrites() throws Exception {
+        CountDownLatch done = new CountDownLatch(1);
+        dispatcher.writes().execute(done::countDown);
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+    }
+
+    private ForecastData awaitForecast() throws Exception {
+        return awaitForecast("celsius");
+    }
+
+    private ForecastData awaitForecast(String temperatureUnit) throws Exception {
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicReference<ForecastData> result = new AtomicReference<>();
+        repository.getForecast(21.0245, 105.8412, temperatureUnit, new WeatherRepository.ForecastCallback() {
+            @Override
+            public void onSuccess(ForecastData forecastData) {
+                result.set(forecastData);
+                done.countDown();
+            }
+
+            @Override
+            public void onError(String message) {
+                done.countDown();
+            }
+        });
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertNotNull(result.get());
+        return result.get();
+    }
+
+    private int awaitUVIndex() throws Exception {
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicReference<Integer> result = new AtomicReference<>();
+        repository.getUVIndex(21.0245, 105.8412, new WeatherRepository.UVIndexCallback() {
+            @Override
+            public void onSuccess(int uvIndex) {
+                result.set(uvIndex);
+                done.countDown();
+            }
+
+            @Override
+            public void onError(String message) {
+                done.countDown();
+            }
+        });
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertNotNull(result.get());
+        return result.get();
+    }
+
+    private AirQualityData awaitAirQuality() throws Exception {
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicReference<AirQualityData> result = new AtomicReference<>();
+        repository.getAirQuality(21.0245, 105.8412, new WeatherRepository.AirQualityCallback() {
+            @Override
+            public void onSuccess(AirQualityData airQualityData) {
+                result.set(airQualityData);
+                done.countDown();
+            }
+
+            @Override
+            public void onError(String message) {
+                done.countDown();
+            }
+        });
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertNotNull(result.get());
+        return result.get();
+    }
+
+    /**
+     * Repository on a client with a disk cache whose entries are never fresh (every call goes to
+     * the network first), behind the given application interceptor
+     */
+    private WeatherRepositoryImpl withHttpCache(Interceptor interceptor, HttpCachePolicy policy) throws IOException {
+        return withHttpCache(interceptor, policy, true);
+    }
+
+    /**
+     * @param forceNetwork Skip the HTTP cache unless the interceptor falls back to it
+     */
+    private WeatherRepositoryImpl withHttpCache(Interceptor interceptor, HttpCachePolicy policy,
+                                                boolean forceNetwork) throws IOException {
+        if (httpCache == null) {
+            httpCache = new Cache(tempFolder.newFolder("http_cache"), HttpCachePolicy.CACHE_SIZE_BYTES);
+        }
+        OkHttpClient.Builder builder = new OkHttpClient.Builder().cache(httpCache);
+        if (forceNetwork) {
+            builder.addInterceptor(chain -> chain.proceed(chain.request().newBuilder()
+                    .cacheControl(CacheControl.FORCE_NETWORK).build()));
+        }
+        OkHttpClient client = builder
+                .addInterceptor(interceptor)
+                .addNetworkInterceptor(policy.networkInterceptor())
+                .build();
+        WeatherApiService cachedApi = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .client(client)
+                .addConverterFactory(GsonConverterFactory.create())
+                .build()
+                .create(WeatherApiService.class);
+        return new WeatherRepositoryImpl(cachedApi, "test-key", weatherDao,
+                forecastDao, new InMemoryCacheDaos.UVIndex(), new InMemoryCacheDaos.AirQuality(),
+                new MemoryWeatherCache(), null, dispatcher);
+    }
+
+    private WeatherRepositoryImpl withGazetteer() {
+        String cities = "Hà Nội\tHanoi\tVN\t21.0245\t105.8412\t8053663\n"
+                + "Hải Phòng\tHaiphong\tVN\t20.8449\t106.6881\t2028514\n";
+        return new WeatherRepositoryImpl(api, "test-key", weatherDao,
+                forecastDao, new InMemoryCacheDaos.UVIndex(), new InMemoryCacheDaos.AirQuality(),
+                new MemoryWeatherCache(), null, dispatcher, new LazyGazetteer(() -> gzip(cities)));
+    }
+
+    private static ByteArrayInputStream gzip(String text) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+        return new ByteArrayInputStream(bytes.toByteArray());
+    }
+
+    private static WeatherCacheEntity expiredHanoi() {
+        WeatherCacheEntity entity = new WeatherCacheEntity();
+        entity.setCityName("Hanoi");
+        entity.setTemperature(STALE_TEMPERATURE);
+        entity.setLatitude(21.0245);
+        entity.setLongitude(105.8412);
+        entity.setTemperatureUnit("celsius");
+        entity.setCachedAt(0);
+        return entity;
+    }
+
+    /**
+     * A /group answer with the fixture city once per requested id, named "City <id>"
+     */
+    private static MockResponse groupResponse(RecordedRequest request, String city) {
+        StringBuilder list = new StringBuilder();
+        for (String id : request.getRequestUrl().queryParameter("id").split(",")) {
+            list.append(list.length() > 0 ? "," : "").append(city
+                    .replace("1581130", id)
+                    .replace("\"Hanoi\"", "\"City " + id + "\""));
+        }
+        return new MockResponse().setBody("{\"cnt\": 0, \"list\": [" + list + "]}");
+    }
+
+    private static class RecordingCallback implements WeatherRepository.WeatherCallback {
+        final long start = System.nanoTime();
+        final CountDownLatch done = new CountDownLatch(1);
+        final AtomicReference<WeatherData> stale = new AtomicReference<>();
+        final AtomicReference<WeatherData> fresh = new AtomicReference<>();
+        final AtomicReference<String> error = new AtomicReference<>();
+        final AtomicLong staleAtMs = new AtomicLong(-1);
+        final AtomicLong freshAtMs = new AtomicLong(-1);
+        final AtomicInteger staleCount = new AtomicInteger();
+
+        @Override
+        public void onStale(WeatherData weatherData) {
+            staleCount.incrementAndGet();
+            staleAtMs.set(elapsedMs());
+            stale.set(weatherData);
+        }
+
+        @Override
+        public void onSuccess(WeatherData weatherData) {
+            freshAtMs.set(elapsedMs());
+            fresh.set(weatherData);
+            done.countDown();
+        }
+
+        @Override
+        public void onError(String message) {
+            error.set(message);
+            done.countDown();
+        }
+
+        private long elapsedMs() {
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        }
+    }
+}
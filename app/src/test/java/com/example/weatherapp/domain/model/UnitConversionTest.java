@@ -0,0 +1,77 @@
+package com.example.weatherapp.domain.model;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the precomputed unit conversion table
+ */
+public class UnitConversionTest {
+
+    @Test
+    public void temperature_convertsBothWays() {
+        // Act
+        UnitConversion toFahrenheit = UnitConversion.temperature(UnitConversion.CELSIUS, UnitConversion.FAHRENHEIT);
+        UnitConversion toCelsius = UnitConversion.temperature(UnitConversion.FAHRENHEIT, UnitConversion.CELSIUS);
+
+        // Assert
+        assertEquals(32.0, toFahrenheit.apply(0.0), 1e-9);
+        assertEquals(212.0, toFahrenheit.apply(100.0), 1e-9);
+        assertEquals(-40.0, toCelsius.apply(-40.0), 1e-9);
+        assertEquals(37.0, toCelsius.apply(98.6), 1e-9);
+    }
+
+    @Test
+    public void windSpeedAndPressure_fromCanonical() {
+        // Assert
+        assertEquals(36.0, UnitConversion.windSpeed(null, UnitConversion.KILOMETERS_PER_HOUR).apply(10.0), 1e-9);
+        assertEquals(22.369, UnitConversion.windSpeed(null, UnitConversion.MILES_PER_HOUR).apply(10.0), 1e-3);
+        assertEquals(10.0, UnitConversion.windSpeed(UnitConversion.KILOMETERS_PER_HOUR,
+                UnitConversion.METERS_PER_SECOND).apply(36.0), 1e-9);
+        assertEquals(29.92, UnitConversion.pressure(null, UnitConversion.INCHES_OF_MERCURY).apply(1013.25), 1e-2);
+        assertEquals(760.0, UnitConversion.pressure(null, UnitConversion.MILLIMETERS_OF_MERCURY).apply(1013.25), 1e-2);
+    }
+
+    @Test
+    public void sameUnit_isIdentity() {
+        // Assert
+        assertTrue(UnitConversion.temperature(UnitConversion.FAHRENHEIT, UnitConversion.FAHRENHEIT).isIdentity());
+        assertTrue(UnitConversion.pressure(UnitConversion.HECTOPASCAL, UnitConversion.MILLIBAR).isIdentity());
+        assertFalse(UnitConversion.temperature(null, UnitConversion.FAHRENHEIT).isIdentity());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownUnit_throws() {
+        UnitConversion.temperature(UnitConversion.CELSIUS, "kelvin");
+    }
+
+    @Test
+    public void toTemperatureUnit_convertsTemperaturesOnly() {
+        // Arrange
+        WeatherData celsius = new WeatherData.Builder()
+                .setCityName("Hanoi")
+                .setTemperature(20)
+                .setFeelsLike(10)
+                .setMinTemperature(0)
+                .setMaxTemperature(30)
+                .setWindSpeed(5)
+                .setPressure(1013)
+                .setTemperatureUnit(UnitConversion.CELSIUS)
+                .build();
+
+        // Act
+        WeatherData fahrenheit = UnitConversion.toTemperatureUnit(celsius, UnitConversion.FAHRENHEIT);
+
+        // Assert
+        assertEquals(UnitConversion.FAHRENHEIT, fahrenheit.getTemperatureUnit());
+        assertEquals(68.0, fahrenheit.getTemperature(), 1e-9);
+        assertEquals(50.0, fahrenheit.getFeelsLike(), 1e-9);
+        assertEquals(32.0, fahrenheit.getMinTemperature(), 1e-9);
+        assertEquals(86.0, fahrenheit.getMaxTemperature(), 1e-9);
+        assertEquals(5.0, fahrenheit.getWindSpeed(), 0.0);
+        assertEquals(1013.0, fahrenheit.getPressure(), 0.0);
+        assertEquals("Hanoi", fahrenheit.getCityName());
+        assertSame(celsius, UnitConversion.toTemperatureUnit(celsius, UnitConversion.CELSIUS));
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.weatherapp.domain.usecase;
+
+import com.example.weatherapp.domain.repository.WeatherRepository;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for GetWeatherByCityIdsUseCase
+ */
+public class GetWeatherByCityIdsUseCaseTest {
+    
+    @Mock
+    private WeatherRepository repository;
+    
+    @Mock
+    private GetWeatherByCityIdsUseCase.Callback callback;
+    
+    private GetWeatherByCityIdsUseCase useCase;
+    
+    @Before
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+        useCase = new GetWeatherByCityIdsUseCase(repository);
+    }
+    
+    @Test
+    public void execute_withValidIds_callsRepositoryOnce() {
+        // Arrange - Hanoi, Ho Chi Minh City, Da Nang
+        List<Long> cityIds = Arrays.asList(1581130L, 1566083L, 1583992L);
+        
+        // Act
+        useCase.execute(cityIds, "celsius", callback);
+        
+        // Assert
+        verify(repository).getWeatherByCityIds(eq(cityIds), eq("celsius"),
+                any(WeatherRepository.BatchWeatherCallback.class));
+    }
+    
+    @Test
+    public void execute_withNoIds_succeedsWithoutRepository() {
+        // Act
+        useCase.execute(Collections.emptyList(), "celsius", callback);
+        
+        // Assert
+        verify(callback).onSuccess(Collections.emptyMap());
+        verify(repository, never()).getWeatherByCityIds(anyList(), anyString(), any());
+    }
+    
+    @Test
+    public void execute_withInvalidId_callsOnError() {
+        // Arrange
+        ArgumentCaptor<String> errorCaptor = ArgumentCaptor.forClass(String.class);
+        
+        // Act
+        useCase.execute(Arrays.asList(1581130L, 0L), "celsius", callback);
+        
+        // Assert
+        verify(callback).onError(errorCaptor.capture());
+        assertTrue(errorCaptor.getValue().contains("Invalid"));
+        verify(repository, never()).getWeatherByCityIds(anyList(), anyString(), any());
+    }
+}
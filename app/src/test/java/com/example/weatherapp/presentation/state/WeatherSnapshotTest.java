@@ -0,0 +1,65 @@
+package com.example.weatherapp.presentation.state;
+
+import com.example.weatherapp.domain.model.WeatherData;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the section change flags and completeness of WeatherSnapshot
+ */
+public class WeatherSnapshotTest {
+
+    @Test
+    public void changesSince_nothingDrawnYet_isAll() {
+        assertEquals(WeatherSnapshot.ALL, WeatherSnapshot.loading().changesSince(null));
+    }
+
+    @Test
+    public void changesSince_flagsOnlyReplacedSections() {
+        // Arrange
+        WeatherSnapshot drawn = WeatherSnapshot.loading();
+
+        // Act
+        WeatherSnapshot next = drawn.withUvIndex(new UIState.Success<>(5));
+
+        // Assert
+        assertEquals(WeatherSnapshot.UV_INDEX, next.changesSince(drawn));
+        assertEquals(0, next.changesSince(next));
+    }
+
+    @Test
+    public void changesSince_accumulatesOverSkippedSnapshots() {
+        // Arrange - the observer drew the first snapshot and missed the middle one
+        WeatherSnapshot drawn = WeatherSnapshot.loading();
+        WeatherSnapshot skipped = drawn.withWeather(new UIState.Error<>("timeout"));
+
+        // Act
+        WeatherSnapshot latest = skipped.withAirQuality(new UIState.Error<>("timeout"));
+
+        // Assert
+        assertEquals(WeatherSnapshot.WEATHER | WeatherSnapshot.AIR_QUALITY, latest.changesSince(drawn));
+    }
+
+    @Test
+    public void isComplete_staleWeatherAwaitingRefresh_isNot() {
+        // Arrange
+        WeatherSnapshot extrasDone = WeatherSnapshot.loading()
+                .withForecast(new UIState.Error<>("timeout"))
+                .withUvIndex(new UIState.Success<>(5))
+                .withAirQuality(new UIState.Error<>("timeout"));
+
+        WeatherData hanoi = new WeatherData.Builder().setCityName("Hanoi").build();
+
+        // Act
+        WeatherSnapshot stale = extrasDone.withWeather(new UIState.Success<>(hanoi, true));
+        WeatherSnapshot failedRefresh = extrasDone.withWeather(new UIState.Success<>(hanoi, true, "offline"));
+        WeatherSnapshot fresh = extrasDone.withWeather(new UIState.Success<>(hanoi));
+
+        // Assert
+        assertFalse(stale.isComplete());
+        assertTrue(failedRefresh.isComplete());
+        assertTrue(fresh.isComplete());
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.weatherapp.presentation.viewmodel;
+
+import androidx.arch.core.executor.testing.InstantTaskExecutorRule;
+
+import com.example.weatherapp.data.api.HourlySeriesConverterFactory;
+import com.example.weatherapp.data.api.WeatherApiService;
+import com.example.weatherapp.data.repository.implementation.WeatherRepositoryImpl;
+import com.example.weatherapp.domain.model.WeatherData;
+import com.example.weatherapp.presentation.state.UIState;
+import com.example.weatherapp.presentation.state.WeatherSnapshot;
+import com.example.weatherapp.testutil.Fixtures;
+import com.example.weatherapp.testutil.InMemoryCacheDaos;
+import com.example.weatherapp.testutil.InMemoryWeatherDao;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+import static org.junit.Assert.*;
+
+/**
+ * Latest-wins tests for rapid city switching in MainViewModel
+ * Runs the real WeatherRepositoryImpl against a local MockWebServer where earlier cities
+ * answer later, so a load without cancellation would paint an old city last
+ */
+public class MainViewModelCancellationTest {
+
+    // Slowest first: Hue answers last, Saigon first
+    private static final List<String> CITIES = Arrays.asList("Hue", "Danang", "Saigon");
+    private static final long[] WEATHER_DELAY_MS = {900, 500, 100};
+    private static final long EXTRAS_DELAY_MS = 100;
+
+    @Rule
+    public InstantTaskExecutorRule instantTaskExecutorRule = new InstantTaskExecutorRule();
+
+    private MockWebServer server;
+    private final AtomicInteger extrasRequests = new AtomicInteger();
+    private MainViewModel viewModel;
+
+    @Before
+    public void setup() throws Exception {
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                String fixture = Fixtures.forPath(request.getPath());
+                if (fixture == null) {
+                    return new MockResponse().setResponseCode(404);
+                }
+                if (!Fixtures.WEATHER.equals(fixture)) {
+                    extrasRequests.incrementAndGet();
+                    return new MockResponse()
+                            .setBody(Fixtures.read(fixture))
+                            .setHeadersDelay(EXTRAS_DELAY_MS, TimeUnit.MILLISECONDS);
+                }
+                // Same payload for every city, renamed to the one asked for
+                String city = request.getRequestUrl().queryParameter("q");
+                return new MockResponse()
+                        .setBody(Fixtures.read(fixture).replace("\"Hanoi\"", "\"" + city + "\""))
+                        .setHeadersDelay(WEATHER_DELAY_MS[CITIES.indexOf(city)], TimeUnit.MILLISECONDS);
+            }
+        });
+        server.start();
+
+        WeatherApiService api = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .addConverterFactory(HourlySeriesConverterFactory.create())
+                .addConverterFactory(GsonConverterFactory.create())
+                .build()
+                .create(WeatherApiService.class);
+        viewModel = new MainViewModel(new WeatherRepositoryImpl(api, "test-key", new InMemoryWeatherDao(),
+                new InMemoryCacheDaos.Forecast(), new InMemoryCacheDaos.UVIndex(), new InMemoryCacheDaos.AirQuality()));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void loadWeatherByCity_rapidSwitch_onlyLastCityReachesUi() throws Exception {
+        // Arrange - record every city painted once the last load has started
+        String lastCity = CITIES.get(CITIES.size() - 1);
+        AtomicBoolean lastLoadStarted = new AtomicBoolean(false);
+        List<String> paintedAfterLastLoad = Collections.synchronizedList(new ArrayList<>());
+        viewModel.getWeatherState().observeForever(state -> {
+            if (lastLoadStarted.get() && state instanceof UIState.Success) {
+                paintedAfterLastLoad.add(((UIState.Success<WeatherData>) state).getData().getCityName());
+            }
+        });
+        CountDownLatch complete = new CountDownLatch(1);
+        viewModel.getSnapshotState().observeForever(snapshot -> {
+            if (snapshot != null && snapshot.isComplete()) {
+                complete.countDown();
+            }
+        });
+
+        // Act
+        for (String city : CITIES) {
+            if (city.equals(lastCity)) {
+                lastLoadStarted.set(true);
+            }
+            viewModel.loadWeatherByCity(city);
+        }
+        assertTrue("Snapshot never completed", complete.await(10, TimeUnit.SECONDS));
+        // Outlast the slowest superseded response
+        Thread.sleep(WEATHER_DELAY_MS[0] + 300);
+
+        // Assert
+        assertEquals(Collections.singletonList(lastCity), paintedAfterLastLoad);
+        assertEquals(lastCity, viewModel.getCurrentWeatherData().getCityName());
+        WeatherSnapshot snapshot = viewModel.getSnapshotState().getValue();
+        assertTrue(snapshot.getForecast() instanceof UIState.Success);
+        assertTrue(snapshot.getUvIndex() instanceof UIState.Success);
+        assertTrue(snapshot.getAirQuality() instanceof UIState.Success);
+        // Superseded cities never got far enough to start their forecast, UV and AQ
+        assertEquals(3, extrasRequests.get());
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.weatherapp.presentation.viewmodel;
+
+import androidx.arch.core.executor.testing.InstantTaskExecutorRule;
+
+import com.example.weatherapp.data.api.HourlySeriesConverterFactory;
+import com.example.weatherapp.data.api.WeatherApiService;
+import com.example.weatherapp.data.local.entity.WeatherCacheEntity;
+import com.example.weatherapp.data.repository.implementation.WeatherRepositoryImpl;
+import com.example.weatherapp.presentation.state.UIState;
+import com.example.weatherapp.presentation.state.WeatherSnapshot;
+import com.example.weatherapp.testutil.Fixtures;
+import com.example.weatherapp.testutil.InMemoryCacheDaos;
+import com.example.weatherapp.testutil.InMemoryWeatherDao;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.mockwebserver.SocketPolicy;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+import static org.junit.Assert.*;
+
+/**
+ * Wall-clock tests for the parallel snapshot load in MainViewModel
+ * Runs the real WeatherRepositoryImpl against a local MockWebServer where every endpoint
+ * answers after the same delay
+ */
+public class MainViewModelSnapshotTest {
+    
+    private static final long ENDPOINT_DELAY_MS = 400;
+    
+    @Rule
+    public InstantTaskExecutorRule instantTaskExecutorRule = new InstantTaskExecutorRule();
+    
+    private MockWebServer server;
+    private InMemoryWeatherDao weatherDao;
+    private MainViewModel viewModel;
+    private volatile boolean weatherOffline;
+    private WeatherSnapshot completed;
+    
+    @Before
+    public void setup() throws Exception {
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                String fixture = Fixtures.forPath(request.getPath());
+                if (weatherOffline && Fixtures.WEATHER.equals(fixture)) {
+                    return new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AT_START);
+                }
+                if (fixture == null) {
+                    return new MockResponse().setResponseCode(404);
+                }
+                return new MockResponse()
+                        .setBody(Fixtures.read(fixture))
+                        .setHeadersDelay(ENDPOINT_DELAY_MS, TimeUnit.MILLISECONDS);
+            }
+        });
+        server.start();
+        
+        WeatherApiService api = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .addConverterFactory(HourlySeriesConverterFactory.create())
+                .addConverterFactory(GsonConverterFactory.create())
+                .build()
+                .create(WeatherApiService.class);
+        weatherDao = new InMemoryWeatherDao();
+        viewModel = new MainViewModel(new WeatherRepositoryImpl(api, "test-key", weatherDao,
+                new InMemoryCacheDaos.Forecast(), new InMemoryCacheDaos.UVIndex(), new InMemoryCacheDaos.AirQuality()));
+    }
+    
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+    
+    @Test
+    public void loadWeatherByCity_withCachedCoordinates_latencyCloseToSlowestCall() throws Exception {
+        // Arrange - an expired cache row: weather must be refetched, but coordinates are known
+        weatherDao.insertWeather(expiredHanoi());
+        
+        // Act
+        long elapsed = loadAndAwait(() -> viewModel.loadWeatherByCity("Hanoi"));
+        
+        // Assert - one round trip, not two, and complete only once the refresh landed
+        assertTrue("Snapshot took " + elapsed + "ms", elapsed < 2 * ENDPOINT_DELAY_MS);
+        assertEquals(4, server.getRequestCount());
+        assertFalse(((UIState.Success<?>) completed.getWeather()).isStale());
+    }
+    
+    @Test
+    public void loadWeatherByCity_refreshFails_staleDataShownWithError() throws Exception {
+        // Arrange - an expired cache row and no way to refresh it
+        weatherDao.insertWeather(expiredHanoi());
+        weatherOffline = true;
+        
+        // Act
+        loadAndAwait(() -> viewModel.loadWeatherByCity("Hanoi"));
+        
+        // Assert - the old data stays next to the error, and the snapshot is done
+        UIState.Success<?> weather = (UIState.Success<?>) completed.getWeather();
+        assertTrue(weather.isStale());
+        assertNotNull(weather.getRefreshError());
+    }
+    
+    @Test
+    public void loadWeatherByCity_withoutCoordinates_fallsBackToChainedLoad() throws Exception {
+        // Act
+        long elapsed = loadAndAwait(() -> viewModel.loadWeatherByCity("Hanoi"));
+        
+        // Assert - forecast, UV and AQ had to wait for current weather
+        assertTrue("Snapshot took " + elapsed + "ms", elapsed >= 2 * ENDPOINT_DELAY_MS);
+        assertEquals(4, server.getRequestCount());
+    }
+    
+    @Test
+    public void loadWeatherByCoordinates_latencyCloseToSlowestCall() throws Exception {
+        // Act
+        long elapsed = loadAndAwait(() -> viewModel.loadWeatherByCoordinates(21.0245, 105.8412));
+        
+        // Assert
+        assertTrue("Snapshot took " + elapsed + "ms", elapsed < 2 * ENDPOINT_DELAY_MS);
+    }
+    
+    /**
+     * Run the load and wait for a complete snapshot
+     * @return Wall-clock time in milliseconds
+     */
+    private long loadAndAwait(Runnable load) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicReference<WeatherSnapshot> last = new AtomicReference<>();
+        viewModel.getSnapshotState().observeForever(snapshot -> {
+            if (snapshot != null && snapshot.isComplete() && last.compareAndSet(null, snapshot)) {
+                done.countDown();
+            }
+        });
+        
+        long start = System.nanoTime();
+        load.run();
+        assertTrue("Snapshot never completed", done.await(10, TimeUnit.SECONDS));
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        
+        WeatherSnapshot snapshot = last.get();
+        completed = snapshot;
+        assertTrue(snapshot.getWeather() instanceof UIState.Success);
+        assertTrue(snapshot.getForecast() instanceof UIState.Success);
+        assertTrue(snapshot.getUvIndex() instanceof UIState.Success);
+        assertTrue(snapshot.getAirQuality() instanceof UIState.Success);
+        return elapsed;
+    }
+    
+    private static WeatherCacheEntity expiredHanoi() {
+        WeatherCacheEntity expired = new WeatherCacheEntity();
+        expired.setCityName("Hanoi");
+        expired.setLatitude(21.0245);
+        expired.setLongitude(105.8412);
+        expired.setTemperatureUnit("celsius");
+        expired.setCachedAt(0);
+        return expired;
+    }
+}
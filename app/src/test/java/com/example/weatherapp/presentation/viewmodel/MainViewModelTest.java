@@ -6,10 +6,13 @@ import androidx.lifecycle.Observer;
 import com.example.weatherapp.domain.model.WeatherData;
 import com.example.weatherapp.domain.repository.WeatherRepository;
 import com.example.weatherapp.presentation.state.UIState;
+import com.example.weatherapp.presentation.state.WeatherSnapshot;
 
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
+import org.mockito.Answers;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
@@ -26,7 +29,8 @@ public class MainViewModelTest {
     @Rule
     public InstantTaskExecutorRule instantTaskExecutorRule = new InstantTaskExecutorRule();
 
-    @Mock
+    // Real default methods, so token overloads land on the plain methods verified below
+    @Mock(answer = Answers.CALLS_REAL_METHODS)
     private WeatherRepository mockRepository;
 
     @Mock
@@ -74,6 +78,19 @@ public class MainViewModelTest {
         ));
     }
 
+    @Test
+    public void loadWeatherByCity_withBlankCity_errorReachesSnapshot() {
+        // When
+        viewModel.loadWeatherByCity("   ");
+
+        // Then - MainActivity renders the snapshot, so the error has to be there
+        WeatherSnapshot snapshot = viewModel.getSnapshotState().getValue();
+        assertNotNull(snapshot);
+        assertTrue(snapshot.getWeather() instanceof UIState.Error);
+        assertTrue(((UIState.Error<WeatherData>) snapshot.getWeather()).getMessage().contains("empty"));
+        verifyNoInteractions(mockRepository);
+    }
+
     @Test
     public void loadWeatherByCity_withNullCity_emitsError() {
         // Given
@@ -113,6 +130,26 @@ public class MainViewModelTest {
         assertEquals(newUnit, viewModel.getTemperatureUnit());
     }
 
+    @Test
+    public void setTemperatureUnit_convertsDataOnScreenWithoutReload() {
+        // Given
+        ArgumentCaptor<WeatherRepository.WeatherCallback> captor =
+                ArgumentCaptor.forClass(WeatherRepository.WeatherCallback.class);
+        viewModel.loadWeatherByCity("Hanoi");
+        verify(mockRepository).getWeatherByCity(eq("Hanoi"), eq("celsius"), captor.capture());
+        captor.getValue().onSuccess(createMockWeatherData("Hanoi"));
+
+        // When
+        viewModel.setTemperatureUnit("fahrenheit");
+
+        // Then
+        WeatherData shown = viewModel.getCurrentWeatherData();
+        assertEquals("fahrenheit", shown.getTemperatureUnit());
+        assertEquals(77.0, shown.getTemperature(), 1e-9);
+        assertEquals(3.5, shown.getWindSpeed(), 0.0);
+        verify(mockRepository, times(1)).getWeatherByCity(anyString(), anyString(), any());
+    }
+
     @Test
     public void getCurrentCityName_returnsCorrectName() {
         // Given
@@ -139,6 +176,118 @@ public class MainViewModelTest {
         verify(mockRepository, atLeast(2)).getWeatherByCity(anyString(), anyString(), any());
     }
 
+    @Test
+    public void loadWeatherByCity_staleThenFresh_paintsStaleAndStartsExtrasAtOnce() {
+        // Given
+        WeatherData stale = createMockWeatherData("Hanoi");
+        WeatherData fresh = createMockWeatherData("Hanoi");
+        ArgumentCaptor<WeatherRepository.WeatherCallback> captor =
+                ArgumentCaptor.forClass(WeatherRepository.WeatherCallback.class);
+        viewModel.loadWeatherByCity("Hanoi");
+        verify(mockRepository).getWeatherByCity(eq("Hanoi"), anyString(), captor.capture());
+
+        // When
+        captor.getValue().onStale(stale);
+
+        // Then - stale data is shown and extras start from its coordinates
+        UIState<WeatherData> state = viewModel.getWeatherState().getValue();
+        assertTrue(state instanceof UIState.Success);
+        assertTrue(((UIState.Success<WeatherData>) state).isStale());
+        verify(mockRepository).getForecast(eq(21.0285), eq(105.8542), anyString(), any());
+
+        // When - the refresh lands
+        captor.getValue().onSuccess(fresh);
+
+        // Then
+        state = viewModel.getWeatherState().getValue();
+        assertSame(fresh, ((UIState.Success<WeatherData>) state).getData());
+        assertFalse(((UIState.Success<WeatherData>) state).isStale());
+        verify(mockRepository, times(1)).getForecast(anyDouble(), anyDouble(), anyString(), any());
+    }
+
+    @Test
+    public void loadWeatherByCity_refreshFailsAfterStale_keepsStaleDataWithError() {
+        // Given
+        WeatherData stale = createMockWeatherData("Hanoi");
+        ArgumentCaptor<WeatherRepository.WeatherCallback> captor =
+                ArgumentCaptor.forClass(WeatherRepository.WeatherCallback.class);
+        viewModel.loadWeatherByCity("Hanoi");
+        verify(mockRepository).getWeatherByCity(eq("Hanoi"), anyString(), captor.capture());
+
+        // When
+        captor.getValue().onStale(stale);
+        captor.getValue().onError("No internet connection. Please check your network.");
+
+        // Then - the old data stays, with the reason it wasn't refreshed
+        UIState<WeatherData> state = viewModel.getWeatherState().getValue();
+        assertTrue(state instanceof UIState.Success);
+        UIState.Success<WeatherData> success = (UIState.Success<WeatherData>) state;
+        assertSame(stale, success.getData());
+        assertTrue(success.isStale());
+        assertEquals("No internet connection. Please check your network.", success.getRefreshError());
+    }
+
+    @Test
+    public void loadWeatherByCity_supersededLoad_resultsDropped() {
+        // Given
+        ArgumentCaptor<WeatherRepository.WeatherCallback> first =
+                ArgumentCaptor.forClass(WeatherRepository.WeatherCallback.class);
+        ArgumentCaptor<WeatherRepository.WeatherCallback> second =
+                ArgumentCaptor.forClass(WeatherRepository.WeatherCallback.class);
+        viewModel.loadWeatherByCity("Hanoi");
+        verify(mockRepository).getWeatherByCity(eq("Hanoi"), anyString(), first.capture());
+        viewModel.loadWeatherByCity("Hue");
+        verify(mockRepository).getWeatherByCity(eq("Hue"), anyString(), second.capture());
+
+        // When - the old city answers after the new one
+        WeatherData hue = createMockWeatherData("Hue");
+        second.getValue().onSuccess(hue);
+        first.getValue().onSuccess(createMockWeatherData("Hanoi"));
+        first.getValue().onError("timeout");
+
+        // Then - only the latest city is shown, and only its extras started
+        assertSame(hue, viewModel.getCurrentWeatherData());
+        verify(mockRepository, times(1)).getForecast(anyDouble(), anyDouble(), anyString(), any());
+    }
+
+    @Test
+    public void showColdStart_keptOnScreenUntilFreshWeatherArrives() {
+        // Given
+        WeatherData coldStart = createMockWeatherData("Hanoi");
+        WeatherData fresh = createMockWeatherData("Hanoi");
+        ArgumentCaptor<WeatherRepository.WeatherCallback> captor =
+                ArgumentCaptor.forClass(WeatherRepository.WeatherCallback.class);
+        viewModel.getWeatherState().observeForever(weatherStateObserver);
+        viewModel.showColdStart(coldStart, null);
+
+        // When
+        viewModel.loadWeatherByCity("Hanoi");
+
+        // Then - no Loading over the snapshot, extras start from its coordinates
+        verify(weatherStateObserver, never()).onChanged(argThat(state -> state instanceof UIState.Loading));
+        assertSame(coldStart, viewModel.getCurrentWeatherData());
+        verify(mockRepository).getForecast(eq(21.0285), eq(105.8542), anyString(), any());
+
+        // When - the load lands
+        verify(mockRepository).getWeatherByCity(eq("Hanoi"), anyString(), captor.capture());
+        captor.getValue().onSuccess(fresh);
+
+        // Then
+        assertSame(fresh, viewModel.getCurrentWeatherData());
+    }
+
+    @Test
+    public void showColdStart_afterLoadStarted_ignored() {
+        // Given
+        viewModel.loadWeatherByCity("Hanoi");
+
+        // When
+        viewModel.showColdStart(createMockWeatherData("Hanoi"), null);
+
+        // Then
+        assertTrue(viewModel.getWeatherState().getValue() instanceof UIState.Loading);
+    }
+
     // Helper method to create mock WeatherData
     private WeatherData createMockWeatherData(String cityName) {
         return new WeatherData.Builder()
@@ -0,0 +1,47 @@
+package com.example.weatherapp.testutil;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Loads recorded API payloads from src/test/resources/fixtures
+ */
+public final class Fixtures {
+    
+    public static final String WEATHER = "weather_hanoi.json";
+    public static final String FORECAST = "forecast_hanoi.json";
+    public static final String UV_INDEX = "uvi_hanoi.json";
+    public static final String AIR_QUALITY = "air_pollution_hanoi.json";
+    
+    private Fixtures() {}
+    
+    public static String read(String name) {
+        try (InputStream in = Fixtures.class.getClassLoader().getResourceAsStream("fixtures/" + name)) {
+            if (in == null) {
+                throw new IllegalArgumentException("Missing fixture: " + name);
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read fixture: " + name, e);
+        }
+    }
+    
+    /**
+     * Fixture file name for an OpenWeatherMap request path, or null if there is none
+     */
+    public static String forPath(String path) {
+        if (path.startsWith("/weather")) return WEATHER;
+        if (path.startsWith("/forecast")) return FORECAST;
+        if (path.startsWith("/uvi")) return UV_INDEX;
+        if (path.startsWith("/air_pollution")) return AIR_QUALITY;
+        return null;
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.weatherapp.testutil;
+
+import com.example.weatherapp.data.database.dao.AirQualityCacheDao;
+import com.example.weatherapp.data.database.dao.ForecastCacheDao;
+import com.example.weatherapp.data.database.dao.UVIndexCacheDao;
+import com.example.weatherapp.data.database.entities.AirQualityCacheEntity;
+import com.example.weatherapp.data.database.entities.ForecastCacheEntity;
+import com.example.weatherapp.data.database.entities.UVIndexCacheEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Forecast, UV index and air quality DAOs backed by lists, for repository tests that run without Room
+ * Queries follow the SQL in each DAO; ids are assigned on insert like autoGenerate
+ */
+public final class InMemoryCacheDaos {
+    
+    private InMemoryCacheDaos() {}
+    
+    private static boolean near(double lat, double lon, double rowLat, double rowLon) {
+        return Math.abs(rowLat - lat) < 0.1 && Math.abs(rowLon - lon) < 0.1;
+    }
+    
+    public static class Forecast implements ForecastCacheDao {
+        
+        private final List<ForecastCacheEntity> rows = new ArrayList<>();
+        private int nextId = 1;
+        
+        @Override
+        public synchronized void insertForecast(ForecastCacheEntity forecast) {
+            forecast.setId(nextId++);
+            rows.add(forecast);
+        }
+        
+        @Override
+        public synchronized ForecastCacheEntity getForecastByCity(String cityName, String forecastType,
+                                                                  String units, long cutoff) {
+            ForecastCacheEntity latest = null;
+            for (ForecastCacheEntity row : rows) {
+                if (cityName.equals(row.getCityName()) && matches(row, forecastType, units, cutoff)
+                        && (latest == null || row.getCachedAt() > latest.getCachedAt())) {
+                    latest = row;
+                }
+            }
+            return latest;
+        }
+        
+        @Override
+        public synchronized ForecastCacheEntity getForecastInCells(List<Long> cells, double lat, double lon,
+                                                                   String forecastType, String units, long cutoff) {
+            ForecastCacheEntity latest = null;
+            for (ForecastCacheEntity row : rows) {
+                if (cells.contains(row.getCellId()) && near(lat, lon, row.getLatitude(), row.getLongitude())
+                        && matches(row, forecastType, units, cutoff)
+                        && (latest == null || row.getCachedAt() > latest.getCachedAt())) {
+                    latest = row;
+                }
+            }
+            return latest;
+        }
+        
+        private static boolean matches(ForecastCacheEntity row, String forecastType, String units, long cutoff) {
+            return forecastType.equals(row.getForecastType()) && units.equals(row.getUnits())
+                    && row.getCachedAt() > cutoff;
+        }
+        
+        @Override
+        public synchronized void touchForecast(int id, long now) {
+            for (ForecastCacheEntity row : rows) {
+                if (row.getId() == id) {
+                    row.setLastAccessed(now);
+                }
+            }
+        }
+        
+        @Override
+        public synchronized void deleteOldForecasts(long cutoff) {
+            rows.removeIf(row -> row.getCachedAt() < cutoff);
+        }
+        
+        @Override
+        public synchronized void deleteForecastsByCity(String cityName) {
+            rows.removeIf(row -> cityName.equals(row.getCityName()));
+        }
+        
+        @Override
+        public synchronized void deleteAllForecasts() {
+            rows.clear();
+        }
+        
+        public synchronized int size() {
+            return rows.size();
+        }
+    }
+    
+    public static class UVIndex implements UVIndexCacheDao {
+        
+        private final List<UVIndexCacheEntity> rows = new ArrayList<>();
+        private int nextId = 1;
+        
+        @Override
+        public synchronized void insertUVIndex(UVIndexCacheEntity uvIndex) {
+            uvIndex.setId(nextId++);
+            rows.add(uvIndex);
+        }
+        
+        @Override
+        public synchronized UVIndexCacheEntity getUVIndexInCells(List<Long> cells, double lat, double lon,
+                                                                 long currentTime, long maxAge) {
+            UVIndexCacheEntity latest = null;
+            for (UVIndexCacheEntity row : rows) {
+                if (cells.contains(row.getCellId()) && near(lat, lon, row.getLatitude(), row.getLongitude())
+                        && currentTime - row.getCachedAt() < maxAge
+                        && (latest == null || row.getCachedAt() > latest.getCachedAt())) {
+                    latest = row;
+                }
+            }
+            return latest;
+        }
+        
+        @Override
+        public synchronized void touchUVIndex(int id, long now) {
+            for (UVIndexCacheEntity row : rows) {
+                if (row.getId() == id) {
+                    row.setLastAccessed(now);
+                }
+            }
+        }
+        
+        @Override
+        public synchronized void deleteOldUVIndex(long currentTime, long maxAge) {
+            rows.removeIf(row -> currentTime - row.getCachedAt() > maxAge);
+        }
+        
+        @Override
+        public synchronized void deleteAllUVIndex() {
+            rows.clear();
+        }
+    }
+    
+    public static class AirQuality implements AirQualityCacheDao {
+        
+        private final List<AirQualityCacheEntity> rows = new ArrayList<>();
+        private int nextId = 1;
+        
+        @Override
+        public synchronized void insertAirQuality(AirQualityCacheEntity airQuality) {
+            airQuality.setId(nextId++);
+            rows.add(airQuality);
+        }
+        
+        @Override
+        public synchronized AirQualityCacheEntity getAirQualityInCells(List<Long> cells, double lat, double lon,
+                                                                       long currentTime, long maxAge) {
+            AirQualityCacheEntity latest = null;
+            for (AirQualityCacheEntity row : rows) {
+                if (cells.contains(row.getCellId()) && near(lat, lon, row.getLatitude(), row.getLongitude())
+                        && currentTime - row.getCachedAt() < maxAge
+                        && (latest == null || row.getCachedAt() > latest.getCachedAt())) {
+                    latest = row;
+                }
+            }
+            return latest;
+        }
+        
+        @Override
+        public synchronized void touchAirQuality(int id, long now) {
+            for (AirQualityCacheEntity row : rows) {
+                if (row.getId() == id) {
+                    row.setLastAccessed(now);
+                }
+            }
+        }
+        
+        @Override
+        public synchronized void deleteOldAirQuality(long currentTime, long maxAge) {
+            rows.removeIf(row -> currentTime - row.getCachedAt() > maxAge);
+        }
+        
+        @Override
+        public synchronized void deleteAllAirQuality() {
+            rows.clear();
+        }
+    }
+}
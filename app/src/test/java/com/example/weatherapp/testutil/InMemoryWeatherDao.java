@@ -0,0 +1,68 @@
+package com.example.weatherapp.testutil;
+
+import com.example.weatherapp.data.local.dao.WeatherDao;
+import com.example.weatherapp.data.local.entity.WeatherCacheEntity;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * WeatherDao backed by a map, for repository tests that run without Room
+ */
+public class InMemoryWeatherDao implements WeatherDao {
+    
+    private final Map<String, WeatherCacheEntity> rows = new LinkedHashMap<>();
+    
+    @Override
+    public synchronized void insertWeather(WeatherCacheEntity weather) {
+        rows.put(weather.getCityName(), weather);
+    }
+    
+    @Override
+    public synchronized void insertAllWeather(List<WeatherCacheEntity> weather) {
+        for (WeatherCacheEntity entity : weather) {
+            insertWeather(entity);
+        }
+    }
+    
+    @Override
+    public synchronized WeatherCacheEntity getWeatherByCity(String cityName) {
+        return rows.get(cityName);
+    }
+    
+    @Override
+    public synchronized WeatherCacheEntity getWeatherInCells(List<Long> cells, double lat, double lon) {
+        for (WeatherCacheEntity entity : rows.values()) {
+            if (cells.contains(entity.getCellId())
+                    && Math.abs(entity.getLatitude() - lat) < 0.01 && Math.abs(entity.getLongitude() - lon) < 0.01) {
+                return entity;
+            }
+        }
+        return null;
+    }
+    
+    @Override
+    public synchronized void touchWeather(String cityName, long now) {
+        WeatherCacheEntity entity = rows.get(cityName);
+        if (entity != null) {
+            entity.setLastAccessed(now);
+        }
+    }
+    
+    @Override
+    public synchronized void deleteOldCache(long timestamp) {
+        rows.values().removeIf(entity -> entity.getCachedAt() < timestamp);
+    }
+    
+    @Override
+    public synchronized void deleteAll() {
+        rows.clear();
+    }
+    
+    @Override
+    public synchronized List<WeatherCacheEntity> getAllCachedWeather() {
+        return new ArrayList<>(rows.values());
+    }
+}
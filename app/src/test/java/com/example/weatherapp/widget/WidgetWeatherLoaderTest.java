@@ -0,0 +1,114 @@
+package com.example.weatherapp.widget;
+
+import com.example.weatherapp.data.api.RequestPriority;
+import com.example.weatherapp.data.api.RequestScheduler;
+import com.example.weatherapp.data.api.WeatherApiService;
+import com.example.weatherapp.data.json.JsonAdapters;
+import com.example.weatherapp.data.responses.WeatherResponse;
+import com.example.weatherapp.testutil.Fixtures;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for widget loads sharing the single background slot, against a local MockWebServer
+ */
+public class WidgetWeatherLoaderTest {
+
+    private MockWebServer server;
+    private WeatherApiService api;
+
+    @Before
+    public void setup() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        // Background lane of one slot, as in the app
+        RequestScheduler scheduler = new RequestScheduler(5, 2, 1);
+        api = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .callFactory(scheduler.callFactory(new OkHttpClient(), RequestPriority.BACKGROUND, false))
+                .addConverterFactory(GsonConverterFactory.create(JsonAdapters.gson()))
+                .build()
+                .create(WeatherApiService.class);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void twoWidgetsAtOnce_bothPaintedWithWeather() throws Exception {
+        // Arrange - the first answer is slow, so the second widget's call has to wait for the slot
+        server.enqueue(new MockResponse().setBody(Fixtures.read(Fixtures.WEATHER))
+                .setHeadersDelay(200, TimeUnit.MILLISECONDS));
+        server.enqueue(new MockResponse().setBody(Fixtures.read(Fixtures.WEATHER)));
+        Map<Integer, String> painted = new ConcurrentHashMap<>();
+        CountDownLatch done = new CountDownLatch(2);
+        WidgetWeatherLoader.Painter painter = new WidgetWeatherLoader.Painter() {
+            @Override
+            public void showWeather(int appWidgetId, WeatherResponse weather) {
+                painted.put(appWidgetId, weather.getName());
+                done.countDown();
+            }
+
+            @Override
+            public void showError(int appWidgetId) {
+                painted.put(appWidgetId, "error");
+                done.countDown();
+            }
+        };
+
+        // Act - onUpdate with two widget ids
+        for (int appWidgetId : new int[] {11, 12}) {
+            WidgetWeatherLoader.load(api, "key", "Hanoi", "metric", appWidgetId, painter);
+        }
+
+        // Assert - neither widget is left on "Loading..."
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        String city = painted.get(11);
+        assertNotEquals("error", city);
+        assertEquals(city, painted.get(12));
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    public void failedLoad_paintsError() throws Exception {
+        // Arrange
+        server.enqueue(new MockResponse().setResponseCode(404));
+        CountDownLatch done = new CountDownLatch(1);
+        int[] errors = {0};
+
+        // Act
+        WidgetWeatherLoader.load(api, "key", "Nowhere", "metric", 7, new WidgetWeatherLoader.Painter() {
+            @Override
+            public void showWeather(int appWidgetId, WeatherResponse weather) {
+                done.countDown();
+            }
+
+            @Override
+            public void showError(int appWidgetId) {
+                errors[0] = appWidgetId;
+                done.countDown();
+            }
+        });
+
+        // Assert
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(7, errors[0]);
+    }
+}